@@ -16,6 +16,7 @@
  */
 package com.wazuh.securityanalytics.action;
 
+import org.opensearch.Version;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
@@ -24,13 +25,27 @@ import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 /**
- * Response for the bulk space-resource deletion action. Reports how many integrations and rules
- * were deleted and whether any errors occurred.
+ * Response for the bulk space-resource deletion action. Reports how many detectors, integrations
+ * and rules were deleted and whether any errors occurred.
+ *
+ * <p>Detectors are deleted independently of each other, so a failed detector does not stop the
+ * teardown. Each failure is reported in {@link #getDetectorFailures()} as {@code "<id>: <reason>"}.
+ * Nodes before {@link #DETECTOR_RESULTS_VERSION} neither send nor receive the detector results.
  */
 public class WDeleteSpaceResourcesResponse extends ActionResponse implements ToXContentObject {
 
+    /**
+     * First version carrying the detector results. Parsed, since commons also builds against cores
+     * predating it.
+     */
+    public static final Version DETECTOR_RESULTS_VERSION = Version.fromString("3.7.0");
+
+    private final int deletedDetectors;
+    private final List<String> detectorFailures;
     private final int deletedIntegrations;
     private final int deletedRules;
     private final boolean hasFailures;
@@ -38,18 +53,44 @@ public class WDeleteSpaceResourcesResponse extends ActionResponse implements ToX
 
     public WDeleteSpaceResourcesResponse(
             int deletedIntegrations, int deletedRules, boolean hasFailures, String failureMessage) {
+        this(0, Collections.emptyList(), deletedIntegrations, deletedRules, hasFailures, failureMessage);
+    }
+
+    public WDeleteSpaceResourcesResponse(
+            int deletedDetectors,
+            List<String> detectorFailures,
+            int deletedIntegrations,
+            int deletedRules,
+            boolean hasFailures,
+            String failureMessage) {
+        this.deletedDetectors = deletedDetectors;
+        this.detectorFailures = detectorFailures;
         this.deletedIntegrations = deletedIntegrations;
         this.deletedRules = deletedRules;
-        this.hasFailures = hasFailures;
+        this.hasFailures = hasFailures || !detectorFailures.isEmpty();
         this.failureMessage = failureMessage;
     }
 
     public WDeleteSpaceResourcesResponse(StreamInput sin) throws IOException {
-        this(sin.readVInt(), sin.readVInt(), sin.readBoolean(), sin.readOptionalString());
+        if (sin.getVersion().onOrAfter(DETECTOR_RESULTS_VERSION)) {
+            this.deletedDetectors = sin.readVInt();
+            this.detectorFailures = sin.readStringList();
+        } else {
+            this.deletedDetectors = 0;
+            this.detectorFailures = Collections.emptyList();
+        }
+        this.deletedIntegrations = sin.readVInt();
+        this.deletedRules = sin.readVInt();
+        this.hasFailures = sin.readBoolean();
+        this.failureMessage = sin.readOptionalString();
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
+        if (out.getVersion().onOrAfter(DETECTOR_RESULTS_VERSION)) {
+            out.writeVInt(this.deletedDetectors);
+            out.writeStringCollection(this.detectorFailures);
+        }
         out.writeVInt(this.deletedIntegrations);
         out.writeVInt(this.deletedRules);
         out.writeBoolean(this.hasFailures);
@@ -61,6 +102,8 @@ public class WDeleteSpaceResourcesResponse extends ActionResponse implements ToX
             throws IOException {
         return builder
                 .startObject()
+                .field("deleted_detectors", this.deletedDetectors)
+                .field("detector_failures", this.detectorFailures)
                 .field("deleted_integrations", this.deletedIntegrations)
                 .field("deleted_rules", this.deletedRules)
                 .field("has_failures", this.hasFailures)
@@ -68,6 +111,14 @@ public class WDeleteSpaceResourcesResponse extends ActionResponse implements ToX
                 .endObject();
     }
 
+    public int getDeletedDetectors() {
+        return this.deletedDetectors;
+    }
+
+    public List<String> getDetectorFailures() {
+        return this.detectorFailures;
+    }
+
     public int getDeletedIntegrations() {
         return this.deletedIntegrations;
     }
@@ -16,6 +16,7 @@
  */
 package com.wazuh.securityanalytics.action;
 
+import org.opensearch.Version;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.core.common.io.stream.StreamInput;
@@ -23,22 +24,40 @@ import org.opensearch.core.common.io.stream.StreamOutput;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 
 import static org.opensearch.action.ValidateActions.addValidationError;
 
 /**
- * Request to evaluate a list of Sigma rules against a normalized event.
+ * Request to evaluate Sigma rules against a normalized event.
+ *
+ * <p>Rules are either sent as YAML bodies or referenced by the id of a stored detector or by rule
+ * ids, in which case the node resolves them from the rule indices. Referenced rules are compiled
+ * once per document version, so only the event is sent with every request. Nodes before {@link
+ * #STORED_RULES_VERSION} only take rule bodies.
  *
  * @see WEvaluateRulesAction
  */
 public class WEvaluateRulesRequest extends ActionRequest {
 
+    /**
+     * First version resolving stored rules, the release after the current one. Parsed, since no
+     * core constant exists for it yet.
+     */
+    public static final Version STORED_RULES_VERSION = Version.fromString("3.7.0");
+
     /** The normalized event as a JSON string. */
     private final String normalizedEvent;
 
     /** The list of Sigma rule bodies to evaluate. */
     private final List<String> rulesBodies;
 
+    /** The id of a stored detector whose rules are evaluated. */
+    private final String detectorId;
+
+    /** The ids of stored rules to evaluate. */
+    private final List<String> ruleIds;
+
     /**
      * Constructs a new WEvaluateRulesRequest.
      *
@@ -46,9 +65,27 @@ public class WEvaluateRulesRequest extends ActionRequest {
      * @param rulesBodies the list of Sigma rule bodies to evaluate
      */
     public WEvaluateRulesRequest(String normalizedEvent, List<String> rulesBodies) {
+        this(normalizedEvent, rulesBodies, null, List.of());
+    }
+
+    /**
+     * Constructs a new WEvaluateRulesRequest referencing stored rules.
+     *
+     * @param normalizedEvent the normalized event as a JSON string
+     * @param detectorId the id of a stored detector whose rules are evaluated, or null
+     * @param ruleIds the ids of stored rules to evaluate
+     */
+    public WEvaluateRulesRequest(String normalizedEvent, String detectorId, List<String> ruleIds) {
+        this(normalizedEvent, List.of(), detectorId, ruleIds);
+    }
+
+    private WEvaluateRulesRequest(
+            String normalizedEvent, List<String> rulesBodies, String detectorId, List<String> ruleIds) {
         super();
         this.normalizedEvent = normalizedEvent;
         this.rulesBodies = rulesBodies;
+        this.detectorId = detectorId;
+        this.ruleIds = ruleIds;
     }
 
     /**
@@ -61,6 +98,13 @@ public class WEvaluateRulesRequest extends ActionRequest {
         super(sin);
         this.normalizedEvent = sin.readString();
         this.rulesBodies = sin.readStringList();
+        if (sin.getVersion().onOrAfter(STORED_RULES_VERSION)) {
+            this.detectorId = sin.readOptionalString();
+            this.ruleIds = sin.readStringList();
+        } else {
+            this.detectorId = null;
+            this.ruleIds = List.of();
+        }
     }
 
     @Override
@@ -68,6 +112,17 @@ public class WEvaluateRulesRequest extends ActionRequest {
         super.writeTo(out);
         out.writeString(normalizedEvent);
         out.writeStringCollection(rulesBodies);
+        if (out.getVersion().onOrAfter(STORED_RULES_VERSION)) {
+            out.writeOptionalString(detectorId);
+            out.writeStringCollection(ruleIds == null ? List.of() : ruleIds);
+        } else if ((detectorId != null && !detectorId.isEmpty()) || !isEmpty(ruleIds)) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            Locale.ROOT,
+                            "evaluating stored rules requires all nodes to be on version %s or later, got %s",
+                            STORED_RULES_VERSION,
+                            out.getVersion()));
+        }
     }
 
     @Override
@@ -77,9 +132,10 @@ public class WEvaluateRulesRequest extends ActionRequest {
             validationException =
                     addValidationError("normalizedEvent must not be null or empty", validationException);
         }
-        if (rulesBodies == null || rulesBodies.isEmpty()) {
+        if (isEmpty(rulesBodies) && (detectorId == null || detectorId.isEmpty()) && isEmpty(ruleIds)) {
             validationException =
-                    addValidationError("rulesBodies must not be null or empty", validationException);
+                    addValidationError(
+                            "one of rulesBodies, detectorId or ruleIds must be provided", validationException);
         }
         return validationException;
     }
@@ -101,4 +157,26 @@ public class WEvaluateRulesRequest extends ActionRequest {
     public List<String> getRulesBodies() {
         return rulesBodies;
     }
+
+    /**
+     * Gets the id of the stored detector whose rules are evaluated.
+     *
+     * @return the detector id, or null
+     */
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    /**
+     * Gets the ids of the stored rules to evaluate.
+     *
+     * @return the rule ids
+     */
+    public List<String> getRuleIds() {
+        return ruleIds;
+    }
+
+    private static boolean isEmpty(List<String> values) {
+        return values == null || values.isEmpty();
+    }
 }
@@ -16,54 +16,116 @@
  */
 package com.wazuh.securityanalytics.action;
 
-import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.Version;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.MediaTypeRegistry;
+import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Response containing the result of evaluating Sigma rules against an event.
  *
- * <p>The {@code resultJson} field contains a JSON string with the following structure:
+ * <p>The result is kept structured, so it travels over the transport layer in its binary form and
+ * local callers read it without any parsing. JSON is only rendered by {@link #toXContent}, with the
+ * following structure:
  *
  * <pre>
- * {
+ * "result": {
  *   "status": "success"|"error",
  *   "rules_evaluated": N,
  *   "rules_matched": N,
  *   "matches": [
  *     {
- *       "rule_id": "...",
- *       "rule_name": "...",
- *       "severity": "...",
- *       "matched_conditions": ["..."],
- *       "tags": ["..."]
+ *       "rule": {
+ *         "id": "...",
+ *         "title": "...",
+ *         "level": "...",
+ *         "tags": ["..."]
+ *       },
+ *       "matched_conditions": ["..."]
  *     }
- *   ],
+ *   ]
  * }
  * </pre>
  *
+ * <p>Nodes before {@link #TYPED_RESULT_VERSION} exchange this JSON as a string instead.
+ *
  * @see WEvaluateRulesAction
  */
 public class WEvaluateRulesResponse extends ActionResponse implements ToXContentObject {
 
-    /** The evaluation result as a JSON string. */
-    private final String resultJson;
+    public static final String STATUS_SUCCESS = "success";
+
+    public static final String STATUS_ERROR = "error";
+
+    /**
+     * First version exchanging the structured result, the release after the current one. Parsed,
+     * since no core constant exists for it yet.
+     */
+    public static final Version TYPED_RESULT_VERSION = Version.fromString("3.7.0");
+
+    /** The evaluation status, {@link #STATUS_SUCCESS} or {@link #STATUS_ERROR}. */
+    private final String status;
+
+    /** The number of rules evaluated. */
+    private final int rulesEvaluated;
+
+    /** The matched rules, in evaluation order. */
+    private final List<RuleMatch> matches;
 
     /**
      * Constructs a new WEvaluateRulesResponse.
      *
+     * @param status the evaluation status
+     * @param rulesEvaluated the number of rules evaluated
+     * @param matches the matched rules
+     */
+    public WEvaluateRulesResponse(String status, int rulesEvaluated, List<RuleMatch> matches) {
+        super();
+        this.status = status;
+        this.rulesEvaluated = rulesEvaluated;
+        this.matches = matches;
+    }
+
+    /**
+     * Constructs a new WEvaluateRulesResponse from the evaluation result JSON, see the class
+     * documentation. The matched conditions are kept as {@link MatchedCondition.Type#DESCRIPTION}.
+     *
      * @param resultJson the evaluation result as a JSON string
+     * @throws org.opensearch.OpenSearchParseException if the JSON can't be parsed
+     * @deprecated build the structured result instead, this parses the whole result
      */
+    @Deprecated
+    @SuppressWarnings("unchecked")
     public WEvaluateRulesResponse(String resultJson) {
         super();
-        this.resultJson = resultJson;
+        Map<String, Object> result = XContentHelper.convertToMap(MediaTypeRegistry.JSON.xContent(), resultJson, false);
+        this.status = result.get("status") instanceof String ? (String) result.get("status") : STATUS_ERROR;
+        this.rulesEvaluated = result.get("rules_evaluated") instanceof Number
+                ? ((Number) result.get("rules_evaluated")).intValue()
+                : 0;
+        List<RuleMatch> matches = new ArrayList<>();
+        if (result.get("matches") instanceof List) {
+            for (Object match : (List<Object>) result.get("matches")) {
+                if (match instanceof Map) {
+                    matches.add(RuleMatch.fromMap((Map<String, Object>) match));
+                }
+            }
+        }
+        this.matches = matches;
     }
 
     /**
@@ -74,28 +136,311 @@ public class WEvaluateRulesResponse extends ActionResponse implements ToXContent
      */
     public WEvaluateRulesResponse(StreamInput sin) throws IOException {
         super(sin);
-        this.resultJson = sin.readString();
+        if (sin.getVersion().onOrAfter(TYPED_RESULT_VERSION)) {
+            this.status = sin.readString();
+            this.rulesEvaluated = sin.readVInt();
+            this.matches = sin.readList(RuleMatch::new);
+        } else {
+            WEvaluateRulesResponse result = new WEvaluateRulesResponse(sin.readString());
+            this.status = result.status;
+            this.rulesEvaluated = result.rulesEvaluated;
+            this.matches = result.matches;
+        }
+    }
+
+    /**
+     * Creates a response for an evaluation with no rules.
+     *
+     * @return the empty response
+     */
+    public static WEvaluateRulesResponse empty() {
+        return new WEvaluateRulesResponse(STATUS_SUCCESS, 0, List.of());
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
-        out.writeString(resultJson);
+        if (out.getVersion().onOrAfter(TYPED_RESULT_VERSION)) {
+            out.writeString(status);
+            out.writeVInt(rulesEvaluated);
+            out.writeList(matches);
+        } else {
+            out.writeString(this.renderResultJson());
+        }
     }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
-        return builder.rawField(
-                "result",
-                new ByteArrayInputStream(resultJson.getBytes(StandardCharsets.UTF_8)),
-                XContentType.JSON);
+        builder.startObject("result");
+        this.toResultXContent(builder);
+        return builder.endObject();
+    }
+
+    private void toResultXContent(XContentBuilder builder) throws IOException {
+        builder.field("status", status);
+        builder.field("rules_evaluated", rulesEvaluated);
+        builder.field("rules_matched", matches.size());
+        builder.startArray("matches");
+        for (RuleMatch match : matches) {
+            builder.startObject();
+            builder.field("rule");
+            match.getRule().toXContent(builder, ToXContent.EMPTY_PARAMS);
+            builder.startArray("matched_conditions");
+            for (MatchedCondition condition : match.getConditions()) {
+                builder.value(condition.toString());
+            }
+            builder.endArray();
+            builder.endObject();
+        }
+        builder.endArray();
+    }
+
+    /**
+     * Gets the evaluation status.
+     *
+     * @return {@link #STATUS_SUCCESS} or {@link #STATUS_ERROR}
+     */
+    public String getStatus() {
+        return status;
     }
 
     /**
-     * Gets the evaluation result JSON.
+     * Gets the number of rules evaluated.
+     *
+     * @return the number of rules evaluated
+     */
+    public int getRulesEvaluated() {
+        return rulesEvaluated;
+    }
+
+    /**
+     * Gets the matched rules.
+     *
+     * @return the matches, in evaluation order
+     */
+    public List<RuleMatch> getMatches() {
+        return matches;
+    }
+
+    /**
+     * Renders the evaluation result as a JSON string, see the class documentation.
      *
      * @return the result JSON string
+     * @deprecated read the structured result instead, this renders the whole result on every call
      */
+    @Deprecated
     public String getResultJson() {
-        return resultJson;
+        return this.renderResultJson();
+    }
+
+    private String renderResultJson() {
+        try {
+            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+            this.toResultXContent(builder);
+            return builder.endObject().toString();
+        } catch (IOException e) {
+            return String.format(
+                    Locale.ROOT,
+                    "{\"status\":\"%s\",\"rules_evaluated\":0,\"rules_matched\":0,\"matches\":[]}",
+                    STATUS_ERROR);
+        }
+    }
+
+    /** Metadata of a matched rule. */
+    public static class RuleInfo implements Writeable, ToXContentObject {
+
+        private final String id;
+
+        private final String title;
+
+        private final String level;
+
+        private final List<String> tags;
+
+        public RuleInfo(String id, String title, String level, List<String> tags) {
+            this.id = id;
+            this.title = title;
+            this.level = level;
+            this.tags = tags;
+        }
+
+        @SuppressWarnings("unchecked")
+        static RuleInfo fromMap(Map<String, Object> rule) {
+            Object tags = rule.get("tags");
+            List<String> tagList = new ArrayList<>();
+            if (tags instanceof List) {
+                for (Object tag : (List<Object>) tags) {
+                    tagList.add(String.valueOf(tag));
+                }
+            }
+            return new RuleInfo(
+                    String.valueOf(rule.get("id")),
+                    String.valueOf(rule.get("title")),
+                    String.valueOf(rule.get("level")),
+                    tagList);
+        }
+
+        public RuleInfo(StreamInput sin) throws IOException {
+            this.id = sin.readString();
+            this.title = sin.readString();
+            this.level = sin.readString();
+            this.tags = sin.readStringList();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeString(id);
+            out.writeString(title);
+            out.writeString(level);
+            out.writeStringCollection(tags);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            return builder.startObject()
+                    .field("id", id)
+                    .field("title", title)
+                    .field("level", level)
+                    .field("tags", tags)
+                    .endObject();
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+
+    /** A matched rule and the conditions that matched. */
+    public static class RuleMatch implements Writeable {
+
+        private final RuleInfo rule;
+
+        private final List<MatchedCondition> conditions;
+
+        public RuleMatch(RuleInfo rule, List<MatchedCondition> conditions) {
+            this.rule = rule;
+            this.conditions = conditions;
+        }
+
+        public RuleMatch(StreamInput sin) throws IOException {
+            this.rule = new RuleInfo(sin);
+            this.conditions = sin.readList(MatchedCondition::new);
+        }
+
+        @SuppressWarnings("unchecked")
+        static RuleMatch fromMap(Map<String, Object> match) {
+            Object rule = match.get("rule");
+            Object conditions = match.get("matched_conditions");
+            List<MatchedCondition> conditionList = new ArrayList<>();
+            if (conditions instanceof List) {
+                for (Object condition : (List<Object>) conditions) {
+                    conditionList.add(new MatchedCondition(MatchedCondition.Type.DESCRIPTION, null, String.valueOf(condition)));
+                }
+            }
+            return new RuleMatch(
+                    RuleInfo.fromMap(rule instanceof Map ? (Map<String, Object>) rule : Collections.emptyMap()),
+                    conditionList);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            rule.writeTo(out);
+            out.writeList(conditions);
+        }
+
+        public RuleInfo getRule() {
+            return rule;
+        }
+
+        public List<MatchedCondition> getConditions() {
+            return conditions;
+        }
+    }
+
+    /** A condition of a rule that matched the event. */
+    public static class MatchedCondition implements Writeable {
+
+        /** Kind of a matched condition. */
+        public enum Type {
+            /** A field matched a value. */
+            FIELD,
+            /** A field contained a keyword value. */
+            KEYWORD,
+            /** An aggregation crossed its threshold, the value holds its description. */
+            AGGREGATION,
+            /** A condition read from a JSON result, the value holds its description. */
+            DESCRIPTION
+        }
+
+        private final Type type;
+
+        private final String field;
+
+        private final String value;
+
+        public MatchedCondition(Type type, String field, String value) {
+            this.type = type;
+            this.field = field;
+            this.value = value;
+        }
+
+        public MatchedCondition(StreamInput sin) throws IOException {
+            this.type = sin.readEnum(Type.class);
+            this.field = sin.readOptionalString();
+            this.value = sin.readString();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeEnum(type);
+            out.writeOptionalString(field);
+            out.writeString(value);
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Gets the path of the event field that matched.
+         *
+         * @return the field path, {@code null} for aggregations and descriptions
+         */
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * Gets the rule value that matched.
+         *
+         * @return the value
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /** Describes the condition, e.g. {@code process.name matched 'cmd.exe'}. */
+        @Override
+        public String toString() {
+            switch (type) {
+                case FIELD:
+                    return field + " matched '" + value + "'";
+                case KEYWORD:
+                    return field + " contains '" + value + "'";
+                default:
+                    return value;
+            }
+        }
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wazuh.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * Action type for indexing many Wazuh rules in a single request.
+ *
+ * <p>Batch variant of {@link WIndexRuleAction}, meant for content synchronizations that push large
+ * rule sets at once. Rules are converted in parallel, written through a small number of bulk
+ * requests and refreshed once at the end.
+ *
+ * <p>Action name: cluster:admin/wazuh/securityanalytics/rule/bulk_write
+ *
+ * @see WIndexRulesBulkRequest
+ * @see WIndexRulesBulkResponse
+ */
+public class WIndexRulesBulkAction extends ActionType<WIndexRulesBulkResponse> {
+
+    /** Singleton instance of this action. */
+    public static final WIndexRulesBulkAction INSTANCE = new WIndexRulesBulkAction();
+
+    /** The action name used for transport registration. */
+    public static final String NAME = "cluster:admin/wazuh/securityanalytics/rule/bulk_write";
+
+    /** Private constructor to enforce singleton pattern. */
+    public WIndexRulesBulkAction() {
+        super(NAME, WIndexRulesBulkResponse::new);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wazuh.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Request for indexing many Wazuh rules at once.
+ *
+ * <p>Each entry is a regular {@link WIndexRuleRequest}. The refresh policy of the individual
+ * entries is ignored: the bulk request carries its own {@link WriteRequest.RefreshPolicy}, which is
+ * applied once after every rule has been written.
+ *
+ * @see WIndexRulesBulkAction
+ * @see WIndexRulesBulkResponse
+ */
+public class WIndexRulesBulkRequest extends ActionRequest {
+
+    /** The rules to index, in the order their results are returned. */
+    private final List<WIndexRuleRequest> rules;
+
+    /** Refresh policy applied once after all rules are written. */
+    private final WriteRequest.RefreshPolicy refreshPolicy;
+
+    /**
+     * Constructs a new WIndexRulesBulkRequest.
+     *
+     * @param rules the rules to index
+     * @param refreshPolicy the refresh policy applied once after all rules are written
+     */
+    public WIndexRulesBulkRequest(
+            List<WIndexRuleRequest> rules, WriteRequest.RefreshPolicy refreshPolicy) {
+        super();
+        this.rules = rules;
+        this.refreshPolicy = refreshPolicy;
+    }
+
+    /**
+     * Constructs a WIndexRulesBulkRequest by deserializing from a stream.
+     *
+     * @param sin the stream input to read from
+     * @throws IOException if an I/O error occurs during deserialization
+     */
+    public WIndexRulesBulkRequest(StreamInput sin) throws IOException {
+        this(sin.readList(WIndexRuleRequest::new), WriteRequest.RefreshPolicy.readFrom(sin));
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+
+        if (this.rules == null || this.rules.isEmpty()) {
+            validationException = addValidationError("rules must not be null or empty", validationException);
+            return validationException;
+        }
+        for (int i = 0; i < this.rules.size(); i++) {
+            ActionRequestValidationException itemException = this.rules.get(i).validate();
+            if (itemException != null) {
+                for (String error : itemException.validationErrors()) {
+                    validationException =
+                            addValidationError("rules[" + i + "]: " + error, validationException);
+                }
+            }
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeList(this.rules);
+        this.refreshPolicy.writeTo(out);
+    }
+
+    /**
+     * Gets the rules to index.
+     *
+     * @return the rules, in request order
+     */
+    public List<WIndexRuleRequest> getRules() {
+        return this.rules;
+    }
+
+    /**
+     * Gets the refresh policy applied once after all rules are written.
+     *
+     * @return the refresh policy
+     */
+    public WriteRequest.RefreshPolicy getRefreshPolicy() {
+        return this.refreshPolicy;
+    }
+}
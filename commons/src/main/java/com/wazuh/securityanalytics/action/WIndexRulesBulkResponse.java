@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wazuh.securityanalytics.action;
+
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Response for a bulk Wazuh rule indexing operation.
+ *
+ * <p>Holds one {@link Item} per rule of the originating {@link WIndexRulesBulkRequest}, in the same
+ * order. A failed item carries the failure reason instead of a version.
+ *
+ * @see WIndexRulesBulkAction
+ * @see WIndexRulesBulkRequest
+ */
+public class WIndexRulesBulkResponse extends ActionResponse implements ToXContentObject {
+
+    /** Per-rule results, in request order. */
+    private final List<Item> items;
+
+    /**
+     * Constructs a new WIndexRulesBulkResponse.
+     *
+     * @param items the per-rule results, in request order
+     */
+    public WIndexRulesBulkResponse(List<Item> items) {
+        super();
+        this.items = items;
+    }
+
+    /**
+     * Constructs a WIndexRulesBulkResponse by deserializing from a stream.
+     *
+     * @param sin the stream input to read from
+     * @throws IOException if an I/O error occurs during deserialization
+     */
+    public WIndexRulesBulkResponse(StreamInput sin) throws IOException {
+        this(sin.readList(Item::new));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeList(this.items);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject().field("errors", this.hasFailures()).startArray("items");
+        for (Item item : this.items) {
+            item.toXContent(builder, params);
+        }
+        return builder.endArray().endObject();
+    }
+
+    /**
+     * Gets the per-rule results.
+     *
+     * @return the results, in request order
+     */
+    public List<Item> getItems() {
+        return this.items;
+    }
+
+    /**
+     * Indicates whether any rule of the batch failed.
+     *
+     * @return true if at least one item failed, false otherwise
+     */
+    public boolean hasFailures() {
+        for (Item item : this.items) {
+            if (item.isFailed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Result of indexing a single rule of the batch. */
+    public static class Item implements Writeable, ToXContentObject {
+
+        /** The ID of the rule, or null if it could not be determined. */
+        private final String id;
+
+        /** The version of the indexed rule, or null if the rule failed. */
+        private final Long version;
+
+        /** The REST status of the operation. */
+        private final RestStatus status;
+
+        /** The failure reason, or null if the rule was indexed. */
+        private final String failure;
+
+        /**
+         * Constructs a new Item.
+         *
+         * @param id the ID of the rule
+         * @param version the version of the indexed rule, or null on failure
+         * @param status the REST status of the operation
+         * @param failure the failure reason, or null on success
+         */
+        public Item(String id, Long version, RestStatus status, String failure) {
+            this.id = id;
+            this.version = version;
+            this.status = status;
+            this.failure = failure;
+        }
+
+        /**
+         * Constructs an Item by deserializing from a stream.
+         *
+         * @param sin the stream input to read from
+         * @throws IOException if an I/O error occurs during deserialization
+         */
+        public Item(StreamInput sin) throws IOException {
+            this(
+                    sin.readOptionalString(),
+                    sin.readOptionalLong(),
+                    sin.readEnum(RestStatus.class),
+                    sin.readOptionalString());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeOptionalString(this.id);
+            out.writeOptionalLong(this.version);
+            out.writeEnum(this.status);
+            out.writeOptionalString(this.failure);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject().field("_id", this.id).field("status", this.status.getStatus());
+            if (this.failure != null) {
+                builder.field("error", this.failure);
+            } else {
+                builder.field("_version", this.version);
+            }
+            return builder.endObject();
+        }
+
+        /**
+         * Gets the ID of the rule.
+         *
+         * @return the rule ID, or null if it could not be determined
+         */
+        public String getId() {
+            return this.id;
+        }
+
+        /**
+         * Gets the version of the indexed rule.
+         *
+         * @return the version, or null if the rule failed
+         */
+        public Long getVersion() {
+            return this.version;
+        }
+
+        /**
+         * Gets the REST status of the operation.
+         *
+         * @return the status
+         */
+        public RestStatus getStatus() {
+            return this.status;
+        }
+
+        /**
+         * Gets the failure reason.
+         *
+         * @return the failure reason, or null if the rule was indexed
+         */
+        public String getFailure() {
+            return this.failure;
+        }
+
+        /**
+         * Indicates whether the rule failed to be indexed.
+         *
+         * @return true if the rule failed, false otherwise
+         */
+        public boolean isFailed() {
+            return this.failure != null;
+        }
+    }
+}
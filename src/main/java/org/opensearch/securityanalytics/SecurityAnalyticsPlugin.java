@@ -33,6 +33,7 @@ import org.opensearch.common.settings.IndexScopedSettings;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.commons.alerting.action.AlertingActions;
 import org.opensearch.core.action.ActionListener;
@@ -62,10 +63,14 @@ import org.opensearch.securityanalytics.action.AckAlertsAction;
 import org.opensearch.securityanalytics.action.AckCorrelationAlertsAction;
 import org.opensearch.securityanalytics.action.CorrelatedFindingAction;
 import org.opensearch.securityanalytics.action.CreateIndexMappingsAction;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsBatchAction;
 import org.opensearch.securityanalytics.action.DeleteCorrelationRuleAction;
 import org.opensearch.securityanalytics.action.DeleteCustomLogTypeAction;
 import org.opensearch.securityanalytics.action.DeleteDetectorAction;
 import org.opensearch.securityanalytics.action.DeleteRuleAction;
+import org.opensearch.securityanalytics.action.ExportAction;
+import org.opensearch.securityanalytics.action.CorrelationStatsAction;
+import org.opensearch.securityanalytics.action.RuleProfileAction;
 import org.opensearch.securityanalytics.action.GetAlertsAction;
 import org.opensearch.securityanalytics.action.GetAllRuleCategoriesAction;
 import org.opensearch.securityanalytics.action.GetCorrelationAlertsAction;
@@ -84,7 +89,9 @@ import org.opensearch.securityanalytics.action.SearchDetectorAction;
 import org.opensearch.securityanalytics.action.SearchRuleAction;
 import org.opensearch.securityanalytics.action.UpdateIndexMappingsAction;
 import org.opensearch.securityanalytics.action.ValidateRulesAction;
+import org.opensearch.securityanalytics.correlation.CorrelationPipelineStats;
 import org.opensearch.securityanalytics.correlation.CorrelationRulesCache;
+import org.opensearch.securityanalytics.correlation.CorrelationSpillLog;
 import org.opensearch.securityanalytics.correlation.DetectorLookupCache;
 import org.opensearch.securityanalytics.correlation.LogTypeListCache;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
@@ -94,6 +101,7 @@ import org.opensearch.securityanalytics.correlation.index.mapper.CorrelationVect
 import org.opensearch.securityanalytics.correlation.index.query.CorrelationQueryBuilder;
 import org.opensearch.securityanalytics.enrichment.WazuhEnrichedFindingService;
 import org.opensearch.securityanalytics.indexmanagment.DetectorIndexManagementService;
+import org.opensearch.securityanalytics.indexmanagment.FindingIndexCatalog;
 import org.opensearch.securityanalytics.logtype.BuiltinLogTypeLoader;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.mapper.IndexTemplateManager;
@@ -104,16 +112,23 @@ import org.opensearch.securityanalytics.model.DetectorInput;
 import org.opensearch.securityanalytics.model.Rule;
 import org.opensearch.securityanalytics.model.ThreatIntelFeedData;
 import org.opensearch.securityanalytics.resthandler.*;
+import org.opensearch.securityanalytics.rules.backend.QueryConversionCache;
+import org.opensearch.securityanalytics.rules.engine.CompiledRuleCache;
+import org.opensearch.securityanalytics.rules.engine.EventMatcher;
 import org.opensearch.securityanalytics.rules.objects.WCSFieldValidator;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.transport.TransportAckCorrelationAlertsAction;
 import org.opensearch.securityanalytics.transport.TransportAcknowledgeAlertsAction;
 import org.opensearch.securityanalytics.transport.TransportCorrelateFindingAction;
 import org.opensearch.securityanalytics.transport.TransportCreateIndexMappingsAction;
+import org.opensearch.securityanalytics.transport.TransportCreateIndexMappingsBatchAction;
 import org.opensearch.securityanalytics.transport.TransportDeleteCorrelationRuleAction;
 import org.opensearch.securityanalytics.transport.TransportDeleteCustomLogTypeAction;
 import org.opensearch.securityanalytics.transport.TransportDeleteDetectorAction;
 import org.opensearch.securityanalytics.transport.TransportDeleteRuleAction;
+import org.opensearch.securityanalytics.transport.TransportExportAction;
+import org.opensearch.securityanalytics.transport.TransportCorrelationStatsAction;
+import org.opensearch.securityanalytics.transport.TransportRuleProfileAction;
 import org.opensearch.securityanalytics.transport.TransportGetAlertsAction;
 import org.opensearch.securityanalytics.transport.TransportGetAllRuleCategoriesAction;
 import org.opensearch.securityanalytics.transport.TransportGetCorrelationAlertsAction;
@@ -143,6 +158,7 @@ import org.opensearch.securityanalytics.transport.WTransportIndexCustomRuleActio
 import org.opensearch.securityanalytics.transport.WTransportIndexDetectorAction;
 import org.opensearch.securityanalytics.transport.WTransportIndexIntegrationAction;
 import org.opensearch.securityanalytics.transport.WTransportIndexRuleAction;
+import org.opensearch.securityanalytics.transport.WTransportIndexRulesBulkAction;
 import org.opensearch.securityanalytics.transport.WTransportSetDetectorEnabledAction;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.CorrelationRuleIndices;
@@ -150,11 +166,14 @@ import org.opensearch.securityanalytics.util.CustomLogTypeIndices;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.RuleIndices;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
 import org.opensearch.transport.client.node.NodeClient;
 import org.opensearch.watcher.ResourceWatcherService;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -172,6 +191,7 @@ import com.wazuh.securityanalytics.action.WIndexCustomRuleAction;
 import com.wazuh.securityanalytics.action.WIndexDetectorAction;
 import com.wazuh.securityanalytics.action.WIndexIntegrationAction;
 import com.wazuh.securityanalytics.action.WIndexRuleAction;
+import com.wazuh.securityanalytics.action.WIndexRulesBulkAction;
 import com.wazuh.securityanalytics.action.WSetDetectorEnabledAction;
 
 import static org.opensearch.securityanalytics.util.CorrelationIndices.CORRELATION_ALERT_INDEX;
@@ -202,6 +222,9 @@ public class SecurityAnalyticsPlugin extends Plugin
 
     public static final String CORRELATIONS_ALERTS_BASE_URI = PLUGINS_BASE_URI + "/correlationAlerts";
 
+    /** Thread pool evaluating partitions of large rule sets. */
+    public static final String RULE_MATCHER_THREAD_POOL_NAME = "security_analytics_rule_matcher";
+
     public static final Map<String, Object> TIF_JOB_INDEX_SETTING =
             Map.of(
                     IndexMetadata.SETTING_NUMBER_OF_SHARDS,
@@ -239,6 +262,8 @@ public class SecurityAnalyticsPlugin extends Plugin
 
     private ClusterService clusterService;
 
+    private CorrelationSpillLog correlationSpillLog;
+
     @Override
     public Collection<SystemIndexDescriptor> getSystemIndexDescriptors(Settings settings) {
         List<SystemIndexDescriptor> descriptors =
@@ -281,12 +306,28 @@ public class SecurityAnalyticsPlugin extends Plugin
                         indexNameExpressionResolver,
                         this.indexTemplateManager,
                         this.logTypeService);
-        this.ruleIndices = new RuleIndices(this.logTypeService, client, clusterService, threadPool);
+        QueryConversionCache queryConversionCache =
+                new QueryConversionCache(
+                        SecurityAnalyticsSettings.RULE_QUERY_CACHE_SIZE.get(environment.settings()),
+                        this.logTypeService::getFieldMappingsVersion);
+        this.ruleIndices =
+                new RuleIndices(this.logTypeService, client, clusterService, threadPool, queryConversionCache);
         this.correlationRuleIndices = new CorrelationRuleIndices(client, clusterService);
         CorrelationAlertService correlationAlertService =
                 new CorrelationAlertService(client, xContentRegistry);
         NotificationService notificationService =
                 new NotificationService((NodeClient) client, scriptService);
+        CorrelationPipelineStats correlationPipelineStats = new CorrelationPipelineStats();
+        this.correlationSpillLog =
+                new CorrelationSpillLog(
+                        nodeEnvironment.nodeDataPaths()[0].resolve(CorrelationSpillLog.DIRECTORY_NAME),
+                        SecurityAnalyticsSettings.CORRELATION_SPILL_MAX_SIZE.get(environment.settings()).getBytes(),
+                        CorrelationSpillLog.DEFAULT_SEGMENT_BYTES);
+        try {
+            this.correlationSpillLog.open();
+        } catch (IOException e) {
+            log.error("Failed to open the correlation spill log, findings will be dropped under backpressure", e);
+        }
         WazuhEnrichedFindingService enrichedFindingService =
                 new WazuhEnrichedFindingService(
                         client,
@@ -295,7 +336,8 @@ public class SecurityAnalyticsPlugin extends Plugin
                         threadPool,
                         SecurityAnalyticsSettings.ENRICHED_FINDINGS_RULE_CACHE_MAX_SIZE.get(
                                 environment.settings()),
-                        clusterService);
+                        clusterService,
+                        correlationPipelineStats);
         DetectorLookupCache detectorLookupCache =
                 new DetectorLookupCache(
                         SecurityAnalyticsSettings.CORRELATION_DETECTOR_CACHE_TTL.get(environment.settings()));
@@ -306,6 +348,39 @@ public class SecurityAnalyticsPlugin extends Plugin
                 new CorrelationRulesCache(
                         SecurityAnalyticsSettings.CORRELATION_METADATA_CACHE_TTL.get(environment.settings()));
 
+        FindingIndexCatalog findingIndexCatalog =
+                new FindingIndexCatalog(clusterService, environment.settings());
+        EventMatcher eventMatcher =
+                new EventMatcher(
+                        SecurityAnalyticsSettings.RULE_MATCHER_PATTERN_CACHE_SIZE.get(environment.settings()),
+                        SecurityAnalyticsSettings.RULE_MATCHER_DETERMINIZE_WORK_LIMIT.get(
+                                environment.settings()),
+                        SecurityAnalyticsSettings.RULE_MATCHER_SLOW_RULE_THRESHOLD.get(
+                                environment.settings()),
+                        threadPool.executor(RULE_MATCHER_THREAD_POOL_NAME),
+                        threadPool.info(RULE_MATCHER_THREAD_POOL_NAME).getMax(),
+                        SecurityAnalyticsSettings.RULE_MATCHER_PARALLEL_THRESHOLD.get(
+                                environment.settings()),
+                        SecurityAnalyticsSettings.RULE_MATCHER_AGGREGATION_MAX_GROUPS.get(
+                                environment.settings()));
+        eventMatcher.setProfiling(
+                SecurityAnalyticsSettings.RULE_MATCHER_PROFILING_ENABLED.get(environment.settings()));
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        SecurityAnalyticsSettings.RULE_MATCHER_PROFILING_ENABLED, eventMatcher::setProfiling);
+        eventMatcher.setCostTracking(
+                SecurityAnalyticsSettings.RULE_MATCHER_COST_TRACKING_ENABLED.get(environment.settings()));
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        SecurityAnalyticsSettings.RULE_MATCHER_COST_TRACKING_ENABLED,
+                        eventMatcher::setCostTracking);
+        CompiledRuleCache compiledRuleCache =
+                new CompiledRuleCache(
+                        SecurityAnalyticsSettings.RULE_MATCHER_COMPILED_RULE_CACHE_SIZE.get(
+                                environment.settings()));
+
         // Initialize WCS field validator from cluster index mappings
         SecurityAnalyticsPlugin.initWCSFieldValidator(clusterService);
 
@@ -324,7 +399,20 @@ public class SecurityAnalyticsPlugin extends Plugin
                 enrichedFindingService,
                 detectorLookupCache,
                 logTypeListCache,
-                correlationRulesCache);
+                correlationRulesCache,
+                findingIndexCatalog,
+                eventMatcher,
+                compiledRuleCache,
+                correlationPipelineStats,
+                this.correlationSpillLog);
+    }
+
+    /** Forces the correlation spill log to disk and closes it. */
+    @Override
+    public void close() throws IOException {
+        if (this.correlationSpillLog != null) {
+            this.correlationSpillLog.close();
+        }
     }
 
     /**
@@ -356,6 +444,17 @@ public class SecurityAnalyticsPlugin extends Plugin
         }
     }
 
+    @Override
+    public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
+        return List.of(
+                new FixedExecutorBuilder(
+                        settings,
+                        RULE_MATCHER_THREAD_POOL_NAME,
+                        OpenSearchExecutors.allocatedProcessors(settings),
+                        1000,
+                        "thread_pool." + RULE_MATCHER_THREAD_POOL_NAME));
+    }
+
     @Override
     public Collection<Class<? extends LifecycleComponent>> getGuiceServiceClasses() {
         return List.of(DetectorIndexManagementService.class, BuiltinLogTypeLoader.class);
@@ -374,12 +473,16 @@ public class SecurityAnalyticsPlugin extends Plugin
                 new RestAcknowledgeAlertsAction(),
                 new RestUpdateIndexMappingsAction(),
                 new RestCreateIndexMappingsAction(),
+                new RestCreateIndexMappingsBatchAction(),
                 new RestGetIndexMappingsAction(),
                 new RestIndexDetectorAction(),
                 new RestGetDetectorAction(),
                 new RestSearchDetectorAction(),
                 new RestDeleteDetectorAction(),
                 new RestGetFindingsAction(),
+                new RestExportAction(),
+                new RestRuleProfileAction(),
+                new RestCorrelationStatsAction(),
                 new RestGetMappingsViewAction(),
                 new RestGetAlertsAction(),
                 // new RestIndexRuleAction(),
@@ -397,7 +500,8 @@ public class SecurityAnalyticsPlugin extends Plugin
                 // new RestDeleteCustomLogTypeAction(),
                 new RestGetCorrelationsAlertsAction(),
                 new RestAcknowledgeCorrelationAlertsAction(),
-                new RestUpdateFindingsAction(clusterSettings));
+                new RestUpdateFindingsAction(clusterSettings),
+                new RestUpdateFindingsByQueryAction(clusterSettings));
     }
 
     @Override
@@ -469,16 +573,43 @@ public class SecurityAnalyticsPlugin extends Plugin
                 SecurityAnalyticsSettings.ENRICHED_FINDINGS_MAX_IN_FLIGHT,
                 SecurityAnalyticsSettings.ENRICHED_FINDINGS_FLUSH_INTERVAL,
                 SecurityAnalyticsSettings.ENRICHED_FINDINGS_ENRICH_BATCH_SIZE,
+                SecurityAnalyticsSettings.FINDINGS_FLAT_FIELDS_MAX_IDS,
+                SecurityAnalyticsSettings.EXPORT_MAX_CHUNK_DOCS,
+                SecurityAnalyticsSettings.EXPORT_MAX_CHUNK_SIZE,
+                SecurityAnalyticsSettings.EXPORT_KEEP_ALIVE,
                 SecurityAnalyticsSettings.CORRELATION_DETECTOR_CACHE_TTL,
                 SecurityAnalyticsSettings.CORRELATION_MAX_IN_FLIGHT_FINDINGS,
                 SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS,
+                SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS_PER_DETECTOR_PERCENT,
+                SecurityAnalyticsSettings.CORRELATION_SPILL_ENABLED,
+                SecurityAnalyticsSettings.CORRELATION_SPILL_MAX_SIZE,
+                SecurityAnalyticsSettings.CORRELATION_SPILL_DRAIN_RATE,
                 SecurityAnalyticsSettings.CORRELATION_METADATA_CACHE_TTL,
                 SecurityAnalyticsSettings.MAX_RULES_PER_DETECTOR,
                 SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_ENABLED,
                 SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_HIGH_WATERMARK_PERCENT,
                 SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_LOW_WATERMARK_PERCENT,
                 SecurityAnalyticsSettings.MAX_DETECTORS,
-                SecurityAnalyticsSettings.MAX_CASE_MANAGEMENT_BULK_SIZE);
+                SecurityAnalyticsSettings.MAX_CASE_MANAGEMENT_BULK_SIZE,
+                SecurityAnalyticsSettings.CASE_MANAGEMENT_MAX_REQUESTS_PER_SECOND,
+                SecurityAnalyticsSettings.SPACE_DELETION_MAX_CONCURRENT_DETECTORS,
+                SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_ENABLED,
+                SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_MAX_NUM_SEGMENTS,
+                SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_CODEC,
+                SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_MIN_AGE,
+                SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_REPLICA_DROP_ENABLED,
+                SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_REPLICA_DROP_MIN_AGE,
+                SecurityAnalyticsSettings.HISTORY_INDEX_OPTIMIZED_SETTING,
+                SecurityAnalyticsSettings.FINDING_INDEX_CATALOG_TIME_SLACK,
+                SecurityAnalyticsSettings.RULE_MATCHER_PATTERN_CACHE_SIZE,
+                SecurityAnalyticsSettings.RULE_MATCHER_DETERMINIZE_WORK_LIMIT,
+                SecurityAnalyticsSettings.RULE_MATCHER_SLOW_RULE_THRESHOLD,
+                SecurityAnalyticsSettings.RULE_MATCHER_PARALLEL_THRESHOLD,
+                SecurityAnalyticsSettings.RULE_MATCHER_AGGREGATION_MAX_GROUPS,
+                SecurityAnalyticsSettings.RULE_MATCHER_COMPILED_RULE_CACHE_SIZE,
+                SecurityAnalyticsSettings.RULE_MATCHER_COST_TRACKING_ENABLED,
+                SecurityAnalyticsSettings.RULE_MATCHER_PROFILING_ENABLED,
+                SecurityAnalyticsSettings.RULE_QUERY_CACHE_SIZE);
     }
 
     @Override
@@ -490,6 +621,8 @@ public class SecurityAnalyticsPlugin extends Plugin
                 new ActionHandler<>(
                         WDeleteIntegrationAction.INSTANCE, WTransportDeleteIntegrationAction.class),
                 new ActionHandler<>(WIndexRuleAction.INSTANCE, WTransportIndexRuleAction.class),
+                new ActionHandler<>(
+                        WIndexRulesBulkAction.INSTANCE, WTransportIndexRulesBulkAction.class),
                 new ActionHandler<>(
                         WIndexIntegrationAction.INSTANCE, WTransportIndexIntegrationAction.class),
                 new ActionHandler<>(WEvaluateRulesAction.INSTANCE, WTransportEvaluateRulesAction.class),
@@ -504,6 +637,8 @@ public class SecurityAnalyticsPlugin extends Plugin
                         UpdateIndexMappingsAction.INSTANCE, TransportUpdateIndexMappingsAction.class),
                 new ActionPlugin.ActionHandler<>(
                         CreateIndexMappingsAction.INSTANCE, TransportCreateIndexMappingsAction.class),
+                new ActionPlugin.ActionHandler<>(
+                        CreateIndexMappingsBatchAction.INSTANCE, TransportCreateIndexMappingsBatchAction.class),
                 new ActionPlugin.ActionHandler<>(
                         GetIndexMappingsAction.INSTANCE, TransportGetIndexMappingsAction.class),
                 new ActionPlugin.ActionHandler<>(
@@ -519,6 +654,9 @@ public class SecurityAnalyticsPlugin extends Plugin
                 new ActionPlugin.ActionHandler<>(
                         GetFindingsAction.INSTANCE, TransportGetFindingsAction.class),
                 new ActionPlugin.ActionHandler<>(GetAlertsAction.INSTANCE, TransportGetAlertsAction.class),
+                new ActionPlugin.ActionHandler<>(ExportAction.INSTANCE, TransportExportAction.class),
+                new ActionPlugin.ActionHandler<>(RuleProfileAction.INSTANCE, TransportRuleProfileAction.class),
+                new ActionPlugin.ActionHandler<>(CorrelationStatsAction.INSTANCE, TransportCorrelationStatsAction.class),
                 new ActionPlugin.ActionHandler<>(IndexRuleAction.INSTANCE, TransportIndexRuleAction.class),
                 new ActionPlugin.ActionHandler<>(
                         SearchRuleAction.INSTANCE, TransportSearchRuleAction.class),
@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.correlation.CorrelationPipelineStats;
+import org.opensearch.securityanalytics.indexmanagment.HistoryOptimizationStats;
+import org.opensearch.securityanalytics.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Correlation pipeline and history index optimization stats of a node. */
+public class CorrelationStatsNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private final int pending;
+
+    private final int maxPending;
+
+    private final int inFlight;
+
+    private final int maxInFlight;
+
+    private final boolean eventsWriteBlocked;
+
+    private final int spillPending;
+
+    private final long spillSizeInBytes;
+
+    private final long queued;
+
+    private final long dropped;
+
+    private final long spilled;
+
+    private final long replayed;
+
+    private final long completed;
+
+    private final long skipped;
+
+    private final long failed;
+
+    private final long eventsWriteBlocks;
+
+    private final Map<String, LatencyStats> stages;
+
+    private final Map<String, CacheStats> caches;
+
+    private final HistoryOptimizationStats historyOptimization;
+
+    public CorrelationStatsNodeResponse(
+            DiscoveryNode node,
+            CorrelationPipelineStats stats,
+            Map<String, CacheStats> caches,
+            HistoryOptimizationStats historyOptimization) {
+        super(node);
+        CorrelationPipelineStats.QueueState queue = stats.getQueue();
+        this.pending = queue.pending();
+        this.maxPending = queue.maxPending();
+        this.inFlight = queue.inFlight();
+        this.maxInFlight = queue.maxInFlight();
+        this.eventsWriteBlocked = queue.eventsWriteBlocked();
+        this.spillPending = queue.spillPending();
+        this.spillSizeInBytes = queue.spillSizeInBytes();
+        this.queued = stats.getQueued();
+        this.dropped = stats.getDropped();
+        this.spilled = stats.getSpilled();
+        this.replayed = stats.getReplayed();
+        this.completed = stats.getCompleted();
+        this.skipped = stats.getSkipped();
+        this.failed = stats.getFailed();
+        this.eventsWriteBlocks = stats.getEventsWriteBlocks();
+        this.stages = new LinkedHashMap<>();
+        for (CorrelationPipelineStats.Stage stage : CorrelationPipelineStats.Stage.values()) {
+            this.stages.put(stage.getName(), new LatencyStats(stats.getStage(stage)));
+        }
+        this.caches = caches;
+        this.historyOptimization = historyOptimization;
+    }
+
+    public CorrelationStatsNodeResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.pending = sin.readVInt();
+        this.maxPending = sin.readVInt();
+        this.inFlight = sin.readVInt();
+        this.maxInFlight = sin.readVInt();
+        this.eventsWriteBlocked = sin.readBoolean();
+        this.spillPending = sin.readVInt();
+        this.spillSizeInBytes = sin.readVLong();
+        this.queued = sin.readVLong();
+        this.dropped = sin.readVLong();
+        this.spilled = sin.readVLong();
+        this.replayed = sin.readVLong();
+        this.completed = sin.readVLong();
+        this.skipped = sin.readVLong();
+        this.failed = sin.readVLong();
+        this.eventsWriteBlocks = sin.readVLong();
+        this.stages = sin.readOrderedMap(StreamInput::readString, LatencyStats::new);
+        this.caches = sin.readOrderedMap(StreamInput::readString, CacheStats::new);
+        this.historyOptimization = new HistoryOptimizationStats(sin);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeVInt(this.pending);
+        out.writeVInt(this.maxPending);
+        out.writeVInt(this.inFlight);
+        out.writeVInt(this.maxInFlight);
+        out.writeBoolean(this.eventsWriteBlocked);
+        out.writeVInt(this.spillPending);
+        out.writeVLong(this.spillSizeInBytes);
+        out.writeVLong(this.queued);
+        out.writeVLong(this.dropped);
+        out.writeVLong(this.spilled);
+        out.writeVLong(this.replayed);
+        out.writeVLong(this.completed);
+        out.writeVLong(this.skipped);
+        out.writeVLong(this.failed);
+        out.writeVLong(this.eventsWriteBlocks);
+        out.writeMap(this.stages, StreamOutput::writeString, (o, stage) -> stage.writeTo(o));
+        out.writeMap(this.caches, StreamOutput::writeString, (o, cache) -> cache.writeTo(o));
+        this.historyOptimization.writeTo(out);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.field("name", this.getNode().getName());
+        builder.startObject("queue")
+                .field("pending", this.pending)
+                .field("max_pending", this.maxPending)
+                .field("in_flight", this.inFlight)
+                .field("max_in_flight", this.maxInFlight)
+                .endObject();
+        builder.startObject("spill")
+                .field("pending", this.spillPending)
+                .field("size_in_bytes", this.spillSizeInBytes)
+                .endObject();
+        builder.startObject("findings")
+                .field("queued", this.queued)
+                .field("dropped", this.dropped)
+                .field("spilled", this.spilled)
+                .field("replayed", this.replayed)
+                .field("completed", this.completed)
+                .field("skipped", this.skipped)
+                .field("failed", this.failed)
+                .endObject();
+        builder.startObject("backpressure")
+                .field("events_write_blocked", this.eventsWriteBlocked)
+                .field("events_write_block_count", this.eventsWriteBlocks)
+                .endObject();
+        builder.startObject("stages");
+        for (Map.Entry<String, LatencyStats> stage : this.stages.entrySet()) {
+            builder.field(stage.getKey(), stage.getValue());
+        }
+        builder.endObject();
+        builder.startObject("caches");
+        for (Map.Entry<String, CacheStats> cache : this.caches.entrySet()) {
+            builder.field(cache.getKey(), cache.getValue());
+        }
+        builder.endObject();
+        return builder.field("history_optimization", this.historyOptimization);
+    }
+
+    public int getPending() {
+        return this.pending;
+    }
+
+    public int getInFlight() {
+        return this.inFlight;
+    }
+
+    public long getQueued() {
+        return this.queued;
+    }
+
+    public long getDropped() {
+        return this.dropped;
+    }
+
+    public long getSpilled() {
+        return this.spilled;
+    }
+
+    public int getSpillPending() {
+        return this.spillPending;
+    }
+
+    public long getEventsWriteBlocks() {
+        return this.eventsWriteBlocks;
+    }
+
+    public Map<String, LatencyStats> getStages() {
+        return this.stages;
+    }
+
+    public Map<String, CacheStats> getCaches() {
+        return this.caches;
+    }
+
+    public HistoryOptimizationStats getHistoryOptimization() {
+        return this.historyOptimization;
+    }
+
+    /** Count and latency distribution of a pipeline stage. */
+    public static class LatencyStats implements Writeable, ToXContentObject {
+
+        private final long count;
+
+        private final long totalNanos;
+
+        private final long maxNanos;
+
+        private final long p50Nanos;
+
+        private final long p99Nanos;
+
+        public LatencyStats(LatencyHistogram histogram) {
+            this.count = histogram.getCount();
+            this.totalNanos = histogram.getSumNanos();
+            this.maxNanos = histogram.getMaxNanos();
+            this.p50Nanos = histogram.getPercentileNanos(50);
+            this.p99Nanos = histogram.getPercentileNanos(99);
+        }
+
+        public LatencyStats(StreamInput sin) throws IOException {
+            this.count = sin.readVLong();
+            this.totalNanos = sin.readVLong();
+            this.maxNanos = sin.readVLong();
+            this.p50Nanos = sin.readVLong();
+            this.p99Nanos = sin.readVLong();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(this.count);
+            out.writeVLong(this.totalNanos);
+            out.writeVLong(this.maxNanos);
+            out.writeVLong(this.p50Nanos);
+            out.writeVLong(this.p99Nanos);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            return builder.startObject()
+                    .field("count", this.count)
+                    .field("total_time_in_nanos", this.totalNanos)
+                    .field("max_time_in_nanos", this.maxNanos)
+                    .field("p50_time_in_nanos", this.p50Nanos)
+                    .field("p99_time_in_nanos", this.p99Nanos)
+                    .endObject();
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        public long getP99Nanos() {
+            return this.p99Nanos;
+        }
+    }
+
+    /** Hits and misses of a cache. */
+    public static class CacheStats implements Writeable, ToXContentObject {
+
+        private final long hits;
+
+        private final long misses;
+
+        public CacheStats(long hits, long misses) {
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        public CacheStats(StreamInput sin) throws IOException {
+            this(sin.readVLong(), sin.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(this.hits);
+            out.writeVLong(this.misses);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            return builder.startObject()
+                    .field("hits", this.hits)
+                    .field("misses", this.misses)
+                    .field("hit_ratio", this.getHitRatio())
+                    .endObject();
+        }
+
+        public long getHits() {
+            return this.hits;
+        }
+
+        public long getMisses() {
+            return this.misses;
+        }
+
+        /** Share of the lookups served from the cache, {@code 0} when there was none. */
+        public double getHitRatio() {
+            long lookups = this.hits + this.misses;
+            return lookups == 0 ? 0.0 : (double) this.hits / lookups;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+
+import java.io.IOException;
+
+/** Requests the correlation pipeline stats of the given nodes, or of every node. */
+public class CorrelationStatsRequest extends BaseNodesRequest<CorrelationStatsRequest> {
+
+    public CorrelationStatsRequest(String... nodesIds) {
+        super(nodesIds);
+    }
+
+    public CorrelationStatsRequest(StreamInput sin) throws IOException {
+        super(sin);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.core.xcontent.XContentParserUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Batch of {@link CreateIndexMappingsRequest}s, each one naming an index (pattern, alias or data
+ * stream) and a log type or explicit alias mappings.
+ */
+public class CreateIndexMappingsBatchRequest extends ActionRequest implements ToXContentObject {
+
+    public static final String MAPPINGS_FIELD = "mappings";
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final List<CreateIndexMappingsRequest> requests;
+
+    public CreateIndexMappingsBatchRequest(List<CreateIndexMappingsRequest> requests) {
+        super();
+        this.requests = requests;
+    }
+
+    public CreateIndexMappingsBatchRequest(StreamInput sin) throws IOException {
+        this(sin.readList(CreateIndexMappingsRequest::new));
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (this.requests == null || this.requests.isEmpty()) {
+            return addValidationError(String.format(Locale.getDefault(), "%s is missing", MAPPINGS_FIELD), null);
+        }
+        if (this.requests.size() > MAX_BATCH_SIZE) {
+            validationException = addValidationError(
+                    String.format(Locale.getDefault(), "%s can't have more than %d entries", MAPPINGS_FIELD, MAX_BATCH_SIZE),
+                    validationException);
+        }
+        for (int i = 0; i < this.requests.size(); i++) {
+            ActionRequestValidationException e = this.requests.get(i).validate();
+            if (e != null) {
+                for (String error : e.validationErrors()) {
+                    validationException = addValidationError(
+                            String.format(Locale.getDefault(), "%s[%d]: %s", MAPPINGS_FIELD, i, error), validationException);
+                }
+            }
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeList(this.requests);
+    }
+
+    /** Parses {@code {"mappings": [ <create mappings request>, ... ]}}. */
+    public static CreateIndexMappingsBatchRequest parse(XContentParser xcp) throws IOException {
+        List<CreateIndexMappingsRequest> requests = new ArrayList<>();
+
+        if (xcp.currentToken() == null) {
+            xcp.nextToken();
+        }
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = xcp.currentName();
+            xcp.nextToken();
+
+            if (MAPPINGS_FIELD.equals(fieldName)) {
+                XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+                while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+                    requests.add(CreateIndexMappingsRequest.parse(xcp));
+                }
+            } else {
+                xcp.skipChildren();
+            }
+        }
+        return new CreateIndexMappingsBatchRequest(requests);
+    }
+
+    public List<CreateIndexMappingsRequest> getRequests() {
+        return this.requests;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject().startArray(MAPPINGS_FIELD);
+        for (CreateIndexMappingsRequest request : this.requests) {
+            request.toXContent(builder, params);
+        }
+        return builder.endArray().endObject();
+    }
+}
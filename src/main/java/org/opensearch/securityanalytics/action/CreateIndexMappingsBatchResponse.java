@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Response of a {@link CreateIndexMappingsBatchRequest}, with one item per entry of the request, in
+ * request order.
+ */
+public class CreateIndexMappingsBatchResponse extends ActionResponse implements ToXContentObject {
+
+    private final List<Item> items;
+
+    public CreateIndexMappingsBatchResponse(List<Item> items) {
+        super();
+        this.items = items;
+    }
+
+    public CreateIndexMappingsBatchResponse(StreamInput sin) throws IOException {
+        this(sin.readList(Item::new));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeList(this.items);
+    }
+
+    public List<Item> getItems() {
+        return this.items;
+    }
+
+    /** Whether any entry of the batch failed. */
+    public boolean hasFailures() {
+        return this.items.stream().anyMatch(Item::isFailed);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("errors", this.hasFailures());
+        builder.startArray("items");
+        for (Item item : this.items) {
+            item.toXContent(builder, params);
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    /** Outcome of one entry of the batch. */
+    public static class Item implements Writeable, ToXContentObject {
+
+        private final String indexName;
+
+        private final String ruleTopic;
+
+        private final boolean acknowledged;
+
+        private final String error;
+
+        private final RestStatus status;
+
+        private Item(String indexName, String ruleTopic, boolean acknowledged, String error, RestStatus status) {
+            this.indexName = indexName;
+            this.ruleTopic = ruleTopic;
+            this.acknowledged = acknowledged;
+            this.error = error;
+            this.status = status;
+        }
+
+        public Item(StreamInput sin) throws IOException {
+            this(sin.readString(), sin.readOptionalString(), sin.readBoolean(), sin.readOptionalString(), sin.readEnum(RestStatus.class));
+        }
+
+        public static Item success(String indexName, String ruleTopic, boolean acknowledged) {
+            return new Item(indexName, ruleTopic, acknowledged, null, RestStatus.OK);
+        }
+
+        public static Item failure(String indexName, String ruleTopic, Exception e) {
+            Throwable cause = ExceptionsHelper.unwrapCause(e);
+            return new Item(indexName, ruleTopic, false, cause.getMessage(), ExceptionsHelper.status(cause));
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeString(this.indexName);
+            out.writeOptionalString(this.ruleTopic);
+            out.writeBoolean(this.acknowledged);
+            out.writeOptionalString(this.error);
+            out.writeEnum(this.status);
+        }
+
+        public String getIndexName() {
+            return this.indexName;
+        }
+
+        public String getRuleTopic() {
+            return this.ruleTopic;
+        }
+
+        public boolean isAcknowledged() {
+            return this.acknowledged;
+        }
+
+        public String getError() {
+            return this.error;
+        }
+
+        public RestStatus getStatus() {
+            return this.status;
+        }
+
+        public boolean isFailed() {
+            return this.error != null;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field(CreateIndexMappingsRequest.INDEX_NAME_FIELD, this.indexName);
+            if (this.ruleTopic != null) {
+                builder.field(CreateIndexMappingsRequest.RULE_TOPIC_FIELD, this.ruleTopic);
+            }
+            builder.field("status", this.status.getStatus());
+            if (this.isFailed()) {
+                builder.field("error", this.error);
+            } else {
+                builder.field("acknowledged", this.acknowledged);
+            }
+            return builder.endObject();
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.opensearch.securityanalytics.action;
 
+import org.opensearch.Version;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.action.support.WriteRequest;
@@ -26,6 +27,12 @@ import java.io.IOException;
 
 public class DeleteDetectorRequest extends ActionRequest {
 
+    /**
+     * First version sending {@link #isSkipTemplateCleanup()}. Later than the version this plugin
+     * builds against, so that peers of the same release that predate the field never receive it.
+     */
+    public static final Version SKIP_TEMPLATE_CLEANUP_VERSION = Version.fromString("3.7.0");
+
     private String detectorId;
     private WriteRequest.RefreshPolicy refreshPolicy;
 
@@ -35,20 +42,39 @@ public class DeleteDetectorRequest extends ActionRequest {
      */
     private final boolean internalCaller;
 
+    /**
+     * When true the unused index templates are not cleaned up after the detector is deleted. Used by
+     * callers that delete many detectors at once and clean up the templates a single time at the end.
+     */
+    private final boolean skipTemplateCleanup;
+
     public DeleteDetectorRequest(String detectorId, WriteRequest.RefreshPolicy refreshPolicy) {
         this(detectorId, refreshPolicy, false);
     }
 
     public DeleteDetectorRequest(
             String detectorId, WriteRequest.RefreshPolicy refreshPolicy, boolean internalCaller) {
+        this(detectorId, refreshPolicy, internalCaller, false);
+    }
+
+    public DeleteDetectorRequest(
+            String detectorId,
+            WriteRequest.RefreshPolicy refreshPolicy,
+            boolean internalCaller,
+            boolean skipTemplateCleanup) {
         super();
         this.detectorId = detectorId;
         this.refreshPolicy = refreshPolicy;
         this.internalCaller = internalCaller;
+        this.skipTemplateCleanup = skipTemplateCleanup;
     }
 
     public DeleteDetectorRequest(StreamInput sin) throws IOException {
-        this(sin.readString(), WriteRequest.RefreshPolicy.readFrom(sin), sin.readBoolean());
+        this(
+                sin.readString(),
+                WriteRequest.RefreshPolicy.readFrom(sin),
+                sin.readBoolean(),
+                sin.getVersion().onOrAfter(SKIP_TEMPLATE_CLEANUP_VERSION) && sin.readBoolean());
     }
 
     @Override
@@ -61,6 +87,9 @@ public class DeleteDetectorRequest extends ActionRequest {
         out.writeString(detectorId);
         refreshPolicy.writeTo(out);
         out.writeBoolean(internalCaller);
+        if (out.getVersion().onOrAfter(SKIP_TEMPLATE_CLEANUP_VERSION)) {
+            out.writeBoolean(skipTemplateCleanup);
+        }
     }
 
     public String getDetectorId() {
@@ -74,4 +103,8 @@ public class DeleteDetectorRequest extends ActionRequest {
     public boolean isInternalCaller() {
         return internalCaller;
     }
+
+    public boolean isSkipTemplateCleanup() {
+        return skipTemplateCleanup;
+    }
 }
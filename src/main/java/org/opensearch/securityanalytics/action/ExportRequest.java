@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.securityanalytics.findings.ExportCursor;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Request of one chunk of a findings or alerts export. The first request of an export has no
+ * cursor; the following ones pass the cursor returned with the previous chunk, along with the same
+ * filters.
+ */
+public class ExportRequest extends ActionRequest {
+
+    /** What is exported. */
+    public enum Type {
+        FINDINGS,
+        ALERTS
+    }
+
+    public static final int DEFAULT_SIZE = 1000;
+
+    private final Type type;
+
+    private final String detectorId;
+
+    private final String logType;
+
+    private final String severity;
+
+    private final String detectionType;
+
+    private final String alertState;
+
+    private final Instant startTime;
+
+    private final Instant endTime;
+
+    private final int size;
+
+    private final boolean includeDocs;
+
+    private final String cursor;
+
+    public ExportRequest(
+            Type type,
+            String detectorId,
+            String logType,
+            String severity,
+            String detectionType,
+            String alertState,
+            Instant startTime,
+            Instant endTime,
+            int size,
+            boolean includeDocs,
+            String cursor) {
+        super();
+        this.type = type;
+        this.detectorId = detectorId;
+        this.logType = logType;
+        this.severity = severity;
+        this.detectionType = detectionType;
+        this.alertState = alertState;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.size = size;
+        this.includeDocs = includeDocs;
+        this.cursor = cursor;
+    }
+
+    public ExportRequest(StreamInput sin) throws IOException {
+        this(
+                sin.readEnum(Type.class),
+                sin.readOptionalString(),
+                sin.readOptionalString(),
+                sin.readOptionalString(),
+                sin.readOptionalString(),
+                sin.readOptionalString(),
+                sin.readOptionalInstant(),
+                sin.readOptionalInstant(),
+                sin.readVInt(),
+                sin.readBoolean(),
+                sin.readOptionalString());
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (this.type == null) {
+            validationException = addValidationError("export type is missing", validationException);
+        }
+        if (this.detectorId != null && this.detectorId.isEmpty()) {
+            validationException = addValidationError("detector_id is missing", validationException);
+        }
+        if (this.startTime != null && this.endTime != null && this.startTime.isAfter(this.endTime)) {
+            validationException = addValidationError("startTime should be less than endTime", validationException);
+        }
+        if (this.size <= 0) {
+            validationException = addValidationError(
+                    String.format(Locale.getDefault(), "size must be positive, got %d", this.size), validationException);
+        }
+        if (this.includeDocs && this.type == Type.ALERTS) {
+            validationException = addValidationError("include_docs is only supported when exporting findings", validationException);
+        }
+        if (this.cursor != null) {
+            try {
+                ExportCursor.decode(this.cursor);
+            } catch (IllegalArgumentException e) {
+                validationException = addValidationError(e.getMessage(), validationException);
+            }
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeEnum(this.type);
+        out.writeOptionalString(this.detectorId);
+        out.writeOptionalString(this.logType);
+        out.writeOptionalString(this.severity);
+        out.writeOptionalString(this.detectionType);
+        out.writeOptionalString(this.alertState);
+        out.writeOptionalInstant(this.startTime);
+        out.writeOptionalInstant(this.endTime);
+        out.writeVInt(this.size);
+        out.writeBoolean(this.includeDocs);
+        out.writeOptionalString(this.cursor);
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public String getDetectorId() {
+        return this.detectorId;
+    }
+
+    public String getLogType() {
+        return this.logType;
+    }
+
+    public String getSeverity() {
+        return this.severity;
+    }
+
+    public String getDetectionType() {
+        return this.detectionType;
+    }
+
+    public String getAlertState() {
+        return this.alertState;
+    }
+
+    public Instant getStartTime() {
+        return this.startTime;
+    }
+
+    public Instant getEndTime() {
+        return this.endTime;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public boolean isIncludeDocs() {
+        return this.includeDocs;
+    }
+
+    public String getCursor() {
+        return this.cursor;
+    }
+}
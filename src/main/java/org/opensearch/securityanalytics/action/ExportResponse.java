@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+
+/**
+ * One chunk of a findings or alerts export: the exported documents as NDJSON, one per line, and
+ * the cursor of the next chunk, or null when the export is complete.
+ */
+public class ExportResponse extends ActionResponse {
+
+    private final BytesReference content;
+
+    private final int count;
+
+    private final String cursor;
+
+    public ExportResponse(BytesReference content, int count, String cursor) {
+        super();
+        this.content = content;
+        this.count = count;
+        this.cursor = cursor;
+    }
+
+    public ExportResponse(StreamInput sin) throws IOException {
+        this(sin.readBytesReference(), sin.readVInt(), sin.readOptionalString());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeBytesReference(this.content);
+        out.writeVInt(this.count);
+        out.writeOptionalString(this.cursor);
+    }
+
+    public BytesReference getContent() {
+        return this.content;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public String getCursor() {
+        return this.cursor;
+    }
+
+    public boolean isDone() {
+        return this.cursor == null;
+    }
+}
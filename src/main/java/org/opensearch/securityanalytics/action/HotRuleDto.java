@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.rules.engine.EventMatcher;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Snapshot of the evaluation cost of a rule on a node. */
+public class HotRuleDto implements ToXContentObject, Writeable {
+
+    private final String ruleId;
+
+    private final String title;
+
+    private final long evaluations;
+
+    private final long totalNanos;
+
+    private final long maxNanos;
+
+    private final long profiledEvaluations;
+
+    private final long cpuNanos;
+
+    private final long matches;
+
+    private final long p50Nanos;
+
+    private final long p99Nanos;
+
+    /** Count and time of the compared values, by kind of value. */
+    private final Map<String, long[]> values;
+
+    public HotRuleDto(EventMatcher.RuleMatchCost cost) {
+        this.ruleId = cost.getRuleId();
+        this.title = cost.getTitle();
+        this.evaluations = cost.getEvaluations();
+        this.totalNanos = cost.getTotalNanos();
+        this.maxNanos = cost.getMaxNanos();
+        this.profiledEvaluations = cost.getProfiledEvaluations();
+        this.cpuNanos = cost.getCpuNanos();
+        this.matches = cost.getMatches();
+        this.p50Nanos = cost.getPercentileNanos(50);
+        this.p99Nanos = cost.getPercentileNanos(99);
+        this.values = new LinkedHashMap<>();
+        for (EventMatcher.ValueKind kind : EventMatcher.ValueKind.values()) {
+            long count = cost.getValueCount(kind);
+            if (count > 0) {
+                this.values.put(kind.getName(), new long[] {count, cost.getValueNanos(kind)});
+            }
+        }
+    }
+
+    public HotRuleDto(StreamInput sin) throws IOException {
+        this.ruleId = sin.readString();
+        this.title = sin.readOptionalString();
+        this.evaluations = sin.readVLong();
+        this.totalNanos = sin.readVLong();
+        this.maxNanos = sin.readVLong();
+        this.profiledEvaluations = sin.readVLong();
+        this.cpuNanos = sin.readVLong();
+        this.matches = sin.readVLong();
+        this.p50Nanos = sin.readVLong();
+        this.p99Nanos = sin.readVLong();
+        this.values = sin.readOrderedMap(StreamInput::readString, StreamInput::readVLongArray);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(this.ruleId);
+        out.writeOptionalString(this.title);
+        out.writeVLong(this.evaluations);
+        out.writeVLong(this.totalNanos);
+        out.writeVLong(this.maxNanos);
+        out.writeVLong(this.profiledEvaluations);
+        out.writeVLong(this.cpuNanos);
+        out.writeVLong(this.matches);
+        out.writeVLong(this.p50Nanos);
+        out.writeVLong(this.p99Nanos);
+        out.writeMap(this.values, StreamOutput::writeString, StreamOutput::writeVLongArray);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field("rule_id", this.ruleId)
+                .field("title", this.title)
+                .field("evaluations", this.evaluations)
+                .field("total_time_in_nanos", this.totalNanos)
+                .field("max_time_in_nanos", this.maxNanos);
+        if (this.profiledEvaluations > 0) {
+            builder.startObject("profile")
+                    .field("evaluations", this.profiledEvaluations)
+                    .field("matches", this.matches)
+                    .field("cpu_time_in_nanos", this.cpuNanos)
+                    .field("p50_time_in_nanos", this.p50Nanos)
+                    .field("p99_time_in_nanos", this.p99Nanos);
+            builder.startObject("values");
+            for (Map.Entry<String, long[]> value : this.values.entrySet()) {
+                builder.startObject(value.getKey())
+                        .field("count", value.getValue()[0])
+                        .field("time_in_nanos", value.getValue()[1])
+                        .endObject();
+            }
+            builder.endObject().endObject();
+        }
+        return builder.endObject();
+    }
+
+    public String getRuleId() {
+        return this.ruleId;
+    }
+
+    public String getTitle() {
+        return this.title;
+    }
+
+    public long getEvaluations() {
+        return this.evaluations;
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+
+    public long getCpuNanos() {
+        return this.cpuNanos;
+    }
+
+    public long getMatches() {
+        return this.matches;
+    }
+
+    public long getP50Nanos() {
+        return this.p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return this.p99Nanos;
+    }
+
+    public Map<String, long[]> getValues() {
+        return this.values;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+/** Returns the most expensive rules evaluated by the rule evaluation engine of each node. */
+public class RuleProfileAction extends ActionType<RuleProfileResponse> {
+
+    public static final RuleProfileAction INSTANCE = new RuleProfileAction();
+    public static final String NAME = "cluster:admin/wazuh/securityanalytics/rules/profile";
+
+    public RuleProfileAction() {
+        super(NAME, RuleProfileResponse::new);
+    }
+}
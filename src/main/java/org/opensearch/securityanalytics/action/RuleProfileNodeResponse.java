@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/** Most expensive rules evaluated by a node. */
+public class RuleProfileNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private final boolean profiling;
+
+    private final List<HotRuleDto> rules;
+
+    public RuleProfileNodeResponse(DiscoveryNode node, boolean profiling, List<HotRuleDto> rules) {
+        super(node);
+        this.profiling = profiling;
+        this.rules = rules;
+    }
+
+    public RuleProfileNodeResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.profiling = sin.readBoolean();
+        this.rules = sin.readList(HotRuleDto::new);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeBoolean(this.profiling);
+        out.writeList(this.rules);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.field("name", this.getNode().getName());
+        builder.field("profiling", this.profiling);
+        builder.startArray("rules");
+        for (HotRuleDto rule : this.rules) {
+            rule.toXContent(builder, params);
+        }
+        return builder.endArray();
+    }
+
+    public boolean isProfiling() {
+        return this.profiling;
+    }
+
+    public List<HotRuleDto> getRules() {
+        return this.rules;
+    }
+}
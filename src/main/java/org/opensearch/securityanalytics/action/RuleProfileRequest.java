@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.securityanalytics.rules.engine.EventMatcher;
+
+import java.io.IOException;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/** Requests the {@code size} most expensive rules of the given nodes, sorted by {@code order}. */
+public class RuleProfileRequest extends BaseNodesRequest<RuleProfileRequest> {
+
+    public static final int DEFAULT_SIZE = 10;
+
+    public static final int MAX_SIZE = 1000;
+
+    private final int size;
+
+    private final EventMatcher.CostOrder order;
+
+    public RuleProfileRequest(int size, EventMatcher.CostOrder order, String... nodesIds) {
+        super(nodesIds);
+        this.size = size;
+        this.order = order;
+    }
+
+    public RuleProfileRequest(StreamInput sin) throws IOException {
+        super(sin);
+        this.size = sin.readVInt();
+        this.order = sin.readEnum(EventMatcher.CostOrder.class);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeVInt(this.size);
+        out.writeEnum(this.order);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (this.size < 1 || this.size > MAX_SIZE) {
+            validationException = addValidationError("size must be between 1 and " + MAX_SIZE, validationException);
+        }
+        return validationException;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public EventMatcher.CostOrder getOrder() {
+        return this.order;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/** Most expensive rules evaluated by each node, keyed by node id. */
+public class RuleProfileResponse extends BaseNodesResponse<RuleProfileNodeResponse> implements ToXContentFragment {
+
+    public RuleProfileResponse(
+            ClusterName clusterName, List<RuleProfileNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    public RuleProfileResponse(StreamInput sin) throws IOException {
+        super(sin);
+    }
+
+    @Override
+    protected List<RuleProfileNodeResponse> readNodesFrom(StreamInput sin) throws IOException {
+        return sin.readList(RuleProfileNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<RuleProfileNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("nodes");
+        for (RuleProfileNodeResponse node : this.getNodes()) {
+            builder.startObject(node.getNode().getId());
+            node.toXContent(builder, params);
+            builder.endObject();
+        }
+        return builder.endObject();
+    }
+}
@@ -336,7 +336,7 @@ public class AlertsService {
 
     }
 
-    private static BoolQueryBuilder getBoolQueryBuilder(Instant startTime, Instant endTime) {
+    public static BoolQueryBuilder getBoolQueryBuilder(Instant startTime, Instant endTime) {
         BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
         if (startTime != null && endTime != null) {
             long startTimeMillis = startTime.toEpochMilli();
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.securityanalytics.util.LatencyHistogram;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node level counters and stage latencies of the correlation pipeline run for every published
+ * finding. Recording is a few {@link LongAdder} increments, and reading takes no lock, so the stats
+ * can be scraped often.
+ *
+ * <p>The state of the correlation queue is owned by the correlation transport action, which exposes
+ * it through {@link #setQueue(QueueState)}.
+ */
+public class CorrelationPipelineStats {
+
+    /** Timed step of the correlation pipeline. */
+    public enum Stage {
+        /** Resolution of the detector owning the finding's monitor. */
+        DETECTOR_LOOKUP,
+        /** Correlation rule evaluation by {@link JoinEngine}. */
+        JOIN_ENGINE,
+        /** Scoring and storage of the correlations by {@link VectorEmbeddingsEngine}. */
+        VECTOR_EMBEDDINGS,
+        /** A batch of the enrichment of findings with their events and rule metadata. */
+        ENRICHMENT;
+
+        public String getName() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** Current state of the correlation queue. */
+    public interface QueueState {
+        int pending();
+
+        int maxPending();
+
+        int inFlight();
+
+        int maxInFlight();
+
+        boolean eventsWriteBlocked();
+
+        /** Findings in the spill log waiting for correlation. */
+        int spillPending();
+
+        long spillSizeInBytes();
+    }
+
+    private static final QueueState NO_QUEUE =
+            new QueueState() {
+                @Override
+                public int pending() {
+                    return 0;
+                }
+
+                @Override
+                public int maxPending() {
+                    return 0;
+                }
+
+                @Override
+                public int inFlight() {
+                    return 0;
+                }
+
+                @Override
+                public int maxInFlight() {
+                    return 0;
+                }
+
+                @Override
+                public boolean eventsWriteBlocked() {
+                    return false;
+                }
+
+                @Override
+                public int spillPending() {
+                    return 0;
+                }
+
+                @Override
+                public long spillSizeInBytes() {
+                    return 0;
+                }
+            };
+
+    private final LatencyHistogram[] stages = new LatencyHistogram[Stage.values().length];
+
+    private final LongAdder queued = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder spilled = new LongAdder();
+
+    private final LongAdder replayed = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder skipped = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder eventsWriteBlocks = new LongAdder();
+
+    private volatile QueueState queue = NO_QUEUE;
+
+    public CorrelationPipelineStats() {
+        for (int i = 0; i < this.stages.length; i++) {
+            this.stages[i] = new LatencyHistogram();
+        }
+    }
+
+    public void setQueue(QueueState queue) {
+        this.queue = queue;
+    }
+
+    public QueueState getQueue() {
+        return this.queue;
+    }
+
+    public void recordStage(Stage stage, long nanos) {
+        this.stages[stage.ordinal()].record(nanos);
+    }
+
+    public LatencyHistogram getStage(Stage stage) {
+        return this.stages[stage.ordinal()];
+    }
+
+    /** A finding was admitted to the correlation queue. */
+    public void onQueued() {
+        this.queued.increment();
+    }
+
+    /**
+     * A finding was shed because the correlation queue was full.
+     *
+     * @return the number of findings shed so far
+     */
+    public long onDropped() {
+        this.dropped.increment();
+        return this.dropped.sum();
+    }
+
+    /** A finding was written to the spill log because the correlation queue was full. */
+    public void onSpilled() {
+        this.spilled.increment();
+    }
+
+    /** A spilled finding was handed back to the correlation queue. */
+    public void onReplayed() {
+        this.replayed.increment();
+    }
+
+    public void onCompleted() {
+        this.completed.increment();
+    }
+
+    /** A finding was completed without correlation, e.g. because the correlation indices couldn't be set up. */
+    public void onSkipped() {
+        this.skipped.increment();
+    }
+
+    public void onFailed() {
+        this.failed.increment();
+    }
+
+    /** Ingestion backpressure was engaged, i.e. the events indices were write blocked. */
+    public void onEventsWriteBlocked() {
+        this.eventsWriteBlocks.increment();
+    }
+
+    public long getQueued() {
+        return this.queued.sum();
+    }
+
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    public long getSpilled() {
+        return this.spilled.sum();
+    }
+
+    public long getReplayed() {
+        return this.replayed.sum();
+    }
+
+    public long getCompleted() {
+        return this.completed.sum();
+    }
+
+    public long getSkipped() {
+        return this.skipped.sum();
+    }
+
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    public long getEventsWriteBlocks() {
+        return this.eventsWriteBlocks.sum();
+    }
+}
@@ -22,6 +22,7 @@ import org.opensearch.securityanalytics.model.CorrelationRule;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongSupplier;
 
 /**
@@ -36,6 +37,8 @@ public final class CorrelationRulesCache {
 
     private final ConcurrentHashMap<String, Entry> byDetectorType = new ConcurrentHashMap<>();
     private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
     private volatile long ttlNanos;
 
     public CorrelationRulesCache(TimeValue ttl) {
@@ -49,16 +52,20 @@ public final class CorrelationRulesCache {
 
     public Optional<List<CorrelationRule>> get(String detectorType) {
         if (ttlNanos <= 0) {
+            misses.increment();
             return Optional.empty();
         }
         Entry entry = byDetectorType.get(detectorType);
         if (entry == null) {
+            misses.increment();
             return Optional.empty();
         }
         if (clock.getAsLong() > entry.expiresAtNanos) {
             byDetectorType.remove(detectorType, entry);
+            misses.increment();
             return Optional.empty();
         }
+        hits.increment();
         return Optional.of(entry.rules);
     }
 
@@ -86,6 +93,16 @@ public final class CorrelationRulesCache {
         }
     }
 
+    /** Number of lookups served from the cache. */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** Number of lookups not served from the cache, including expired entries. */
+    public long getMisses() {
+        return misses.sum();
+    }
+
     int size() {
         return byDetectorType.size();
     }
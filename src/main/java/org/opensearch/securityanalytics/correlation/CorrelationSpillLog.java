@@ -0,0 +1,503 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Bounded, node-local, append-only log of the findings the correlation queue had no room for, so
+ * they can be correlated later instead of being dropped.
+ *
+ * <p>Records are framed as {@code [length][seq][payload][crc32]} in segment files named {@code
+ * spill-<first seq>.log}. Completing a record appends its sequence number to the {@code .done} file
+ * of its segment, and a segment is deleted once all of its records are completed. On {@link
+ * #open()}, a torn tail left by a crash is truncated and completed records are skipped: a record
+ * handed out by {@link #poll(int)} but not completed before a restart is handed out again, while a
+ * completed record never is. Records found corrupt by {@link #poll(int)} are discarded and
+ * completed, so their segment can still be deleted.
+ *
+ * <p>Appends and completions reach the file system on every call and are forced to disk by {@link
+ * #sync()}.
+ */
+public final class CorrelationSpillLog implements Closeable {
+
+    private static final Logger log = LogManager.getLogger(CorrelationSpillLog.class);
+
+    /** Directory of the spill log under the node data path. */
+    public static final String DIRECTORY_NAME = "security_analytics_correlation_spill";
+
+    public static final long DEFAULT_SEGMENT_BYTES = 16L * 1024 * 1024;
+
+    static final String SEGMENT_PREFIX = "spill-";
+
+    static final String SEGMENT_SUFFIX = ".log";
+
+    static final String DONE_SUFFIX = ".done";
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private static final int FRAME_OVERHEAD = HEADER_BYTES + Integer.BYTES;
+
+    private final Path dir;
+
+    private final long segmentBytes;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private volatile long maxBytes;
+
+    private Segment active;
+
+    private long nextSeq;
+
+    private long sizeInBytes;
+
+    private int pending;
+
+    private int undelivered;
+
+    private boolean open;
+
+    public CorrelationSpillLog(Path dir, long maxBytes, long segmentBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /** Creates the spill directory if needed and recovers the segments left by a previous run. */
+    public synchronized void open() throws IOException {
+        Files.createDirectories(this.dir);
+        List<Path> orphans = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.dir, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(DONE_SUFFIX)) {
+                    if (!Files.exists(this.dir.resolve(name.replace(DONE_SUFFIX, SEGMENT_SUFFIX)))) {
+                        orphans.add(file);
+                    }
+                    continue;
+                }
+                if (!name.endsWith(SEGMENT_SUFFIX)) {
+                    continue;
+                }
+                long firstSeq;
+                try {
+                    firstSeq = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring unexpected file [{}] in the correlation spill directory", file);
+                    continue;
+                }
+                this.segments.put(firstSeq, this.recover(file, firstSeq));
+            }
+        }
+        // A segment is deleted before its done file, so a done file alone is left over from a crash in between.
+        for (Path orphan : orphans) {
+            Files.deleteIfExists(orphan);
+        }
+
+        Iterator<Segment> it = this.segments.values().iterator();
+        while (it.hasNext()) {
+            Segment segment = it.next();
+            this.nextSeq = segment.firstSeq + segment.records;
+            if (segment.completedCount == segment.records) {
+                it.remove();
+                this.delete(segment);
+                continue;
+            }
+            this.sizeInBytes += segment.bytes;
+            this.pending += segment.records - segment.completedCount;
+        }
+        this.undelivered = this.pending;
+        this.open = true;
+        if (this.pending > 0) {
+            log.info("Recovered {} spilled findings to correlate from [{}]", this.pending, this.dir);
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return this.open;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @return false if the log is closed or full
+     */
+    public synchronized boolean append(byte[] payload) throws IOException {
+        if (!this.open) {
+            return false;
+        }
+        int frameBytes = FRAME_OVERHEAD + payload.length;
+        if (this.sizeInBytes + frameBytes > this.maxBytes) {
+            return false;
+        }
+        if (this.active == null || this.active.bytes >= this.segmentBytes) {
+            this.roll();
+        }
+        long seq = this.nextSeq;
+        ByteBuffer frame = ByteBuffer.allocate(frameBytes);
+        frame.putInt(payload.length).putLong(seq).put(payload).putInt(checksum(seq, payload)).flip();
+        long position = this.active.bytes;
+        while (frame.hasRemaining()) {
+            position += this.active.writer.write(frame, position);
+        }
+        this.nextSeq++;
+        this.active.records++;
+        this.active.bytes += frameBytes;
+        this.sizeInBytes += frameBytes;
+        this.pending++;
+        this.undelivered++;
+        return true;
+    }
+
+    /** Hands out up to {@code max} records, oldest first, that weren't handed out since {@link #open()}. */
+    public synchronized List<Record> poll(int max) throws IOException {
+        List<Record> records = new ArrayList<>();
+        if (!this.open || this.undelivered == 0) {
+            return records;
+        }
+        // Completing the discarded records of a corrupt segment may delete it
+        for (Segment segment : new ArrayList<>(this.segments.values())) {
+            if (records.size() >= max) {
+                break;
+            }
+            if (segment.delivered == segment.records) {
+                continue;
+            }
+            boolean corrupt = false;
+            try (FileChannel channel = FileChannel.open(segment.logPath, StandardOpenOption.READ)) {
+                long limit = Math.min(segment.bytes, channel.size());
+                while (records.size() < max && segment.delivered < segment.records) {
+                    Record record = readFrame(channel, segment.readPosition, limit);
+                    if (record == null) {
+                        corrupt = true;
+                        break;
+                    }
+                    segment.readPosition = record.next;
+                    int index = segment.delivered++;
+                    if (!segment.completed.get(index)) {
+                        records.add(record);
+                        this.undelivered--;
+                    }
+                }
+            }
+            if (corrupt) {
+                this.discardCorruptRecords(segment);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Records the completion of a record handed out by {@link #poll(int)}.
+     *
+     * @return false if the record was already completed
+     */
+    public synchronized boolean complete(long seq) throws IOException {
+        if (!this.open) {
+            return false;
+        }
+        Map.Entry<Long, Segment> entry = this.segments.floorEntry(seq);
+        if (entry == null) {
+            return false;
+        }
+        Segment segment = entry.getValue();
+        int index = (int) (seq - segment.firstSeq);
+        if (index >= segment.records || segment.completed.get(index)) {
+            return false;
+        }
+        this.complete(segment, index);
+        return true;
+    }
+
+    private void complete(Segment segment, int index) throws IOException {
+        long seq = segment.firstSeq + index;
+        if (segment.doneWriter == null) {
+            segment.doneWriter =
+                    FileChannel.open(
+                            segment.donePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(0, seq);
+        while (buffer.hasRemaining()) {
+            segment.doneWriter.write(buffer);
+        }
+        segment.completed.set(index);
+        segment.completedCount++;
+        this.pending--;
+        if (segment.completedCount == segment.records) {
+            this.segments.remove(segment.firstSeq);
+            this.sizeInBytes -= segment.bytes;
+            if (segment == this.active) {
+                this.active = null;
+            }
+            this.delete(segment);
+        }
+    }
+
+    /**
+     * Discards the records of {@code segment} not handed out yet, from the first corrupt one on, and
+     * completes them. The segment is no longer appended to, as the records after the corrupt one
+     * would be truncated on the next {@link #open()}.
+     */
+    private void discardCorruptRecords(Segment segment) throws IOException {
+        log.error(
+                "Correlation spill segment [{}] is corrupt after record {}, discarding its {} remaining records",
+                segment.logPath,
+                segment.firstSeq + segment.delivered,
+                segment.records - segment.delivered);
+        if (segment == this.active) {
+            this.active.writer.force(false);
+            this.active.writer.close();
+            this.active.writer = null;
+            this.active = null;
+        }
+        int from = segment.delivered;
+        this.undelivered -= segment.records - from;
+        segment.delivered = segment.records;
+        for (int index = from; index < segment.records; index++) {
+            if (!segment.completed.get(index)) {
+                this.complete(segment, index);
+            }
+        }
+    }
+
+    /** Forces the appends and completions written so far to disk. */
+    public synchronized void sync() throws IOException {
+        if (!this.open) {
+            return;
+        }
+        if (this.active != null) {
+            this.active.writer.force(false);
+        }
+        for (Segment segment : this.segments.values()) {
+            if (segment.doneWriter != null) {
+                segment.doneWriter.force(false);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!this.open) {
+            return;
+        }
+        this.sync();
+        for (Segment segment : this.segments.values()) {
+            segment.closeChannels();
+        }
+        this.segments.clear();
+        this.active = null;
+        this.sizeInBytes = 0;
+        this.pending = 0;
+        this.undelivered = 0;
+        this.open = false;
+    }
+
+    /** Number of records not completed yet. */
+    public synchronized int getPending() {
+        return this.pending;
+    }
+
+    /** Number of records waiting to be handed out. */
+    public synchronized int getUndelivered() {
+        return this.undelivered;
+    }
+
+    /** Size of the segment files. */
+    public synchronized long getSizeInBytes() {
+        return this.sizeInBytes;
+    }
+
+    private void roll() throws IOException {
+        if (this.active != null) {
+            this.active.writer.force(false);
+            this.active.writer.close();
+            this.active.writer = null;
+        }
+        Segment segment = new Segment(this.dir, this.nextSeq);
+        segment.writer = FileChannel.open(segment.logPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.segments.put(segment.firstSeq, segment);
+        this.active = segment;
+    }
+
+    private Segment recover(Path logPath, long firstSeq) throws IOException {
+        Segment segment = new Segment(this.dir, firstSeq);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long position = 0;
+            Record record;
+            while ((record = readFrame(channel, position, size)) != null && record.seq == firstSeq + segment.records) {
+                segment.records++;
+                position = record.next;
+            }
+            if (position < size) {
+                log.warn("Truncating correlation spill segment [{}] from {} to {} bytes", logPath, size, position);
+                channel.truncate(position);
+                channel.force(true);
+            }
+            segment.bytes = position;
+        }
+        if (Files.exists(segment.donePath)) {
+            ByteBuffer done = ByteBuffer.wrap(Files.readAllBytes(segment.donePath));
+            while (done.remaining() >= Long.BYTES) {
+                long index = done.getLong() - firstSeq;
+                if (index >= 0 && index < segment.records && !segment.completed.get((int) index)) {
+                    segment.completed.set((int) index);
+                    segment.completedCount++;
+                }
+            }
+        }
+        return segment;
+    }
+
+    private void delete(Segment segment) throws IOException {
+        segment.closeChannels();
+        Files.deleteIfExists(segment.logPath);
+        Files.deleteIfExists(segment.donePath);
+    }
+
+    /** Reads the frame at {@code position}, or returns null if it is truncated or corrupt. */
+    private static Record readFrame(FileChannel channel, long position, long limit) throws IOException {
+        if (limit - position < FRAME_OVERHEAD) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(channel, header, position);
+        int length = header.getInt(0);
+        long seq = header.getLong(Integer.BYTES);
+        if (length < 0 || limit - position - FRAME_OVERHEAD < length) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length + Integer.BYTES);
+        readFully(channel, body, position + HEADER_BYTES);
+        byte[] payload = new byte[length];
+        body.flip();
+        body.get(payload);
+        if (body.getInt() != checksum(seq, payload)) {
+            return null;
+        }
+        return new Record(seq, payload, position + FRAME_OVERHEAD + length);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of correlation spill segment");
+            }
+        }
+    }
+
+    private static int checksum(long seq, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, seq));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /** A spilled record. */
+    public static final class Record {
+
+        private final long seq;
+
+        private final byte[] payload;
+
+        private final long next;
+
+        Record(long seq, byte[] payload, long next) {
+            this.seq = seq;
+            this.payload = payload;
+            this.next = next;
+        }
+
+        public long getSeq() {
+            return this.seq;
+        }
+
+        public byte[] getPayload() {
+            return this.payload;
+        }
+    }
+
+    private static final class Segment {
+
+        final long firstSeq;
+
+        final Path logPath;
+
+        final Path donePath;
+
+        /** Open while this is the segment appended to. */
+        FileChannel writer;
+
+        FileChannel doneWriter;
+
+        long bytes;
+
+        int records;
+
+        /** Completed records, by index in the segment. */
+        final BitSet completed = new BitSet();
+
+        int completedCount;
+
+        /** Records handed out, or skipped as completed, since the log was opened. */
+        int delivered;
+
+        long readPosition;
+
+        Segment(Path dir, long firstSeq) {
+            this.firstSeq = firstSeq;
+            String name = SEGMENT_PREFIX + String.format(Locale.ROOT, "%020d", firstSeq);
+            this.logPath = dir.resolve(name + SEGMENT_SUFFIX);
+            this.donePath = dir.resolve(name + DONE_SUFFIX);
+        }
+
+        void closeChannels() throws IOException {
+            if (this.writer != null) {
+                this.writer.close();
+                this.writer = null;
+            }
+            if (this.doneWriter != null) {
+                this.doneWriter.close();
+                this.doneWriter = null;
+            }
+        }
+    }
+}
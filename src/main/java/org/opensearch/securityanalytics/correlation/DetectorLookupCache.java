@@ -21,6 +21,7 @@ import org.opensearch.securityanalytics.model.Detector;
 
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongSupplier;
 
 /**
@@ -35,6 +36,8 @@ public final class DetectorLookupCache {
 
     private final ConcurrentHashMap<String, Entry> byMonitorId = new ConcurrentHashMap<>();
     private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
     private volatile long ttlNanos;
 
     public DetectorLookupCache(TimeValue ttl) {
@@ -48,16 +51,20 @@ public final class DetectorLookupCache {
 
     public Optional<Detector> get(String monitorId) {
         if (ttlNanos <= 0) {
+            misses.increment();
             return Optional.empty();
         }
         Entry entry = byMonitorId.get(monitorId);
         if (entry == null) {
+            misses.increment();
             return Optional.empty();
         }
         if (clock.getAsLong() > entry.expiresAtNanos) {
             byMonitorId.remove(monitorId, entry);
+            misses.increment();
             return Optional.empty();
         }
+        hits.increment();
         return Optional.of(entry.detector);
     }
 
@@ -85,6 +92,16 @@ public final class DetectorLookupCache {
         }
     }
 
+    /** Number of lookups served from the cache. */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** Number of lookups not served from the cache, including expired entries. */
+    public long getMisses() {
+        return misses.sum();
+    }
+
     int size() {
         return byMonitorId.size();
     }
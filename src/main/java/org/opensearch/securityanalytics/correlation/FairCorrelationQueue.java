@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.securityanalytics.findings.FindingFlatFields;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue of the findings waiting for correlation, served by weighted fair queuing instead of FIFO.
+ *
+ * <p>Each detector and severity pair is a flow weighted by its severity, doubling with each level
+ * from {@code informational} to {@code critical}. Items are tagged with the virtual time at which
+ * they finish in their flow (self-clocked fair queuing), and served in tag order. A backlogged flow
+ * gets a share of the service proportional to its weight, so high severity findings overtake bulk
+ * low severity ones, including those of their own detector, while every flow keeps being served
+ * and no detector starves. A per-detector quota bounds how much of the queue a single detector can
+ * hold.
+ *
+ * <p>The detector of a finding is only resolved once its correlation starts, so findings are queued
+ * by the id of the monitor that produced them, which belongs to a single detector.
+ */
+public final class FairCorrelationQueue<T> {
+
+    /** Severity level of findings without one. */
+    static final int DEFAULT_SEVERITY = FindingFlatFields.severityRank("medium");
+
+    private static final int SEVERITY_LEVELS = FindingFlatFields.severityRank("critical") + 1;
+
+    private final PriorityQueue<Entry<T>> queue =
+            new PriorityQueue<>(Comparator.<Entry<T>>comparingDouble(entry -> entry.finish).thenComparingLong(entry -> entry.seq));
+
+    private final Map<String, Flows> detectors = new HashMap<>();
+
+    /** Size of {@link #queue}, readable without taking the lock. */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** Finish tag of the last item served. */
+    private double virtualTime;
+
+    private long seq;
+
+    /** Highest severity level tagged on the doc level queries of {@code finding}. */
+    public static int severityOf(Finding finding) {
+        int severity = -1;
+        for (DocLevelQuery query : finding.getDocLevelQueries()) {
+            for (String tag : query.getTags()) {
+                severity = Math.max(severity, FindingFlatFields.severityRank(tag));
+            }
+        }
+        return severity < 0 ? DEFAULT_SEVERITY : severity;
+    }
+
+    /**
+     * Queues {@code item}.
+     *
+     * @param quota maximum number of queued items of {@code detector}, or 0 for no limit
+     * @return false if the detector reached its quota
+     */
+    public synchronized boolean offer(String detector, int severity, T item, int quota) {
+        Flows flows = this.detectors.get(detector);
+        if (flows == null) {
+            flows = new Flows();
+            this.detectors.put(detector, flows);
+        } else if (quota > 0 && flows.pending >= quota) {
+            return false;
+        }
+        int level = Math.max(0, Math.min(severity, SEVERITY_LEVELS - 1));
+        double start = Math.max(this.virtualTime, flows.lastFinish[level]);
+        double finish = start + 1.0 / (1 << level);
+        flows.lastFinish[level] = finish;
+        flows.pending++;
+        this.queue.add(new Entry<>(item, detector, finish, this.seq++));
+        this.size.incrementAndGet();
+        return true;
+    }
+
+    /** Removes the item with the lowest finish tag, or returns null if the queue is empty. */
+    public synchronized T poll() {
+        Entry<T> entry = this.queue.poll();
+        if (entry == null) {
+            return null;
+        }
+        this.size.decrementAndGet();
+        this.virtualTime = entry.finish;
+        Flows flows = this.detectors.get(entry.detector);
+        // Every tag of an idle detector is at most the virtual time, so it can start over from it.
+        if (--flows.pending == 0) {
+            this.detectors.remove(entry.detector);
+        }
+        return entry.item;
+    }
+
+    public int size() {
+        return this.size.get();
+    }
+
+    /** Number of detectors with queued items. */
+    synchronized int detectors() {
+        return this.detectors.size();
+    }
+
+    private static final class Flows {
+
+        /** Finish tag of the last item queued, by severity level. */
+        final double[] lastFinish = new double[SEVERITY_LEVELS];
+
+        int pending;
+    }
+
+    private static final class Entry<T> {
+
+        final T item;
+
+        final String detector;
+
+        final double finish;
+
+        final long seq;
+
+        Entry(T item, String detector, double finish, long seq) {
+            this.item = item;
+            this.detector = detector;
+            this.finish = finish;
+            this.seq = seq;
+        }
+    }
+}
@@ -44,10 +44,10 @@ import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
-import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
 import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
+import org.opensearch.securityanalytics.indexmanagment.FindingIndexCatalog;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.CorrelationQuery;
 import org.opensearch.securityanalytics.model.CorrelationRule;
@@ -96,6 +96,8 @@ public class JoinEngine {
 
     private final CorrelationRulesCache correlationRulesCache;
 
+    private final FindingIndexCatalog findingIndexCatalog;
+
     public JoinEngine(
             Client client,
             PublishFindingsRequest request,
@@ -108,7 +110,8 @@ public class JoinEngine {
             CorrelationAlertService correlationAlertService,
             NotificationService notificationService,
             User user,
-            CorrelationRulesCache correlationRulesCache) {
+            CorrelationRulesCache correlationRulesCache,
+            FindingIndexCatalog findingIndexCatalog) {
         this.client = client;
         this.request = request;
         this.xContentRegistry = xContentRegistry;
@@ -121,6 +124,7 @@ public class JoinEngine {
         this.notificationService = notificationService;
         this.user = user;
         this.correlationRulesCache = correlationRulesCache;
+        this.findingIndexCatalog = findingIndexCatalog;
     }
 
     public void onSearchDetectorResponse(Detector detector, Finding finding) {
@@ -178,10 +182,10 @@ public class JoinEngine {
                                 String logTypeName = nameObj.toString();
                                 logTypeNames.add(logTypeName);
 
+                                long from = findingTimestamp - this.corrTimeWindow;
+                                long to = findingTimestamp + this.corrTimeWindow;
                                 RangeQueryBuilder rangeQueryBuilder =
-                                        QueryBuilders.rangeQuery("timestamp")
-                                                .gte(findingTimestamp - this.corrTimeWindow)
-                                                .lte(findingTimestamp + this.corrTimeWindow);
+                                        QueryBuilders.rangeQuery("timestamp").gte(from).lte(to);
 
                                 SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
                                 sourceBuilder.query(rangeQueryBuilder);
@@ -189,7 +193,7 @@ public class JoinEngine {
                                 sourceBuilder.fetchField("queries");
                                 SearchRequest searchRequest = new SearchRequest();
                                 searchRequest.indices(
-                                        DetectorMonitorConfig.getAllFindingsIndicesPattern(logTypeName));
+                                        this.findingIndexCatalog.findingsIndices(logTypeName, from, to));
                                 searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
                                 searchRequest.source(sourceBuilder);
                                 searchRequest.preference(Preference.PRIMARY_FIRST.type());
@@ -495,10 +499,10 @@ public class JoinEngine {
 
         for (Map.Entry<String, List<CorrelationQuery>> categoryToQueries :
                 categoryToQueriesMap.entrySet()) {
-            RangeQueryBuilder queryBuilder =
-                    QueryBuilders.rangeQuery("timestamp")
-                            .gte(findingTimestamp - categoryToTimeWindowMap.get(categoryToQueries.getKey()))
-                            .lte(findingTimestamp + categoryToTimeWindowMap.get(categoryToQueries.getKey()));
+            long timeWindow = categoryToTimeWindowMap.get(categoryToQueries.getKey());
+            long from = findingTimestamp - timeWindow;
+            long to = findingTimestamp + timeWindow;
+            RangeQueryBuilder queryBuilder = QueryBuilders.rangeQuery("timestamp").gte(from).lte(to);
 
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
             searchSourceBuilder.query(queryBuilder);
@@ -507,7 +511,7 @@ public class JoinEngine {
             searchSourceBuilder.fetchField("correlated_doc_ids");
             SearchRequest searchRequest = new SearchRequest();
             searchRequest.indices(
-                    DetectorMonitorConfig.getAllFindingsIndicesPattern(categoryToQueries.getKey()));
+                    this.findingIndexCatalog.findingsIndices(categoryToQueries.getKey(), from, to));
             searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
             searchRequest.source(searchSourceBuilder);
             searchRequest.preference(Preference.PRIMARY_FIRST.type());
@@ -664,12 +668,12 @@ public class JoinEngine {
         List<String> categories = new ArrayList<>();
 
         for (Map.Entry<String, List<String>> relatedDocIds : filteredRelatedDocIds.entrySet()) {
+            long timeWindow = categoryToTimeWindowMap.get(relatedDocIds.getKey());
+            long from = findingTimestamp - timeWindow;
+            long to = findingTimestamp + timeWindow;
             BoolQueryBuilder queryBuilder =
                     QueryBuilders.boolQuery()
-                            .filter(
-                                    QueryBuilders.rangeQuery("timestamp")
-                                            .gte(findingTimestamp - categoryToTimeWindowMap.get(relatedDocIds.getKey()))
-                                            .lte(findingTimestamp + categoryToTimeWindowMap.get(relatedDocIds.getKey())))
+                            .filter(QueryBuilders.rangeQuery("timestamp").gte(from).lte(to))
                             .must(QueryBuilders.termsQuery("correlated_doc_ids", relatedDocIds.getValue()));
 
             if (relatedDocIds.getKey().equals(detectorType)) {
@@ -684,7 +688,7 @@ public class JoinEngine {
             searchSourceBuilder.size(10000);
             SearchRequest searchRequest = new SearchRequest();
             searchRequest.indices(
-                    DetectorMonitorConfig.getAllFindingsIndicesPattern(relatedDocIds.getKey()));
+                    this.findingIndexCatalog.findingsIndices(relatedDocIds.getKey(), from, to));
             searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
             searchRequest.source(searchSourceBuilder);
             searchRequest.preference(Preference.PRIMARY_FIRST.type());
@@ -23,6 +23,8 @@ import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.get.MultiGetItemResponse;
 import org.opensearch.action.get.MultiGetRequest;
 import org.opensearch.action.index.IndexRequest;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
@@ -31,9 +33,12 @@ import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.commons.alerting.model.Finding;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.correlation.CorrelationPipelineStats;
+import org.opensearch.securityanalytics.findings.FindingFlatFields;
 import org.opensearch.securityanalytics.model.LOG_CATEGORY;
 import org.opensearch.securityanalytics.model.Rule;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.IndexUtils;
 import org.opensearch.threadpool.Scheduler;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
@@ -97,6 +102,7 @@ public class WazuhEnrichedFindingService implements Closeable {
                     .collect(Collectors.toUnmodifiableSet());
 
     private final Client client;
+    private final ClusterService clusterService;
     private final ThreadPool threadPool;
     private final TimeValue indexTimeout;
     private volatile boolean enabled;
@@ -125,6 +131,9 @@ public class WazuhEnrichedFindingService implements Closeable {
 
     private volatile Scheduler.Cancellable flushSchedule;
 
+    /** Stats the time taken by each enrichment batch is recorded in. */
+    private final CorrelationPipelineStats pipelineStats;
+
     public WazuhEnrichedFindingService(
             Client client,
             boolean enabled,
@@ -132,7 +141,27 @@ public class WazuhEnrichedFindingService implements Closeable {
             ThreadPool threadPool,
             int ruleCacheMaxSize,
             ClusterService clusterService) {
+        this(
+                client,
+                enabled,
+                indexTimeout,
+                threadPool,
+                ruleCacheMaxSize,
+                clusterService,
+                new CorrelationPipelineStats());
+    }
+
+    public WazuhEnrichedFindingService(
+            Client client,
+            boolean enabled,
+            TimeValue indexTimeout,
+            ThreadPool threadPool,
+            int ruleCacheMaxSize,
+            ClusterService clusterService,
+            CorrelationPipelineStats pipelineStats) {
         this.client = client;
+        this.pipelineStats = pipelineStats;
+        this.clusterService = clusterService;
         this.threadPool = threadPool;
         this.enabled = enabled;
         this.indexTimeout = indexTimeout;
@@ -258,7 +287,8 @@ public class WazuhEnrichedFindingService implements Closeable {
      * Releases an in-flight permit and attempts to process more queued findings. Called at every
      * terminal point of the async enrichment chain (success or failure).
      */
-    private void enrichmentComplete() {
+    private void enrichmentComplete(long startNanos) {
+        this.pipelineStats.recordStage(CorrelationPipelineStats.Stage.ENRICHMENT, System.nanoTime() - startNanos);
         this.inFlightPermits.release();
         this.processQueue();
     }
@@ -280,10 +310,11 @@ public class WazuhEnrichedFindingService implements Closeable {
      * across the whole batch in one combined MultiGet (deduplicated by {@code index|docId}), then
      * hands each finding off to the rule-metadata step. The single in-flight permit acquired for this
      * batch is released exactly once — after the last finding completes, or immediately on a path
-     * that starts no per-finding chains. Must reach {@link #enrichmentComplete()} (directly, or via
+     * that starts no per-finding chains. Must reach {@link #enrichmentComplete(long)} (directly, or via
      * the per-finding {@code onComplete} callbacks) at every terminal point.
      */
     private void doEnrichBatch(List<Finding> batch) {
+        long startNanos = System.nanoTime();
         // One combined MultiGet across the whole batch, deduplicated by index|docId so the same
         // event referenced by multiple findings is fetched only once.
         MultiGetRequest mget = new MultiGetRequest();
@@ -298,7 +329,7 @@ public class WazuhEnrichedFindingService implements Closeable {
         }
 
         if (mget.getItems().isEmpty()) {
-            this.enrichmentComplete();
+            this.enrichmentComplete(startNanos);
             return;
         }
 
@@ -358,7 +389,7 @@ public class WazuhEnrichedFindingService implements Closeable {
                                 }
 
                                 if (validEntries.isEmpty()) {
-                                    this.enrichmentComplete();
+                                    this.enrichmentComplete(startNanos);
                                     return;
                                 }
 
@@ -367,7 +398,7 @@ public class WazuhEnrichedFindingService implements Closeable {
                                 Runnable onOneDone =
                                         () -> {
                                             if (remaining.decrementAndGet() == 0) {
-                                                this.enrichmentComplete();
+                                                this.enrichmentComplete(startNanos);
                                             }
                                         };
 
@@ -381,7 +412,7 @@ public class WazuhEnrichedFindingService implements Closeable {
                                         "Batch source-doc MultiGet failed for {} findings, skipping enrichment",
                                         batch.size(),
                                         e);
-                                this.enrichmentComplete();
+                                this.enrichmentComplete(startNanos);
                             }));
         } catch (Exception e) {
             // Synchronous failure (e.g. thread pool rejection) before the listener is wired in.
@@ -390,7 +421,7 @@ public class WazuhEnrichedFindingService implements Closeable {
                     "Failed to submit batch source-doc MultiGet for {} findings, releasing in-flight slot",
                     batch.size(),
                     e);
-            this.enrichmentComplete();
+            this.enrichmentComplete(startNanos);
         }
     }
 
@@ -539,7 +570,7 @@ public class WazuhEnrichedFindingService implements Closeable {
      * the {@code GENERIC} thread pool so it does not run on the transport/listener thread that
      * completed the upstream MultiGet and would otherwise compete with request handling.
      *
-     * <p>Wrapped in try/finally so {@link #enrichmentComplete()} always runs, even if a build throws
+     * <p>Wrapped in try/finally so {@link #enrichmentComplete(long)} always runs, even if a build throws
      * synchronously. Each doc is also guarded so a single bad event does not strand the in-flight
      * permit and stall {@link #findingsQueue} for the rest of the process's lifetime.
      */
@@ -619,12 +650,23 @@ public class WazuhEnrichedFindingService implements Closeable {
         eventObj.put("index", finding.getIndex());
         doc.put("event", eventObj);
 
+        Object existingWazuh = eventSource.get("wazuh");
+        Map<String, Object> findingFields =
+                this.hasFlatFindingFields(category) ? FindingFlatFields.of(finding) : null;
+
         if (queries.isEmpty()) {
+            if (findingFields != null) {
+                Map<String, Object> wazuhObj = new HashMap<>();
+                if (existingWazuh instanceof Map) {
+                    wazuhObj.putAll((Map<String, Object>) existingWazuh);
+                }
+                wazuhObj.put(FindingFlatFields.FINDING_FIELD, findingFields);
+                doc.put("wazuh", wazuhObj);
+            }
             this.indexEnrichedFinding(category, doc);
             return;
         }
 
-        Object existingWazuh = eventSource.get("wazuh");
         for (DocLevelQuery query : queries) {
             try {
                 Map<String, Object> ruleMetadata =
@@ -636,6 +678,9 @@ public class WazuhEnrichedFindingService implements Closeable {
                     wazuhObj.putAll((Map<String, Object>) existingWazuh);
                 }
                 wazuhObj.put("rule", this.buildRuleObject(query, ruleMetadata, eventSource));
+                if (findingFields != null) {
+                    wazuhObj.put(FindingFlatFields.FINDING_FIELD, findingFields);
+                }
                 doc.put("wazuh", wazuhObj);
 
                 this.indexEnrichedFinding(category, doc);
@@ -699,6 +744,22 @@ public class WazuhEnrichedFindingService implements Closeable {
         return rule;
     }
 
+    /**
+     * Whether the write index of the category maps the {@code wazuh.finding} flat fields. Indices
+     * created before them are strictly mapped and would reject the documents, so the fields are only
+     * written once the write index has them.
+     */
+    private boolean hasFlatFindingFields(String category) {
+        ClusterState state = this.clusterService.state();
+        if (state == null) {
+            return false;
+        }
+        String writeIndex =
+                IndexUtils.getWriteIndex(DetectorMonitorConfig.getWazuhFindingsIndex(category), state);
+        IndexMetadata indexMetadata = writeIndex == null ? null : state.metadata().index(writeIndex);
+        return indexMetadata != null && FindingFlatFields.isMapped(indexMetadata);
+    }
+
     // ── Step 4: buffer and bulk-index to wazuh-findings-v5-{category}-* ──────
 
     private void indexEnrichedFinding(String category, Map<String, Object> document) {
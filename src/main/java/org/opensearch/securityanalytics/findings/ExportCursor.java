@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.StreamInput;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Position of an export: the point in time it reads from and the sort values of the last exported
+ * document, encoded as an opaque URL safe string.
+ */
+public final class ExportCursor {
+
+    private static final byte VERSION = 1;
+
+    private static final String INVALID_CURSOR = "Invalid export cursor";
+
+    private final String pitId;
+
+    private final Object[] searchAfter;
+
+    public ExportCursor(String pitId, Object[] searchAfter) {
+        this.pitId = pitId;
+        this.searchAfter = searchAfter;
+    }
+
+    public String getPitId() {
+        return this.pitId;
+    }
+
+    public Object[] getSearchAfter() {
+        return this.searchAfter;
+    }
+
+    public String encode() {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeByte(VERSION);
+            out.writeString(this.pitId);
+            out.writeVInt(this.searchAfter.length);
+            for (Object value : this.searchAfter) {
+                out.writeGenericValue(value);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode export cursor", e);
+        }
+    }
+
+    /**
+     * Decodes a cursor returned by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the cursor is not a valid export cursor
+     */
+    public static ExportCursor decode(String cursor) {
+        ExportCursor decoded = null;
+        try (StreamInput in = new BytesArray(Base64.getUrlDecoder().decode(cursor)).streamInput()) {
+            if (in.readByte() == VERSION) {
+                String pitId = in.readString();
+                Object[] searchAfter = new Object[in.readVInt()];
+                for (int i = 0; i < searchAfter.length; i++) {
+                    searchAfter[i] = in.readGenericValue();
+                }
+                if (in.available() == 0) {
+                    decoded = new ExportCursor(pitId, searchAfter);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+        if (decoded == null) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        return decoded;
+    }
+}
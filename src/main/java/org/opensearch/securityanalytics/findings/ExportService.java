@@ -0,0 +1,396 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.CreatePitResponse;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.securityanalytics.action.ExportRequest;
+import org.opensearch.securityanalytics.action.ExportResponse;
+import org.opensearch.securityanalytics.action.GetDetectorAction;
+import org.opensearch.securityanalytics.action.GetDetectorRequest;
+import org.opensearch.securityanalytics.action.SearchDetectorAction;
+import org.opensearch.securityanalytics.action.SearchDetectorRequest;
+import org.opensearch.securityanalytics.alerts.AlertsService;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.util.DetectorUtils;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.EXPORT_KEEP_ALIVE;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.EXPORT_MAX_CHUNK_SIZE;
+import static org.opensearch.securityanalytics.transport.TransportIndexDetectorAction.CHAINED_FINDINGS_MONITOR_STRING;
+
+/**
+ * Exports findings or alerts as NDJSON, a chunk at a time.
+ *
+ * <p>Unlike the findings and alerts APIs, which page with {@code from} and {@code size}, an export
+ * reads a point in time of the findings or alerts indices with {@code search_after}, so that every
+ * chunk costs the same however deep into the export it is, and the export sees a consistent view
+ * of the indices. Documents are sorted by time and id, and each chunk is bounded both in number of
+ * documents and in bytes. The documents findings were generated from are only fetched when asked
+ * for. An export that isn't bound to a detector only reads the findings or alerts of the detectors
+ * the user may search, with the backend role filter of the detector search API.
+ */
+public class ExportService {
+
+    private static final Logger log = LogManager.getLogger(ExportService.class);
+
+    static final String FINDINGS_TIME_FIELD = "timestamp";
+
+    static final String ALERTS_TIME_FIELD = "start_time";
+
+    static final String ID_FIELD = "id";
+
+    static final String DOCUMENTS_FIELD = "documents";
+
+    private static final byte NEW_LINE = '\n';
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    public ExportService(Client client, ClusterService clusterService, NamedXContentRegistry xContentRegistry) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.xContentRegistry = xContentRegistry;
+    }
+
+    /** Exports the next chunk of findings or alerts matching the request. */
+    public void export(ExportRequest request, ActionListener<ExportResponse> listener) {
+        if (request.getDetectorId() == null) {
+            // Searched through the detector search action, so that its backend role filter applies
+            this.client.execute(
+                    SearchDetectorAction.INSTANCE,
+                    new SearchDetectorRequest(searchDetectorsRequest(request.getLogType())),
+                    ActionListener.delegateFailure(listener, (delegatedListener, searchResponse) -> {
+                        List<Detector> detectors;
+                        try {
+                            detectors = DetectorUtils.getDetectors(searchResponse, this.xContentRegistry);
+                        } catch (IOException e) {
+                            delegatedListener.onFailure(e);
+                            return;
+                        }
+                        List<String> monitorIds = monitorIds(detectors, request.getType());
+                        if (monitorIds.isEmpty() && request.getCursor() == null) {
+                            // No detector the user may read, an export under way still runs to release its point in time
+                            delegatedListener.onResponse(new ExportResponse(BytesArray.EMPTY, 0, null));
+                            return;
+                        }
+                        this.exportChunk(request, request.getLogType() == null ? "*" : request.getLogType(), monitorIds, delegatedListener);
+                    }));
+            return;
+        }
+        this.client.execute(
+                GetDetectorAction.INSTANCE,
+                new GetDetectorRequest(request.getDetectorId(), -3L),
+                ActionListener.delegateFailure(listener, (delegatedListener, getDetectorResponse) -> {
+                    Detector detector = getDetectorResponse.getDetector();
+                    this.exportChunk(request, detector.getDetectorType(), monitorIds(detector, request.getType()), delegatedListener);
+                }));
+    }
+
+    /** Searches the detectors of a log type, or all of them when there is none. */
+    static SearchRequest searchDetectorsRequest(String logType) {
+        QueryBuilder query = logType == null
+                ? QueryBuilders.matchAllQuery()
+                : QueryBuilders.nestedQuery(
+                        "detector",
+                        QueryBuilders.boolQuery().must(QueryBuilders.matchQuery(DetectorUtils.DETECTOR_TYPE_PATH, logType)),
+                        ScoreMode.None);
+        return new SearchRequest(Detector.DETECTORS_INDEX)
+                .source(new SearchSourceBuilder().query(query).size(DetectorUtils.MAX_DETECTORS_SEARCH_SIZE).fetchSource(true))
+                .preference(Preference.PRIMARY_FIRST.type());
+    }
+
+    /** Returns the monitors of all the detectors which generate their findings or alerts. */
+    static List<String> monitorIds(List<Detector> detectors, ExportRequest.Type type) {
+        List<String> monitorIds = new ArrayList<>();
+        for (Detector detector : detectors) {
+            monitorIds.addAll(monitorIds(detector, type));
+        }
+        return monitorIds;
+    }
+
+    /**
+     * Returns the monitors of a detector which generate the findings or the alerts of the detector,
+     * the same ones the findings and alerts APIs read from.
+     */
+    static List<String> monitorIds(Detector detector, ExportRequest.Type type) {
+        Map<String, String> ruleIdMonitorIdMap = detector.getRuleIdMonitorIdMap();
+        String chainedFindingsMonitorId = ruleIdMonitorIdMap.get(CHAINED_FINDINGS_MONITOR_STRING);
+        if (chainedFindingsMonitorId == null) {
+            return detector.getMonitorIds();
+        }
+        List<String> monitorIds = new ArrayList<>();
+        for (String monitorId : detector.getMonitorIds()) {
+            boolean chained = chainedFindingsMonitorId.equals(monitorId);
+            if (type == ExportRequest.Type.FINDINGS && !chained) {
+                monitorIds.add(monitorId);
+            } else if (type == ExportRequest.Type.ALERTS && (chained || monitorId.equals(ruleIdMonitorIdMap.get("-1")))) {
+                monitorIds.add(monitorId);
+            }
+        }
+        return monitorIds;
+    }
+
+    private void exportChunk(ExportRequest request, String logType, List<String> monitorIds, ActionListener<ExportResponse> listener) {
+        BoolQueryBuilder query = query(request, monitorIds);
+        TimeValue keepAlive = this.clusterService.getClusterSettings().get(EXPORT_KEEP_ALIVE);
+        if (request.getCursor() != null) {
+            ExportCursor cursor = ExportCursor.decode(request.getCursor());
+            this.searchChunk(request, query, cursor.getPitId(), cursor.getSearchAfter(), keepAlive, listener);
+            return;
+        }
+
+        String indices = request.getType() == ExportRequest.Type.FINDINGS
+                ? DetectorMonitorConfig.getAllFindingsIndicesPattern(logType)
+                : DetectorMonitorConfig.getAllAlertsIndicesPattern(logType);
+        this.client.createPit(new CreatePitRequest(keepAlive, false, indices), new ActionListener<>() {
+            @Override
+            public void onResponse(CreatePitResponse createPitResponse) {
+                ExportService.this.searchChunk(request, query, createPitResponse.getId(), null, keepAlive, listener);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                    // Nothing was ever written to the findings or alerts indices of the log type
+                    listener.onResponse(new ExportResponse(BytesArray.EMPTY, 0, null));
+                    return;
+                }
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    /** Builds the query of the findings or alerts to export, with the filters of the request. */
+    static BoolQueryBuilder query(ExportRequest request, List<String> monitorIds) {
+        BoolQueryBuilder query;
+        if (request.getType() == ExportRequest.Type.FINDINGS) {
+            query = FindingsService.getBoolQueryBuilder(
+                    request.getDetectionType(), request.getSeverity(), null, request.getStartTime(), request.getEndTime());
+        } else {
+            query = AlertsService.getBoolQueryBuilder(request.getStartTime(), request.getEndTime());
+            if (request.getSeverity() != null && !"ALL".equals(request.getSeverity())) {
+                query.filter(QueryBuilders.termQuery("severity", request.getSeverity()));
+            }
+            if (request.getAlertState() != null && !"ALL".equals(request.getAlertState())) {
+                query.filter(QueryBuilders.termQuery("state", request.getAlertState()));
+            }
+        }
+        query.filter(QueryBuilders.termsQuery("monitor_id", monitorIds));
+        return query;
+    }
+
+    private void searchChunk(
+            ExportRequest request,
+            BoolQueryBuilder query,
+            String pitId,
+            Object[] searchAfter,
+            TimeValue keepAlive,
+            ActionListener<ExportResponse> listener) {
+        String timeField = request.getType() == ExportRequest.Type.FINDINGS ? FINDINGS_TIME_FIELD : ALERTS_TIME_FIELD;
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(query)
+                .size(request.getSize())
+                .trackTotalHits(false)
+                // Ids are unique, so the order is total and no document is skipped between chunks
+                .sort(SortBuilders.fieldSort(timeField).order(SortOrder.ASC))
+                .sort(SortBuilders.fieldSort(ID_FIELD).order(SortOrder.ASC))
+                .pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(keepAlive));
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+
+        this.client.search(new SearchRequest().source(searchSourceBuilder), new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse searchResponse) {
+                String nextPitId = searchResponse.pointInTimeId() != null ? searchResponse.pointInTimeId() : pitId;
+                SearchHit[] hits = searchResponse.getHits().getHits();
+                ActionListener<ExportResponse> chunkListener = ActionListener.wrap(
+                        response -> {
+                            if (response.isDone()) {
+                                ExportService.this.deletePit(nextPitId);
+                            }
+                            listener.onResponse(response);
+                        },
+                        e -> {
+                            ExportService.this.deletePit(nextPitId);
+                            listener.onFailure(e);
+                        });
+                if (request.isIncludeDocs() && hits.length > 0) {
+                    ExportService.this.fetchDocuments(hits, ActionListener.delegateFailure(chunkListener,
+                            (delegatedListener, documents) -> ExportService.this.writeChunk(request, hits, documents, nextPitId, delegatedListener)));
+                } else {
+                    ExportService.this.writeChunk(request, hits, null, nextPitId, chunkListener);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                ExportService.this.deletePit(pitId);
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    /** Fetches the documents the findings were generated from, by index and id. */
+    private void fetchDocuments(SearchHit[] hits, ActionListener<Map<String, Map<String, Object>>> listener) {
+        MultiGetRequest multiGetRequest = new MultiGetRequest();
+        for (SearchHit hit : hits) {
+            Map<String, Object> source = hit.getSourceAsMap();
+            Object index = source.get("index");
+            Object relatedDocIds = source.get("related_doc_ids");
+            if (index instanceof String && relatedDocIds instanceof List) {
+                for (Object docId : (List<?>) relatedDocIds) {
+                    multiGetRequest.add((String) index, String.valueOf(docId));
+                }
+            }
+        }
+        if (multiGetRequest.getItems().isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+        this.client.multiGet(multiGetRequest, ActionListener.delegateFailure(listener, (delegatedListener, multiGetResponse) -> {
+            Map<String, Map<String, Object>> documents = new HashMap<>();
+            for (MultiGetItemResponse item : multiGetResponse.getResponses()) {
+                if (!item.isFailed() && item.getResponse().isExists()) {
+                    documents.put(documentKey(item.getIndex(), item.getId()), item.getResponse().getSourceAsMap());
+                }
+            }
+            delegatedListener.onResponse(documents);
+        }));
+    }
+
+    private void writeChunk(
+            ExportRequest request,
+            SearchHit[] hits,
+            Map<String, Map<String, Object>> documents,
+            String pitId,
+            ActionListener<ExportResponse> listener) {
+        ClusterSettings clusterSettings = this.clusterService.getClusterSettings();
+        long maxChunkBytes = clusterSettings.get(EXPORT_MAX_CHUNK_SIZE).getBytes();
+        int count = 0;
+        BytesStreamOutput out = new BytesStreamOutput();
+        try {
+            for (SearchHit hit : hits) {
+                // The chunk is cut short once full, the rest of the page is read again with the next one
+                if (count > 0 && out.size() >= maxChunkBytes) {
+                    break;
+                }
+                writeLine(out, hit, documents);
+                count++;
+            }
+            boolean done = count == hits.length && hits.length < request.getSize();
+            String cursor = done ? null : new ExportCursor(pitId, hits[count - 1].getSortValues()).encode();
+            listener.onResponse(new ExportResponse(out.bytes(), count, cursor));
+        } catch (IOException e) {
+            log.error("Failed to write export chunk", e);
+            listener.onFailure(e);
+        }
+    }
+
+    /**
+     * Writes the source of a finding or alert as a line of NDJSON, along with the documents it was
+     * generated from when they were fetched. Sources without line breaks are copied as they are.
+     */
+    static void writeLine(BytesStreamOutput out, SearchHit hit, Map<String, Map<String, Object>> documents) throws IOException {
+        BytesReference source = hit.getSourceRef();
+        if (documents == null && source != null && source.length() > 0 && source.get(0) == '{' && source.indexOf(NEW_LINE, 0) < 0) {
+            source.writeTo(out);
+            out.writeByte(NEW_LINE);
+            return;
+        }
+
+        Map<String, Object> sourceMap = hit.getSourceAsMap();
+        try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
+            builder.startObject();
+            for (Map.Entry<String, Object> field : sourceMap.entrySet()) {
+                builder.field(field.getKey(), field.getValue());
+            }
+            if (documents != null) {
+                Object index = sourceMap.get("index");
+                Object relatedDocIds = sourceMap.get("related_doc_ids");
+                builder.startArray(DOCUMENTS_FIELD);
+                if (relatedDocIds instanceof List) {
+                    for (Object docId : (List<?>) relatedDocIds) {
+                        Map<String, Object> document = documents.get(documentKey(String.valueOf(index), String.valueOf(docId)));
+                        builder.startObject();
+                        builder.field("index", index);
+                        builder.field("id", String.valueOf(docId));
+                        builder.field("found", document != null);
+                        if (document != null) {
+                            builder.field("document", document);
+                        }
+                        builder.endObject();
+                    }
+                }
+                builder.endArray();
+            }
+            builder.endObject();
+            BytesReference.bytes(builder).writeTo(out);
+        }
+        out.writeByte(NEW_LINE);
+    }
+
+    private static String documentKey(String index, String id) {
+        return index + "|" + id;
+    }
+
+    private void deletePit(String pitId) {
+        this.client.deletePits(
+                new DeletePitRequest(pitId),
+                ActionListener.wrap(r -> {}, e -> log.debug("Failed to delete point in time of an export", e)));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.index.Index;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flat keyword fields describing the finding an enriched finding comes from, written under {@code
+ * wazuh.finding} by {@code WazuhEnrichedFindingService}.
+ *
+ * <p>They carry what the findings APIs otherwise filter on with {@code nested} queries on the
+ * {@code queries} of the findings: the rule ids, the severities found in the rule tags and whether
+ * the finding comes from Sigma rules, threat intel or both. Indices created before these fields
+ * existed don't map them, see {@link #isMapped(IndexMetadata)}.
+ */
+public final class FindingFlatFields {
+
+    public static final String FINDING_FIELD = "finding";
+
+    public static final String ID_FIELD = "wazuh.finding.id";
+    public static final String MONITOR_ID_FIELD = "wazuh.finding.monitor_id";
+    public static final String TIMESTAMP_FIELD = "wazuh.finding.timestamp";
+    public static final String RULE_IDS_FIELD = "wazuh.finding.rule_ids";
+    public static final String SEVERITY_FIELD = "wazuh.finding.severity";
+    public static final String MAX_SEVERITY_FIELD = "wazuh.finding.max_severity";
+    public static final String DETECTION_TYPE_FIELD = "wazuh.finding.detection_type";
+
+    public static final String DETECTION_TYPE_RULE = "rule";
+    public static final String DETECTION_TYPE_THREAT = "threat";
+
+    /** Prefix of the ids of the doc level queries generated from threat intel. */
+    public static final String THREAT_INTEL_QUERY_PREFIX = "threat_intel_";
+
+    /** Severity levels, from lowest to highest. */
+    private static final List<String> SEVERITIES = List.of("informational", "low", "medium", "high", "critical");
+
+    /** Whether the flat fields are mapped, by index, for the mapping version it was checked at. */
+    private static final Map<Index, MappedState> MAPPED_STATES = new ConcurrentHashMap<>();
+
+    private static final int MAPPED_STATES_MAX_SIZE = 1024;
+
+    private FindingFlatFields() {}
+
+    /** Builds the {@code wazuh.finding} object of the enriched findings of a finding. */
+    public static Map<String, Object> of(Finding finding) {
+        Set<String> ruleIds = new LinkedHashSet<>();
+        Set<String> severities = new LinkedHashSet<>();
+        Set<String> detectionTypes = new LinkedHashSet<>();
+        int maxSeverity = -1;
+        for (DocLevelQuery query : finding.getDocLevelQueries()) {
+            ruleIds.add(query.getId());
+            detectionTypes.add(detectionTypeOf(query.getId()));
+            for (String tag : query.getTags()) {
+                String severity = normalizeSeverity(tag);
+                if (severity != null) {
+                    severities.add(severity);
+                    maxSeverity = Math.max(maxSeverity, SEVERITIES.indexOf(severity));
+                }
+            }
+        }
+
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("id", finding.getId());
+        fields.put("monitor_id", finding.getMonitorId());
+        fields.put("timestamp", finding.getTimestamp().toEpochMilli());
+        fields.put("rule_ids", new ArrayList<>(ruleIds));
+        fields.put("severity", new ArrayList<>(severities));
+        if (maxSeverity >= 0) {
+            fields.put("max_severity", SEVERITIES.get(maxSeverity));
+        }
+        fields.put("detection_type", new ArrayList<>(detectionTypes));
+        return fields;
+    }
+
+    /** Returns the detection type of a doc level query, by its id. */
+    public static String detectionTypeOf(String queryId) {
+        return queryId != null && queryId.startsWith(THREAT_INTEL_QUERY_PREFIX) ? DETECTION_TYPE_THREAT : DETECTION_TYPE_RULE;
+    }
+
+    /** Returns the severity level of a rule tag, lower cased, or null if the tag isn't one. */
+    public static String normalizeSeverity(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String severity = tag.toLowerCase(Locale.ROOT);
+        return SEVERITIES.contains(severity) ? severity : null;
+    }
+
+    /**
+     * Returns the rank of the severity level of a rule tag, from 0 for {@code informational} to 4 for
+     * {@code critical}, or -1 if the tag isn't one.
+     */
+    public static int severityRank(String tag) {
+        String severity = normalizeSeverity(tag);
+        return severity == null ? -1 : SEVERITIES.indexOf(severity);
+    }
+
+    /**
+     * Builds the query matching the enriched findings of the given monitors on the flat fields. It
+     * matches the same findings as the {@code nested} severity and detection type filters of {@link
+     * FindingsService}.
+     *
+     * @param severity severity level, see {@link #normalizeSeverity(String)}, or null
+     * @param detectionType {@code threat} for threat intel findings, anything else for rule findings, or null
+     */
+    public static BoolQueryBuilder query(
+            List<String> monitorIds,
+            String severity,
+            String detectionType,
+            List<String> findingIds,
+            Instant startTime,
+            Instant endTime) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery().filter(QueryBuilders.termsQuery(MONITOR_ID_FIELD, monitorIds));
+        if (severity != null) {
+            query.filter(QueryBuilders.termQuery(SEVERITY_FIELD, normalizeSeverity(severity)));
+        }
+        if (detectionType != null && !detectionType.isBlank()) {
+            query.filter(
+                    QueryBuilders.termQuery(
+                            DETECTION_TYPE_FIELD,
+                            detectionType.equalsIgnoreCase(DETECTION_TYPE_THREAT) ? DETECTION_TYPE_THREAT : DETECTION_TYPE_RULE));
+        }
+        if (findingIds != null && !findingIds.isEmpty()) {
+            query.filter(QueryBuilders.termsQuery(ID_FIELD, findingIds));
+        }
+        if (startTime != null && endTime != null) {
+            query.filter(QueryBuilders.rangeQuery(TIMESTAMP_FIELD).from(startTime.toEpochMilli()).to(endTime.toEpochMilli()));
+        }
+        return query;
+    }
+
+    /** Whether the mapping of an enriched findings index has the flat fields. */
+    @SuppressWarnings("unchecked")
+    public static boolean isMapped(IndexMetadata indexMetadata) {
+        Index index = indexMetadata.getIndex();
+        long mappingVersion = indexMetadata.getMappingVersion();
+        MappedState state = MAPPED_STATES.get(index);
+        if (state != null && state.mappingVersion == mappingVersion) {
+            return state.mapped;
+        }
+
+        boolean mapped = false;
+        MappingMetadata mappingMetadata = indexMetadata.mapping();
+        if (mappingMetadata != null) {
+            Object wazuh = ((Map<String, Object>) mappingMetadata.sourceAsMap().getOrDefault("properties", Map.of())).get("wazuh");
+            if (wazuh instanceof Map) {
+                Object properties = ((Map<String, Object>) wazuh).get("properties");
+                mapped = properties instanceof Map && ((Map<String, Object>) properties).containsKey(FINDING_FIELD);
+            }
+        }
+        if (MAPPED_STATES.size() >= MAPPED_STATES_MAX_SIZE) {
+            MAPPED_STATES.clear();
+        }
+        MAPPED_STATES.put(index, new MappedState(mappingVersion, mapped));
+        return mapped;
+    }
+
+    private static final class MappedState {
+
+        private final long mappingVersion;
+
+        private final boolean mapped;
+
+        private MappedState(long mappingVersion, boolean mapped) {
+            this.mappingVersion = mappingVersion;
+            this.mapped = mapped;
+        }
+    }
+}
@@ -8,23 +8,36 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.commons.alerting.AlertingPluginInterface;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.commons.alerting.model.FindingWithDocs;
 import org.opensearch.commons.alerting.model.Table;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.index.IndexSettings;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.NestedQueryBuilder;
 import org.opensearch.index.query.PrefixQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.collapse.CollapseBuilder;
 import org.opensearch.securityanalytics.action.FindingDto;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetDetectorRequest;
 import org.opensearch.securityanalytics.action.GetDetectorResponse;
 import org.opensearch.securityanalytics.action.GetFindingsResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.indexmanagment.FindingIndexCatalog;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.transport.client.Client;
@@ -32,12 +45,15 @@ import org.opensearch.transport.client.node.NodeClient;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.ENRICHED_FINDINGS_ENABLED;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDINGS_FLAT_FIELDS_MAX_IDS;
 import static org.opensearch.securityanalytics.transport.TransportIndexDetectorAction.CHAINED_FINDINGS_MONITOR_STRING;
 
 /**
@@ -47,8 +63,17 @@ public class FindingsService {
 
     private Client client;
 
+    private FindingIndexCatalog findingIndexCatalog;
+
+    private ClusterService clusterService;
+
     private static final Logger log = LogManager.getLogger(FindingsService.class);
 
+    /** Name of the query telling the enriched findings matching the severity and detection type. */
+    static final String MATCHING_FINDINGS_QUERY = "matching_findings";
+
+    private volatile FlatFieldsMappedState flatFieldsMappedState;
+
 
     public FindingsService() {}
 
@@ -56,6 +81,16 @@ public class FindingsService {
         this.client = client;
     }
 
+    public FindingsService(Client client, FindingIndexCatalog findingIndexCatalog) {
+        this.client = client;
+        this.findingIndexCatalog = findingIndexCatalog;
+    }
+
+    public FindingsService(Client client, FindingIndexCatalog findingIndexCatalog, ClusterService clusterService) {
+        this(client, findingIndexCatalog);
+        this.clusterService = clusterService;
+    }
+
     /**
      * Searches findings generated by specific Detector
      * @param detectorId id of Detector
@@ -115,7 +150,7 @@ public class FindingsService {
                 FindingsService.this.getFindingsByMonitorIds(
                         monitorToDetectorMapping,
                         new ArrayList<>(monitorToDetectorMapping.keySet()),
-                        DetectorMonitorConfig.getAllFindingsIndicesPattern(detector.getDetectorType()),
+                        findingsIndexExpression(detector.getDetectorType(), startTime, endTime),
                         table,
                         severity,
                         detectionType,
@@ -153,7 +188,37 @@ public class FindingsService {
             Instant endTime,
             ActionListener<GetFindingsResponse> listener
     ) {
+        if (this.canFilterOnFlatFields(severity, detectionType)) {
+            this.searchFlatFieldsBoolQueryBuilder(findingIndexName, monitorIds, severity, detectionType, findingIds, startTime, endTime, new ActionListener<>() {
+                @Override
+                public void onResponse(BoolQueryBuilder flatFieldsQueryBuilder) {
+                    BoolQueryBuilder queryBuilder = flatFieldsQueryBuilder != null
+                            ? flatFieldsQueryBuilder
+                            : getBoolQueryBuilder(detectionType, severity, findingIds, startTime, endTime);
+                    doGetFindingsByMonitorIds(monitorToDetectorMapping, monitorIds, findingIndexName, table, queryBuilder, listener);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    log.debug("Failed to filter findings on the enriched findings flat fields, using nested queries", e);
+                    doGetFindingsByMonitorIds(monitorToDetectorMapping, monitorIds, findingIndexName, table,
+                            getBoolQueryBuilder(detectionType, severity, findingIds, startTime, endTime), listener);
+                }
+            });
+            return;
+        }
         BoolQueryBuilder queryBuilder = getBoolQueryBuilder(detectionType, severity, findingIds, startTime, endTime);
+        doGetFindingsByMonitorIds(monitorToDetectorMapping, monitorIds, findingIndexName, table, queryBuilder, listener);
+    }
+
+    private void doGetFindingsByMonitorIds(
+            Map<String, Detector> monitorToDetectorMapping,
+            List<String> monitorIds,
+            String findingIndexName,
+            Table table,
+            BoolQueryBuilder queryBuilder,
+            ActionListener<GetFindingsResponse> listener
+    ) {
         org.opensearch.commons.alerting.action.GetFindingsRequest req =
                 new org.opensearch.commons.alerting.action.GetFindingsRequest(
                 null,
@@ -186,7 +251,7 @@ public class FindingsService {
 
      }
 
-    private static BoolQueryBuilder getBoolQueryBuilder(String detectionType, String severity, List<String> findingIds, Instant startTime, Instant endTime) {
+    static BoolQueryBuilder getBoolQueryBuilder(String detectionType, String severity, List<String> findingIds, Instant startTime, Instant endTime) {
         // Construct the query within the search source builder
         BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
 
@@ -239,6 +304,183 @@ public class FindingsService {
         return boolQueryBuilder;
     }
 
+    /**
+     * Same as {@link #getBoolQueryBuilder} when every finding is enriched: the severity and detection
+     * type were answered by the flat fields as {@code matchingIds}, so the findings are only filtered
+     * on their ids, without any nested query.
+     */
+    static BoolQueryBuilder getFlatFieldsBoolQueryBuilder(
+            List<String> findingIds,
+            Instant startTime,
+            Instant endTime,
+            List<String> matchingIds
+    ) {
+        return getBoolQueryBuilder(null, null, findingIds, startTime, endTime)
+                .filter(QueryBuilders.termsQuery("id", matchingIds));
+    }
+
+    /**
+     * Whether the severity and detection type filters can be run on the flat fields of the enriched
+     * findings instead of nested queries on the findings: there is a filter the flat fields can
+     * answer, findings are enriched, and there are enriched findings indices, none of them created
+     * before the flat fields existed.
+     */
+    private boolean canFilterOnFlatFields(String severity, String detectionType) {
+        boolean hasDetectionType = detectionType != null && !detectionType.isBlank();
+        if (this.clusterService == null || (severity == null && !hasDetectionType)) {
+            return false;
+        }
+        if (severity != null && FindingFlatFields.normalizeSeverity(severity) == null) {
+            return false;
+        }
+        ClusterSettings clusterSettings = this.clusterService.getClusterSettings();
+        if (clusterSettings.get(FINDINGS_FLAT_FIELDS_MAX_IDS) == 0 || !clusterSettings.get(ENRICHED_FINDINGS_ENABLED)) {
+            return false;
+        }
+        return this.flatFieldsMapped(this.clusterService.state().metadata());
+    }
+
+    /**
+     * Whether there are enriched findings indices and all of them map the flat fields, cached until
+     * the cluster metadata changes.
+     */
+    boolean flatFieldsMapped(Metadata metadata) {
+        FlatFieldsMappedState state = this.flatFieldsMappedState;
+        if (state != null && state.metadataVersion == metadata.version()) {
+            return state.mapped;
+        }
+        String pattern = DetectorMonitorConfig.getAllWazuhFindingsIndicesPattern("*");
+        boolean found = false;
+        boolean mapped = true;
+        for (IndexMetadata indexMetadata : metadata.indices().values()) {
+            if (Regex.simpleMatch(pattern, indexMetadata.getIndex().getName())) {
+                if (!FindingFlatFields.isMapped(indexMetadata)) {
+                    mapped = false;
+                    break;
+                }
+                found = true;
+            }
+        }
+        this.flatFieldsMappedState = new FlatFieldsMappedState(metadata.version(), found && mapped);
+        return found && mapped;
+    }
+
+    /**
+     * Builds the query filtering the findings on the flat fields of the enriched findings, see {@link
+     * #getFlatFieldsBoolQueryBuilder}. Answers null, for the nested queries to be used instead, when
+     * more than {@code FINDINGS_FLAT_FIELDS_MAX_IDS} findings are enriched or when some of the findings
+     * are not enriched yet.
+     */
+    private void searchFlatFieldsBoolQueryBuilder(
+            String findingIndexName,
+            List<String> monitorIds,
+            String severity,
+            String detectionType,
+            List<String> findingIds,
+            Instant startTime,
+            Instant endTime,
+            ActionListener<BoolQueryBuilder> listener
+    ) {
+        int maxIds = this.clusterService.getClusterSettings().get(FINDINGS_FLAT_FIELDS_MAX_IDS);
+        int size = Math.min(maxIds + 1, IndexSettings.MAX_RESULT_WINDOW_SETTING.get(Settings.EMPTY));
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllWazuhFindingsIndicesPattern("*"))
+                .source(flatFieldsFindingIdsSource(monitorIds, severity, detectionType, findingIds, startTime, endTime, size))
+                .indicesOptions(IndicesOptions.lenientExpandOpen());
+
+        this.client.search(searchRequest, ActionListener.wrap(
+                response -> {
+                    SearchHit[] hits = response.getHits().getHits();
+                    if (hits.length >= size) {
+                        listener.onResponse(null);
+                        return;
+                    }
+                    List<String> enrichedIds = new ArrayList<>(hits.length);
+                    List<String> matchingIds = new ArrayList<>();
+                    for (SearchHit hit : hits) {
+                        String id = hit.field(FindingFlatFields.ID_FIELD).getValue().toString();
+                        enrichedIds.add(id);
+                        if (Arrays.asList(hit.getMatchedQueries()).contains(MATCHING_FINDINGS_QUERY)) {
+                            matchingIds.add(id);
+                        }
+                    }
+                    SearchRequest notEnrichedRequest = new SearchRequest(findingIndexName)
+                            .source(new SearchSourceBuilder()
+                                    .query(notEnrichedFindingsQuery(monitorIds, findingIds, startTime, endTime, enrichedIds))
+                                    .size(1)
+                                    .fetchSource(false)
+                                    .trackTotalHits(false))
+                            .indicesOptions(IndicesOptions.lenientExpandOpen());
+                    this.client.search(notEnrichedRequest, ActionListener.wrap(
+                            notEnrichedResponse -> listener.onResponse(notEnrichedResponse.getHits().getHits().length > 0
+                                    ? null
+                                    : getFlatFieldsBoolQueryBuilder(findingIds, startTime, endTime, matchingIds)),
+                            listener::onFailure
+                    ));
+                },
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Reads from the flat fields of the enriched findings one hit per enriched finding of the
+     * monitors, carrying its id and, as the {@value #MATCHING_FINDINGS_QUERY} named query, whether it
+     * matches the severity and detection type.
+     */
+    static SearchSourceBuilder flatFieldsFindingIdsSource(
+            List<String> monitorIds,
+            String severity,
+            String detectionType,
+            List<String> findingIds,
+            Instant startTime,
+            Instant endTime,
+            int size
+    ) {
+        return new SearchSourceBuilder()
+                .query(FindingFlatFields.query(monitorIds, null, null, findingIds, startTime, endTime)
+                        .should(FindingFlatFields.query(monitorIds, severity, detectionType, null, null, null)
+                                .queryName(MATCHING_FINDINGS_QUERY)))
+                // An enriched finding is indexed once per rule and document it matched
+                .collapse(new CollapseBuilder(FindingFlatFields.ID_FIELD))
+                .docValueField(FindingFlatFields.ID_FIELD)
+                .fetchSource(false)
+                .trackTotalHits(false)
+                .size(size);
+    }
+
+    /** Matches the findings of the monitors that are not among the enriched ones. */
+    static BoolQueryBuilder notEnrichedFindingsQuery(
+            List<String> monitorIds,
+            List<String> findingIds,
+            Instant startTime,
+            Instant endTime,
+            List<String> enrichedIds
+    ) {
+        return getBoolQueryBuilder(null, null, findingIds, startTime, endTime)
+                .filter(QueryBuilders.termsQuery("monitor_id", monitorIds))
+                .mustNot(QueryBuilders.termsQuery("id", enrichedIds));
+    }
+
+    private static final class FlatFieldsMappedState {
+        private final long metadataVersion;
+        private final boolean mapped;
+
+        private FlatFieldsMappedState(long metadataVersion, boolean mapped) {
+            this.metadataVersion = metadataVersion;
+            this.mapped = mapped;
+        }
+    }
+
+    /**
+     * Narrows the findings indices to search down to the generations covering the time range, when
+     * the range is bounded and the index catalog is available.
+     */
+    private String findingsIndexExpression(String logType, Instant startTime, Instant endTime) {
+        if (this.findingIndexCatalog == null) {
+            return DetectorMonitorConfig.getAllFindingsIndicesPattern(logType);
+        }
+        return this.findingIndexCatalog.findingsIndexExpression(logType, startTime, endTime);
+    }
+
     void setIndicesAdminClient(Client client) {
         this.client = client;
     }
@@ -274,7 +516,7 @@ public class FindingsService {
         FindingsService.this.getFindingsByMonitorIds(
             monitorToDetectorMapping,
             allMonitorIds,
-            DetectorMonitorConfig.getAllFindingsIndicesPattern(logType),
+            findingsIndexExpression(logType, startTime, endTime),
             table,
             severity,
             detectionType,
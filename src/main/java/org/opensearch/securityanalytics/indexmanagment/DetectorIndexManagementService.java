@@ -18,23 +18,26 @@ package org.opensearch.securityanalytics.indexmanagment;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.opensearch.action.admin.cluster.state.ClusterStateRequest;
-import org.opensearch.action.admin.cluster.state.ClusterStateResponse;
 import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.opensearch.action.admin.indices.rollover.RolloverRequest;
 import org.opensearch.action.admin.indices.rollover.RolloverResponse;
+import org.opensearch.action.admin.indices.stats.IndexStats;
+import org.opensearch.action.admin.indices.stats.IndicesStatsRequest;
+import org.opensearch.action.admin.indices.stats.IndicesStatsResponse;
 import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
 import org.opensearch.cluster.ClusterChangedEvent;
 import org.opensearch.cluster.ClusterStateListener;
-import org.opensearch.cluster.metadata.AliasMetadata;
+import org.opensearch.cluster.metadata.IndexAbstraction;
 import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.lifecycle.AbstractLifecycleComponent;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.Index;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
@@ -47,10 +50,13 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.*;
 
@@ -92,17 +98,26 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
 
     private volatile boolean isClusterManager = false;
 
-    private Scheduler.Cancellable scheduledAlertsRollover = null;
-    private Scheduler.Cancellable scheduledFindingsRollover = null;
-    private Scheduler.Cancellable scheduledWazuhFindingsRollover = null;
+    private volatile boolean historyOptimizationEnabled;
+    private volatile boolean historyReplicaDropEnabled;
+    private volatile TimeValue historyReplicaDropMinAge;
+    private volatile TimeValue historyOptimizationMinAge;
 
-    private Scheduler.Cancellable scheduledCorrelationHistoryRollover = null;
+    private static final String ALERT_FAMILY = "alert";
+    private static final String FINDING_FAMILY = "finding";
+    private static final String WAZUH_FINDING_FAMILY = "wazuh_finding";
+    private static final String CORRELATION_FAMILY = "correlation";
 
-    private Scheduler.Cancellable scheduledIocFindingHistoryRollover = null;
+    /** Single rollover and retention pass shared by every history family. */
+    private Scheduler.Cancellable scheduledLifecycleRun = null;
 
-    List<HistoryIndexInfo> alertHistoryIndices = new ArrayList<>();
-    List<HistoryIndexInfo> findingHistoryIndices = new ArrayList<>();
-    List<HistoryIndexInfo> wazuhFindingHistoryIndices = new ArrayList<>();
+    private final HistoryIndexLifecyclePlanner planner = new HistoryIndexLifecyclePlanner();
+
+    private final HistoryIndexOptimizer optimizer;
+
+    volatile List<HistoryIndexInfo> alertHistoryIndices = new ArrayList<>();
+    volatile List<HistoryIndexInfo> findingHistoryIndices = new ArrayList<>();
+    volatile List<HistoryIndexInfo> wazuhFindingHistoryIndices = new ArrayList<>();
 
     HistoryIndexInfo correlationHistoryIndex = null;
 
@@ -121,6 +136,13 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
         this.clusterService = clusterService;
         this.logTypeService = logTypeService;
 
+        this.optimizer =
+                new HistoryIndexOptimizer(
+                        client,
+                        clusterService,
+                        HISTORY_OPTIMIZATION_MAX_NUM_SEGMENTS.get(settings),
+                        HISTORY_OPTIMIZATION_CODEC.get(settings));
+
         clusterService.addListener(this);
 
         clusterService
@@ -152,7 +174,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
                         ALERT_HISTORY_ROLLOVER_PERIOD,
                         timeValue -> {
                             DetectorIndexManagementService.this.alertHistoryRolloverPeriod = timeValue;
-                            rescheduleAlertRollover();
+                            rescheduleLifecycleRun();
                         });
         clusterService
                 .getClusterSettings()
@@ -188,7 +210,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
                         FINDING_HISTORY_ROLLOVER_PERIOD,
                         timeValue -> {
                             DetectorIndexManagementService.this.findingHistoryRolloverPeriod = timeValue;
-                            rescheduleFindingRollover();
+                            rescheduleLifecycleRun();
                         });
         clusterService
                 .getClusterSettings()
@@ -223,7 +245,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
                         CORRELATION_HISTORY_ROLLOVER_PERIOD,
                         timeValue -> {
                             DetectorIndexManagementService.this.correlationHistoryRolloverPeriod = timeValue;
-                            rescheduleCorrelationHistoryRollover();
+                            rescheduleLifecycleRun();
                         });
 
         clusterService
@@ -231,55 +253,97 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
                 .addSettingsUpdateConsumer(
                         CORRELATION_HISTORY_RETENTION_PERIOD, this::setCorrelationHistoryRetentionPeriod);
 
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        HISTORY_OPTIMIZATION_ENABLED, this::setHistoryOptimizationEnabled);
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        HISTORY_OPTIMIZATION_MAX_NUM_SEGMENTS, optimizer::setMaxNumSegments);
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(HISTORY_OPTIMIZATION_CODEC, optimizer::setCodec);
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        HISTORY_OPTIMIZATION_MIN_AGE, this::setHistoryOptimizationMinAge);
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        HISTORY_OPTIMIZATION_REPLICA_DROP_ENABLED, this::setHistoryReplicaDropEnabled);
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        HISTORY_OPTIMIZATION_REPLICA_DROP_MIN_AGE, this::setHistoryReplicaDropMinAge);
+
         initFromClusterSettings();
     }
 
     private void populateAllIndexLists(List<String> logTypes) {
+        List<HistoryIndexInfo> alertIndices = new ArrayList<>(logTypes.size());
+        List<HistoryIndexInfo> findingIndices = new ArrayList<>(logTypes.size());
+        List<HistoryIndexInfo> wazuhFindingIndices = new ArrayList<>(logTypes.size());
 
-        alertHistoryIndices.clear();
-        findingHistoryIndices.clear();
-        wazuhFindingHistoryIndices.clear();
-
-        logTypes.forEach(
-                logType -> {
-                    String alertsHistoryIndex = DetectorMonitorConfig.getAlertsHistoryIndex(logType);
-                    String alertsHistoryIndexPattern =
-                            DetectorMonitorConfig.getAlertsHistoryIndexPattern(logType);
-
-                    alertHistoryIndices.add(
-                            new HistoryIndexInfo(
-                                    alertsHistoryIndex,
-                                    alertsHistoryIndexPattern,
-                                    alertMapping(),
-                                    alertHistoryMaxDocs,
-                                    alertHistoryMaxAge,
-                                    clusterService.state().metadata().hasAlias(alertsHistoryIndex)));
-
-                    String findingsIndex = DetectorMonitorConfig.getFindingsIndex(logType);
-                    String findingsIndexPattern = DetectorMonitorConfig.getFindingsIndexPattern(logType);
-
-                    findingHistoryIndices.add(
-                            new HistoryIndexInfo(
-                                    findingsIndex,
-                                    findingsIndexPattern,
-                                    findingMapping(),
-                                    findingHistoryMaxDocs,
-                                    findingHistoryMaxAge,
-                                    clusterService.state().metadata().hasAlias(findingsIndex)));
-
-                    String wazuhFindingsIndex = DetectorMonitorConfig.getWazuhFindingsIndex(logType);
-                    String wazuhFindingsIndexPattern =
-                            DetectorMonitorConfig.getWazuhFindingsIndexPattern(logType);
-
-                    wazuhFindingHistoryIndices.add(
-                            new HistoryIndexInfo(
-                                    wazuhFindingsIndex,
-                                    wazuhFindingsIndexPattern,
-                                    wazuhFindingEnrichmentMapping(),
-                                    findingHistoryMaxDocs,
-                                    findingHistoryMaxAge,
-                                    clusterService.state().metadata().hasAlias(wazuhFindingsIndex)));
-                });
+        String alertMapping = alertMapping();
+        String findingMapping = findingMapping();
+        String wazuhFindingMapping = wazuhFindingEnrichmentMapping();
+
+        for (String logType : logTypes) {
+            alertIndices.add(
+                    new HistoryIndexInfo(
+                            DetectorMonitorConfig.getAlertsHistoryIndex(logType),
+                            DetectorMonitorConfig.getAlertsHistoryIndexPattern(logType),
+                            alertMapping,
+                            alertHistoryMaxDocs,
+                            alertHistoryMaxAge,
+                            false));
+            findingIndices.add(
+                    new HistoryIndexInfo(
+                            DetectorMonitorConfig.getFindingsIndex(logType),
+                            DetectorMonitorConfig.getFindingsIndexPattern(logType),
+                            findingMapping,
+                            findingHistoryMaxDocs,
+                            findingHistoryMaxAge,
+                            false));
+            wazuhFindingIndices.add(
+                    new HistoryIndexInfo(
+                            DetectorMonitorConfig.getWazuhFindingsIndex(logType),
+                            DetectorMonitorConfig.getWazuhFindingsIndexPattern(logType),
+                            wazuhFindingMapping,
+                            findingHistoryMaxDocs,
+                            findingHistoryMaxAge,
+                            false));
+        }
+
+        // Swap whole lists so that settings consumers never iterate a list being rebuilt
+        alertHistoryIndices = alertIndices;
+        findingHistoryIndices = findingIndices;
+        wazuhFindingHistoryIndices = wazuhFindingIndices;
+
+        planner.setSeries(ALERT_FAMILY, patternsByAlias(alertIndices));
+        planner.setSeries(FINDING_FAMILY, patternsByAlias(findingIndices));
+        planner.setSeries(WAZUH_FINDING_FAMILY, patternsByAlias(wazuhFindingIndices));
+    }
+
+    private void populateCorrelationHistoryIndex() throws IOException {
+        correlationHistoryIndex =
+                new HistoryIndexInfo(
+                        CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX,
+                        CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN,
+                        CorrelationIndices.correlationMappings(),
+                        correlationHistoryMaxDocs,
+                        correlationHistoryMaxAge,
+                        true);
+        planner.setSeries(CORRELATION_FAMILY, patternsByAlias(List.of(correlationHistoryIndex)));
+    }
+
+    private static Map<String, String> patternsByAlias(List<HistoryIndexInfo> historyIndices) {
+        Map<String, String> patterns = new HashMap<>();
+        for (HistoryIndexInfo h : historyIndices) {
+            patterns.put(h.indexAlias, h.indexPattern);
+        }
+        return patterns;
     }
 
     private void initFromClusterSettings() {
@@ -297,6 +361,10 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
         alertHistoryRetentionPeriod = ALERT_HISTORY_RETENTION_PERIOD.get(settings);
         findingHistoryRetentionPeriod = FINDING_HISTORY_RETENTION_PERIOD.get(settings);
         correlationHistoryRetentionPeriod = CORRELATION_HISTORY_RETENTION_PERIOD.get(settings);
+        historyOptimizationEnabled = HISTORY_OPTIMIZATION_ENABLED.get(settings);
+        historyOptimizationMinAge = HISTORY_OPTIMIZATION_MIN_AGE.get(settings);
+        historyReplicaDropEnabled = HISTORY_OPTIMIZATION_REPLICA_DROP_ENABLED.get(settings);
+        historyReplicaDropMinAge = HISTORY_OPTIMIZATION_REPLICA_DROP_MIN_AGE.get(settings);
     }
 
     @Override
@@ -307,65 +375,45 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
         if (this.isClusterManager != event.localNodeClusterManager()) {
             this.isClusterManager = event.localNodeClusterManager();
             if (this.isClusterManager) {
+                // Seed the planner with the full index list once, then keep it up to date from deltas
+                trackAllIndices(event.state().metadata());
                 onMaster();
             } else {
                 offMaster();
+                planner.clearGenerations();
             }
+            return;
         }
-        for (HistoryIndexInfo h : alertHistoryIndices) {
-            h.isInitialized = event.state().metadata().hasAlias(h.indexAlias);
+        if (!this.isClusterManager || !event.metadataChanged()) {
+            return;
         }
-        for (HistoryIndexInfo h : findingHistoryIndices) {
-            h.isInitialized = event.state().metadata().hasAlias(h.indexAlias);
+        for (Index index : event.indicesDeleted()) {
+            planner.onIndexDeleted(index.getName());
         }
-        for (HistoryIndexInfo h : wazuhFindingHistoryIndices) {
-            h.isInitialized = event.state().metadata().hasAlias(h.indexAlias);
+        Metadata metadata = event.state().metadata();
+        for (String index : event.indicesCreated()) {
+            IndexMetadata indexMetadata = metadata.index(index);
+            if (indexMetadata != null) {
+                planner.onIndexCreated(index, indexMetadata.getCreationDate());
+            }
         }
+    }
 
-        if (correlationHistoryIndex != null && correlationHistoryIndex.indexAlias != null) {
-            correlationHistoryIndex.isInitialized =
-                    event.state().metadata().hasAlias(correlationHistoryIndex.indexAlias);
-        }
-        if (iocFindingHistoryIndex != null && iocFindingHistoryIndex.indexAlias != null) {
-            iocFindingHistoryIndex.isInitialized =
-                    event.state().metadata().hasAlias(iocFindingHistoryIndex.indexAlias);
+    private void trackAllIndices(Metadata metadata) {
+        planner.clearGenerations();
+        for (IndexMetadata indexMetadata : metadata.indices().values()) {
+            planner.onIndexCreated(indexMetadata.getIndex().getName(), indexMetadata.getCreationDate());
         }
     }
 
     private void onMaster() {
         try {
             // try to rollover immediately as we might be restarting the cluster
-            threadPool.schedule(
-                    () -> {
-                        rolloverAndDeleteAlertHistoryIndices();
-                        rolloverAndDeleteFindingHistoryIndices();
-                        rolloverAndDeleteWazuhFindingHistoryIndices();
-                        rolloverAndDeleteCorrelationHistoryIndices();
-                        rolloverAndDeleteIocFindingHistoryIndices();
-                    },
-                    TimeValue.timeValueSeconds(1),
-                    executorName());
+            threadPool.schedule(() -> runLifecycle(), TimeValue.timeValueSeconds(1), executorName());
             // schedule the next rollover for approx MAX_AGE later
-            scheduledAlertsRollover =
-                    threadPool.scheduleWithFixedDelay(
-                            () -> rolloverAndDeleteAlertHistoryIndices(),
-                            alertHistoryRolloverPeriod,
-                            executorName());
-            scheduledFindingsRollover =
+            scheduledLifecycleRun =
                     threadPool.scheduleWithFixedDelay(
-                            () -> rolloverAndDeleteFindingHistoryIndices(),
-                            findingHistoryRolloverPeriod,
-                            executorName());
-            scheduledWazuhFindingsRollover =
-                    threadPool.scheduleWithFixedDelay(
-                            () -> rolloverAndDeleteWazuhFindingHistoryIndices(),
-                            findingHistoryRolloverPeriod,
-                            executorName());
-            scheduledCorrelationHistoryRollover =
-                    threadPool.scheduleWithFixedDelay(
-                            () -> rolloverAndDeleteCorrelationHistoryIndices(),
-                            correlationHistoryRolloverPeriod,
-                            executorName());
+                            () -> runLifecycle(), lifecycleRunPeriod(), executorName());
         } catch (Exception e) {
             // This should be run on cluster startup
             logger.error(
@@ -376,146 +424,240 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
     }
 
     private void offMaster() {
-        if (scheduledAlertsRollover != null) {
-            scheduledAlertsRollover.cancel();
-        }
-        if (scheduledFindingsRollover != null) {
-            scheduledFindingsRollover.cancel();
-        }
-        if (scheduledWazuhFindingsRollover != null) {
-            scheduledWazuhFindingsRollover.cancel();
-        }
-        if (scheduledCorrelationHistoryRollover != null) {
-            scheduledCorrelationHistoryRollover.cancel();
-        }
-        if (scheduledIocFindingHistoryRollover != null) {
-            scheduledIocFindingHistoryRollover.cancel();
+        if (scheduledLifecycleRun != null) {
+            scheduledLifecycleRun.cancel();
         }
+        optimizer.clear();
     }
 
     private String executorName() {
         return ThreadPool.Names.MANAGEMENT;
     }
 
-    private void deleteOldIndices(String tag, String... indices) {
-        logger.info("info deleteOldIndices");
-        ClusterStateRequest clusterStateRequest =
-                new ClusterStateRequest()
+    /**
+     * A single pass serves every history family, so it runs as often as the most frequent of the
+     * configured rollover periods. Rollover and retention conditions are evaluated per family, so
+     * running a family more often than its own period has no side effect.
+     */
+    private TimeValue lifecycleRunPeriod() {
+        long millis =
+                Math.min(
+                        alertHistoryRolloverPeriod.millis(),
+                        Math.min(
+                                findingHistoryRolloverPeriod.millis(), correlationHistoryRolloverPeriod.millis()));
+        return TimeValue.timeValueMillis(millis);
+    }
+
+    private void runLifecycle() {
+        logTypeService.getAllLogTypes(
+                ActionListener.wrap(
+                        logTypes -> {
+                            // We have to do this every time to account for newly added log types
+                            if (logTypes != null && !logTypes.isEmpty()) {
+                                populateAllIndexLists(logTypes);
+                            }
+                            runLifecycle(clusterService.state().metadata());
+                        },
+                        e -> {
+                            logger.error("Failed to fetch log types, only correlation history is managed", e);
+                            runLifecycle(clusterService.state().metadata());
+                        }));
+    }
+
+    private void runLifecycle(Metadata metadata) {
+        try {
+            populateCorrelationHistoryIndex();
+        } catch (Exception ex) {
+            logger.error("failed to construct correlation history index info");
+        }
+        rolloverHistoryIndices(metadata);
+        List<String> deleted = deleteExpiredHistoryIndices(metadata);
+        optimizeRolledOverHistoryIndices(metadata, deleted);
+        rolloverAndDeleteIocFindingHistoryIndices();
+    }
+
+    private void rolloverHistoryIndices(Metadata metadata) {
+        List<RolloverCandidate> candidates = new ArrayList<>();
+        if (alertHistoryEnabled) {
+            addRolloverCandidates(metadata, alertHistoryIndices, candidates);
+        }
+        if (findingHistoryEnabled) {
+            addRolloverCandidates(metadata, findingHistoryIndices, candidates);
+            addRolloverCandidates(metadata, wazuhFindingHistoryIndices, candidates);
+        }
+        if (correlationHistoryIndex != null) {
+            addRolloverCandidates(metadata, List.of(correlationHistoryIndex), candidates);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // A single stats call tells which write indices already meet a condition, so only those
+        // are sent a rollover request instead of one request per alias and per pass.
+        String[] writeIndices = candidates.stream().map(c -> c.writeIndex).toArray(String[]::new);
+        IndicesStatsRequest statsRequest =
+                new IndicesStatsRequest()
                         .clear()
-                        .indices(indices)
-                        .metadata(true)
-                        .local(true)
-                        .indicesOptions(IndicesOptions.strictExpand());
+                        .docs(true)
+                        .indices(writeIndices)
+                        .indicesOptions(IndicesOptions.lenientExpandOpen());
         client
                 .admin()
-                .cluster()
-                .state(
-                        clusterStateRequest,
+                .indices()
+                .stats(
+                        statsRequest,
                         new ActionListener<>() {
                             @Override
-                            public void onResponse(ClusterStateResponse clusterStateResponse) {
-                                if (!clusterStateResponse.getState().metadata().getIndices().isEmpty()) {
-                                    List<String> indicesToDelete = getIndicesToDelete(clusterStateResponse);
-                                    logger.info(
-                                            "Checking if we should delete "
-                                                    + tag
-                                                    + " indices: ["
-                                                    + indicesToDelete
-                                                    + "]");
-                                    deleteAllOldHistoryIndices(indicesToDelete);
-                                } else {
-                                    logger.info("No Old " + tag + " Indices to delete");
+                            public void onResponse(IndicesStatsResponse statsResponse) {
+                                long now = Instant.now().toEpochMilli();
+                                int rolledOver = 0;
+                                for (RolloverCandidate candidate : candidates) {
+                                    IndexStats indexStats = statsResponse.getIndex(candidate.writeIndex);
+                                    long docCount =
+                                            indexStats == null || indexStats.getPrimaries().getDocs() == null
+                                                    ? 0L
+                                                    : indexStats.getPrimaries().getDocs().getCount();
+                                    if (HistoryIndexLifecyclePlanner.isRolloverDue(
+                                            candidate.creationDate,
+                                            docCount,
+                                            candidate.info.maxDocs,
+                                            candidate.info.maxAge.millis(),
+                                            now)) {
+                                        rolloverIndex(candidate.info);
+                                        rolledOver++;
+                                    }
                                 }
+                                logger.debug(
+                                        "Requested rollover of [{}] out of [{}] history indices",
+                                        rolledOver,
+                                        candidates.size());
                             }
 
                             @Override
                             public void onFailure(Exception e) {
-                                logger.error("Error fetching cluster state");
+                                logger.warn(
+                                        "Failed to fetch history write index stats, "
+                                                + "letting the rollover conditions decide",
+                                        e);
+                                for (RolloverCandidate candidate : candidates) {
+                                    rolloverIndex(candidate.info);
+                                }
                             }
                         });
     }
 
-    private List<String> getIndicesToDelete(ClusterStateResponse clusterStateResponse) {
-        List<String> indicesToDelete = new ArrayList<>();
-        for (IndexMetadata indexMetadata :
-                clusterStateResponse.getState().metadata().indices().values()) {
-            IndexMetadata indexMetaData = indexMetadata;
-            String indexToDelete =
-                    getHistoryIndexToDelete(
-                            indexMetaData,
-                            alertHistoryRetentionPeriod.millis(),
-                            alertHistoryIndices,
-                            alertHistoryEnabled);
-            if (indexToDelete != null) {
-                indicesToDelete.add(indexToDelete);
-            }
-            indexToDelete =
-                    getHistoryIndexToDelete(
-                            indexMetaData,
-                            findingHistoryRetentionPeriod.millis(),
-                            findingHistoryIndices,
-                            findingHistoryEnabled);
-            if (indexToDelete != null) {
-                indicesToDelete.add(indexToDelete);
-            }
-            indexToDelete =
-                    getHistoryIndexToDelete(
-                            indexMetaData,
-                            correlationHistoryRetentionPeriod.millis(),
-                            correlationHistoryIndex != null ? List.of(correlationHistoryIndex) : List.of(),
-                            true);
-            if (indexToDelete != null) {
-                indicesToDelete.add(indexToDelete);
-            }
-            indexToDelete =
-                    getHistoryIndexToDelete(
-                            indexMetaData,
-                            iocFindingHistoryRetentionPeriod.millis(),
-                            iocFindingHistoryIndex != null ? List.of(iocFindingHistoryIndex) : List.of(),
-                            true);
-            if (indexToDelete != null) {
-                indicesToDelete.add(indexToDelete);
-            }
-            indexToDelete =
-                    getHistoryIndexToDelete(
-                            indexMetaData,
-                            findingHistoryRetentionPeriod.millis(),
-                            wazuhFindingHistoryIndices,
-                            findingHistoryEnabled);
-            if (indexToDelete != null) {
-                indicesToDelete.add(indexToDelete);
+    private void addRolloverCandidates(
+            Metadata metadata, List<HistoryIndexInfo> historyIndices, List<RolloverCandidate> candidates) {
+        for (HistoryIndexInfo h : historyIndices) {
+            IndexMetadata writeIndex = writeIndexOf(metadata, h.indexAlias);
+            // Aliases that have not been created yet are not initialized, there is nothing to roll over
+            if (writeIndex != null) {
+                candidates.add(
+                        new RolloverCandidate(h, writeIndex.getIndex().getName(), writeIndex.getCreationDate()));
             }
         }
+    }
+
+    private List<String> deleteExpiredHistoryIndices(Metadata metadata) {
+        long now = Instant.now().toEpochMilli();
+        Function<String, String> writeIndexName = writeIndexNameResolver(metadata);
+
+        // If the index has the write alias and history is enabled, don't delete the index
+        List<String> indicesToDelete = new ArrayList<>();
+        indicesToDelete.addAll(
+                planner.expiredGenerations(
+                        ALERT_FAMILY,
+                        now,
+                        alertHistoryRetentionPeriod.millis(),
+                        alertHistoryEnabled,
+                        writeIndexName));
+        indicesToDelete.addAll(
+                planner.expiredGenerations(
+                        FINDING_FAMILY,
+                        now,
+                        findingHistoryRetentionPeriod.millis(),
+                        findingHistoryEnabled,
+                        writeIndexName));
+        indicesToDelete.addAll(
+                planner.expiredGenerations(
+                        WAZUH_FINDING_FAMILY,
+                        now,
+                        findingHistoryRetentionPeriod.millis(),
+                        findingHistoryEnabled,
+                        writeIndexName));
+        indicesToDelete.addAll(
+                planner.expiredGenerations(
+                        CORRELATION_FAMILY,
+                        now,
+                        correlationHistoryRetentionPeriod.millis(),
+                        true,
+                        writeIndexName));
+
+        if (indicesToDelete.isEmpty()) {
+            logger.debug("No old history indices to delete");
+            return indicesToDelete;
+        }
+        logger.info("Deleting old history indices: [" + indicesToDelete + "]");
+        deleteAllOldHistoryIndices(indicesToDelete);
         return indicesToDelete;
     }
 
-    private String getHistoryIndexToDelete(
-            IndexMetadata indexMetadata,
-            Long retentionPeriodMillis,
-            List<HistoryIndexInfo> historyIndices,
-            Boolean historyEnabled) {
-        long creationTime = indexMetadata.getCreationDate();
-        if ((Instant.now().toEpochMilli() - creationTime) > retentionPeriodMillis) {
-            String alias = null;
-            for (AliasMetadata aliasMetadata : indexMetadata.getAliases().values()) {
-                Optional<HistoryIndexInfo> historyIndexInfoOptional =
-                        historyIndices.stream()
-                                .filter(e -> e.indexAlias.equals(aliasMetadata.alias()))
-                                .findFirst();
-                if (historyIndexInfoOptional.isPresent()) {
-                    alias = historyIndexInfoOptional.get().indexAlias;
-                    break;
+    /**
+     * Findings, enriched findings and correlation history generations are read-mostly once rolled
+     * over: merge them, and recompress them when a codec is configured, once they have been rolled
+     * over for the configured minimum age. Their replicas are dropped when they get old enough, only
+     * if replica dropping was opted into.
+     * Alert history is left untouched as alerts keep being acknowledged after rollover.
+     */
+    private void optimizeRolledOverHistoryIndices(Metadata metadata, List<String> deleted) {
+        if (!historyOptimizationEnabled) {
+            return;
+        }
+        long now = Instant.now().toEpochMilli();
+        Function<String, String> writeIndexName = writeIndexNameResolver(metadata);
+        Set<String> skipped = new HashSet<>(deleted);
+
+        List<String> toOptimize = new ArrayList<>();
+        List<String> toDropReplicas = new ArrayList<>();
+        for (String family : List.of(FINDING_FAMILY, WAZUH_FINDING_FAMILY, CORRELATION_FAMILY)) {
+            for (String index : planner.rolledOverGenerations(family, writeIndexName)) {
+                IndexMetadata indexMetadata = metadata.index(index);
+                if (skipped.contains(index)
+                        || indexMetadata == null
+                        || indexMetadata.getState() != IndexMetadata.State.OPEN) {
+                    continue;
                 }
-            }
-            if (alias != null) {
-                if (historyEnabled) {
-                    // If the index has the write alias and history is enabled, don't delete the index
-                    return null;
+                if (!HISTORY_INDEX_OPTIMIZED_SETTING.get(indexMetadata.getSettings())
+                        && now - HistoryIndexOptimizer.rolledOverAt(indexMetadata)
+                                >= historyOptimizationMinAge.millis()) {
+                    toOptimize.add(index);
+                }
+                if (historyReplicaDropEnabled
+                        && indexMetadata.getNumberOfReplicas() > 0
+                        && now - indexMetadata.getCreationDate() >= historyReplicaDropMinAge.millis()) {
+                    toDropReplicas.add(index);
                 }
             }
-            return indexMetadata.getIndex().getName();
         }
-        return null;
+        optimizer.optimize(toOptimize);
+        optimizer.dropReplicas(toDropReplicas);
+        logger.debug(
+                "History optimization: [{}] pending, [{}] optimized, [{}] failed",
+                optimizer.pendingCount(),
+                optimizer.getStats().getOptimized(),
+                optimizer.getStats().getFailed());
+    }
+
+    private static Function<String, String> writeIndexNameResolver(Metadata metadata) {
+        return alias -> {
+            IndexMetadata writeIndex = writeIndexOf(metadata, alias);
+            return writeIndex == null ? null : writeIndex.getIndex().getName();
+        };
+    }
+
+    private static IndexMetadata writeIndexOf(Metadata metadata, String alias) {
+        IndexAbstraction indexAbstraction = metadata.getIndicesLookup().get(alias);
+        return indexAbstraction == null ? null : indexAbstraction.getWriteIndex();
     }
 
     private void deleteAllOldHistoryIndices(List<String> indicesToDelete) {
@@ -555,8 +697,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
 
     private void deleteOldHistoryIndex(List<String> indicesToDelete) {
         for (String index : indicesToDelete) {
-            final DeleteIndexRequest singleDeleteRequest =
-                    new DeleteIndexRequest(indicesToDelete.toArray(new String[0]));
+            final DeleteIndexRequest singleDeleteRequest = new DeleteIndexRequest(index);
 
             client
                     .admin()
@@ -582,78 +723,6 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
         }
     }
 
-    private void rolloverAndDeleteAlertHistoryIndices() {
-        logTypeService.getAllLogTypes(
-                ActionListener.wrap(
-                        logTypes -> {
-                            if (logTypes == null || logTypes.isEmpty()) {
-                                return;
-                            }
-                            // We have to do this every time to account for newly added log types
-                            populateAllIndexLists(logTypes);
-
-                            if (alertHistoryEnabled) rolloverAlertHistoryIndices();
-                            deleteOldIndices(
-                                    "Alert", getAllAlertsIndicesPatternForAllTypes(logTypes).toArray(new String[0]));
-                        },
-                        e -> {}));
-    }
-
-    private void rolloverAndDeleteFindingHistoryIndices() {
-        logTypeService.getAllLogTypes(
-                ActionListener.wrap(
-                        logTypes -> {
-                            if (logTypes == null || logTypes.isEmpty()) {
-                                return;
-                            }
-                            // We have to do this every time to account for newly added log types
-                            populateAllIndexLists(logTypes);
-
-                            if (findingHistoryEnabled) rolloverFindingHistoryIndices();
-                            deleteOldIndices(
-                                    "Finding",
-                                    getAllFindingsIndicesPatternForAllTypes(logTypes).toArray(new String[0]));
-                        },
-                        e -> {}));
-    }
-
-    private void rolloverAndDeleteWazuhFindingHistoryIndices() {
-        logTypeService.getAllLogTypes(
-                ActionListener.wrap(
-                        logTypes -> {
-                            if (logTypes == null || logTypes.isEmpty()) {
-                                return;
-                            }
-                            populateAllIndexLists(logTypes);
-
-                            if (findingHistoryEnabled) rolloverWazuhFindingHistoryIndices();
-                            deleteOldIndices(
-                                    "WazuhFinding",
-                                    getAllWazuhFindingsIndicesPatternForAllTypes(logTypes).toArray(new String[0]));
-                        },
-                        e -> {}));
-    }
-
-    private void rolloverAndDeleteCorrelationHistoryIndices() {
-        try {
-            correlationHistoryIndex =
-                    new HistoryIndexInfo(
-                            CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX,
-                            CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN,
-                            CorrelationIndices.correlationMappings(),
-                            correlationHistoryMaxDocs,
-                            correlationHistoryMaxAge,
-                            clusterService
-                                    .state()
-                                    .metadata()
-                                    .hasAlias(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX));
-            rolloverCorrelationHistoryIndices();
-            deleteOldIndices("Correlation", CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
-        } catch (Exception ex) {
-            logger.error("failed to construct correlation history index info");
-        }
-    }
-
     private void rolloverAndDeleteIocFindingHistoryIndices() {
         //        try {
         //            iocFindingHistoryIndex = new HistoryIndexInfo(
@@ -673,44 +742,16 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
         //        }
     }
 
-    private List<String> getAllAlertsIndicesPatternForAllTypes(List<String> logTypes) {
-        return logTypes.stream()
-                .map(logType -> DetectorMonitorConfig.getAllAlertsIndicesPattern(logType))
-                .collect(Collectors.toList());
-    }
-
-    private List<String> getAllFindingsIndicesPatternForAllTypes(List<String> logTypes) {
-        return logTypes.stream()
-                .map(logType -> DetectorMonitorConfig.getAllFindingsIndicesPattern(logType))
-                .collect(Collectors.toList());
-    }
-
-    private List<String> getAllWazuhFindingsIndicesPatternForAllTypes(List<String> logTypes) {
-        return logTypes.stream()
-                .map(logType -> DetectorMonitorConfig.getAllWazuhFindingsIndicesPattern(logType))
-                .collect(Collectors.toList());
-    }
-
-    private void rolloverIndex(
-            Boolean initialized,
-            String index,
-            String pattern,
-            String map,
-            Long docsCondition,
-            TimeValue ageCondition,
-            Boolean isCorrelation) {
-        if (!initialized) {
-            return;
-        }
-
+    private void rolloverIndex(HistoryIndexInfo historyIndex) {
+        String index = historyIndex.indexAlias;
         // We have to pass null for newIndexName in order to get Elastic to increment the index count.
         RolloverRequest request = new RolloverRequest(index, null);
         request
                 .getCreateIndexRequest()
-                .index(pattern)
-                .mapping(map)
+                .index(historyIndex.indexPattern)
+                .mapping(historyIndex.indexMappings)
                 .settings(
-                        isCorrelation
+                        historyIndex.isCorrelation
                                 ? Settings.builder()
                                         .put("index.hidden", true)
                                         .put("index.correlation", true)
@@ -726,8 +767,8 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
                                                 "index.auto_expand_replicas",
                                                 minSystemIndexReplicas + "-" + maxSystemIndexReplicas)
                                         .build());
-        request.addMaxIndexDocsCondition(docsCondition);
-        request.addMaxIndexAgeCondition(ageCondition);
+        request.addMaxIndexDocsCondition(historyIndex.maxDocs);
+        request.addMaxIndexAgeCondition(historyIndex.maxAge);
         client
                 .admin()
                 .indices()
@@ -751,110 +792,14 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
                         });
     }
 
-    private void rolloverAlertHistoryIndices() {
-        for (HistoryIndexInfo h : alertHistoryIndices) {
-            rolloverIndex(
-                    h.isInitialized,
-                    h.indexAlias,
-                    h.indexPattern,
-                    h.indexMappings,
-                    h.maxDocs,
-                    h.maxAge,
-                    false);
-        }
-    }
-
-    private void rolloverFindingHistoryIndices() {
-        for (HistoryIndexInfo h : findingHistoryIndices) {
-            rolloverIndex(
-                    h.isInitialized,
-                    h.indexAlias,
-                    h.indexPattern,
-                    h.indexMappings,
-                    h.maxDocs,
-                    h.maxAge,
-                    false);
-        }
-    }
-
-    private void rolloverWazuhFindingHistoryIndices() {
-        for (HistoryIndexInfo h : wazuhFindingHistoryIndices) {
-            rolloverIndex(
-                    h.isInitialized,
-                    h.indexAlias,
-                    h.indexPattern,
-                    h.indexMappings,
-                    h.maxDocs,
-                    h.maxAge,
-                    false);
-        }
-    }
-
-    private void rolloverCorrelationHistoryIndices() {
-        if (correlationHistoryIndex != null) {
-            rolloverIndex(
-                    correlationHistoryIndex.isInitialized,
-                    correlationHistoryIndex.indexAlias,
-                    correlationHistoryIndex.indexPattern,
-                    correlationHistoryIndex.indexMappings,
-                    correlationHistoryIndex.maxDocs,
-                    correlationHistoryIndex.maxAge,
-                    true);
-        }
-    }
-
-    private void rescheduleAlertRollover() {
-        if (clusterService.state().getNodes().isLocalNodeElectedClusterManager()) {
-            if (scheduledAlertsRollover != null) {
-                scheduledAlertsRollover.cancel();
-            }
-            scheduledAlertsRollover =
-                    threadPool.scheduleWithFixedDelay(
-                            () -> rolloverAndDeleteAlertHistoryIndices(),
-                            alertHistoryRolloverPeriod,
-                            executorName());
-        }
-    }
-
-    private void rescheduleFindingRollover() {
-        if (clusterService.state().getNodes().isLocalNodeElectedClusterManager()) {
-            if (scheduledFindingsRollover != null) {
-                scheduledFindingsRollover.cancel();
-            }
-            scheduledFindingsRollover =
-                    threadPool.scheduleWithFixedDelay(
-                            () -> rolloverAndDeleteFindingHistoryIndices(),
-                            findingHistoryRolloverPeriod,
-                            executorName());
-            if (scheduledWazuhFindingsRollover != null) {
-                scheduledWazuhFindingsRollover.cancel();
-            }
-            scheduledWazuhFindingsRollover =
-                    threadPool.scheduleWithFixedDelay(
-                            () -> rolloverAndDeleteWazuhFindingHistoryIndices(),
-                            findingHistoryRolloverPeriod,
-                            executorName());
-        }
-    }
-
-    private void rescheduleCorrelationHistoryRollover() {
+    private void rescheduleLifecycleRun() {
         if (clusterService.state().getNodes().isLocalNodeElectedClusterManager()) {
-            if (scheduledCorrelationHistoryRollover != null) {
-                scheduledCorrelationHistoryRollover.cancel();
+            if (scheduledLifecycleRun != null) {
+                scheduledLifecycleRun.cancel();
             }
-            scheduledCorrelationHistoryRollover =
+            scheduledLifecycleRun =
                     threadPool.scheduleWithFixedDelay(
-                            () -> rolloverAndDeleteCorrelationHistoryIndices(),
-                            correlationHistoryRolloverPeriod,
-                            executorName());
-        }
-    }
-
-    private void rescheduleIocFindingHistoryRollover() {
-        if (clusterService.state().getNodes().isLocalNodeElectedClusterManager()) {
-            if (scheduledIocFindingHistoryRollover != null) {
-                scheduledIocFindingHistoryRollover.cancel();
-            }
+                            () -> runLifecycle(), lifecycleRunPeriod(), executorName());
         }
     }
 
@@ -960,6 +905,38 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
         this.iocFindingHistoryRetentionPeriod = iocFindingHistoryRetentionPeriod;
     }
 
+    public void setHistoryOptimizationEnabled(boolean historyOptimizationEnabled) {
+        this.historyOptimizationEnabled = historyOptimizationEnabled;
+    }
+
+    public void setHistoryReplicaDropEnabled(boolean historyReplicaDropEnabled) {
+        this.historyReplicaDropEnabled = historyReplicaDropEnabled;
+    }
+
+    public void setHistoryReplicaDropMinAge(TimeValue historyReplicaDropMinAge) {
+        this.historyReplicaDropMinAge = historyReplicaDropMinAge;
+    }
+
+    public void setHistoryOptimizationMinAge(TimeValue historyOptimizationMinAge) {
+        this.historyOptimizationMinAge = historyOptimizationMinAge;
+    }
+
+    /**
+     * Gets the counters of the history index optimization stage. Only the cluster manager optimizes
+     * generations, so the counters of the other nodes stay at zero.
+     *
+     * @return pending, optimized and failed generations, dropped replicas and total merge time
+     */
+    public HistoryOptimizationStats getOptimizationStats() {
+        HistoryIndexOptimizer.Stats stats = optimizer.getStats();
+        return new HistoryOptimizationStats(
+                optimizer.pendingCount(),
+                stats.getOptimized(),
+                stats.getFailed(),
+                stats.getReplicasDropped(),
+                stats.getMergeTimeMillis());
+    }
+
     public void setClusterManager(boolean clusterManager) {
         isClusterManager = clusterManager;
     }
@@ -969,39 +946,15 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
 
     @Override
     protected void doStop() {
-        if (scheduledAlertsRollover != null) {
-            scheduledAlertsRollover.cancel();
-        }
-        if (scheduledFindingsRollover != null) {
-            scheduledFindingsRollover.cancel();
-        }
-        if (scheduledWazuhFindingsRollover != null) {
-            scheduledWazuhFindingsRollover.cancel();
-        }
-        if (scheduledCorrelationHistoryRollover != null) {
-            scheduledCorrelationHistoryRollover.cancel();
-        }
-        if (scheduledIocFindingHistoryRollover != null) {
-            scheduledIocFindingHistoryRollover.cancel();
+        if (scheduledLifecycleRun != null) {
+            scheduledLifecycleRun.cancel();
         }
     }
 
     @Override
     protected void doClose() {
-        if (scheduledAlertsRollover != null) {
-            scheduledAlertsRollover.cancel();
-        }
-        if (scheduledFindingsRollover != null) {
-            scheduledFindingsRollover.cancel();
-        }
-        if (scheduledWazuhFindingsRollover != null) {
-            scheduledWazuhFindingsRollover.cancel();
-        }
-        if (scheduledCorrelationHistoryRollover != null) {
-            scheduledCorrelationHistoryRollover.cancel();
-        }
-        if (scheduledIocFindingHistoryRollover != null) {
-            scheduledIocFindingHistoryRollover.cancel();
+        if (scheduledLifecycleRun != null) {
+            scheduledLifecycleRun.cancel();
         }
     }
 
@@ -1012,7 +965,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
         String indexMappings;
         Long maxDocs;
         TimeValue maxAge;
-        boolean isInitialized;
+        boolean isCorrelation;
 
         public HistoryIndexInfo(
                 String indexAlias,
@@ -1020,13 +973,26 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent
                 String indexMappings,
                 Long maxDocs,
                 TimeValue maxAge,
-                boolean isInitialized) {
+                boolean isCorrelation) {
             this.indexAlias = indexAlias;
             this.indexPattern = indexPattern;
             this.indexMappings = indexMappings;
             this.maxDocs = maxDocs;
             this.maxAge = maxAge;
-            this.isInitialized = isInitialized;
+            this.isCorrelation = isCorrelation;
+        }
+    }
+
+    private static class RolloverCandidate {
+
+        final HistoryIndexInfo info;
+        final String writeIndex;
+        final long creationDate;
+
+        RolloverCandidate(HistoryIndexInfo info, String writeIndex, long creationDate) {
+            this.info = info;
+            this.writeIndex = writeIndex;
+            this.creationDate = creationDate;
         }
     }
 }
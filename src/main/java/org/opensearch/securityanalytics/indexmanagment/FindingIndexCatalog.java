@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.index.Index;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_INDEX_CATALOG_TIME_SLACK;
+
+/**
+ * Resolves a timestamp range to the concrete findings or correlation history generations that may
+ * hold documents in that range, so searches do not fan out to every rolled over generation.
+ *
+ * <p>A generation receives writes from its creation until the next generation of its series is
+ * created. Generation {@code i} is therefore considered to cover {@code [created(i) - slack,
+ * created(i + 1) + slack]}, the oldest known generation covering everything before it and the
+ * newest one everything after it. The slack accounts for documents written late or with a
+ * timestamp set before they were indexed.
+ *
+ * <p>The catalog is kept on every node from the indices created and deleted in each cluster state
+ * update, in a {@link HistoryIndexLifecyclePlanner} used as generation index. Until the first
+ * update has been applied, or for a series it knows nothing about, it falls back to the wildcard
+ * pattern of the series.
+ */
+public class FindingIndexCatalog implements ClusterStateListener {
+
+    /** Known generations. Only its generation index is used, no series are registered. */
+    private final HistoryIndexLifecyclePlanner generations = new HistoryIndexLifecyclePlanner();
+
+    private volatile boolean initialized = false;
+
+    private volatile long slackMillis;
+
+    public FindingIndexCatalog(ClusterService clusterService, Settings settings) {
+        this.slackMillis = FINDING_INDEX_CATALOG_TIME_SLACK.get(settings).millis();
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(FINDING_INDEX_CATALOG_TIME_SLACK, this::setSlack);
+        clusterService.addListener(this);
+    }
+
+    public FindingIndexCatalog(TimeValue slack) {
+        this.slackMillis = slack.millis();
+    }
+
+    public void setSlack(TimeValue slack) {
+        this.slackMillis = slack.millis();
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        Metadata metadata = event.state().metadata();
+        if (!this.initialized) {
+            this.generations.clearGenerations();
+            for (IndexMetadata indexMetadata : metadata.indices().values()) {
+                add(indexMetadata.getIndex().getName(), indexMetadata.getCreationDate());
+            }
+            this.initialized = true;
+            return;
+        }
+        if (!event.metadataChanged()) {
+            return;
+        }
+        List<Index> deleted = event.indicesDeleted();
+        List<String> created = event.indicesCreated();
+        if (deleted.isEmpty() && created.isEmpty()) {
+            return;
+        }
+        for (Index index : deleted) {
+            remove(index.getName());
+        }
+        for (String index : created) {
+            IndexMetadata indexMetadata = metadata.index(index);
+            if (indexMetadata != null) {
+                add(index, indexMetadata.getCreationDate());
+            }
+        }
+    }
+
+    /**
+     * Resolves the findings indices of a log type that may hold findings in a time range.
+     *
+     * @param logType the log type
+     * @param fromMillis lower bound of the range, in epoch millis
+     * @param toMillis upper bound of the range, in epoch millis
+     * @return the concrete generations, or the wildcard pattern of the log type findings
+     */
+    public String[] findingsIndices(String logType, long fromMillis, long toMillis) {
+        return resolve(
+                HistoryIndexLifecyclePlanner.generationPrefix(
+                        DetectorMonitorConfig.getFindingsIndexPattern(logType)),
+                fromMillis,
+                toMillis,
+                DetectorMonitorConfig.getAllFindingsIndicesPattern(logType));
+    }
+
+    /**
+     * Same as {@link #findingsIndices(String, long, long)}, as a single index expression for APIs
+     * taking only one. Several generations are collapsed into a wildcard on their longest common
+     * prefix, but only when that wildcard matches none of the other known generations of the
+     * series; otherwise the wildcard pattern of the series is returned. Callers taking several
+     * indices should use {@link #findingsIndices(String, long, long)} instead.
+     *
+     * @param logType the log type
+     * @param from lower bound of the range, or null if unbounded
+     * @param to upper bound of the range, or null if unbounded
+     * @return an index expression covering the findings of the range
+     */
+    public String findingsIndexExpression(String logType, Instant from, Instant to) {
+        String fallbackPattern = DetectorMonitorConfig.getAllFindingsIndicesPattern(logType);
+        if (from == null || to == null) {
+            return fallbackPattern;
+        }
+        String[] indices = findingsIndices(logType, from.toEpochMilli(), to.toEpochMilli());
+        if (indices.length == 1) {
+            return indices[0];
+        }
+        String seriesPrefix =
+                HistoryIndexLifecyclePlanner.generationPrefix(
+                        DetectorMonitorConfig.getFindingsIndexPattern(logType));
+        String prefix = commonPrefix(indices);
+        if (seriesPrefix == null || prefix.length() <= seriesPrefix.length()) {
+            return fallbackPattern;
+        }
+        Set<String> selected = new HashSet<>(List.of(indices));
+        for (String generation : this.generations.generationsOf(seriesPrefix)) {
+            if (generation.startsWith(prefix) && !selected.contains(generation)) {
+                // The wildcard would widen back to generations outside of the range
+                return fallbackPattern;
+            }
+        }
+        return prefix + "*";
+    }
+
+    /**
+     * Resolves the correlation history generations that may hold correlations in a time range.
+     *
+     * @param fromMillis lower bound of the range, in epoch millis
+     * @param toMillis upper bound of the range, in epoch millis
+     * @return the concrete generations, or the correlation history wildcard pattern
+     */
+    public String[] correlationHistoryIndices(long fromMillis, long toMillis) {
+        return resolve(
+                HistoryIndexLifecyclePlanner.generationPrefix(
+                        CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN),
+                fromMillis,
+                toMillis,
+                CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+    }
+
+    String[] resolve(String prefix, long fromMillis, long toMillis, String fallbackPattern) {
+        if (!this.initialized || prefix == null) {
+            return new String[] {fallbackPattern};
+        }
+        long slack = this.slackMillis;
+        // The generation that was being written at (from - slack) and every later one created no
+        // later than (to + slack)
+        List<String> covering =
+                this.generations.generationsCovering(
+                        prefix, saturatedAdd(fromMillis, -slack), saturatedAdd(toMillis, slack));
+        if (covering == null) {
+            return new String[] {fallbackPattern};
+        }
+        return covering.toArray(new String[0]);
+    }
+
+    void add(String index, long creationDate) {
+        this.generations.onIndexCreated(index, creationDate);
+    }
+
+    void remove(String index) {
+        this.generations.onIndexDeleted(index);
+    }
+
+    void markInitialized() {
+        this.initialized = true;
+    }
+
+    static String commonPrefix(String[] names) {
+        String prefix = names[0];
+        for (int i = 1; i < names.length && !prefix.isEmpty(); i++) {
+            int len = 0;
+            int max = Math.min(prefix.length(), names[i].length());
+            while (len < max && prefix.charAt(len) == names[i].charAt(len)) {
+                len++;
+            }
+            prefix = prefix.substring(0, len);
+        }
+        return prefix;
+    }
+
+    private static long saturatedAdd(long value, long delta) {
+        long result = value + delta;
+        // Overflow only happens when both operands share a sign that the result does not
+        if (((value ^ result) & (delta ^ result)) < 0) {
+            return delta < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return result;
+    }
+}
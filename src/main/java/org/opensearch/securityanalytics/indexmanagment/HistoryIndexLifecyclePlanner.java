@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps track of the generations of every rolled over history index series (alerts, findings,
+ * Wazuh findings and correlations) and plans rollover and retention actions for them.
+ *
+ * <p>Generations are the concrete indices created from a date math pattern such as {@code
+ * <.opensearch-sap-linux-findings-{now/d}-1>}, and are grouped by the prefix in front of the date.
+ * Each group is kept ordered by creation date, so retention only walks the expired head of each
+ * series instead of every index of the cluster.
+ *
+ * <p>The planner holds no reference to the cluster state: it is fed with index creations and
+ * deletions by {@link DetectorIndexManagementService#clusterChanged}, and is safe to use from the
+ * cluster applier thread and the management thread pool at the same time. {@link
+ * FindingIndexCatalog} keeps its own instance, fed on every node, as its generation index.
+ */
+class HistoryIndexLifecyclePlanner {
+
+    /** Concrete generation name: {@code <prefix><yyyy.MM.dd>-<n>}. */
+    private static final Pattern GENERATION_NAME = Pattern.compile("^(.+-)\\d{4}\\.\\d{2}\\.\\d{2}-\\d+$");
+
+    private static final Comparator<Generation> BY_CREATION_DATE =
+            Comparator.comparingLong((Generation g) -> g.creationDate).thenComparing(g -> g.name);
+
+    /** Known generations, by series prefix, oldest first. */
+    private final Map<String, NavigableSet<Generation>> generationsByPrefix = new HashMap<>();
+
+    /** Every known generation, by index name, to resolve deletions. */
+    private final Map<String, Generation> generationByIndex = new HashMap<>();
+
+    /** Registered series, by family and then by write alias. */
+    private final Map<String, Map<String, Series>> seriesByFamily = new HashMap<>();
+
+    /**
+     * Replaces the series of a family.
+     *
+     * @param family the history family, e.g. alerts or findings
+     * @param patternByAlias the date math index pattern of every series, keyed by its write alias
+     */
+    synchronized void setSeries(String family, Map<String, String> patternByAlias) {
+        Map<String, Series> series = new HashMap<>();
+        patternByAlias.forEach(
+                (alias, pattern) -> {
+                    String prefix = generationPrefix(pattern);
+                    if (prefix != null) {
+                        series.put(alias, new Series(alias, prefix));
+                    }
+                });
+        this.seriesByFamily.put(family, series);
+    }
+
+    /** Forgets every known generation. Registered series are kept. */
+    synchronized void clearGenerations() {
+        this.generationsByPrefix.clear();
+        this.generationByIndex.clear();
+    }
+
+    /**
+     * Records a newly created index. Indices that are not a history generation are ignored.
+     *
+     * @param index the index name
+     * @param creationDate the index creation date, in epoch millis
+     */
+    synchronized void onIndexCreated(String index, long creationDate) {
+        String prefix = seriesPrefixOf(index);
+        if (prefix == null || this.generationByIndex.containsKey(index)) {
+            return;
+        }
+        Generation generation = new Generation(index, prefix, creationDate);
+        this.generationByIndex.put(index, generation);
+        this.generationsByPrefix
+                .computeIfAbsent(prefix, k -> new TreeSet<>(BY_CREATION_DATE))
+                .add(generation);
+    }
+
+    /**
+     * Records a deleted index.
+     *
+     * @param index the index name
+     */
+    synchronized void onIndexDeleted(String index) {
+        Generation generation = this.generationByIndex.remove(index);
+        if (generation == null) {
+            return;
+        }
+        NavigableSet<Generation> generations = this.generationsByPrefix.get(generation.prefix);
+        if (generations != null) {
+            generations.remove(generation);
+            if (generations.isEmpty()) {
+                this.generationsByPrefix.remove(generation.prefix);
+            }
+        }
+    }
+
+    /**
+     * Lists the generations of a family that are past their retention period.
+     *
+     * @param family the history family
+     * @param nowMillis the current time, in epoch millis
+     * @param retentionMillis the retention period of the family
+     * @param keepWriteIndex whether the generation holding the write alias must be kept
+     * @param writeIndexOf resolves the current write index of an alias, or null if it has none
+     * @return the names of the generations to delete, oldest first within each series
+     */
+    synchronized List<String> expiredGenerations(
+            String family,
+            long nowMillis,
+            long retentionMillis,
+            boolean keepWriteIndex,
+            Function<String, String> writeIndexOf) {
+        List<String> expired = new ArrayList<>();
+        Map<String, Series> series = this.seriesByFamily.get(family);
+        if (series == null) {
+            return expired;
+        }
+        for (Series s : series.values()) {
+            NavigableSet<Generation> generations = this.generationsByPrefix.get(s.prefix);
+            if (generations == null) {
+                continue;
+            }
+            String writeIndex = keepWriteIndex ? writeIndexOf.apply(s.alias) : null;
+            for (Generation g : generations) {
+                if (nowMillis - g.creationDate <= retentionMillis) {
+                    break;
+                }
+                if (!g.name.equals(writeIndex)) {
+                    expired.add(g.name);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Lists the generations of a family that no longer receive writes, i.e. every generation but
+     * the one holding the write alias of its series.
+     *
+     * @param family the history family
+     * @param writeIndexOf resolves the current write index of an alias, or null if it has none
+     * @return the names of the rolled over generations, oldest first within each series
+     */
+    synchronized List<String> rolledOverGenerations(
+            String family, Function<String, String> writeIndexOf) {
+        List<String> rolledOver = new ArrayList<>();
+        Map<String, Series> series = this.seriesByFamily.get(family);
+        if (series == null) {
+            return rolledOver;
+        }
+        for (Series s : series.values()) {
+            NavigableSet<Generation> generations = this.generationsByPrefix.get(s.prefix);
+            if (generations == null) {
+                continue;
+            }
+            String writeIndex = writeIndexOf.apply(s.alias);
+            for (Generation g : generations) {
+                if (!g.name.equals(writeIndex)) {
+                    rolledOver.add(g.name);
+                }
+            }
+        }
+        return rolledOver;
+    }
+
+    /**
+     * Lists the generations of a series that were receiving writes at some point of a time range:
+     * the generation created last at or before {@code fromMillis}, and every later one created at
+     * or before {@code toMillis}. The oldest generation also stands for everything before it.
+     *
+     * @param prefix the series prefix
+     * @param fromMillis lower bound of the range, in epoch millis
+     * @param toMillis upper bound of the range, in epoch millis
+     * @return the names of the generations, oldest first, or null if the series has no known
+     *     generation
+     */
+    synchronized List<String> generationsCovering(String prefix, long fromMillis, long toMillis) {
+        NavigableSet<Generation> generations = this.generationsByPrefix.get(prefix);
+        if (generations == null || generations.isEmpty()) {
+            return null;
+        }
+        Generation first = generations.floor(probe(fromMillis));
+        Generation last = generations.floor(probe(toMillis));
+        if (first == null) {
+            first = generations.first();
+        }
+        if (last == null) {
+            last = generations.first();
+        }
+        List<String> covering = new ArrayList<>();
+        if (BY_CREATION_DATE.compare(first, last) > 0) {
+            covering.add(first.name);
+            return covering;
+        }
+        for (Generation g : generations.subSet(first, true, last, true)) {
+            covering.add(g.name);
+        }
+        return covering;
+    }
+
+    /**
+     * Lists the known generations of a series.
+     *
+     * @param prefix the series prefix
+     * @return the names of the generations, oldest first, empty if the series is unknown
+     */
+    synchronized List<String> generationsOf(String prefix) {
+        List<String> names = new ArrayList<>();
+        NavigableSet<Generation> generations = this.generationsByPrefix.get(prefix);
+        if (generations != null) {
+            for (Generation g : generations) {
+                names.add(g.name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Gets the number of generations known for the series of an alias.
+     *
+     * @param family the history family
+     * @param alias the write alias of the series
+     * @return the number of generations, 0 if the series is unknown
+     */
+    synchronized int generationCount(String family, String alias) {
+        Map<String, Series> series = this.seriesByFamily.get(family);
+        Series s = series == null ? null : series.get(alias);
+        if (s == null) {
+            return 0;
+        }
+        NavigableSet<Generation> generations = this.generationsByPrefix.get(s.prefix);
+        return generations == null ? 0 : generations.size();
+    }
+
+    /**
+     * Decides whether a write index already meets one of its rollover conditions.
+     *
+     * @param creationDate creation date of the write index, in epoch millis
+     * @param docCount number of primary documents of the write index
+     * @param maxDocs max docs condition
+     * @param maxAgeMillis max age condition
+     * @param nowMillis the current time, in epoch millis
+     * @return true if the index should be rolled over
+     */
+    static boolean isRolloverDue(
+            long creationDate, long docCount, long maxDocs, long maxAgeMillis, long nowMillis) {
+        return docCount >= maxDocs || nowMillis - creationDate >= maxAgeMillis;
+    }
+
+    /**
+     * Extracts the generation prefix of a date math index pattern, e.g. {@code
+     * .opensearch-sap-linux-findings-} out of {@code <.opensearch-sap-linux-findings-{now/d}-1>}.
+     *
+     * @param indexPattern the date math index pattern
+     * @return the prefix, or null if the pattern is not a date math expression
+     */
+    static String generationPrefix(String indexPattern) {
+        if (indexPattern == null || !indexPattern.startsWith("<")) {
+            return null;
+        }
+        int dateMath = indexPattern.indexOf('{');
+        return dateMath > 1 ? indexPattern.substring(1, dateMath) : null;
+    }
+
+    /**
+     * Resolves the series prefix of a concrete index name.
+     *
+     * @param index the index name
+     * @return the prefix in front of the generation date, or null if the name is not a generation
+     */
+    static String seriesPrefixOf(String index) {
+        Matcher matcher = GENERATION_NAME.matcher(index);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /** Sorts after every generation created at the given time. */
+    private static Generation probe(long creationDate) {
+        return new Generation("\uffff", null, creationDate);
+    }
+
+    private static class Series {
+        final String alias;
+        final String prefix;
+
+        Series(String alias, String prefix) {
+            this.alias = alias;
+            this.prefix = prefix;
+        }
+    }
+
+    private static class Generation {
+        final String name;
+        final String prefix;
+        final long creationDate;
+
+        Generation(String name, String prefix, long creationDate) {
+            this.name = name;
+            this.prefix = prefix;
+            this.creationDate = creationDate;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.admin.indices.close.CloseIndexRequest;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.opensearch.action.admin.indices.open.OpenIndexRequest;
+import org.opensearch.action.admin.indices.rollover.RolloverInfo;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.engine.EngineConfig;
+import org.opensearch.transport.client.Client;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_INDEX_OPTIMIZED_SETTING;
+
+/**
+ * Optimizes rolled over history generations, which are read-mostly once they lose the write alias.
+ * Callers only hand over generations that have been rolled over for the configured minimum age.
+ *
+ * <p>Each generation is force merged down to the configured number of segments and then flagged
+ * with {@code index.security_analytics.optimized} so it is not picked again. When a codec is
+ * configured, the generation is switched to it first; the codec is a static setting, so the
+ * generation is closed, and unavailable to searches and writes, until it is reopened. Generations are processed one at a time: at most one force merge issued by this
+ * plugin runs in the cluster, and therefore on any node, at any given time.
+ *
+ * <p>Replica removal is opt-in, independent from merging and batched in a single settings update.
+ */
+class HistoryIndexOptimizer {
+
+    private static final Logger log = LogManager.getLogger(HistoryIndexOptimizer.class);
+
+    private final Client client;
+    private final ClusterService clusterService;
+
+    private volatile int maxNumSegments;
+    private volatile String codec;
+
+    /** Generations waiting to be optimized, in arrival order. */
+    private final Deque<String> pending = new ArrayDeque<>();
+
+    /** Generations either pending or being optimized, to avoid queueing them twice. */
+    private final Set<String> queued = new HashSet<>();
+
+    /** Generation being optimized, or null when idle. */
+    private String inFlight = null;
+
+    private final Stats stats = new Stats();
+
+    HistoryIndexOptimizer(Client client, ClusterService clusterService, int maxNumSegments, String codec) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.maxNumSegments = maxNumSegments;
+        this.codec = codec;
+    }
+
+    void setMaxNumSegments(int maxNumSegments) {
+        this.maxNumSegments = maxNumSegments;
+    }
+
+    void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    Stats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Gets when a generation stopped receiving writes: its latest rollover, or its creation when it
+     * carries no rollover info.
+     *
+     * @param indexMetadata the generation
+     * @return the rollover time in milliseconds since epoch
+     */
+    static long rolledOverAt(IndexMetadata indexMetadata) {
+        long rolledOverAt = indexMetadata.getCreationDate();
+        for (RolloverInfo rolloverInfo : indexMetadata.getRolloverInfos().values()) {
+            rolledOverAt = Math.max(rolledOverAt, rolloverInfo.getTime());
+        }
+        return rolledOverAt;
+    }
+
+    /**
+     * Queues generations for optimization and starts processing them if idle.
+     *
+     * @param indices the generations to optimize
+     */
+    void optimize(Collection<String> indices) {
+        synchronized (this) {
+            for (String index : indices) {
+                if (this.queued.add(index)) {
+                    this.pending.addLast(index);
+                }
+            }
+        }
+        startNext();
+    }
+
+    /** Drops every queued generation. The generation being optimized, if any, is completed. */
+    synchronized void clear() {
+        this.pending.clear();
+        this.queued.clear();
+        if (this.inFlight != null) {
+            this.queued.add(this.inFlight);
+        }
+    }
+
+    synchronized int pendingCount() {
+        return this.pending.size();
+    }
+
+    /**
+     * Removes the replicas of the given generations with a single settings update.
+     *
+     * @param indices the generations to drop the replicas of
+     */
+    void dropReplicas(List<String> indices) {
+        if (indices.isEmpty()) {
+            return;
+        }
+        UpdateSettingsRequest request =
+                new UpdateSettingsRequest(indices.toArray(new String[0]))
+                        .settings(
+                                Settings.builder()
+                                        .put(IndexMetadata.SETTING_AUTO_EXPAND_REPLICAS, "false")
+                                        .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0));
+        this.client
+                .admin()
+                .indices()
+                .updateSettings(
+                        request,
+                        ActionListener.wrap(
+                                response -> {
+                                    this.stats.replicasDropped.addAndGet(indices.size());
+                                    log.info("Dropped replicas of history indices {}", indices);
+                                },
+                                e -> log.warn("Failed to drop replicas of history indices " + indices, e)));
+    }
+
+    private void startNext() {
+        String index;
+        synchronized (this) {
+            if (this.inFlight != null || this.pending.isEmpty()) {
+                return;
+            }
+            index = this.pending.pollFirst();
+            this.inFlight = index;
+        }
+        long start = System.currentTimeMillis();
+        ActionListener<Void> done =
+                ActionListener.wrap(
+                        ignored -> {
+                            this.stats.optimized.incrementAndGet();
+                            this.stats.mergeTimeMillis.addAndGet(System.currentTimeMillis() - start);
+                            log.info(
+                                    "Optimized history index [{}] in [{}] ms",
+                                    index,
+                                    System.currentTimeMillis() - start);
+                            finish(index);
+                        },
+                        e -> {
+                            this.stats.failed.incrementAndGet();
+                            log.warn("Failed to optimize history index [" + index + "]", e);
+                            finish(index);
+                        });
+        try {
+            IndexMetadata indexMetadata = this.clusterService.state().metadata().index(index);
+            if (indexMetadata == null || indexMetadata.getState() != IndexMetadata.State.OPEN) {
+                // Deleted or closed in the meantime, nothing to do
+                finish(index);
+                return;
+            }
+            switchCodec(
+                    index, indexMetadata, ActionListener.wrap(ignored -> forceMerge(index, done), done::onFailure));
+        } catch (Exception e) {
+            done.onFailure(e);
+        }
+    }
+
+    private void finish(String index) {
+        synchronized (this) {
+            this.queued.remove(index);
+            this.inFlight = null;
+        }
+        startNext();
+    }
+
+    private void switchCodec(String index, IndexMetadata indexMetadata, ActionListener<Void> listener) {
+        String targetCodec = this.codec;
+        String currentCodec = EngineConfig.INDEX_CODEC_SETTING.get(indexMetadata.getSettings());
+        if (targetCodec == null || targetCodec.isEmpty() || targetCodec.equals(currentCodec)) {
+            listener.onResponse(null);
+            return;
+        }
+        // The codec is a static setting, it can only be changed on a closed index
+        this.client
+                .admin()
+                .indices()
+                .close(
+                        new CloseIndexRequest(index),
+                        ActionListener.wrap(
+                                closed -> updateCodec(index, targetCodec, listener), listener::onFailure));
+    }
+
+    private void updateCodec(String index, String targetCodec, ActionListener<Void> listener) {
+        UpdateSettingsRequest request =
+                new UpdateSettingsRequest(index)
+                        .settings(
+                                Settings.builder().put(EngineConfig.INDEX_CODEC_SETTING.getKey(), targetCodec));
+        // Reopen the index whatever the outcome of the update
+        this.client
+                .admin()
+                .indices()
+                .updateSettings(
+                        request,
+                        ActionListener.wrap(
+                                updated -> reopen(index, null, listener), e -> reopen(index, e, listener)));
+    }
+
+    private void reopen(String index, Exception updateFailure, ActionListener<Void> listener) {
+        this.client
+                .admin()
+                .indices()
+                .open(
+                        new OpenIndexRequest(index),
+                        ActionListener.wrap(
+                                opened -> {
+                                    if (updateFailure != null) {
+                                        listener.onFailure(updateFailure);
+                                    } else {
+                                        listener.onResponse(null);
+                                    }
+                                },
+                                listener::onFailure));
+    }
+
+    private void forceMerge(String index, ActionListener<Void> listener) {
+        ForceMergeRequest request = new ForceMergeRequest(index).maxNumSegments(this.maxNumSegments);
+        this.client
+                .admin()
+                .indices()
+                .forceMerge(
+                        request,
+                        ActionListener.wrap(
+                                response -> {
+                                    if (response.getFailedShards() > 0) {
+                                        listener.onFailure(
+                                                new IllegalStateException(
+                                                        "force merge failed on ["
+                                                                + response.getFailedShards()
+                                                                + "] shards"));
+                                    } else {
+                                        markOptimized(index, listener);
+                                    }
+                                },
+                                listener::onFailure));
+    }
+
+    private void markOptimized(String index, ActionListener<Void> listener) {
+        this.client
+                .admin()
+                .indices()
+                .updateSettings(
+                        new UpdateSettingsRequest(index)
+                                .settings(Settings.builder().put(HISTORY_INDEX_OPTIMIZED_SETTING.getKey(), true)),
+                        ActionListener.wrap(response -> listener.onResponse(null), listener::onFailure));
+    }
+
+    /** Counters of the optimization stage, since the node started. */
+    static class Stats {
+        final AtomicLong optimized = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong replicasDropped = new AtomicLong();
+        final AtomicLong mergeTimeMillis = new AtomicLong();
+
+        long getOptimized() {
+            return this.optimized.get();
+        }
+
+        long getFailed() {
+            return this.failed.get();
+        }
+
+        long getReplicasDropped() {
+            return this.replicasDropped.get();
+        }
+
+        long getMergeTimeMillis() {
+            return this.mergeTimeMillis.get();
+        }
+    }
+}
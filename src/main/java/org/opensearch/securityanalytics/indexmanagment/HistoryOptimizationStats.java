@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/** Counters of the history index optimization stage of a node, since the node started. */
+public class HistoryOptimizationStats implements Writeable, ToXContentObject {
+
+    private final int pending;
+
+    private final long optimized;
+
+    private final long failed;
+
+    private final long replicasDropped;
+
+    private final long mergeTimeMillis;
+
+    public HistoryOptimizationStats(
+            int pending, long optimized, long failed, long replicasDropped, long mergeTimeMillis) {
+        this.pending = pending;
+        this.optimized = optimized;
+        this.failed = failed;
+        this.replicasDropped = replicasDropped;
+        this.mergeTimeMillis = mergeTimeMillis;
+    }
+
+    public HistoryOptimizationStats(StreamInput sin) throws IOException {
+        this(sin.readVInt(), sin.readVLong(), sin.readVLong(), sin.readVLong(), sin.readVLong());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVInt(this.pending);
+        out.writeVLong(this.optimized);
+        out.writeVLong(this.failed);
+        out.writeVLong(this.replicasDropped);
+        out.writeVLong(this.mergeTimeMillis);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        return builder.startObject()
+                .field("pending", this.pending)
+                .field("optimized", this.optimized)
+                .field("failed", this.failed)
+                .field("replicas_dropped", this.replicasDropped)
+                .field("merge_time_in_millis", this.mergeTimeMillis)
+                .endObject();
+    }
+
+    public int getPending() {
+        return this.pending;
+    }
+
+    public long getOptimized() {
+        return this.optimized;
+    }
+
+    public long getFailed() {
+        return this.failed;
+    }
+
+    public long getReplicasDropped() {
+        return this.replicasDropped;
+    }
+
+    public long getMergeTimeMillis() {
+        return this.mergeTimeMillis;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.logtype;
+
+import org.opensearch.securityanalytics.model.FieldMappingDoc;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable view of every field mapping stored in the log type config index, organized as log type
+ * to raw field to schema fields.
+ *
+ * <p>A snapshot is tagged with the UUID and mapping version of the config index it was read from.
+ * Every field mapping write bumps the mapping version, see {@link
+ * LogTypeService#FIELD_MAPPINGS_VERSION_META_FIELD}, so a snapshot is current for as long as the
+ * cluster state holds the same UUID and mapping version.
+ */
+public final class FieldMappingSnapshot {
+
+    private final String indexUuid;
+
+    private final long mappingVersion;
+
+    private final Map<String, Map<String, Map<String, String>>> fieldMappings;
+
+    private final Map<String, List<Map.Entry<String, Map<String, String>>>> fieldMappingsInIndexOrder;
+
+    private FieldMappingSnapshot(
+            String indexUuid,
+            long mappingVersion,
+            Map<String, Map<String, Map<String, String>>> fieldMappings,
+            Map<String, List<Map.Entry<String, Map<String, String>>>> fieldMappingsInIndexOrder) {
+        this.indexUuid = indexUuid;
+        this.mappingVersion = mappingVersion;
+        this.fieldMappings = fieldMappings;
+        this.fieldMappingsInIndexOrder = fieldMappingsInIndexOrder;
+    }
+
+    /**
+     * Builds a snapshot out of the field mapping docs. When several docs map the same raw field of a
+     * log type, the last one wins in {@link #getFieldMappings}, as it did when the mappings were read
+     * straight from the index. Every doc is kept by {@link #getFieldMappingsInIndexOrder}.
+     *
+     * @param indexUuid UUID of the config index the docs were read from
+     * @param mappingVersion mapping version of the config index, read before the docs
+     * @param fieldMappingDocs field mapping docs, in index order
+     */
+    public static FieldMappingSnapshot of(
+            String indexUuid, long mappingVersion, List<FieldMappingDoc> fieldMappingDocs) {
+        Map<String, Map<String, Map<String, String>>> fieldMappings = new HashMap<>();
+        Map<String, List<Map.Entry<String, Map<String, String>>>> fieldMappingsInIndexOrder = new HashMap<>();
+        for (FieldMappingDoc fieldMappingDoc : fieldMappingDocs) {
+            if (fieldMappingDoc.getLogTypes() == null) {
+                continue;
+            }
+            Map<String, String> schemaFields =
+                    Collections.unmodifiableMap(new HashMap<>(fieldMappingDoc.getSchemaFields()));
+            for (String logType : fieldMappingDoc.getLogTypes()) {
+                Map<String, Map<String, String>> byRawField =
+                        fieldMappings.computeIfAbsent(logType, k -> new LinkedHashMap<>());
+                // Re-insert, so that the order of the raw fields follows the doc which won
+                byRawField.remove(fieldMappingDoc.getRawField());
+                byRawField.put(fieldMappingDoc.getRawField(), schemaFields);
+                fieldMappingsInIndexOrder
+                        .computeIfAbsent(logType, k -> new ArrayList<>())
+                        .add(new AbstractMap.SimpleImmutableEntry<>(fieldMappingDoc.getRawField(), schemaFields));
+            }
+        }
+        fieldMappings.replaceAll((logType, byRawField) -> Collections.unmodifiableMap(byRawField));
+        fieldMappingsInIndexOrder.replaceAll((logType, entries) -> Collections.unmodifiableList(entries));
+        return new FieldMappingSnapshot(
+                indexUuid,
+                mappingVersion,
+                Collections.unmodifiableMap(fieldMappings),
+                Collections.unmodifiableMap(fieldMappingsInIndexOrder));
+    }
+
+    /** Whether the config index still has the UUID and mapping version this snapshot was read at. */
+    public boolean isCurrent(String indexUuid, long mappingVersion) {
+        return Objects.equals(this.indexUuid, indexUuid) && this.mappingVersion == mappingVersion;
+    }
+
+    public long getMappingVersion() {
+        return this.mappingVersion;
+    }
+
+    public Set<String> getLogTypes() {
+        return this.fieldMappings.keySet();
+    }
+
+    /** Returns raw field to schema fields mappings of the log type, empty if it has none. */
+    public Map<String, Map<String, String>> getFieldMappings(String logType) {
+        return this.fieldMappings.getOrDefault(logType, Collections.emptyMap());
+    }
+
+    /**
+     * Returns every raw field to schema fields mapping of the log type in index order, including the
+     * ones shadowed by a later doc mapping the same raw field. Empty if the log type has none.
+     */
+    public List<Map.Entry<String, Map<String, String>>> getFieldMappingsInIndexOrder(String logType) {
+        return this.fieldMappingsInIndexOrder.getOrDefault(logType, Collections.emptyList());
+    }
+
+    /**
+     * Returns raw field to schema field mappings of the log type for one schema. Raw fields without a
+     * field in that schema are mapped to {@code null}.
+     */
+    public Map<String, String> getRuleFieldMappings(String logType, String schemaField) {
+        Map<String, Map<String, String>> byRawField = this.getFieldMappings(logType);
+        Map<String, String> ruleFieldMappings = new HashMap<>(byRawField.size());
+        byRawField.forEach((rawField, schemaFields) -> ruleFieldMappings.put(rawField, schemaFields.get(schemaField)));
+        return ruleFieldMappings;
+    }
+}
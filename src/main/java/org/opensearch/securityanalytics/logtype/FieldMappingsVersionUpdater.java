@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.logtype;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.UUIDs;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.transport.client.Client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.opensearch.securityanalytics.logtype.LogTypeService.FIELD_MAPPINGS_VERSION_META_FIELD;
+import static org.opensearch.securityanalytics.logtype.LogTypeService.LOG_TYPE_INDEX;
+
+/**
+ * Bumps {@value LogTypeService#FIELD_MAPPINGS_VERSION_META_FIELD} in the {@code _meta} of the config
+ * index mapping.
+ *
+ * <p>A put mapping request cannot be made conditional on the value it replaces, so the bump is a
+ * compare-and-set with retry: each attempt also writes a {@value #FIELD_MAPPINGS_WRITER_META_FIELD}
+ * token of its own, and once acknowledged the cluster state tells whether the version it wrote was
+ * taken, or overwritten with an older one, by a concurrent writer. If so, it tries again from the
+ * version that writer left. Every bump
+ * therefore stores a version of its own and changes the mapping, which bumps the mapping version of
+ * the index and invalidates the {@link FieldMappingSnapshot} of every node.
+ */
+final class FieldMappingsVersionUpdater {
+
+    private static final Logger logger = LogManager.getLogger(FieldMappingsVersionUpdater.class);
+
+    /** Token of the writer that stored the current {@value LogTypeService#FIELD_MAPPINGS_VERSION_META_FIELD}. */
+    static final String FIELD_MAPPINGS_WRITER_META_FIELD = "field_mappings_writer";
+
+    /** Each conflict means another writer succeeded, so this only bounds pathological contention. */
+    static final int MAX_ATTEMPTS = 10;
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    FieldMappingsVersionUpdater(Client client, ClusterService clusterService) {
+        this.client = client;
+        this.clusterService = clusterService;
+    }
+
+    /** Bumps the version. Failures are logged and the listener is always completed normally. */
+    void bump(ActionListener<Void> listener) {
+        this.bump(1, listener);
+    }
+
+    private void bump(int attempt, ActionListener<Void> listener) {
+        Map<String, Object> meta = this.currentMeta();
+        long version = versionOf(meta) + 1;
+        String writer = UUIDs.randomBase64UUID();
+        meta.put(FIELD_MAPPINGS_VERSION_META_FIELD, version);
+        meta.put(FIELD_MAPPINGS_WRITER_META_FIELD, writer);
+
+        this.client
+                .admin()
+                .indices()
+                .putMapping(
+                        new PutMappingRequest(LOG_TYPE_INDEX).source(Map.of("_meta", meta)),
+                        ActionListener.wrap(
+                                r -> {
+                                    Map<String, Object> stored = this.currentMeta();
+                                    long storedVersion = versionOf(stored);
+                                    if (storedVersion > version
+                                            || (storedVersion == version
+                                                    && writer.equals(stored.get(FIELD_MAPPINGS_WRITER_META_FIELD)))) {
+                                        // Ours, or a later version already superseded it
+                                        listener.onResponse(null);
+                                    } else if (attempt < MAX_ATTEMPTS) {
+                                        this.bump(attempt + 1, listener);
+                                    } else {
+                                        logger.warn(
+                                                "Gave up updating the field mappings version of {} after {} conflicting attempts",
+                                                LOG_TYPE_INDEX,
+                                                attempt);
+                                        listener.onResponse(null);
+                                    }
+                                },
+                                e -> {
+                                    logger.warn("Failed to update the field mappings version of {}", LOG_TYPE_INDEX, e);
+                                    listener.onResponse(null);
+                                }));
+    }
+
+    /** A copy of the {@code _meta} of the config index mapping in the local cluster state. */
+    private Map<String, Object> currentMeta() {
+        Map<String, Object> meta = new HashMap<>();
+        IndexMetadata metadata = this.clusterService.state().metadata().index(LOG_TYPE_INDEX);
+        if (metadata != null && metadata.mapping() != null) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> currentMeta =
+                    (Map<String, Object>) metadata.mapping().sourceAsMap().get("_meta");
+            if (currentMeta != null) {
+                meta.putAll(currentMeta);
+            }
+        }
+        return meta;
+    }
+
+    private static long versionOf(Map<String, Object> meta) {
+        Object version = meta.get(FIELD_MAPPINGS_VERSION_META_FIELD);
+        return version instanceof Number ? ((Number) version).longValue() : 0L;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.opensearch.securityanalytics.logtype;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
@@ -29,6 +30,8 @@ import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActiveShardCount;
@@ -41,6 +44,7 @@ import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.io.Streams;
 import org.opensearch.common.util.set.Sets;
 import org.opensearch.common.xcontent.XContentFactory;
@@ -51,11 +55,14 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.aggregations.bucket.terms.Terms;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.builder.PointInTimeBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortBuilders;
 import org.opensearch.securityanalytics.model.CustomLogType;
 import org.opensearch.securityanalytics.model.FieldMappingDoc;
 import org.opensearch.securityanalytics.model.LogType;
@@ -73,8 +80,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static org.opensearch.securityanalytics.model.FieldMappingDoc.LOG_TYPES;
@@ -99,10 +109,31 @@ public class LogTypeService {
 
     public static final String LOG_TYPE_MAPPING_VERSION_META_FIELD = "schema_version";
 
+    /**
+     * Counter in the {@code _meta} of the config index mapping, updated after every field mapping
+     * write. Updating it bumps the mapping version of the index on every node, which tells them to
+     * reload their {@link FieldMappingSnapshot}.
+     */
+    public static final String FIELD_MAPPINGS_VERSION_META_FIELD = "field_mappings_version";
+
     public static final int MAX_LOG_TYPE_COUNT = 100;
 
+    private static final int FIELD_MAPPINGS_PAGE_SIZE = 1000;
+
+    private static final TimeValue FIELD_MAPPINGS_PIT_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
     private static volatile boolean isConfigIndexInitialized;
 
+    /**
+     * Incremented whenever this node writes field mappings. Shared by every instance of the service,
+     * it lets caches of data derived from the field mappings drop their stale entries.
+     */
+    private static final AtomicLong fieldMappingsVersion = new AtomicLong();
+
+    /** Field mappings last read from the config index, shared by every instance of the service. */
+    private static final AtomicReference<FieldMappingSnapshot> fieldMappingSnapshot =
+            new AtomicReference<>();
+
     private final Client client;
 
     private final ClusterService clusterService;
@@ -111,6 +142,8 @@ public class LogTypeService {
 
     private final BuiltinLogTypeLoader builtinLogTypeLoader;
 
+    private final FieldMappingsVersionUpdater fieldMappingsVersionUpdater;
+
     private String defaultSchemaField;
 
     public int logTypeMappingVersion;
@@ -125,12 +158,17 @@ public class LogTypeService {
         this.clusterService = clusterService;
         this.xContentRegistry = xContentRegistry;
         this.builtinLogTypeLoader = builtinLogTypeLoader;
+        this.fieldMappingsVersionUpdater = new FieldMappingsVersionUpdater(client, clusterService);
 
         this.defaultSchemaField = DEFAULT_MAPPING_SCHEMA.get(clusterService.getSettings());
         clusterService
                 .getClusterSettings()
                 .addSettingsUpdateConsumer(
-                        DEFAULT_MAPPING_SCHEMA, newDefaultSchema -> this.defaultSchemaField = newDefaultSchema);
+                        DEFAULT_MAPPING_SCHEMA,
+                        newDefaultSchema -> {
+                            this.defaultSchemaField = newDefaultSchema;
+                            fieldMappingsVersion.incrementAndGet();
+                        });
         this.setLogTypeMappingVersion();
     }
 
@@ -292,8 +330,12 @@ public class LogTypeService {
                                                     logger.error("Failed converting FieldMappingDoc to XContent!", ex);
                                                 }
                                             });
-                            // Index all fieldMapping docs
+                            // Index the new and changed fieldMapping docs
                             logger.info("Indexing [{}] fieldMappingDocs", bulkRequest.numberOfActions());
+                            if (bulkRequest.numberOfActions() == 0) {
+                                listener.onResponse(null);
+                                return;
+                            }
 
                             // Disabled pre-packaged log types loading for production builds, enabled only on test
                             // environments.
@@ -314,7 +356,7 @@ public class LogTypeService {
                                                                 "Loaded ["
                                                                         + r.getItems().length
                                                                         + "] field mapping docs successfully!");
-                                                        listener.onResponse(null);
+                                                        this.publishFieldMappingsWrite(listener);
                                                     }
                                                 }));
                             } else {
@@ -504,87 +546,147 @@ public class LogTypeService {
                                                             "Loaded ["
                                                                     + r.getItems().length
                                                                     + "] field mapping docs successfully!");
-                                                    listener.onResponse(null);
+                                                    this.publishFieldMappingsWrite(listener);
                                                 }
                                             }));
                         },
                         listener::onFailure));
     }
 
+    /**
+     * Makes a field mapping write visible to the field mapping snapshots: drops the one of this node
+     * and updates {@value #FIELD_MAPPINGS_VERSION_META_FIELD} on the config index so that the other
+     * nodes drop theirs, see {@link FieldMappingsVersionUpdater}. The write itself already succeeded,
+     * so failing to update the counter is only logged.
+     */
+    private void publishFieldMappingsWrite(ActionListener<Void> listener) {
+        fieldMappingsVersion.incrementAndGet();
+        fieldMappingSnapshot.set(null);
+        this.fieldMappingsVersionUpdater.bump(listener);
+    }
+
+    /**
+     * Returns the field mapping snapshot, reading the field mappings again only when the config index
+     * mapping version changed since the snapshot was taken. An up to date snapshot is served straight
+     * from memory.
+     */
+    void getFieldMappingSnapshot(ActionListener<FieldMappingSnapshot> listener) {
+        FieldMappingSnapshot snapshot = fieldMappingSnapshot.get();
+        IndexMetadata metadata = this.clusterService.state().metadata().index(LOG_TYPE_INDEX);
+        if (snapshot != null
+                && metadata != null
+                && snapshot.isCurrent(metadata.getIndexUUID(), metadata.getMappingVersion())) {
+            listener.onResponse(snapshot);
+            return;
+        }
+        this.ensureConfigIndexIsInitialized(
+                ActionListener.delegateFailure(
+                        listener, (delegatedListener, r) -> this.loadFieldMappingSnapshot(delegatedListener)));
+    }
+
+    private void loadFieldMappingSnapshot(ActionListener<FieldMappingSnapshot> listener) {
+        // Take the version before reading, so that a write racing with the read triggers another one
+        IndexMetadata metadata = this.clusterService.state().metadata().index(LOG_TYPE_INDEX);
+        String indexUuid = metadata != null ? metadata.getIndexUUID() : null;
+        long mappingVersion = metadata != null ? metadata.getMappingVersion() : -1L;
+        this.getAllFieldMappings(
+                ActionListener.delegateFailure(
+                        listener,
+                        (delegatedListener, fieldMappingDocs) -> {
+                            FieldMappingSnapshot snapshot =
+                                    FieldMappingSnapshot.of(indexUuid, mappingVersion, fieldMappingDocs);
+                            fieldMappingSnapshot.set(snapshot);
+                            delegatedListener.onResponse(snapshot);
+                        }));
+    }
+
     private List<FieldMappingDoc> mergeFieldMappings(
             List<FieldMappingDoc> existingFieldMappings, List<FieldMappingDoc> fieldMappingDocs) {
-        // Insert new fieldMappings
+        return mergeFieldMappings(existingFieldMappings, fieldMappingDocs, this.defaultSchemaField);
+    }
+
+    /**
+     * Merges incoming field mappings into the existing ones. An incoming mapping is merged into the
+     * last existing mapping which either has the same raw field and default schema field, or whose id
+     * ends with {@code |<raw field>} and which already covers all of its log types. Incoming mappings
+     * matching none are appended.
+     *
+     * <p>Only the mappings which are new or actually changed by the merge are flagged as dirty, so
+     * that the caller only writes the difference.
+     */
+    static List<FieldMappingDoc> mergeFieldMappings(
+            List<FieldMappingDoc> existingFieldMappings,
+            List<FieldMappingDoc> fieldMappingDocs,
+            String defaultSchemaField) {
+        // Positions of the existing mappings by raw field and default schema field, and by the
+        // schema field the id was generated with
+        Map<Pair<String, Object>, TreeSet<Integer>> bySchemaField = new HashMap<>();
+        Map<String, List<Integer>> byIdSuffix = new HashMap<>();
+        for (int i = 0; i < existingFieldMappings.size(); i++) {
+            FieldMappingDoc existing = existingFieldMappings.get(i);
+            bySchemaField
+                    .computeIfAbsent(
+                            Pair.of(existing.getRawField(), existing.get(defaultSchemaField)), k -> new TreeSet<>())
+                    .add(i);
+            String id = existing.getId();
+            int indexOfPipe = id != null ? id.indexOf("|") : -1;
+            if (indexOfPipe != -1) {
+                byIdSuffix.computeIfAbsent(id.substring(indexOfPipe + 1), k -> new ArrayList<>()).add(i);
+            }
+        }
+
         List<FieldMappingDoc> newFieldMappings = new ArrayList<>();
-        fieldMappingDocs.forEach(
-                newFieldMapping -> {
-                    Optional<FieldMappingDoc> foundFieldMappingDoc = Optional.empty();
-                    for (FieldMappingDoc existingFieldMapping : existingFieldMappings) {
-                        if (existingFieldMapping.getRawField().equals(newFieldMapping.getRawField())) {
-                            if ((existingFieldMapping.get(this.defaultSchemaField) != null
-                                            && newFieldMapping.get(this.defaultSchemaField) != null
-                                            && existingFieldMapping
-                                                    .get(this.defaultSchemaField)
-                                                    .equals(newFieldMapping.get(this.defaultSchemaField)))
-                                    || (existingFieldMapping.get(this.defaultSchemaField) == null
-                                            && newFieldMapping.get(this.defaultSchemaField) == null)) {
-                                foundFieldMappingDoc = Optional.of(existingFieldMapping);
-                            }
-                            // Grabs the right side of the ID with "|" as the delimiter if present representing
-                            // the ecs field from predefined mappings
-                            // Additional check to see if raw field path + log type combination is already in
-                            // existingFieldMappings so a new one is not indexed
-                        } else {
-                            String id = existingFieldMapping.getId();
-                            int indexOfPipe = id.indexOf("|");
-                            if (indexOfPipe != -1) {
-                                String ecsIdField = id.substring(indexOfPipe + 1);
-                                if (ecsIdField.equals(newFieldMapping.getRawField())
-                                        && existingFieldMapping
-                                                .getLogTypes()
-                                                .containsAll(newFieldMapping.getLogTypes())) {
-                                    foundFieldMappingDoc = Optional.of(existingFieldMapping);
-                                }
-                            }
-                        }
-                    }
-                    if (foundFieldMappingDoc.isEmpty()) {
-                        newFieldMapping.setIsDirty(true);
-                        newFieldMappings.add(newFieldMapping);
-                    } else {
-                        // Merge new with existing by merging schema field mappings and log type arrays
-                        foundFieldMappingDoc.get().getSchemaFields().putAll(newFieldMapping.getSchemaFields());
-                        foundFieldMappingDoc.get().getLogTypes().addAll(newFieldMapping.getLogTypes());
-                        foundFieldMappingDoc.get().setIsDirty(true);
-                    }
-                });
+        for (FieldMappingDoc newFieldMapping : fieldMappingDocs) {
+            int found = -1;
+            TreeSet<Integer> sameSchemaField =
+                    bySchemaField.get(Pair.of(newFieldMapping.getRawField(), newFieldMapping.get(defaultSchemaField)));
+            if (sameSchemaField != null && !sameSchemaField.isEmpty()) {
+                found = sameSchemaField.last();
+            }
+            List<Integer> sameIdSuffix = byIdSuffix.getOrDefault(newFieldMapping.getRawField(), List.of());
+            for (int j = sameIdSuffix.size() - 1; j >= 0 && sameIdSuffix.get(j) > found; j--) {
+                FieldMappingDoc existing = existingFieldMappings.get(sameIdSuffix.get(j));
+                if (!existing.getRawField().equals(newFieldMapping.getRawField())
+                        && existing.getLogTypes().containsAll(newFieldMapping.getLogTypes())) {
+                    found = sameIdSuffix.get(j);
+                    break;
+                }
+            }
+
+            if (found == -1) {
+                newFieldMapping.setIsDirty(true);
+                newFieldMappings.add(newFieldMapping);
+                continue;
+            }
+            // Merge new with existing by merging schema field mappings and log type arrays
+            FieldMappingDoc existing = existingFieldMappings.get(found);
+            Object previousSchemaField = existing.get(defaultSchemaField);
+            boolean changed = false;
+            for (Map.Entry<String, String> schemaField : newFieldMapping.getSchemaFields().entrySet()) {
+                changed |=
+                        !Objects.equals(
+                                existing.getSchemaFields().put(schemaField.getKey(), schemaField.getValue()),
+                                schemaField.getValue());
+            }
+            changed |= existing.getLogTypes().addAll(newFieldMapping.getLogTypes());
+            if (changed) {
+                existing.setIsDirty(true);
+            }
+            Object schemaField = existing.get(defaultSchemaField);
+            if (!Objects.equals(previousSchemaField, schemaField)) {
+                bySchemaField.get(Pair.of(existing.getRawField(), previousSchemaField)).remove(found);
+                bySchemaField
+                        .computeIfAbsent(Pair.of(existing.getRawField(), schemaField), k -> new TreeSet<>())
+                        .add(found);
+            }
+        }
         existingFieldMappings.addAll(newFieldMappings);
         return existingFieldMappings;
     }
 
     public void getAllFieldMappings(ActionListener<List<FieldMappingDoc>> listener) {
-        SearchRequest searchRequest = new SearchRequest(LOG_TYPE_INDEX);
-        searchRequest.source(
-                new SearchSourceBuilder()
-                        .query(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery("space")))
-                        .size(10000));
-        searchRequest.preference(Preference.PRIMARY_FIRST.type());
-        this.client.search(
-                searchRequest,
-                ActionListener.delegateFailure(
-                        listener,
-                        (delegatedListener, searchResponse) -> {
-                            List<FieldMappingDoc> fieldMappingDocs = new ArrayList<>();
-                            for (SearchHit hit : searchResponse.getHits().getHits()) {
-                                try {
-                                    fieldMappingDocs.add(FieldMappingDoc.parse(hit, this.xContentRegistry));
-                                } catch (IOException e) {
-                                    logger.error("Failed parsing FieldMapping document", e);
-                                    delegatedListener.onFailure(e);
-                                    return;
-                                }
-                            }
-                            delegatedListener.onResponse(fieldMappingDocs);
-                        }));
+        this.searchFieldMappings(
+                QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery("space")), listener);
     }
 
     public void getFieldMappingsByLogType(
@@ -595,19 +697,56 @@ public class LogTypeService {
 
     public void getFieldMappingsByLogTypes(
             List<String> logTypes, ActionListener<List<FieldMappingDoc>> listener) {
-        SearchRequest searchRequest = new SearchRequest(LOG_TYPE_INDEX);
-        searchRequest.source(
+        this.searchFieldMappings(
+                QueryBuilders.termsQuery(LOG_TYPES, logTypes.toArray(new String[0])), listener);
+    }
+
+    /**
+     * Reads every field mapping matching the query. Pages are read with {@code search_after} on a
+     * point in time of the config index, so that no mapping is left out however many there are.
+     */
+    private void searchFieldMappings(
+            QueryBuilder query, ActionListener<List<FieldMappingDoc>> listener) {
+        CreatePitRequest createPitRequest =
+                new CreatePitRequest(FIELD_MAPPINGS_PIT_KEEP_ALIVE, false, LOG_TYPE_INDEX);
+        this.client.createPit(
+                createPitRequest,
+                ActionListener.delegateFailure(
+                        listener,
+                        (delegatedListener, createPitResponse) -> {
+                            String pitId = createPitResponse.getId();
+                            this.searchFieldMappingsPage(
+                                    query,
+                                    pitId,
+                                    null,
+                                    new ArrayList<>(),
+                                    ActionListener.runAfter(delegatedListener, () -> this.deletePit(pitId)));
+                        }));
+    }
+
+    private void searchFieldMappingsPage(
+            QueryBuilder query,
+            String pitId,
+            Object[] searchAfter,
+            List<FieldMappingDoc> fieldMappingDocs,
+            ActionListener<List<FieldMappingDoc>> listener) {
+        SearchSourceBuilder searchSourceBuilder =
                 new SearchSourceBuilder()
-                        .query(QueryBuilders.termsQuery(LOG_TYPES, logTypes.toArray(new String[0])))
-                        .size(10000));
-        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+                        .query(query)
+                        .size(FIELD_MAPPINGS_PAGE_SIZE)
+                        // Shard and doc order together are total whatever the shard count
+                        .sort(SortBuilders.pitTiebreaker())
+                        .pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(FIELD_MAPPINGS_PIT_KEEP_ALIVE));
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
         this.client.search(
-                searchRequest,
+                new SearchRequest().source(searchSourceBuilder),
                 ActionListener.delegateFailure(
                         listener,
                         (delegatedListener, searchResponse) -> {
-                            List<FieldMappingDoc> fieldMappingDocs = new ArrayList<>();
-                            for (SearchHit hit : searchResponse.getHits().getHits()) {
+                            SearchHit[] hits = searchResponse.getHits().getHits();
+                            for (SearchHit hit : hits) {
                                 try {
                                     fieldMappingDocs.add(FieldMappingDoc.parse(hit, this.xContentRegistry));
                                 } catch (IOException e) {
@@ -616,10 +755,27 @@ public class LogTypeService {
                                     return;
                                 }
                             }
-                            delegatedListener.onResponse(fieldMappingDocs);
+                            if (hits.length < FIELD_MAPPINGS_PAGE_SIZE) {
+                                delegatedListener.onResponse(fieldMappingDocs);
+                                return;
+                            }
+                            this.searchFieldMappingsPage(
+                                    query,
+                                    searchResponse.pointInTimeId() != null ? searchResponse.pointInTimeId() : pitId,
+                                    hits[hits.length - 1].getSortValues(),
+                                    fieldMappingDocs,
+                                    delegatedListener);
                         }));
     }
 
+    private void deletePit(String pitId) {
+        this.client.deletePits(
+                new DeletePitRequest(pitId),
+                ActionListener.wrap(
+                        r -> {},
+                        e -> logger.debug("Failed to delete point in time of the log type config index", e)));
+    }
+
     /**
      * if isConfigIndexInitialized is false does following: 1. Creates log type config index with
      * proper mappings/settings 2. Loads builtin log types into index 3. sets isConfigIndexInitialized
@@ -838,31 +994,17 @@ public class LogTypeService {
     }
 
     public void getRuleFieldMappings(ActionListener<Map<String, Map<String, String>>> listener) {
-        this.ensureConfigIndexIsInitialized(
-                ActionListener.wrap(
-                        () ->
-                                this.getAllFieldMappings(
-                                        ActionListener.delegateFailure(
-                                                listener,
-                                                (delegatedListener, fieldMappingDocs) -> {
-                                                    Map<String, Map<String, String>> mappings = new HashMap<>();
-                                                    for (FieldMappingDoc fieldMappingDoc : fieldMappingDocs) {
-                                                        Set<String> logTypes = fieldMappingDoc.getLogTypes();
-                                                        if (logTypes != null) {
-                                                            for (String logType : logTypes) {
-                                                                Map<String, String> mappingsByLogTypes =
-                                                                        mappings.containsKey(logType)
-                                                                                ? mappings.get(logType)
-                                                                                : new HashMap<>();
-                                                                mappingsByLogTypes.put(
-                                                                        fieldMappingDoc.getRawField(),
-                                                                        fieldMappingDoc.getSchemaFields().get(this.defaultSchemaField));
-                                                                mappings.put(logType, mappingsByLogTypes);
-                                                            }
-                                                        }
-                                                    }
-                                                    delegatedListener.onResponse(mappings);
-                                                }))));
+        this.getFieldMappingSnapshot(
+                ActionListener.delegateFailure(
+                        listener,
+                        (delegatedListener, snapshot) -> {
+                            Map<String, Map<String, String>> mappings = new HashMap<>();
+                            for (String logType : snapshot.getLogTypes()) {
+                                mappings.put(
+                                        logType, snapshot.getRuleFieldMappings(logType, this.defaultSchemaField));
+                            }
+                            delegatedListener.onResponse(mappings);
+                        }));
     }
 
     /**
@@ -884,19 +1026,12 @@ public class LogTypeService {
             return;
         }
 
-        this.getFieldMappingsByLogType(
-                logType,
+        this.getFieldMappingSnapshot(
                 ActionListener.delegateFailure(
                         listener,
-                        (delegatedListener, fieldMappingDocs) -> {
-                            Map<String, String> ruleFieldMappings = new HashMap<>(fieldMappingDocs.size());
-                            fieldMappingDocs.forEach(
-                                    e -> {
-                                        ruleFieldMappings.put(
-                                                e.getRawField(), e.getSchemaFields().get(this.defaultSchemaField));
-                                    });
-                            delegatedListener.onResponse(ruleFieldMappings);
-                        }));
+                        (delegatedListener, snapshot) ->
+                                delegatedListener.onResponse(
+                                        snapshot.getRuleFieldMappings(logType, this.defaultSchemaField))));
     }
 
     public List<LogType.IocFields> getIocFieldsList(String logType) {
@@ -918,83 +1053,69 @@ public class LogTypeService {
             return;
         }
 
-        this.getFieldMappingsByLogType(
-                logType,
+        this.getFieldMappingSnapshot(
                 ActionListener.delegateFailure(
                         listener,
-                        (delegatedListener, fieldMappingDocs) -> {
+                        (delegatedListener, snapshot) -> {
                             List<LogType.Mapping> ruleFieldMappings = new ArrayList<>();
-                            fieldMappingDocs.forEach(
-                                    e -> {
-                                        ruleFieldMappings.add(
-                                                new LogType.Mapping(
-                                                        e.getRawField(),
-                                                        e.getSchemaFields().get("ecs"),
-                                                        e.getSchemaFields().get("ocsf"),
-                                                        e.getSchemaFields().get("ocsf11")));
-                                    });
+                            snapshot
+                                    .getFieldMappings(logType)
+                                    .forEach(
+                                            (rawField, schemaFields) ->
+                                                    ruleFieldMappings.add(
+                                                            new LogType.Mapping(
+                                                                    rawField,
+                                                                    schemaFields.get("ecs"),
+                                                                    schemaFields.get("ocsf"),
+                                                                    schemaFields.get("ocsf11"))));
                             delegatedListener.onResponse(ruleFieldMappings);
                         }));
     }
 
-    /** Provides required fields for a log type in order for all rules to work */
+    /**
+     * Provides required fields for a log type in order for all rules to work. Every field mapping doc
+     * is returned in index order, so consumers keeping the first mapping of a raw field keep the
+     * first doc.
+     */
     public void getRequiredFields(String logType, ActionListener<List<LogType.Mapping>> listener) {
-
-        this.getFieldMappingsByLogType(
-                logType,
+        this.getFieldMappingSnapshot(
                 ActionListener.delegateFailure(
                         listener,
-                        (delegatedListener, fieldMappingDocs) -> {
+                        (delegatedListener, snapshot) -> {
                             List<LogType.Mapping> requiredFields = new ArrayList<>();
-                            fieldMappingDocs.forEach(
-                                    e -> {
-                                        LogType.Mapping requiredField =
-                                                new LogType.Mapping(
-                                                        e.getRawField(),
-                                                        e.getSchemaFields().get(this.defaultSchemaField),
-                                                        e.getSchemaFields().get("ocsf"),
-                                                        e.getSchemaFields().get("ocsf11"));
-                                        requiredFields.add(requiredField);
-                                    });
+                            for (Map.Entry<String, Map<String, String>> fieldMapping :
+                                    snapshot.getFieldMappingsInIndexOrder(logType)) {
+                                Map<String, String> schemaFields = fieldMapping.getValue();
+                                requiredFields.add(
+                                        new LogType.Mapping(
+                                                fieldMapping.getKey(),
+                                                schemaFields.get(this.defaultSchemaField),
+                                                schemaFields.get("ocsf"),
+                                                schemaFields.get("ocsf11")));
+                            }
                             delegatedListener.onResponse(requiredFields);
                         }));
     }
 
     /** Provides required fields for all log types in a form of map */
     public void getRequiredFieldsForAllLogTypes(ActionListener<Map<String, Set<String>>> listener) {
-        this.ensureConfigIndexIsInitialized(
-                ActionListener.wrap(
-                        () ->
-                                this.getAllFieldMappings(
-                                        ActionListener.delegateFailure(
-                                                listener,
-                                                (delegatedListener, fieldMappingDocs) -> {
-                                                    Map<String, Set<String>> requiredFieldsMap = new HashMap<>();
-                                                    fieldMappingDocs.forEach(
-                                                            e -> {
-                                                                // Init sets if first time seeing this logType
-                                                                e.getLogTypes()
-                                                                        .forEach(
-                                                                                logType -> {
-                                                                                    if (!requiredFieldsMap.containsKey(logType)) {
-                                                                                        requiredFieldsMap.put(logType, new HashSet<>());
-                                                                                    }
-                                                                                });
-                                                                String requiredField =
-                                                                        e.getSchemaFields().get(this.defaultSchemaField);
-                                                                if (requiredField == null) {
-                                                                    requiredField = e.getRawField(); // Always fallback to rawField if
-                                                                    // defaultSchema one is missing
-                                                                }
-                                                                final String _requiredField = requiredField;
-                                                                e.getLogTypes()
-                                                                        .forEach(
-                                                                                logType -> {
-                                                                                    requiredFieldsMap.get(logType).add(_requiredField);
-                                                                                });
-                                                            });
-                                                    delegatedListener.onResponse(requiredFieldsMap);
-                                                }))));
+        this.getFieldMappingSnapshot(
+                ActionListener.delegateFailure(
+                        listener,
+                        (delegatedListener, snapshot) -> {
+                            Map<String, Set<String>> requiredFieldsMap = new HashMap<>();
+                            for (String logType : snapshot.getLogTypes()) {
+                                Set<String> requiredFields = new HashSet<>();
+                                for (Map.Entry<String, Map<String, String>> fieldMapping :
+                                        snapshot.getFieldMappingsInIndexOrder(logType)) {
+                                    String requiredField = fieldMapping.getValue().get(this.defaultSchemaField);
+                                    // Always fallback to rawField if defaultSchema one is missing
+                                    requiredFields.add(requiredField != null ? requiredField : fieldMapping.getKey());
+                                }
+                                requiredFieldsMap.put(logType, requiredFields);
+                            }
+                            delegatedListener.onResponse(requiredFieldsMap);
+                        }));
     }
 
     /**
@@ -1019,6 +1140,11 @@ public class LogTypeService {
         }
     }
 
+    /** Version of the field mappings written by this node, see {@link #fieldMappingsVersion}. */
+    public long getFieldMappingsVersion() {
+        return fieldMappingsVersion.get();
+    }
+
     public String getDefaultSchemaField() {
         return this.defaultSchemaField;
     }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.mapper;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.cluster.metadata.MappingMetadata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.opensearch.securityanalytics.mapper.MapperUtils.PATH;
+
+/**
+ * Flattened view of the fields of an index mapping, built with a single traversal of the mapping.
+ *
+ * <p>Fields are kept in insertion ordered hash sets, for constant time membership checks, and in a
+ * trie of their path segments, so that object fields and the parents of leaf fields can be looked
+ * up as well. Instances are immutable and safe to share between threads.
+ */
+public final class FlatFieldIndex {
+
+    private final boolean empty;
+
+    private final Set<String> fields;
+
+    private final Set<String> nonAliasFields;
+
+    private final List<Pair<String, String>> aliasPathPairs;
+
+    private final Map<String, Map<String, Object>> fieldProperties;
+
+    private final PathNode root = new PathNode();
+
+    private FlatFieldIndex(Map<String, Object> mappingsMap) {
+        Set<String> fields = new LinkedHashSet<>();
+        Set<String> nonAliasFields = new LinkedHashSet<>();
+        List<Pair<String, String>> aliasPathPairs = new ArrayList<>();
+        Map<String, Map<String, Object>> fieldProperties = new HashMap<>();
+
+        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingsMap, Set.of());
+        mappingsTraverser.addListener(new MappingsTraverser.MappingsTraverserListener() {
+            @Override
+            public void onLeafVisited(MappingsTraverser.Node node) {
+                String path = node.currentPath;
+                fields.add(path);
+                fieldProperties.put(path, node.getProperties());
+                boolean isAlias = node.isAlias();
+                if (isAlias == false) {
+                    nonAliasFields.add(path);
+                } else if (node.getProperties().containsKey(PATH)) {
+                    aliasPathPairs.add(Pair.of(path, (String) node.getProperties().get(PATH)));
+                }
+                FlatFieldIndex.this.addPath(path, isAlias);
+            }
+
+            @Override
+            public void onError(String error) {
+                throw new IllegalArgumentException(error);
+            }
+        });
+        mappingsTraverser.traverse();
+
+        this.empty = mappingsMap.isEmpty();
+        this.fields = Collections.unmodifiableSet(fields);
+        this.nonAliasFields = Collections.unmodifiableSet(nonAliasFields);
+        this.aliasPathPairs = Collections.unmodifiableList(aliasPathPairs);
+        this.fieldProperties = Collections.unmodifiableMap(fieldProperties);
+    }
+
+    /** Builds the field index of a mapping. */
+    public static FlatFieldIndex of(MappingMetadata mappingMetadata) {
+        return new FlatFieldIndex(mappingMetadata.getSourceAsMap());
+    }
+
+    /** Builds the field index of a mapping already parsed into a map, starting with "properties". */
+    public static FlatFieldIndex of(Map<String, Object> mappingsMap) {
+        return new FlatFieldIndex(mappingsMap);
+    }
+
+    /** Whether the mapping has nothing in it, see {@link MapperUtils#isIndexMappingsEmpty}. */
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    /** Whether the path is a leaf field of the mapping, alias or not. */
+    public boolean contains(String path) {
+        return path != null && this.fields.contains(path);
+    }
+
+    /** Whether the path is a leaf field of the mapping which is not an alias. */
+    public boolean containsNonAlias(String path) {
+        return path != null && this.nonAliasFields.contains(path);
+    }
+
+    /** Returns every leaf field of the mapping, in traversal order. */
+    public Set<String> getFields() {
+        return this.fields;
+    }
+
+    /** Returns every leaf field of the mapping which is not an alias, in traversal order. */
+    public Set<String> getNonAliasFields() {
+        return this.nonAliasFields;
+    }
+
+    /** Returns the alias fields of the mapping paired with the path they point to. */
+    public List<Pair<String, String>> getAliasPathPairs() {
+        return this.aliasPathPairs;
+    }
+
+    /** Returns the mapping properties of each of the paths which is a leaf field of the mapping. */
+    public Map<String, Object> getFieldMappings(Collection<String> paths) {
+        Map<String, Object> fieldMappings = new HashMap<>();
+        for (String path : paths) {
+            Map<String, Object> properties = this.fieldProperties.get(path);
+            if (properties != null) {
+                fieldMappings.put(path, properties);
+            }
+        }
+        return fieldMappings;
+    }
+
+    /**
+     * Whether an alias with this name can't be added to the mapping, because the name is taken by a
+     * field which is not an alias, by an object field, or because one of its parents is a leaf field.
+     */
+    public boolean conflictsWithAlias(String name) {
+        PathNode node = this.root;
+        String[] segments = name.split("\\.");
+        for (int i = 0; i < segments.length; i++) {
+            node = node.children.get(segments[i]);
+            if (node == null) {
+                return false;
+            }
+            boolean last = i == segments.length - 1;
+            if (node.leaf && (last == false || node.alias == false)) {
+                return true;
+            }
+        }
+        return node.children.isEmpty() == false;
+    }
+
+    private void addPath(String path, boolean isAlias) {
+        PathNode node = this.root;
+        for (String segment : path.split("\\.")) {
+            node = node.children.computeIfAbsent(segment, k -> new PathNode());
+        }
+        node.leaf = true;
+        node.alias = isAlias;
+    }
+
+    private static final class PathNode {
+
+        private final Map<String, PathNode> children = new HashMap<>();
+
+        private boolean leaf;
+
+        private boolean alias;
+    }
+}
@@ -30,6 +30,7 @@ import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.ComponentTemplate;
 import org.opensearch.cluster.metadata.ComposableIndexTemplate;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.metadata.MetadataIndexTemplateService;
 import org.opensearch.cluster.metadata.Template;
 import org.opensearch.cluster.service.ClusterService;
@@ -48,11 +49,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.opensearch.securityanalytics.mapper.IndexTemplateUtils.computeComponentTemplateName;
 import static org.opensearch.securityanalytics.mapper.IndexTemplateUtils.computeIndexTemplateName;
@@ -97,18 +101,12 @@ public class IndexTemplateManager {
             return;
         }
 
-        String concreteIndexName = IndexUtils.getWriteIndex(indexName, state);
+        String concreteIndexName = resolveTemplateSourceIndex(indexName, state);
         if (concreteIndexName == null) {
-            String[] concreteIndices =
-                    indexNameExpressionResolver.concreteIndexNames(
-                            state, IndicesOptions.LENIENT_EXPAND_OPEN, indexName);
-            if (concreteIndices.length == 0) {
-                actionListener.onFailure(
-                        SecurityAnalyticsException.wrap(
-                                new IllegalStateException("Can't upsert index template for concrete index!")));
-                return;
-            }
-            concreteIndexName = IndexUtils.getNewestIndexByCreationDate(concreteIndices, state);
+            actionListener.onFailure(
+                    SecurityAnalyticsException.wrap(
+                            new IllegalStateException("Can't upsert index template for concrete index!")));
+            return;
         }
 
         // Get applied mappings for our concrete index of interest: writeIndex or newest(creation date)
@@ -231,6 +229,269 @@ public class IndexTemplateManager {
                 actionListener::onFailure);
     }
 
+    /**
+     * Upserts the component templates and index templates of many index patterns, aliases or data
+     * streams at once.
+     *
+     * <p>Template changes are planned up front, one index name after another, against a copy of the
+     * cluster state which is updated with every planned change, the same way applying them one by one
+     * would see them. Each component template and each index template touched by the batch is then
+     * put exactly once: component templates first, all of them at once, then index templates.
+     *
+     * @param createMappingResults applied mappings of each index name, by index name
+     * @param actionListener receives the failure of each index name whose templates couldn't be upserted
+     */
+    public void upsertIndexTemplatesWithAliasMappings(
+            Map<String, Collection<CreateMappingResult>> createMappingResults,
+            ActionListener<Map<String, Exception>> actionListener) {
+        ClusterState state = this.clusterService.state();
+        ClusterState plannedState = state;
+        Map<String, Exception> failures = new ConcurrentHashMap<>();
+        // Component template to put, and the index name owning it, by component template name
+        Map<String, ComponentTemplate> componentTemplates = new LinkedHashMap<>();
+        Map<String, String> componentOwners = new HashMap<>();
+        // Index template to put, and the index names contributing to it, by index template name
+        Map<String, ComposableIndexTemplate> indexTemplates = new LinkedHashMap<>();
+        Map<String, Set<String>> indexTemplateOwners = new HashMap<>();
+
+        for (Map.Entry<String, Collection<CreateMappingResult>> entry : createMappingResults.entrySet()) {
+            String indexName = entry.getKey();
+            try {
+                if (IndexUtils.isConcreteIndex(indexName, state)) {
+                    throw new IllegalStateException("Can't upsert index template for concrete index!");
+                }
+                String cin = resolveTemplateSourceIndex(indexName, state);
+                Optional<CreateMappingResult> createMappingResult =
+                        entry.getValue().stream().filter(e -> e.getConcreteIndexName().equals(cin)).findFirst();
+                if (cin == null || createMappingResult.isPresent() == false) {
+                    throw new IllegalStateException("Can't upsert index template for concrete index!");
+                }
+
+                String componentName = computeComponentTemplateName(indexName);
+                ComponentTemplate componentTemplate =
+                        new ComponentTemplate(
+                                new Template(
+                                        null,
+                                        new CompressedXContent(
+                                                XContentUtils.parseMapToJsonString(
+                                                        createMappingResult.get().getMappings())),
+                                        null),
+                                0L,
+                                null);
+
+                String templateName = findIndexTemplate(indexName, cin, plannedState);
+                ComposableIndexTemplate template;
+                if (templateName == null) {
+                    template =
+                            new ComposableIndexTemplate(
+                                    List.of(computeIndexPattern(indexName)),
+                                    null,
+                                    List.of(componentName),
+                                    null,
+                                    null,
+                                    null);
+                    templateName = computeIndexTemplateName(indexName);
+                } else {
+                    template = plannedState.metadata().templatesV2().get(templateName);
+                    if (template.composedOf().contains(componentName) == false) {
+                        List<String> newComposedOf = new ArrayList<>(template.composedOf());
+                        List<String> indexPatterns = new ArrayList<>(template.indexPatterns());
+                        indexPatterns.add(computeIndexPattern(indexName));
+                        newComposedOf.add(componentName);
+                        template =
+                                new ComposableIndexTemplate(
+                                        indexPatterns,
+                                        copyTemplate(template.template()),
+                                        newComposedOf,
+                                        template.priority(),
+                                        template.version(),
+                                        template.metadata(),
+                                        template.getDataStreamTemplate());
+                    } else {
+                        template = null;
+                    }
+                }
+
+                componentTemplates.put(componentName, componentTemplate);
+                componentOwners.put(componentName, indexName);
+                if (template != null) {
+                    indexTemplates.put(templateName, template);
+                    plannedState =
+                            ClusterState.builder(plannedState)
+                                    .metadata(Metadata.builder(plannedState.metadata()).put(templateName, template))
+                                    .build();
+                }
+                indexTemplateOwners.computeIfAbsent(templateName, k -> new HashSet<>()).add(indexName);
+            } catch (Exception e) {
+                log.error("Failed to plan index template upsert for [{}]", indexName, e);
+                failures.put(indexName, SecurityAnalyticsException.wrap(e));
+            }
+        }
+
+        if (componentTemplates.isEmpty()) {
+            actionListener.onResponse(failures);
+            return;
+        }
+
+        GroupedActionListener<String> componentTemplatesListener =
+                new GroupedActionListener<>(
+                        new ActionListener<>() {
+                            @Override
+                            public void onResponse(Collection<String> componentNames) {
+                                // A new component template which failed can't be referenced by an index template
+                                Set<String> missingComponents = new HashSet<>();
+                                componentOwners.forEach(
+                                        (componentName, indexName) -> {
+                                            if (failures.containsKey(indexName)
+                                                    && state.metadata().componentTemplates().containsKey(componentName)
+                                                            == false) {
+                                                missingComponents.add(componentName);
+                                            }
+                                        });
+                                indexTemplates
+                                        .entrySet()
+                                        .removeIf(
+                                                e -> {
+                                                    if (e.getValue().composedOf().stream().noneMatch(missingComponents::contains)) {
+                                                        return false;
+                                                    }
+                                                    Exception failure =
+                                                            SecurityAnalyticsException.wrap(
+                                                                    new IllegalStateException(
+                                                                            "Failed to upsert component templates of index template ["
+                                                                                    + e.getKey()
+                                                                                    + "]"));
+                                                    indexTemplateOwners
+                                                            .get(e.getKey())
+                                                            .forEach(owner -> failures.putIfAbsent(owner, failure));
+                                                    return true;
+                                                });
+                                putIndexTemplates(
+                                        state, indexTemplates, indexTemplateOwners, failures, actionListener);
+                            }
+
+                            @Override
+                            public void onFailure(Exception e) {
+                                actionListener.onFailure(e);
+                            }
+                        },
+                        componentTemplates.size());
+
+        componentTemplates.forEach(
+                (componentName, componentTemplate) ->
+                        client.execute(
+                                PutComponentTemplateAction.INSTANCE,
+                                new PutComponentTemplateAction.Request(componentName)
+                                        .componentTemplate(componentTemplate)
+                                        .create(
+                                                state.metadata().componentTemplates().containsKey(componentName)
+                                                        == false),
+                                new ActionListener<>() {
+                                    @Override
+                                    public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                                        componentTemplatesListener.onResponse(componentName);
+                                    }
+
+                                    @Override
+                                    public void onFailure(Exception e) {
+                                        failures.put(componentOwners.get(componentName), e);
+                                        componentTemplatesListener.onResponse(componentName);
+                                    }
+                                }));
+    }
+
+    private void putIndexTemplates(
+            ClusterState state,
+            Map<String, ComposableIndexTemplate> indexTemplates,
+            Map<String, Set<String>> indexTemplateOwners,
+            Map<String, Exception> failures,
+            ActionListener<Map<String, Exception>> actionListener) {
+        if (indexTemplates.isEmpty()) {
+            actionListener.onResponse(failures);
+            return;
+        }
+        GroupedActionListener<String> indexTemplatesListener =
+                new GroupedActionListener<>(
+                        ActionListener.wrap(
+                                templateNames -> actionListener.onResponse(failures), actionListener::onFailure),
+                        indexTemplates.size());
+
+        indexTemplates.forEach(
+                (templateName, template) ->
+                        upsertIndexTemplate(
+                                client,
+                                state.metadata().templatesV2().containsKey(templateName) == false,
+                                template,
+                                templateName,
+                                new ActionListener<>() {
+                                    @Override
+                                    public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                                        indexTemplatesListener.onResponse(templateName);
+                                    }
+
+                                    @Override
+                                    public void onFailure(Exception e) {
+                                        indexTemplateOwners
+                                                .get(templateName)
+                                                .forEach(owner -> failures.putIfAbsent(owner, e));
+                                        indexTemplatesListener.onResponse(templateName);
+                                    }
+                                }));
+    }
+
+    /**
+     * Returns the concrete index whose applied mappings go to the component template of an index name:
+     * its write index, or else the newest of its indices. Null if it has no indices.
+     */
+    private String resolveTemplateSourceIndex(String indexName, ClusterState state) {
+        String concreteIndexName = IndexUtils.getWriteIndex(indexName, state);
+        if (concreteIndexName == null) {
+            String[] concreteIndices =
+                    indexNameExpressionResolver.concreteIndexNames(
+                            state, IndicesOptions.LENIENT_EXPAND_OPEN, indexName);
+            if (concreteIndices.length == 0) {
+                return null;
+            }
+            concreteIndexName = IndexUtils.getNewestIndexByCreationDate(concreteIndices, state);
+        }
+        return concreteIndexName;
+    }
+
+    /**
+     * Finds the index template the component template of an index name goes to: the template which
+     * matches the index name best, or else the one matching its concrete index, or else a conflicting
+     * template created by us. Null if a new index template has to be created.
+     *
+     * @throws IllegalStateException if templates which weren't created by us conflict with the index name
+     */
+    private String findIndexTemplate(String indexName, String cin, ClusterState state) {
+        String templateName =
+                MetadataIndexTemplateService.findV2Template(
+                        state.metadata(), normalizeIndexName(indexName), false);
+        if (templateName == null) {
+            templateName =
+                    MetadataIndexTemplateService.findV2Template(
+                            state.metadata(), normalizeIndexName(cin), false);
+        }
+        if (templateName != null) {
+            return templateName;
+        }
+        Map<String, List<String>> conflictingTemplates =
+                MetadataIndexTemplateService.findConflictingV2Templates(
+                        state, computeIndexTemplateName(indexName), List.of(computeIndexPattern(indexName)));
+        if (conflictingTemplates.size() == 1) {
+            String conflictingTemplateName = conflictingTemplates.keySet().iterator().next();
+            if (conflictingTemplateName.startsWith(OPENSEARCH_SAP_INDEX_TEMPLATE_PREFIX)) {
+                return conflictingTemplateName;
+            }
+            throw new IllegalStateException("Found conflicting template: [" + conflictingTemplateName + "]");
+        } else if (conflictingTemplates.size() > 1) {
+            throw new IllegalStateException(
+                    "Found conflicting templates: [" + String.join(", ", conflictingTemplates.keySet()) + "]");
+        }
+        return null;
+    }
+
     private String computeIndexPattern(String indexName) {
         return indexName.endsWith("*") == false ? indexName + "*" : indexName;
     }
@@ -14,14 +14,21 @@ import org.opensearch.action.admin.indices.mapping.get.GetMappingsRequest;
 import org.opensearch.action.admin.indices.mapping.get.GetMappingsResponse;
 import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
 import org.opensearch.action.support.GroupedActionListener;
+import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.compress.CompressedXContent;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsBatchResponse;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsRequest;
 import org.opensearch.securityanalytics.action.GetIndexMappingsResponse;
 import org.opensearch.securityanalytics.action.GetMappingsViewResponse;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
@@ -35,12 +42,16 @@ import org.opensearch.transport.client.IndicesAdminClient;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static org.opensearch.securityanalytics.mapper.MapperUtils.PATH;
@@ -50,12 +61,23 @@ public class MapperService {
 
     private static final Logger log = LogManager.getLogger(MapperService.class);
 
+    private static final int FIELD_INDEX_CACHE_SIZE = 128;
+
     private ClusterService clusterService;
     private IndicesAdminClient indicesClient;
     private IndexNameExpressionResolver indexNameExpressionResolver;
     private IndexTemplateManager indexTemplateManager;
     private LogTypeService logTypeService;
 
+    /** Field indices of concrete indices, by index name. */
+    private final Map<String, CachedFieldIndex> fieldIndexCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedFieldIndex> eldest) {
+                    return this.size() > FIELD_INDEX_CACHE_SIZE;
+                }
+            });
+
     public MapperService() {
     }
 
@@ -73,18 +95,8 @@ public class MapperService {
 
     public void createMappingAction(String indexName, String logType, String aliasMappings, boolean partial, ActionListener<AcknowledgedResponse> actionListener) {
 
-        // If indexName is Datastream it is enough to apply mappings to writeIndex only
-        // since you can't update documents in non-write indices
-        String index = indexName;
+        String index = resolveTargetIndex(indexName, this.clusterService.state());
         boolean shouldUpsertIndexTemplate = IndexUtils.isConcreteIndex(indexName, this.clusterService.state()) == false;
-        if (IndexUtils.isDataStream(indexName, this.clusterService.state()) || IndexUtils.isAlias(indexName, this.clusterService.state())) {
-            log.debug("{} is an alias or datastream. Fetching write index for create mapping action.", indexName);
-            String writeIndex = IndexUtils.getWriteIndex(indexName, this.clusterService.state());
-            if (writeIndex != null) {
-                log.debug("Write index for {} is {}", indexName, writeIndex);
-                index = writeIndex;
-            }
-        }
 
         GetMappingsRequest getMappingsRequest = new GetMappingsRequest().indices(index);
         indicesClient.getMappings(getMappingsRequest, new ActionListener<>() {
@@ -125,6 +137,300 @@ public class MapperService {
         });
     }
 
+    /**
+     * Creates alias mappings for a batch of indices and log types in one go.
+     *
+     * <p>Every alias mapping is computed up front, against a single read of the mappings of all the
+     * concrete indices involved. The alias mappings of all entries targeting the same concrete index
+     * are merged into one put mapping request, all of them sent at once so the cluster manager can
+     * apply them together, and the template changes of all index patterns, aliases and data streams
+     * are applied with {@link IndexTemplateManager#upsertIndexTemplatesWithAliasMappings}. A failing
+     * entry doesn't fail the rest of the batch.
+     *
+     * @param requests       Batch entries
+     * @param actionListener actionListener used to return the outcome of each entry
+     */
+    public void createMappingsBatchAction(List<CreateIndexMappingsRequest> requests, ActionListener<CreateIndexMappingsBatchResponse> actionListener) {
+        ClusterState state = this.clusterService.state();
+        List<BatchEntry> entries = new ArrayList<>(requests.size());
+        Set<String> concreteIndices = new LinkedHashSet<>();
+        Set<String> logTypes = new HashSet<>();
+        for (CreateIndexMappingsRequest request : requests) {
+            BatchEntry entry = new BatchEntry(request);
+            entries.add(entry);
+            try {
+                String index = resolveTargetIndex(request.getIndexName(), state);
+                String[] indices = this.indexNameExpressionResolver.concreteIndexNames(state, IndicesOptions.strictExpandOpen(), index);
+                if (indices.length == 0) {
+                    throw new IndexNotFoundException(index);
+                }
+                entry.shouldUpsertIndexTemplate = IndexUtils.isConcreteIndex(request.getIndexName(), state) == false;
+                entry.concreteIndices = List.of(indices);
+                concreteIndices.addAll(entry.concreteIndices);
+                if (request.getAliasMappings() == null) {
+                    logTypes.add(request.getRuleTopic());
+                }
+            } catch (Exception e) {
+                entry.failure = e;
+            }
+        }
+        if (concreteIndices.isEmpty()) {
+            actionListener.onResponse(toBatchResponse(entries));
+            return;
+        }
+
+        GetMappingsRequest getMappingsRequest = new GetMappingsRequest().indices(concreteIndices.toArray(new String[0]));
+        indicesClient.getMappings(getMappingsRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(GetMappingsResponse getMappingsResponse) {
+                Map<String, Exception> logTypeFailures = new ConcurrentHashMap<>();
+                loadLogTypeMappings(logTypes, logTypeFailures, new ActionListener<>() {
+                    @Override
+                    public void onResponse(Map<String, List<LogType.Mapping>> logTypeMappings) {
+                        try {
+                            Map<String, Map<String, Object>> mergedAliasMappings =
+                                    planBatch(entries, getMappingsResponse.getMappings(), logTypeMappings, logTypeFailures);
+                            putBatchAliasMappings(entries, mergedAliasMappings, actionListener);
+                        } catch (Exception e) {
+                            actionListener.onFailure(e);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        actionListener.onFailure(e);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(e);
+            }
+        });
+    }
+
+    /**
+     * Reads the field mappings of each log type once. The failure of a log type which can't be read is
+     * put in <code>failures</code>, and fails only the entries using it.
+     */
+    private void loadLogTypeMappings(
+            Set<String> logTypes,
+            Map<String, Exception> failures,
+            ActionListener<Map<String, List<LogType.Mapping>>> actionListener
+    ) {
+        Map<String, List<LogType.Mapping>> logTypeMappings = new ConcurrentHashMap<>();
+        if (logTypes.isEmpty()) {
+            actionListener.onResponse(logTypeMappings);
+            return;
+        }
+        GroupedActionListener<String> logTypesListener = new GroupedActionListener<>(new ActionListener<>() {
+            @Override
+            public void onResponse(Collection<String> loaded) {
+                actionListener.onResponse(logTypeMappings);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(e);
+            }
+        }, logTypes.size());
+
+        for (String logType : logTypes) {
+            logTypeService.getRuleFieldMappingsAllSchemas(logType, new ActionListener<>() {
+                @Override
+                public void onResponse(List<LogType.Mapping> mappings) {
+                    logTypeMappings.put(logType, mappings);
+                    logTypesListener.onResponse(logType);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    failures.put(logType, e);
+                    logTypesListener.onResponse(logType);
+                }
+            });
+        }
+    }
+
+    /**
+     * Computes the alias mappings of every entry against every concrete index it targets. An entry
+     * only contributes to the put mapping requests if it can be applied to all of its indices.
+     *
+     * @return flat alias mappings to put, by concrete index, later entries winning on the same alias
+     */
+    private Map<String, Map<String, Object>> planBatch(
+            List<BatchEntry> entries,
+            Map<String, MappingMetadata> indexMappings,
+            Map<String, List<LogType.Mapping>> logTypeMappings,
+            Map<String, Exception> logTypeFailures
+    ) {
+        Map<String, Map<String, Object>> mergedAliasMappings = new LinkedHashMap<>();
+        for (BatchEntry entry : entries) {
+            if (entry.failure != null) {
+                continue;
+            }
+            CreateIndexMappingsRequest request = entry.request;
+            try {
+                for (String concreteIndex : entry.concreteIndices) {
+                    MappingMetadata mappingMetadata = indexMappings.get(concreteIndex);
+                    if (mappingMetadata == null) {
+                        throw new IndexNotFoundException(concreteIndex);
+                    }
+                    FlatFieldIndex indexFields = getFieldIndex(concreteIndex, mappingMetadata);
+                    String aliasMappings = request.getAliasMappings();
+                    if (aliasMappings == null) {
+                        Exception logTypeFailure = logTypeFailures.get(request.getRuleTopic());
+                        if (logTypeFailure != null) {
+                            throw logTypeFailure;
+                        }
+                        aliasMappings = buildAliasMappings(indexFields, logTypeMappings.get(request.getRuleTopic()));
+                    }
+                    AliasMappingsPlan plan = planAliasMappings(concreteIndex, indexFields, aliasMappings);
+                    // If user didn't allow partial apply, the entry fails and nothing of it is applied
+                    if (plan.missingPaths.size() > 0 && !request.getPartial()) {
+                        throw notAllPathsFound(plan.missingPaths);
+                    }
+                    entry.plans.put(concreteIndex, plan);
+                }
+            } catch (Exception e) {
+                entry.failure = e;
+                entry.plans.clear();
+                continue;
+            }
+            entry.plans.forEach((concreteIndex, plan) ->
+                    mergedAliasMappings.computeIfAbsent(concreteIndex, k -> new LinkedHashMap<>()).putAll(plan.getFlatAliasMappings()));
+        }
+        return mergedAliasMappings;
+    }
+
+    private void putBatchAliasMappings(
+            List<BatchEntry> entries,
+            Map<String, Map<String, Object>> mergedAliasMappings,
+            ActionListener<CreateIndexMappingsBatchResponse> actionListener
+    ) {
+        if (mergedAliasMappings.isEmpty()) {
+            actionListener.onResponse(toBatchResponse(entries));
+            return;
+        }
+        // Each put mapping request is answered with either its response or its failure
+        GroupedActionListener<Pair<String, Object>> putMappingsListener = new GroupedActionListener<>(new ActionListener<>() {
+            @Override
+            public void onResponse(Collection<Pair<String, Object>> responses) {
+                try {
+                    Map<String, Object> responsesByIndex = new HashMap<>();
+                    responses.forEach(e -> responsesByIndex.put(e.getKey(), e.getValue()));
+                    for (BatchEntry entry : entries) {
+                        for (String concreteIndex : entry.plans.keySet()) {
+                            Object response = responsesByIndex.get(concreteIndex);
+                            if (response instanceof Exception) {
+                                entry.failure = (Exception) response;
+                            } else if (((AcknowledgedResponse) response).isAcknowledged() == false) {
+                                entry.acknowledged = false;
+                            }
+                        }
+                    }
+                    upsertBatchIndexTemplates(entries, actionListener);
+                } catch (Exception e) {
+                    actionListener.onFailure(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(e);
+            }
+        }, mergedAliasMappings.size());
+
+        mergedAliasMappings.forEach((concreteIndex, aliasMappings) -> {
+            PutMappingRequest request = new PutMappingRequest(concreteIndex).source(Map.of(PROPERTIES, aliasMappings));
+            indicesClient.putMapping(request, new ActionListener<>() {
+                @Override
+                public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                    putMappingsListener.onResponse(Pair.of(concreteIndex, acknowledgedResponse));
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    putMappingsListener.onResponse(Pair.of(concreteIndex, e));
+                }
+            });
+        });
+    }
+
+    private void upsertBatchIndexTemplates(List<BatchEntry> entries, ActionListener<CreateIndexMappingsBatchResponse> actionListener) {
+        // Applied mappings of every index pattern, alias or data stream, by concrete index
+        Map<String, Map<String, Map<String, Object>>> appliedMappings = new LinkedHashMap<>();
+        for (BatchEntry entry : entries) {
+            if (entry.failure != null || entry.shouldUpsertIndexTemplate == false) {
+                continue;
+            }
+            Map<String, Map<String, Object>> byConcreteIndex =
+                    appliedMappings.computeIfAbsent(entry.request.getIndexName(), k -> new LinkedHashMap<>());
+            entry.plans.forEach((concreteIndex, plan) ->
+                    byConcreteIndex.computeIfAbsent(concreteIndex, k -> new LinkedHashMap<>()).putAll(plan.getFlatAppliedMappings()));
+        }
+        if (appliedMappings.isEmpty()) {
+            actionListener.onResponse(toBatchResponse(entries));
+            return;
+        }
+
+        Map<String, Collection<CreateMappingResult>> createMappingResults = new LinkedHashMap<>();
+        appliedMappings.forEach((indexName, byConcreteIndex) -> createMappingResults.put(
+                indexName,
+                byConcreteIndex.entrySet().stream()
+                        .map(e -> new CreateMappingResult(new AcknowledgedResponse(true), e.getKey(), Map.of(PROPERTIES, e.getValue())))
+                        .collect(Collectors.toList())));
+
+        indexTemplateManager.upsertIndexTemplatesWithAliasMappings(createMappingResults, new ActionListener<>() {
+            @Override
+            public void onResponse(Map<String, Exception> failures) {
+                for (BatchEntry entry : entries) {
+                    Exception failure = failures.get(entry.request.getIndexName());
+                    if (entry.failure == null && entry.shouldUpsertIndexTemplate && failure != null) {
+                        entry.failure = failure;
+                    }
+                }
+                actionListener.onResponse(toBatchResponse(entries));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(e);
+            }
+        });
+    }
+
+    private static CreateIndexMappingsBatchResponse toBatchResponse(List<BatchEntry> entries) {
+        List<CreateIndexMappingsBatchResponse.Item> items = new ArrayList<>(entries.size());
+        for (BatchEntry entry : entries) {
+            CreateIndexMappingsRequest request = entry.request;
+            if (entry.failure != null) {
+                log.debug("Failed to create mappings for {}", request.getIndexName(), entry.failure);
+                items.add(CreateIndexMappingsBatchResponse.Item.failure(request.getIndexName(), request.getRuleTopic(), entry.failure));
+            } else {
+                items.add(CreateIndexMappingsBatchResponse.Item.success(request.getIndexName(), request.getRuleTopic(), entry.acknowledged));
+            }
+        }
+        return new CreateIndexMappingsBatchResponse(items);
+    }
+
+    /**
+     * Returns the index alias mappings are applied to. If indexName is Datastream or Alias it is enough
+     * to apply mappings to writeIndex only, since you can't update documents in non-write indices.
+     */
+    private static String resolveTargetIndex(String indexName, ClusterState state) {
+        if (IndexUtils.isDataStream(indexName, state) || IndexUtils.isAlias(indexName, state)) {
+            log.debug("{} is an alias or datastream. Fetching write index for create mapping action.", indexName);
+            String writeIndex = IndexUtils.getWriteIndex(indexName, state);
+            if (writeIndex != null) {
+                log.debug("Write index for {} is {}", indexName, writeIndex);
+                return writeIndex;
+            }
+        }
+        return indexName;
+    }
+
     private void applyAliasMappings(Map<String, MappingMetadata> indexMappings, String logType, String aliasMappings, boolean partial, ActionListener<Collection<CreateMappingResult>> actionListener) {
         int numOfIndices = indexMappings.size();
 
@@ -172,125 +478,16 @@ public class MapperService {
     ) {
 
         try {
+            FlatFieldIndex indexFields = getFieldIndex(indexName, mappingMetadata);
             if (aliasMappings != null) {
-                Pair<List<String>, List<String>> validationResult = MapperUtils.validateIndexMappings(indexName, mappingMetadata, aliasMappings);
-                List<String> missingPathsInIndex = validationResult.getLeft();
-                List<String> presentPathsInIndex = validationResult.getRight();
-
-                if (missingPathsInIndex.size() > 0) {
-                    // If user didn't allow partial apply, we should error out here
-                    if (!partial) {
-                        actionListener.onFailure(
-                                new IllegalArgumentException("Not all paths were found in index mappings: " +
-                                        missingPathsInIndex.stream()
-                                                .collect(Collectors.joining(", ", "[", "]")))
-                        );
-                    }
-                }
-
-                // Filter out mappings of sourceIndex fields to which we're applying alias mappings
-                Map<String, Object> presentPathsMappings = MapperUtils.getFieldMappingsFlat(mappingMetadata, presentPathsInIndex);
-                // Filtered alias mappings -- contains only aliases which are applicable to index:
-                //      1. fields in path params exists in index
-                //      2. alias isn't named as one of existing fields in index
-                Map<String, Object> filteredAliasMappings = filterNonApplicableAliases(
-                        mappingMetadata,
-                        missingPathsInIndex,
-                        aliasMappings
-                );
-                Map<String, Object> allMappings = new HashMap<>(presentPathsMappings);
-                allMappings.putAll((Map<String, ?>) filteredAliasMappings.get(PROPERTIES));
-
-                Map<String, Object> mappingsRoot = new HashMap<>();
-                mappingsRoot.put(PROPERTIES, allMappings);
-                // Apply mappings to sourceIndex
-                PutMappingRequest request = new PutMappingRequest(indexName).source(filteredAliasMappings);
-                indicesClient.putMapping(request, new ActionListener<>() {
-                    @Override
-                    public void onResponse(AcknowledgedResponse acknowledgedResponse) {
-                        CreateMappingResult result = new CreateMappingResult(
-                                acknowledgedResponse,
-                                indexName,
-                                mappingsRoot
-                        );
-                        actionListener.onResponse(result);
-                    }
-
-                    @Override
-                    public void onFailure(Exception e) {
-                        actionListener.onFailure(e);
-                    }
-                });
+                putAliasMappings(indexName, planAliasMappings(indexName, indexFields, aliasMappings), partial, actionListener);
             } else {
                 logTypeService.getRuleFieldMappingsAllSchemas(logType, new ActionListener<>() {
                     @Override
                     public void onResponse(List<LogType.Mapping> mappings) {
                         try {
-                            List<String> indexFields = MapperUtils.extractAllFieldsFlat(mappingMetadata);
-                            Map<String, Map<String, String>> aliasMappingFields = new HashMap<>();
-                            XContentBuilder aliasMappingsObj = XContentFactory.jsonBuilder().startObject();
-                            for (LogType.Mapping mapping : mappings) {
-                                if (indexFields.contains(mapping.getRawField())) {
-                                    aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getRawField()));
-                                } else if (indexFields.contains(mapping.getOcsf11())) {
-                                    // it's important to first check for OCSF1.1 before checking for OCSF1.0
-                                    // changing this order leads to multiple ECS fields mapping to the same OCSF1.1 field
-                                    aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf11()));
-                                } else if (indexFields.contains(mapping.getOcsf())) {
-                                    aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf()));
-                                }
-                            }
-                            aliasMappingsObj.field("properties", aliasMappingFields);
-                            String aliasMappings = aliasMappingsObj.endObject().toString();
-
-                            Pair<List<String>, List<String>> validationResult = MapperUtils.validateIndexMappings(indexName, mappingMetadata, aliasMappings);
-                            List<String> missingPathsInIndex = validationResult.getLeft();
-                            List<String> presentPathsInIndex = validationResult.getRight();
-
-                            if (missingPathsInIndex.size() > 0) {
-                                // If user didn't allow partial apply, we should error out here
-                                if (!partial) {
-                                    actionListener.onFailure(
-                                            new IllegalArgumentException("Not all paths were found in index mappings: " +
-                                                    missingPathsInIndex.stream()
-                                                            .collect(Collectors.joining(", ", "[", "]")))
-                                    );
-                                }
-                            }
-
-                            // Filter out mappings of sourceIndex fields to which we're applying alias mappings
-                            Map<String, Object> presentPathsMappings = MapperUtils.getFieldMappingsFlat(mappingMetadata, presentPathsInIndex);
-                            // Filtered alias mappings -- contains only aliases which are applicable to index:
-                            //      1. fields in path params exists in index
-                            //      2. alias isn't named as one of existing fields in index
-                            Map<String, Object> filteredAliasMappings = filterNonApplicableAliases(
-                                    mappingMetadata,
-                                    missingPathsInIndex,
-                                    aliasMappings
-                            );
-                            Map<String, Object> allMappings = new HashMap<>(presentPathsMappings);
-                            allMappings.putAll((Map<String, ?>) filteredAliasMappings.get(PROPERTIES));
-
-                            Map<String, Object> mappingsRoot = new HashMap<>();
-                            mappingsRoot.put(PROPERTIES, allMappings);
-                            // Apply mappings to sourceIndex
-                            PutMappingRequest request = new PutMappingRequest(indexName).source(filteredAliasMappings);
-                            indicesClient.putMapping(request, new ActionListener<>() {
-                                @Override
-                                public void onResponse(AcknowledgedResponse acknowledgedResponse) {
-                                    CreateMappingResult result = new CreateMappingResult(
-                                            acknowledgedResponse,
-                                            indexName,
-                                            mappingsRoot
-                                    );
-                                    actionListener.onResponse(result);
-                                }
-
-                                @Override
-                                public void onFailure(Exception e) {
-                                    actionListener.onFailure(e);
-                                }
-                            });
+                            String aliasMappings = buildAliasMappings(indexFields, mappings);
+                            putAliasMappings(indexName, planAliasMappings(indexName, indexFields, aliasMappings), partial, actionListener);
                         } catch (IOException ex) {
                             actionListener.onFailure(ex);
                         }
@@ -307,13 +504,95 @@ public class MapperService {
         }
     }
 
+    private void putAliasMappings(String indexName, AliasMappingsPlan plan, boolean partial, ActionListener<CreateMappingResult> actionListener) {
+        if (plan.missingPaths.size() > 0) {
+            // If user didn't allow partial apply, we should error out here
+            if (!partial) {
+                actionListener.onFailure(notAllPathsFound(plan.missingPaths));
+                return;
+            }
+        }
+        // Apply mappings to sourceIndex
+        PutMappingRequest request = new PutMappingRequest(indexName).source(plan.aliasMappings);
+        indicesClient.putMapping(request, new ActionListener<>() {
+            @Override
+            public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                CreateMappingResult result = new CreateMappingResult(
+                        acknowledgedResponse,
+                        indexName,
+                        plan.getAppliedMappings()
+                );
+                actionListener.onResponse(result);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(e);
+            }
+        });
+    }
+
+    /**
+     * Builds the alias mappings of a log type which apply to an index: each ECS field of the log type
+     * becomes an alias of the raw, OCSF 1.1 or OCSF field the index has, checked in that order.
+     */
+    private static String buildAliasMappings(FlatFieldIndex indexFields, List<LogType.Mapping> mappings) throws IOException {
+        Map<String, Map<String, String>> aliasMappingFields = new HashMap<>();
+        XContentBuilder aliasMappingsObj = XContentFactory.jsonBuilder().startObject();
+        for (LogType.Mapping mapping : mappings) {
+            if (indexFields.contains(mapping.getRawField())) {
+                aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getRawField()));
+            } else if (indexFields.contains(mapping.getOcsf11())) {
+                // it's important to first check for OCSF1.1 before checking for OCSF1.0
+                // changing this order leads to multiple ECS fields mapping to the same OCSF1.1 field
+                aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf11()));
+            } else if (indexFields.contains(mapping.getOcsf())) {
+                aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf()));
+            }
+        }
+        aliasMappingsObj.field("properties", aliasMappingFields);
+        return aliasMappingsObj.endObject().toString();
+    }
+
+    /**
+     * Computes the alias mappings which can be applied to an index, without applying them.
+     *
+     * @param indexName     Concrete index name
+     * @param indexFields   Field index of the index mappings
+     * @param aliasMappings Alias mappings JSON
+     */
+    private AliasMappingsPlan planAliasMappings(String indexName, FlatFieldIndex indexFields, String aliasMappings) throws IOException {
+        Pair<List<String>, List<String>> validationResult = MapperUtils.validateIndexMappings(indexName, indexFields, aliasMappings);
+        List<String> missingPathsInIndex = validationResult.getLeft();
+        List<String> presentPathsInIndex = validationResult.getRight();
+
+        // Filter out mappings of sourceIndex fields to which we're applying alias mappings
+        Map<String, Object> presentPathsMappings = indexFields.getFieldMappings(presentPathsInIndex);
+        // Filtered alias mappings -- contains only aliases which are applicable to index:
+        //      1. fields in path params exists in index
+        //      2. alias isn't named as one of existing fields in index
+        Map<String, Object> filteredAliasMappings = filterNonApplicableAliases(
+                indexFields,
+                missingPathsInIndex,
+                aliasMappings
+        );
+        return new AliasMappingsPlan(filteredAliasMappings, presentPathsMappings, missingPathsInIndex);
+    }
+
+    private static IllegalArgumentException notAllPathsFound(List<String> missingPathsInIndex) {
+        return new IllegalArgumentException("Not all paths were found in index mappings: " +
+                missingPathsInIndex.stream()
+                        .collect(Collectors.joining(", ", "[", "]")));
+    }
+
     private Map<String, Object> filterNonApplicableAliases(
-            MappingMetadata indexMappingMetadata,
+            FlatFieldIndex indexFields,
             List<String> missingPathsInIndex,
             String aliasMappingsJSON
     ) throws IOException {
-        // Parse aliasMappings JSON into Map
+        // Parse aliasMappings JSON into Map, once
         MappingsTraverser mappingsTraverser = new MappingsTraverser(aliasMappingsJSON, Set.of());
+        Map<String, Object> aliasMappingsMap = mappingsTraverser.getMappingsMap();
         Map<String, Object> filteredAliasMappings = mappingsTraverser.traverseAndCopyAsFlat();
 
         List<Pair<String, String>> propertiesToSkip = new ArrayList<>();
@@ -326,17 +605,18 @@ public class MapperService {
             );
         }
         // Filter out all aliases which name already exists as field in index mappings
-        List<String> nonAliasIndexFields = MapperUtils.getAllNonAliasFieldsFromIndex(indexMappingMetadata);
-        List<String> aliasFields = MapperUtils.getAllAliases(aliasMappingsJSON);
+        List<String> aliasFields = FlatFieldIndex.of(aliasMappingsMap).getAliasPathPairs().stream()
+                .map(Pair::getKey)
+                .collect(Collectors.toList());
         Set<String> aliasesToInclude =
                 aliasFields.stream()
-                        .filter(e -> nonAliasIndexFields.contains(e) == false)
+                        .filter(e -> indexFields.conflictsWithAlias(e) == false)
                         .collect(Collectors.toSet());
 
         boolean excludeSomeAliases = aliasesToInclude.size() < aliasFields.size();
         // check if we need to filter out some properties/nodes in alias mapping
         if (propertiesToSkip.size() > 0 || excludeSomeAliases) {
-            mappingsTraverser = new MappingsTraverser(aliasMappingsJSON, propertiesToSkip);
+            mappingsTraverser = new MappingsTraverser(aliasMappingsMap, propertiesToSkip);
             if (aliasesToInclude.size() > 0) {
                 filteredAliasMappings = mappingsTraverser.traverseAndCopyWithFilter(aliasesToInclude);
             } else {
@@ -394,7 +674,8 @@ public class MapperService {
                         // List of all found applied aliases on index
                         Set<String> appliedAliases = new HashSet<>();
                         // Get list of alias -> path pairs from index mappings
-                        List<Pair<String, String>> indexAliasPathPairs = MapperUtils.getAllAliasPathPairs(mappingMetadata);
+                        List<Pair<String, String>> indexAliasPathPairs =
+                                getFieldIndex(concreteIndexName, mappingMetadata).getAliasPathPairs();
 
                         for (String logType : requiredFieldMap.keySet()) {
                             // Get stored Alias Mappings as JSON string
@@ -474,10 +755,11 @@ public class MapperService {
                     try {
                         // Extract MappingMetadata from GET _mapping response
                         MappingMetadata mappingMetadata = getMappingsResponse.mappings().entrySet().iterator().next().getValue();
-                        // Get list of all non-alias fields in index
-                        List<String> allFieldsFromIndex = MapperUtils.getAllNonAliasFieldsFromIndex(mappingMetadata);
+                        // Get all non-alias fields in index
+                        FlatFieldIndex indexFields = getFieldIndex(concreteIndex, mappingMetadata);
                         // List of all found applied aliases on index
                         List<String> applyableAliases = new ArrayList<>();
+                        Set<String> applyableAliasesSet = new HashSet<>();
                         // List of paths of found
                         List<String> pathsOfApplyableAliases = new ArrayList<>();
                         // List of unapplayable aliases
@@ -488,24 +770,28 @@ public class MapperService {
                             String rawPath = requiredField.getRawField();
                             String ocsfPath = requiredField.getOcsf();
                             String ocsf11Path = requiredField.getOcsf11();
-                            if (allFieldsFromIndex.contains(rawPath)) {
+                            if (indexFields.containsNonAlias(rawPath)) {
                                 // if the alias was already added into applyable aliases, then skip to avoid duplicates
-                                if (!applyableAliases.contains(alias) && !applyableAliases.contains(rawPath)) {
+                                if (!applyableAliasesSet.contains(alias) && !applyableAliasesSet.contains(rawPath)) {
                                     if (alias != null) {
                                         // Maintain list of found paths in index
                                         applyableAliases.add(alias);
+                                        applyableAliasesSet.add(alias);
                                     } else {
                                         applyableAliases.add(rawPath);
+                                        applyableAliasesSet.add(rawPath);
                                     }
                                     pathsOfApplyableAliases.add(rawPath);
                                 }
-                            } else if (allFieldsFromIndex.contains(ocsf11Path)) {
+                            } else if (indexFields.containsNonAlias(ocsf11Path)) {
                                 applyableAliases.add(alias);
+                                applyableAliasesSet.add(alias);
                                 pathsOfApplyableAliases.add(ocsf11Path);
-                            } else if (allFieldsFromIndex.contains(ocsfPath)) {
+                            } else if (indexFields.containsNonAlias(ocsfPath)) {
                                 applyableAliases.add(alias);
+                                applyableAliasesSet.add(alias);
                                 pathsOfApplyableAliases.add(ocsfPath);
-                            } else if ((alias == null && allFieldsFromIndex.contains(rawPath) == false) || allFieldsFromIndex.contains(alias) == false) {
+                            } else if ((alias == null && indexFields.containsNonAlias(rawPath) == false) || indexFields.containsNonAlias(alias) == false) {
                                 if (alias != null) {
                                     // we don't want to send back aliases which have same name as existing field in index
                                     unmappedFieldAliases.add(alias);
@@ -520,18 +806,19 @@ public class MapperService {
 
                         // filter out aliases that were included in applyableAliases already
                         List<String> filteredUnmappedFieldAliases = setOfUnmappedFieldAliases.stream()
-                                .filter(e -> false == applyableAliases.contains(e))
+                                .filter(e -> false == applyableAliasesSet.contains(e))
                                 .collect(Collectors.toList());
 
+                        Set<String> pathsOfApplyableAliasesSet = new HashSet<>(pathsOfApplyableAliases);
                         Map<String, Map<String, String>> aliasMappingFields = new HashMap<>();
                         XContentBuilder aliasMappingsObj = XContentFactory.jsonBuilder().startObject();
                         for (LogType.Mapping mapping : requiredFields) {
-                            if (allFieldsFromIndex.contains(mapping.getOcsf11())) {
+                            if (indexFields.containsNonAlias(mapping.getOcsf11())) {
                                 aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf11()));
-                            } else if (allFieldsFromIndex.contains(mapping.getOcsf())) {
+                            } else if (indexFields.containsNonAlias(mapping.getOcsf())) {
                                 aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf()));
                             } else if (mapping.getEcs() != null) {
-                                shouldUpdateEcsMappingAndMaybeUpdates(mapping, aliasMappingFields, pathsOfApplyableAliases);
+                                shouldUpdateEcsMappingAndMaybeUpdates(mapping, aliasMappingFields, pathsOfApplyableAliasesSet);
                             } else if (mapping.getEcs() == null) {
                                 aliasMappingFields.put(mapping.getRawField(), Map.of("type", "alias", "path", mapping.getRawField()));
                             }
@@ -540,11 +827,11 @@ public class MapperService {
                         String aliasMappingsJson = aliasMappingsObj.endObject().toString();
                         // Gather all applyable alias mappings
                         Map<String, Object> aliasMappings =
-                                MapperUtils.getAliasMappingsWithFilter(aliasMappingsJson, applyableAliases);
+                                MapperUtils.getAliasMappingsWithFilter(aliasMappingsJson, applyableAliasesSet);
                         // Unmapped fields from index for which we don't have alias to apply to
-                        List<String> unmappedIndexFields = allFieldsFromIndex
+                        List<String> unmappedIndexFields = indexFields.getNonAliasFields()
                                 .stream()
-                                .filter(e -> pathsOfApplyableAliases.contains(e) == false)
+                                .filter(e -> pathsOfApplyableAliasesSet.contains(e) == false)
                                 .collect(Collectors.toList());
                         actionListener.onResponse(
                                 new GetMappingsViewResponse(aliasMappings, unmappedIndexFields, filteredUnmappedFieldAliases, logTypeService.getIocFieldsList(logType))
@@ -570,7 +857,7 @@ public class MapperService {
      * @param aliasMappingFields
      * @param pathsOfApplyableAliases
      */
-    private static void shouldUpdateEcsMappingAndMaybeUpdates(LogType.Mapping mapping, Map<String, Map<String, String>> aliasMappingFields, List<String> pathsOfApplyableAliases) {
+    private static void shouldUpdateEcsMappingAndMaybeUpdates(LogType.Mapping mapping, Map<String, Map<String, String>> aliasMappingFields, Set<String> pathsOfApplyableAliases) {
         // check if aliasMappingFields already contains a key
         if (aliasMappingFields.containsKey(mapping.getEcs())) {
             // if the pathOfApplyableAliases contains the raw field, then override the existing map
@@ -624,6 +911,27 @@ public class MapperService {
 
     }
 
+    /**
+     * Returns the field index of a concrete index mapping. It is built once per mapping version of the
+     * index and reused until the index mapping changes.
+     *
+     * @param indexName       Concrete index name
+     * @param mappingMetadata Index mappings
+     */
+    FlatFieldIndex getFieldIndex(String indexName, MappingMetadata mappingMetadata) {
+        IndexMetadata indexMetadata = this.clusterService != null ? this.clusterService.state().metadata().index(indexName) : null;
+        if (indexMetadata == null) {
+            return FlatFieldIndex.of(mappingMetadata);
+        }
+        CachedFieldIndex cached = this.fieldIndexCache.get(indexName);
+        if (cached != null && cached.matches(indexMetadata, mappingMetadata)) {
+            return cached.fieldIndex;
+        }
+        FlatFieldIndex fieldIndex = FlatFieldIndex.of(mappingMetadata);
+        this.fieldIndexCache.put(indexName, new CachedFieldIndex(indexMetadata, mappingMetadata, fieldIndex));
+        return fieldIndex;
+    }
+
     void setIndicesAdminClient(IndicesAdminClient client) {
         this.indicesClient = client;
     }
@@ -639,4 +947,92 @@ public class MapperService {
     public void setIndexTemplateManager(IndexTemplateManager indexTemplateManager) {
         this.indexTemplateManager = indexTemplateManager;
     }
-}
\ No newline at end of file
+
+    private static final class CachedFieldIndex {
+
+        private final String indexUuid;
+
+        private final long mappingVersion;
+
+        private final CompressedXContent source;
+
+        private final FlatFieldIndex fieldIndex;
+
+        private CachedFieldIndex(IndexMetadata indexMetadata, MappingMetadata mappingMetadata, FlatFieldIndex fieldIndex) {
+            this.indexUuid = indexMetadata.getIndexUUID();
+            this.mappingVersion = indexMetadata.getMappingVersion();
+            this.source = mappingMetadata.source();
+            this.fieldIndex = fieldIndex;
+        }
+
+        /**
+         * The mapping version tells whether the index mapping changed, the source guards against a
+         * mapping fetched before or after the cluster state the version was read from.
+         */
+        private boolean matches(IndexMetadata indexMetadata, MappingMetadata mappingMetadata) {
+            return this.mappingVersion == indexMetadata.getMappingVersion()
+                    && this.indexUuid.equals(indexMetadata.getIndexUUID())
+                    && this.source.equals(mappingMetadata.source());
+        }
+    }
+
+    /** Alias mappings computed for one concrete index, see {@link #planAliasMappings}. */
+    private static final class AliasMappingsPlan {
+
+        /** Alias mappings which are applicable to the index, as put mapping source. */
+        private final Map<String, Object> aliasMappings;
+
+        /** Mappings of the index fields the aliases point to. */
+        private final Map<String, Object> presentPathsMappings;
+
+        private final List<String> missingPaths;
+
+        private AliasMappingsPlan(Map<String, Object> aliasMappings, Map<String, Object> presentPathsMappings, List<String> missingPaths) {
+            this.aliasMappings = aliasMappings;
+            this.presentPathsMappings = presentPathsMappings;
+            this.missingPaths = missingPaths;
+        }
+
+        /** Returns the mappings applied to the index, aliases and the fields they point to. */
+        private Map<String, Object> getAppliedMappings() {
+            Map<String, Object> allMappings = new HashMap<>(this.presentPathsMappings);
+            allMappings.putAll((Map<String, ?>) this.aliasMappings.get(PROPERTIES));
+
+            Map<String, Object> mappingsRoot = new HashMap<>();
+            mappingsRoot.put(PROPERTIES, allMappings);
+            return mappingsRoot;
+        }
+
+        /** Returns the alias mappings by full path of each alias. */
+        private Map<String, Object> getFlatAliasMappings() {
+            return (Map<String, Object>) new MappingsTraverser(this.aliasMappings, Set.of()).traverseAndCopyAsFlat().get(PROPERTIES);
+        }
+
+        /** Returns the applied mappings by full path of each field. */
+        private Map<String, Object> getFlatAppliedMappings() {
+            Map<String, Object> allMappings = new LinkedHashMap<>(this.presentPathsMappings);
+            allMappings.putAll(this.getFlatAliasMappings());
+            return allMappings;
+        }
+    }
+
+    /** State of one entry of a batch, see {@link #createMappingsBatchAction}. */
+    private static final class BatchEntry {
+
+        private final CreateIndexMappingsRequest request;
+
+        private List<String> concreteIndices = List.of();
+
+        private boolean shouldUpsertIndexTemplate;
+
+        private final Map<String, AliasMappingsPlan> plans = new LinkedHashMap<>();
+
+        private boolean acknowledged = true;
+
+        private Exception failure;
+
+        private BatchEntry(CreateIndexMappingsRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -11,7 +11,9 @@ import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -91,7 +93,7 @@ public class MapperUtils {
                     throw new IllegalArgumentException("Alias mappings are missing path for alias: [" + node.getNodeName() + "]");
                 }
                 if (node.getProperties().get(TYPE).equals(ALIAS) == false) {
-                    throw new IllegalArgumentException("Alias mappings contains property of type: [" + node.node.get(TYPE) + "]");
+                    throw new IllegalArgumentException("Alias mappings contains property of type: [" + node.getProperties().get(TYPE) + "]");
                 }
                 paths.add((String) node.getProperties().get(PATH));
             }
@@ -118,21 +120,27 @@ public class MapperUtils {
      * @return Pair of list of alias mappings paths which are missing in index mappings and list of
      * */
     public static Pair<List<String>, List<String>> validateIndexMappings(String indexName, MappingMetadata mappingMetadata, String aliasMappingsJSON) throws IOException {
+        return validateIndexMappings(indexName, FlatFieldIndex.of(mappingMetadata), aliasMappingsJSON);
+    }
+
+    /**
+     * Same as {@link #validateIndexMappings(String, MappingMetadata, String)}, against the field index
+     * of the source index mapping.
+     */
+    public static Pair<List<String>, List<String>> validateIndexMappings(String indexName, FlatFieldIndex indexFields, String aliasMappingsJSON) throws IOException {
         // Check if index's mapping is empty
-        if (isIndexMappingsEmpty(mappingMetadata)) {
+        if (indexFields.isEmpty()) {
             throw new IllegalArgumentException(String.format(Locale.ROOT, "Mappings for index [%s] are empty", indexName));
         }
 
         // Get all paths (field names) to which we're going to apply aliases
         List<String> paths = getAllPathsFromAliasMappings(aliasMappingsJSON);
 
-        // Traverse Index Mappings and extract all fields(paths)
-        List<String> flatFields = getAllNonAliasFieldsFromIndex(mappingMetadata);
         // Return list of paths from Alias Mappings which are missing in Index Mappings
         List<String> missingPaths = new ArrayList<>();
         List<String> presentPaths = new ArrayList<>();
         paths.stream().forEach(e -> {
-            if (flatFields.contains(e)) presentPaths.add(e);
+            if (indexFields.containsNonAlias(e)) presentPaths.add(e);
             else missingPaths.add(e);
         });
         return Pair.of(missingPaths, presentPaths);
@@ -194,7 +202,8 @@ public class MapperUtils {
 
     public static Map<String, Object> getAliasMappingsWithFilter(
             String aliasMappingsJson,
-            List<String> aliasesToInclude) throws IOException {
+            Collection<String> aliasesToInclude) throws IOException {
+        Set<String> aliasesToIncludeSet = new HashSet<>(aliasesToInclude);
 
         // Traverse mappings and do copy with excluded type=alias properties
         MappingsTraverser mappingsTraverser = new MappingsTraverser(aliasMappingsJson, Set.of());
@@ -205,7 +214,7 @@ public class MapperUtils {
             @Override
             public void onLeafVisited(MappingsTraverser.Node node) {
                 // Skip everything except ones in include filter
-                if (aliasesToInclude.contains(node.currentPath) == false) {
+                if (aliasesToIncludeSet.contains(node.currentPath) == false) {
                     return;
                 }
                 MappingsTraverser.Node n = node;
@@ -229,12 +238,13 @@ public class MapperUtils {
     }
 
     public static Map<String, Object> getFieldMappingsFlat(MappingMetadata mappingMetadata, List<String> fieldPaths) {
+        Set<String> fieldPathsSet = new HashSet<>(fieldPaths);
         Map<String, Object> presentPathsMappings = new HashMap<>();
         MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingMetadata);
         mappingsTraverser.addListener(new MappingsTraverser.MappingsTraverserListener() {
             @Override
             public void onLeafVisited(MappingsTraverser.Node node) {
-                if (fieldPaths.contains(node.currentPath)) {
+                if (fieldPathsSet.contains(node.currentPath)) {
                     presentPathsMappings.put(node.currentPath, node.getProperties());
                 }
             }
@@ -5,6 +5,8 @@
 
 package org.opensearch.securityanalytics.mapper;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.ListIterator;
 import org.apache.commons.lang3.tuple.Pair;
@@ -25,7 +27,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.HashMap;
-import java.util.Stack;
 
 import static org.opensearch.securityanalytics.mapper.MapperUtils.NESTED;
 import static org.opensearch.securityanalytics.mapper.MapperUtils.PROPERTIES;
@@ -54,7 +55,8 @@ public class MappingsTraverser {
     private Set<String> typesToSkip = new HashSet<>();
     private List<Pair<String, String>> propertiesToSkip = new ArrayList<>();
 
-    Stack<Node> nodeStack = new Stack<>();
+    // A traverser is used by a single thread, so the stack doesn't need to be synchronized
+    Deque<Node> nodeStack = new ArrayDeque<>();
 
     private List<MappingsTraverserListener> mappingsTraverserListeners = new ArrayList<>();
 
@@ -76,6 +78,15 @@ public class MappingsTraverser {
         }
     }
 
+    /**
+     * @param mappingsMap Mappings already parsed into a Map, starting with root element "properties"
+     * @param propertiesToSkip List of properties as Pair propertyName --&gt; propertyValue to skip during traversal
+     */
+    public MappingsTraverser(Map<String, Object> mappingsMap, List<Pair<String, String>> propertiesToSkip) {
+        this.mappingsMap = mappingsMap;
+        this.propertiesToSkip = propertiesToSkip;
+    }
+
     /**
      * @param mappings Mappings as String. It is expected that mappings start with root element "properties"
      * @param typesToSkip Field types which are going to be skipped during traversal
@@ -161,24 +172,22 @@ public class MappingsTraverser {
             Map<String, Object> rootProperties = (Map<String, Object>) this.mappingsMap.get(PROPERTIES);
 
             if (Objects.nonNull(rootProperties)) {
-                rootProperties.forEach((k, v) -> nodeStack.push(new Node(Map.of(k, v), null, rootProperties, "", "")));
+                rootProperties.forEach((k, v) -> nodeStack.push(new Node(k, (Map<String, Object>) v, null, "")));
             }
 
             while (nodeStack.size() > 0) {
                 Node node = nodeStack.pop();
                 // visit node
                 if (node.isLeaf()) {
-                    Map.Entry<String, Object> elem = node.node.entrySet().iterator().next();
-                    Map<String, Object> properties = (Map<String, Object>) elem.getValue();
                     // check if we should skip this node based on its property's values
-                    if (shouldSkipNode(properties)) {
+                    if (shouldSkipNode(node.getProperties())) {
                         continue;
                     }
                     String fullPath = node.currentPath;
                     fullPath += (
                             fullPath.length() > 0 ?
-                                    "." + elem.getKey() :
-                                    "" + elem.getKey()
+                                    "." + node.getNodeName() :
+                                    node.getNodeName()
                     );
                     node.currentPath = fullPath;
                     notifyLeafVisited(node);
@@ -190,7 +199,7 @@ public class MappingsTraverser {
                                 node.currentPath.length() > 0 ?
                                         node.currentPath + "." + currentNodeName :
                                         currentNodeName;
-                        nodeStack.push(new Node(Map.of(k, v), node, children, currentNodeName, currentPath));
+                        nodeStack.push(new Node(k, (Map<String, Object>) v, node, currentPath));
                     });
                 }
             }
@@ -332,31 +341,21 @@ public class MappingsTraverser {
     }
 
     static class Node {
-        Map<String, Object> node;
-        Node parent;
-        Map<String, Object> properties;
-        Map<String, Object> parentProperties;
-        String parentKey;
+        final String name;
+        final Map<String, Object> properties;
+        final Node parent;
         String currentPath;
-        String name;
 
-        public Node(Map<String, Object> node, String currentPath) {
-            this.node = node;
-            this.currentPath = currentPath;
-        }
-        public Node(Map<String, Object> node, Node parent, Map<String, Object> parentProperties, String parentKey, String currentPath) {
-            this.node = node;
+        public Node(String name, Map<String, Object> properties, Node parent, String currentPath) {
+            this.name = name;
+            this.properties = properties;
             this.parent = parent;
-            this.parentProperties = parentProperties;
             this.currentPath = currentPath;
         }
         /**
          * @return Node name. If there is no nesting, this is equal to currentPath
          */
         public String getNodeName() {
-            if (this.name == null) {
-                this.name = this.node.entrySet().iterator().next().getKey();
-            }
             return this.name;
         }
 
@@ -364,12 +363,10 @@ public class MappingsTraverser {
          * @return All children nodes of current node
          */
         public Map<String, Object> getChildren() {
-            Map.Entry<String, Object> entry = this.node.entrySet().iterator().next();
-            Map<String, Object> properties = (Map<String, Object>) entry.getValue();
-            if (properties.containsKey(PROPERTIES)) {
-                return (Map<String, Object>) properties.get(PROPERTIES);
-            } else if (properties.containsKey(NESTED)) {
-                return (Map<String, Object>) properties.get(NESTED);
+            if (this.properties.containsKey(PROPERTIES)) {
+                return (Map<String, Object>) this.properties.get(PROPERTIES);
+            } else if (this.properties.containsKey(NESTED)) {
+                return (Map<String, Object>) this.properties.get(NESTED);
             } else {
                 return null;
             }
@@ -379,9 +376,6 @@ public class MappingsTraverser {
          * @return Properties of node. This is useful to call on leaf node to get properties like "type" or others
          */
         public Map<String, Object> getProperties() {
-            if (this.properties == null) {
-                this.properties = (Map<String, Object>) this.node.entrySet().iterator().next().getValue();
-            }
             return this.properties;
         }
 
@@ -389,10 +383,8 @@ public class MappingsTraverser {
          * @return True if node is a leaf node
          */
         public boolean isLeaf() {
-            Map.Entry<String, Object> entry = this.node.entrySet().iterator().next();
-            Map<String, Object> properties = (Map<String, Object>) entry.getValue();
-            return properties.containsKey(PROPERTIES) == false &&
-                    properties.containsKey(NESTED) == false;
+            return this.properties.containsKey(PROPERTIES) == false &&
+                    this.properties.containsKey(NESTED) == false;
         }
 
         /**
@@ -402,7 +394,7 @@ public class MappingsTraverser {
             if (!isLeaf()) {
                 return false;
             }
-            return getProperties().containsKey(TYPE) && properties.get(TYPE).equals(ALIAS);
+            return this.properties.containsKey(TYPE) && this.properties.get(TYPE).equals(ALIAS);
         }
     }
 
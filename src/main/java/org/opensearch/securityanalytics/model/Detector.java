@@ -18,6 +18,7 @@ package org.opensearch.securityanalytics.model;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.Version;
 import org.opensearch.commons.alerting.model.CronSchedule;
 import org.opensearch.commons.alerting.model.Schedule;
 import org.opensearch.commons.authuser.User;
@@ -70,6 +71,17 @@ public class Detector implements Writeable, ToXContentObject {
     public static final String SOURCE_FIELD = "source";
     public static final String DEFAULT_SOURCE = "custom";
     public static final String STANDARD_SOURCE = "standard";
+
+    public static final String QUERY_BACKEND_FIELD = "query_backend";
+    /** Rules are converted to {@code query_string} queries. */
+    public static final String QUERY_STRING_BACKEND = "query_string";
+    /** Rules are converted to structured query DSL where the monitor accepts it. */
+    public static final String DSL_BACKEND = "dsl";
+    /**
+     * First version sending {@link #getQueryBackend()}. Later than the version this plugin builds
+     * against, so that peers of the same release that predate the field never receive it.
+     */
+    public static final Version QUERY_BACKEND_VERSION = Version.fromString("3.7.0");
     private static final String RULE_TOPIC_INDEX = "rule_topic_index";
 
     private static final String ALERTS_INDEX = "alert_index";
@@ -147,6 +159,9 @@ public class Detector implements Writeable, ToXContentObject {
                 + ", source='"
                 + source
                 + '\''
+                + ", queryBackend='"
+                + queryBackend
+                + '\''
                 + '}';
     }
 
@@ -194,6 +209,8 @@ public class Detector implements Writeable, ToXContentObject {
 
     private String source;
 
+    private String queryBackend = QUERY_STRING_BACKEND;
+
     private final String type;
 
     public Detector(
@@ -273,6 +290,9 @@ public class Detector implements Writeable, ToXContentObject {
                 sin.readStringList(),
                 sin.readBoolean(),
                 sin.readOptionalString());
+        if (sin.getVersion().onOrAfter(QUERY_BACKEND_VERSION)) {
+            this.queryBackend = sin.readString();
+        }
     }
 
     @Override
@@ -316,6 +336,9 @@ public class Detector implements Writeable, ToXContentObject {
         }
         out.writeBoolean(threatIntelEnabled);
         out.writeOptionalString(source);
+        if (out.getVersion().onOrAfter(QUERY_BACKEND_VERSION)) {
+            out.writeString(queryBackend);
+        }
     }
 
     public XContentBuilder toXContentWithUser(XContentBuilder builder, Params params)
@@ -391,6 +414,7 @@ public class Detector implements Writeable, ToXContentObject {
         builder.field(FINDINGS_INDEX, findingsIndex);
         builder.field(FINDINGS_INDEX_PATTERN, findingsIndexPattern);
         builder.field(SOURCE_FIELD, source);
+        builder.field(QUERY_BACKEND_FIELD, queryBackend);
 
         if (params.paramAsBoolean("with_type", false)) {
             builder.endObject();
@@ -442,6 +466,7 @@ public class Detector implements Writeable, ToXContentObject {
         String findingsIndexPattern = null;
         Boolean enableThreatIntel = false;
         String source = DEFAULT_SOURCE;
+        String queryBackend = QUERY_STRING_BACKEND;
 
         XContentParserUtils.ensureExpectedToken(
                 XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
@@ -550,6 +575,17 @@ public class Detector implements Writeable, ToXContentObject {
                 case SOURCE_FIELD:
                     source = xcp.text();
                     break;
+                case QUERY_BACKEND_FIELD:
+                    queryBackend = xcp.text();
+                    if (!QUERY_STRING_BACKEND.equals(queryBackend) && !DSL_BACKEND.equals(queryBackend)) {
+                        throw new IllegalArgumentException(
+                                String.format(
+                                        Locale.getDefault(),
+                                        "Detector query_backend must be [%s] or [%s]",
+                                        QUERY_STRING_BACKEND,
+                                        DSL_BACKEND));
+                    }
+                    break;
                 default:
                     xcp.skipChildren();
             }
@@ -565,7 +601,7 @@ public class Detector implements Writeable, ToXContentObject {
             logType = detectorType;
         }
 
-        return new Detector(
+        Detector detector = new Detector(
                 id,
                 version,
                 Objects.requireNonNull(name, "Detector name is null"),
@@ -588,6 +624,8 @@ public class Detector implements Writeable, ToXContentObject {
                 workflowIds,
                 enableThreatIntel,
                 source);
+        detector.setQueryBackend(queryBackend);
+        return detector;
     }
 
     public static Detector readFrom(StreamInput sin) throws IOException {
@@ -766,6 +804,19 @@ public class Detector implements Writeable, ToXContentObject {
         this.source = source;
     }
 
+    public String getQueryBackend() {
+        return queryBackend;
+    }
+
+    public void setQueryBackend(String queryBackend) {
+        this.queryBackend = queryBackend != null ? queryBackend : QUERY_STRING_BACKEND;
+    }
+
+    /** Returns whether the rules of this detector are converted to structured query DSL. */
+    public boolean usesDslQueryBackend() {
+        return DSL_BACKEND.equals(queryBackend);
+    }
+
     /**
      * Returns whether this detector belongs to the standard space and is therefore protected from
      * user modifications.
@@ -793,7 +844,8 @@ public class Detector implements Writeable, ToXContentObject {
                 && Objects.equals(type, detector.type)
                 && Objects.equals(monitorIds, detector.monitorIds)
                 && Objects.equals(ruleIndex, detector.ruleIndex)
-                && Objects.equals(source, detector.source);
+                && Objects.equals(source, detector.source)
+                && Objects.equals(queryBackend, detector.queryBackend);
     }
 
     @Override
@@ -813,6 +865,7 @@ public class Detector implements Writeable, ToXContentObject {
                 type,
                 monitorIds,
                 ruleIndex,
-                source);
+                source,
+                queryBackend);
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.core.common.Strings;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestActions;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.CorrelationStatsAction;
+import org.opensearch.securityanalytics.action.CorrelationStatsRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+/**
+ * GET /_plugins/_security_analytics/stats
+ *
+ * <p>Returns the correlation pipeline stats of each node, or of the nodes given in {@code nodes}:
+ * queue depth and in-flight correlations, spill log usage, finding outcomes, events write blocks,
+ * per stage latencies and the hit ratio of the correlation caches.
+ */
+public class RestCorrelationStatsAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "correlation_stats_action_sa";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(GET, SecurityAnalyticsPlugin.PLUGINS_BASE_URI + "/stats"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        CorrelationStatsRequest statsRequest =
+                new CorrelationStatsRequest(Strings.splitStringByCommaToArray(request.param("nodes")));
+
+        return channel ->
+                client.execute(
+                        CorrelationStatsAction.INSTANCE, statsRequest, new RestActions.NodesResponseRestListener<>(channel));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.core.xcontent.XContentParserUtils;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsBatchAction;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsBatchRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+/**
+ * Creates alias mappings for many indices and log types in one call. The body holds a list of
+ * create mappings requests under {@code mappings}.
+ */
+public class RestCreateIndexMappingsBatchAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "index_mappings_create_batch_action";
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client)
+            throws IOException {
+        CreateIndexMappingsBatchRequest req;
+        try (XContentParser xcp = request.contentParser()) {
+            XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.nextToken(), xcp);
+            req = CreateIndexMappingsBatchRequest.parse(xcp);
+        }
+
+        return channel ->
+                client.execute(
+                        CreateIndexMappingsBatchAction.INSTANCE, req, new RestToXContentListener<>(channel));
+    }
+
+    @Override
+    public List<Route> routes() {
+        return singletonList(new Route(POST, SecurityAnalyticsPlugin.MAPPER_BASE_URI + "/_batch"));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestResponse;
+import org.opensearch.rest.action.RestResponseListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.ExportAction;
+import org.opensearch.securityanalytics.action.ExportRequest;
+import org.opensearch.securityanalytics.action.ExportResponse;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+/**
+ * GET /_plugins/_security_analytics/findings/_export and
+ * GET /_plugins/_security_analytics/alerts/_export
+ *
+ * <p>Returns a chunk of findings or alerts as NDJSON, one document per line. When there is more to
+ * export, the {@value #CURSOR_HEADER} response header holds the cursor to pass as the {@code
+ * cursor} parameter of the next request, along with the same filters. The export is complete when
+ * the header is missing.
+ */
+public class RestExportAction extends BaseRestHandler {
+
+    public static final String CURSOR_HEADER = "X-Export-Cursor";
+
+    public static final String COUNT_HEADER = "X-Export-Count";
+
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    @Override
+    public String getName() {
+        return "export_action_sa";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(GET, SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_export"),
+                new Route(GET, SecurityAnalyticsPlugin.ALERTS_BASE_URI + "/_export"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        ExportRequest.Type type = request.path().startsWith(SecurityAnalyticsPlugin.FINDINGS_BASE_URI)
+                ? ExportRequest.Type.FINDINGS
+                : ExportRequest.Type.ALERTS;
+        String severity = type == ExportRequest.Type.FINDINGS ? request.param("severity") : request.param("severityLevel");
+
+        ExportRequest exportRequest = new ExportRequest(
+                type,
+                request.param("detector_id"),
+                request.param("detectorType"),
+                severity,
+                request.param("detectionType"),
+                request.param("alertState"),
+                parseTime(request, "startTime"),
+                parseTime(request, "endTime"),
+                request.paramAsInt("size", ExportRequest.DEFAULT_SIZE),
+                request.paramAsBoolean("include_docs", false),
+                request.param("cursor"));
+
+        return channel -> client.execute(ExportAction.INSTANCE, exportRequest, new RestResponseListener<>(channel) {
+            @Override
+            public RestResponse buildResponse(ExportResponse response) {
+                RestResponse restResponse = new BytesRestResponse(RestStatus.OK, NDJSON_CONTENT_TYPE, response.getContent());
+                restResponse.addHeader(COUNT_HEADER, String.valueOf(response.getCount()));
+                if (!response.isDone()) {
+                    restResponse.addHeader(CURSOR_HEADER, response.getCursor());
+                }
+                return restResponse;
+            }
+        });
+    }
+
+    private static Instant parseTime(RestRequest request, String param) {
+        String value = request.param(param);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return Instant.ofEpochMilli(request.paramAsLong(param, 0L));
+    }
+}
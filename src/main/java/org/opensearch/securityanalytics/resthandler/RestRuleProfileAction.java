@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.core.common.Strings;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestActions;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.RuleProfileAction;
+import org.opensearch.securityanalytics.action.RuleProfileRequest;
+import org.opensearch.securityanalytics.rules.engine.EventMatcher;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+/**
+ * GET /_plugins/_security_analytics/rules/_profile
+ *
+ * <p>Returns the {@code size} most expensive rules evaluated by each node, or by the nodes given in
+ * {@code nodes}, sorted by {@code order}: {@code total_time} (default), {@code cpu_time}, {@code
+ * max_time} or {@code evaluations}. Rules are only reported while {@code
+ * plugins.security_analytics.rule_matcher.cost_tracking.enabled} or profiling is set. CPU time,
+ * matches, latency percentiles and per value costs are only reported while {@code
+ * plugins.security_analytics.rule_matcher.profiling.enabled} is set.
+ */
+public class RestRuleProfileAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "rule_profile_action_sa";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(GET, SecurityAnalyticsPlugin.RULE_BASE_URI + "/_profile"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String order = request.param("order", EventMatcher.CostOrder.TOTAL_TIME.name());
+        RuleProfileRequest profileRequest =
+                new RuleProfileRequest(
+                        request.paramAsInt("size", RuleProfileRequest.DEFAULT_SIZE),
+                        EventMatcher.CostOrder.valueOf(order.toUpperCase(Locale.ROOT)),
+                        Strings.splitStringByCommaToArray(request.param("nodes")));
+
+        return channel ->
+                client.execute(
+                        RuleProfileAction.INSTANCE, profileRequest, new RestActions.NodesResponseRestListener<>(channel));
+    }
+}
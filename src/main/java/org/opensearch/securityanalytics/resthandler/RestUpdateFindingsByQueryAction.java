@@ -0,0 +1,388 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.MediaTypeRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.index.reindex.AbstractBulkByScrollRequest;
+import org.opensearch.index.reindex.BulkByScrollResponse;
+import org.opensearch.index.reindex.UpdateByQueryAction;
+import org.opensearch.index.reindex.UpdateByQueryRequest;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestChannel;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.tasks.LoggingTaskListener;
+import org.opensearch.tasks.Task;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * POST /_plugins/_security_analytics/findings/_update_by_query
+ *
+ * <p>Applies the same {@code wazuh.case} changes to every finding matching a query, instead of a
+ * list of findings as {@link RestUpdateFindingsAction} does. The body holds a {@code query} object,
+ * with any of {@code rule_ids}, {@code agent_ids}, {@code severity}, {@code start_time}, {@code
+ * end_time} and {@code category}, and a {@code case} object validated by {@link CaseValidator}.
+ *
+ * <p>The changes are applied server side by an update by query task on the findings indices,
+ * throttled to {@code requests_per_second} (capped by {@link
+ * SecurityAnalyticsSettings#CASE_MANAGEMENT_MAX_REQUESTS_PER_SECOND}) and sliced per {@code
+ * slices}, {@code auto} by default. Unless {@code wait_for_completion} is true, the response holds
+ * the id of the task, whose progress is reported, and which can be cancelled, by the tasks API.
+ */
+public class RestUpdateFindingsByQueryAction extends BaseRestHandler {
+    private static final Logger log = LogManager.getLogger(RestUpdateFindingsByQueryAction.class);
+
+    static final String FIELD_QUERY = "query";
+    static final String FIELD_RULE_IDS = "rule_ids";
+    static final String FIELD_AGENT_IDS = "agent_ids";
+    static final String FIELD_SEVERITY = "severity";
+    static final String FIELD_START_TIME = "start_time";
+    static final String FIELD_END_TIME = "end_time";
+    static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_CASE = "case";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_STATUS = "status";
+
+    private static final List<String> QUERY_FIELDS =
+            List.of(
+                    FIELD_RULE_IDS,
+                    FIELD_AGENT_IDS,
+                    FIELD_SEVERITY,
+                    FIELD_START_TIME,
+                    FIELD_END_TIME,
+                    FIELD_CATEGORY);
+
+    /**
+     * Merges {@code params.case} into {@code wazuh.case} recursively, as the partial documents of
+     * {@link RestUpdateFindingsAction} are, skipping findings it wouldn't change.
+     */
+    static final String UPDATE_CASE_SCRIPT =
+            "boolean merge(Map target, Map source) {"
+                    + " boolean changed = false;"
+                    + " for (def entry : source.entrySet()) {"
+                    + " def existing = target.get(entry.getKey());"
+                    + " if (entry.getValue() instanceof Map && existing instanceof Map) {"
+                    + " if (merge(existing, entry.getValue())) { changed = true; } }"
+                    + " else if (!target.containsKey(entry.getKey()) || !Objects.equals(existing, entry.getValue())) {"
+                    + " target.put(entry.getKey(), entry.getValue()); changed = true; } }"
+                    + " return changed; }"
+                    + " if (ctx._source.wazuh == null) { ctx._source.wazuh = new HashMap(); }"
+                    + " if (ctx._source.wazuh['case'] == null) { ctx._source.wazuh['case'] = new HashMap(); }"
+                    + " if (!merge(ctx._source.wazuh['case'], params['case'])) { ctx.op = 'noop'; }";
+
+    private final ClusterSettings clusterSettings;
+
+    public RestUpdateFindingsByQueryAction(ClusterSettings clusterSettings) {
+        this.clusterSettings = clusterSettings;
+    }
+
+    @Override
+    public String getName() {
+        return "wazuh_update_finding_case_by_query";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(
+                        RestRequest.Method.POST,
+                        SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_update_by_query"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) {
+        boolean waitForCompletion = request.paramAsBoolean("wait_for_completion", false);
+        String slicesParam = request.param("slices", "auto");
+        String requestsPerSecondParam = request.param("requests_per_second");
+
+        Map<String, Object> parsed;
+        try {
+            parsed = XContentHelper.convertToMap(request.content(), false, MediaTypeRegistry.JSON).v2();
+        } catch (Exception e) {
+            return channel ->
+                    this.sendError(channel, RestStatus.BAD_REQUEST, "Invalid JSON body: " + e.getMessage());
+        }
+
+        if (this.clusterSettings.get(SecurityAnalyticsSettings.MAX_CASE_MANAGEMENT_BULK_SIZE) == 0) {
+            return channel -> this.sendError(channel, RestStatus.BAD_REQUEST, "Case management is disabled");
+        }
+
+        Object queryObj = parsed.get(FIELD_QUERY);
+        if (!(queryObj instanceof Map)) {
+            return channel ->
+                    this.sendError(
+                            channel,
+                            RestStatus.BAD_REQUEST,
+                            "Request body must contain a \"" + FIELD_QUERY + "\" object");
+        }
+        Object caseObj = parsed.get(FIELD_CASE);
+        if (!(caseObj instanceof Map) || ((Map<?, ?>) caseObj).isEmpty()) {
+            return channel ->
+                    this.sendError(
+                            channel,
+                            RestStatus.BAD_REQUEST,
+                            "Request body must contain a non empty \"" + FIELD_CASE + "\" object");
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> queryMap = (Map<String, Object>) queryObj;
+        @SuppressWarnings("unchecked")
+        Map<String, Object> caseMap = (Map<String, Object>) caseObj;
+        String caseError = CaseValidator.validateAndNormalize(caseMap);
+        if (caseError != null) {
+            return channel -> this.sendError(channel, RestStatus.BAD_REQUEST, caseError);
+        }
+
+        UpdateByQueryRequest updateByQueryRequest;
+        try {
+            updateByQueryRequest =
+                    this.buildUpdateByQueryRequest(queryMap, caseMap, slicesParam, requestsPerSecondParam);
+        } catch (IllegalArgumentException e) {
+            return channel -> this.sendError(channel, RestStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        if (!waitForCompletion) {
+            return channel -> {
+                // Keep the result once the task completes, so that it can be read from the tasks API
+                updateByQueryRequest.setShouldStoreResult(true);
+                Task task =
+                        client.executeLocally(
+                                UpdateByQueryAction.INSTANCE,
+                                updateByQueryRequest,
+                                LoggingTaskListener.instance());
+                try (XContentBuilder builder = MediaTypeRegistry.JSON.contentBuilder()) {
+                    builder.startObject();
+                    builder.field("task", client.getLocalNodeId() + ":" + task.getId());
+                    builder.endObject();
+                    channel.sendResponse(new BytesRestResponse(RestStatus.OK, builder));
+                }
+            };
+        }
+
+        return channel ->
+                client.execute(
+                        UpdateByQueryAction.INSTANCE,
+                        updateByQueryRequest,
+                        new ActionListener<>() {
+                            @Override
+                            public void onResponse(BulkByScrollResponse response) {
+                                try (XContentBuilder builder = MediaTypeRegistry.JSON.contentBuilder()) {
+                                    builder.startObject();
+                                    response.toXContent(builder, ToXContent.EMPTY_PARAMS);
+                                    builder.endObject();
+                                    RestStatus status =
+                                            response.getBulkFailures().isEmpty()
+                                                            && response.getSearchFailures().isEmpty()
+                                                    ? RestStatus.OK
+                                                    : RestStatus.MULTI_STATUS;
+                                    channel.sendResponse(new BytesRestResponse(status, builder));
+                                } catch (Exception e) {
+                                    log.error("Failed to send update by query response", e);
+                                    RestUpdateFindingsByQueryAction.this.sendError(
+                                            channel,
+                                            RestStatus.INTERNAL_SERVER_ERROR,
+                                            "Failed to build response: " + e.getMessage());
+                                }
+                            }
+
+                            @Override
+                            public void onFailure(Exception e) {
+                                log.error("Update by query of findings failed", e);
+                                RestUpdateFindingsByQueryAction.this.sendError(
+                                        channel,
+                                        RestStatus.INTERNAL_SERVER_ERROR,
+                                        "Update by query failed: " + e.getMessage());
+                            }
+                        });
+    }
+
+    /**
+     * Builds the update by query request applying {@code caseMap} to the findings matching {@code
+     * queryMap}.
+     *
+     * @throws IllegalArgumentException if the query, the slices or the throttle are invalid
+     */
+    UpdateByQueryRequest buildUpdateByQueryRequest(
+            Map<String, Object> queryMap,
+            Map<String, Object> caseMap,
+            String slicesParam,
+            String requestsPerSecondParam) {
+        float maxRequestsPerSecond =
+                this.clusterSettings.get(SecurityAnalyticsSettings.CASE_MANAGEMENT_MAX_REQUESTS_PER_SECOND);
+        float requestsPerSecond = maxRequestsPerSecond;
+        if (requestsPerSecondParam != null) {
+            try {
+                requestsPerSecond = Float.parseFloat(requestsPerSecondParam);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        "requests_per_second must be a number, got \"" + requestsPerSecondParam + "\"");
+            }
+            if (!(requestsPerSecond > 0) || requestsPerSecond > maxRequestsPerSecond) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                Locale.ROOT,
+                                "requests_per_second must be greater than 0 and at most %s",
+                                maxRequestsPerSecond));
+            }
+        }
+
+        int slices;
+        if ("auto".equals(slicesParam)) {
+            slices = AbstractBulkByScrollRequest.AUTO_SLICES;
+        } else {
+            try {
+                slices = Integer.parseInt(slicesParam);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("slices must be \"auto\" or a number, got \"" + slicesParam + "\"");
+            }
+            if (slices < 1) {
+                throw new IllegalArgumentException("slices must be at least 1");
+            }
+        }
+
+        Object category = queryMap.get(FIELD_CATEGORY);
+        if (category != null && !(category instanceof String)) {
+            throw new IllegalArgumentException(FIELD_CATEGORY + " must be a string");
+        }
+        String indices =
+                DetectorMonitorConfig.getAllWazuhFindingsIndicesPattern(
+                        category == null ? "*" : ((String) category).toLowerCase(Locale.ROOT));
+
+        UpdateByQueryRequest updateByQueryRequest = new UpdateByQueryRequest(indices);
+        updateByQueryRequest.setQuery(buildFindingsQuery(queryMap));
+        updateByQueryRequest.setScript(
+                new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, UPDATE_CASE_SCRIPT, Map.of(FIELD_CASE, caseMap)));
+        updateByQueryRequest.setIndicesOptions(IndicesOptions.lenientExpandOpen());
+        // Findings updated meanwhile keep their newer case, the others are still updated
+        updateByQueryRequest.setAbortOnVersionConflict(false);
+        updateByQueryRequest.setRequestsPerSecond(requestsPerSecond);
+        updateByQueryRequest.setSlices(slices);
+        return updateByQueryRequest;
+    }
+
+    /**
+     * Builds the query of the findings to update. At least one criterion is required, so that a
+     * request can't update every finding by mistake.
+     *
+     * @throws IllegalArgumentException if a criterion is unknown or malformed, or if there is none
+     */
+    static BoolQueryBuilder buildFindingsQuery(Map<String, Object> queryMap) {
+        for (String key : queryMap.keySet()) {
+            if (!QUERY_FIELDS.contains(key)) {
+                throw new IllegalArgumentException("unknown query field \"" + key + "\"");
+            }
+        }
+
+        BoolQueryBuilder query = QueryBuilders.boolQuery();
+        List<String> ruleIds = stringList(queryMap, FIELD_RULE_IDS);
+        if (ruleIds != null) {
+            query.filter(QueryBuilders.termsQuery("wazuh.rule.id", ruleIds));
+        }
+        List<String> agentIds = stringList(queryMap, FIELD_AGENT_IDS);
+        if (agentIds != null) {
+            query.filter(
+                    QueryBuilders.boolQuery()
+                            .should(QueryBuilders.termsQuery("agent.id", agentIds))
+                            .should(QueryBuilders.termsQuery("wazuh.agent.id", agentIds))
+                            .minimumShouldMatch(1));
+        }
+        List<String> severities = stringList(queryMap, FIELD_SEVERITY);
+        if (severities != null) {
+            query.filter(
+                    QueryBuilders.termsQuery(
+                            "wazuh.rule.level",
+                            severities.stream().map(s -> s.toLowerCase(Locale.ROOT)).toList()));
+        }
+        Object startTime = queryMap.get(FIELD_START_TIME);
+        Object endTime = queryMap.get(FIELD_END_TIME);
+        if (startTime != null || endTime != null) {
+            RangeQueryBuilder range = QueryBuilders.rangeQuery("@timestamp");
+            if (startTime != null) {
+                range.gte(timestamp(startTime, FIELD_START_TIME));
+            }
+            if (endTime != null) {
+                range.lte(timestamp(endTime, FIELD_END_TIME));
+            }
+            query.filter(range);
+        }
+
+        if (!query.hasClauses()) {
+            throw new IllegalArgumentException(
+                    "query must have at least one of rule_ids, agent_ids, severity, start_time and end_time");
+        }
+        return query;
+    }
+
+    /** Reads a string, or a non empty array of strings, as a list. */
+    private static List<String> stringList(Map<String, Object> queryMap, String field) {
+        Object value = queryMap.get(field);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return List.of((String) value);
+        }
+        if (value instanceof List && !((List<?>) value).isEmpty()) {
+            List<?> values = (List<?>) value;
+            if (values.stream().allMatch(v -> v instanceof String)) {
+                return values.stream().map(v -> (String) v).toList();
+            }
+        }
+        throw new IllegalArgumentException(field + " must be a string or a non empty array of strings");
+    }
+
+    private static Object timestamp(Object value, String field) {
+        if (value instanceof String || value instanceof Number) {
+            return value;
+        }
+        throw new IllegalArgumentException(field + " must be a string or number");
+    }
+
+    private void sendError(RestChannel channel, RestStatus status, String message) {
+        try (XContentBuilder builder = MediaTypeRegistry.JSON.contentBuilder()) {
+            builder.startObject();
+            builder.field(FIELD_MESSAGE, message);
+            builder.field(FIELD_STATUS, status.getStatus());
+            builder.endObject();
+            channel.sendResponse(new BytesRestResponse(status, builder));
+        } catch (IOException e) {
+            log.error("Failed to send error response", e);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.AggregationQueries;
+import org.opensearch.securityanalytics.rules.condition.ConditionAND;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionOR;
+import org.opensearch.securityanalytics.rules.condition.ConditionType;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.types.SigmaBool;
+import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaCompareExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaExists;
+import org.opensearch.securityanalytics.rules.types.SigmaNumber;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query backend producing typed {@link QueryBuilder} trees instead of {@code query_string} text.
+ *
+ * <p>Each Sigma value is translated into the narrowest query able to express it:
+ *
+ * <ul>
+ *   <li>plain strings into a case-insensitive {@code term}, like the prefix and wildcard values
+ *   <li>numbers and booleans into {@code term}, and an OR of numbers of a same field into a single
+ *       {@code terms}
+ *   <li>{@code startswith} values into a case-insensitive {@code prefix}
+ *   <li>other wildcard values into a case-insensitive {@code wildcard}
+ *   <li>{@code re} values into {@code regexp}
+ *   <li>{@code cidr} values into a {@code term} on the IP field
+ *   <li>{@code gt}, {@code gte}, {@code lt} and {@code lte} values into {@code range}
+ * </ul>
+ *
+ * <p>Negations follow {@link OSQueryBackend}: they are pushed down to the leaves with De Morgan's
+ * laws, and a negated leaf also requires its field to exist. Keywords without a field are the only
+ * values kept as {@code query_string}, as there is no typed query searching every field.
+ *
+ * <p>Aggregations are converted by {@link OSQueryBackend}.
+ */
+public class OSDslQueryBackend extends QueryBackend {
+
+    private static final String KEYWORD_ESCAPED_CHARS = "/:\\+-=><!(){}[]^\"~*?";
+    private static final String KEYWORD_RESERVED = "&& ||";
+
+    private final OSQueryBackend aggregationBackend;
+
+    public OSDslQueryBackend(Map<String, String> fieldMappings, boolean collectErrors, boolean enableFieldMappings)
+            throws IOException {
+        super(fieldMappings, false, enableFieldMappings, true, collectErrors);
+        this.aggregationBackend = new OSQueryBackend(fieldMappings, collectErrors, enableFieldMappings);
+    }
+
+    @Override
+    public Object convertConditionAsInExpression(
+            Either<ConditionAND, ConditionOR> condition, boolean isConditionNot, boolean applyDeMorgans) {
+        if (condition.isLeft()) {
+            return this.convertConditionAnd(condition.getLeft(), isConditionNot, applyDeMorgans);
+        }
+        ConditionOR or = condition.get();
+        String field = null;
+        List<Object> values = new ArrayList<>();
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg :
+                or.getArgs()) {
+            ConditionFieldEqualsValueExpression expression = arg.getLeft().getMiddle();
+            field = expression.getField();
+            if (expression.getValue() instanceof SigmaString) {
+                // Terms queries can neither hold wildcards nor ignore case, strings are matched one
+                // case insensitive query per value
+                return this.convertConditionOr(or, isConditionNot, applyDeMorgans);
+            }
+            values.add(termValue(expression));
+        }
+        String finalField = getFinalField(field);
+        ruleQueryFields.put(finalField, queryFieldOf(or.getArgs().get(0).getLeft().getMiddle().getValue()));
+        QueryBuilder terms = QueryBuilders.termsQuery(finalField, values);
+        return applyDeMorgans ? negate(terms, finalField) : terms;
+    }
+
+    @Override
+    public Object convertConditionAnd(ConditionAND condition, boolean isConditionNot, boolean applyDeMorgans) {
+        try {
+            // NOT (a AND b) is (NOT a) OR (NOT b)
+            return combine(condition.getArgs(), applyDeMorgans, applyDeMorgans);
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'and' not supported by the backend");
+        }
+    }
+
+    @Override
+    public Object convertConditionOr(ConditionOR condition, boolean isConditionNot, boolean applyDeMorgans) {
+        try {
+            // NOT (a OR b) is (NOT a) AND (NOT b)
+            return combine(condition.getArgs(), !applyDeMorgans, applyDeMorgans);
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'or' not supported by the backend");
+        }
+    }
+
+    @Override
+    public Object convertConditionNot(ConditionNOT condition, boolean isConditionNot, boolean applyDeMorgans) {
+        Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg =
+                condition.getArgs().get(0);
+        if (arg.isRight()) {
+            return null;
+        }
+        try {
+            return this.convertCondition(conditionType(arg.getLeft()), false, !applyDeMorgans);
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'not' not supported by the backend");
+        }
+    }
+
+    @Override
+    public Object convertExistsField(ConditionFieldEqualsValueExpression condition) {
+        return QueryBuilders.existsQuery(getFinalField(condition.getField()));
+    }
+
+    @Override
+    public Object convertConditionFieldEqValStr(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        SigmaString value = (SigmaString) condition.getValue();
+        String field = getFinalField(condition.getField());
+        ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+
+        QueryBuilder query;
+        if (!value.containsWildcard()) {
+            // Case insensitive like the prefix and wildcard queries, so a value matches the same
+            // documents whether or not it holds a wildcard
+            query = QueryBuilders.termQuery(field, plainValue(value)).caseInsensitive(true);
+        } else if (isPrefix(value)) {
+            query = QueryBuilders.prefixQuery(field, plainValue(value)).caseInsensitive(true);
+        } else {
+            query = QueryBuilders.wildcardQuery(field, wildcardValue(value)).caseInsensitive(true);
+        }
+        return applyDeMorgans ? negate(query, field) : query;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNum(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getFinalField(condition.getField());
+        ruleQueryFields.put(field, queryFieldOf(condition.getValue()));
+        QueryBuilder query = QueryBuilders.termQuery(field, termValue(condition));
+        return applyDeMorgans ? negate(query, field) : query;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValBool(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getFinalField(condition.getField());
+        ruleQueryFields.put(field, Collections.singletonMap("type", "boolean"));
+        QueryBuilder query = QueryBuilders.termQuery(field, ((SigmaBool) condition.getValue()).isaBoolean());
+        return applyDeMorgans ? negate(query, field) : query;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValRe(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getFinalField(condition.getField());
+        ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+        QueryBuilder query =
+                QueryBuilders.regexpQuery(field, regexValue((SigmaRegularExpression) condition.getValue()));
+        return applyDeMorgans ? negate(query, field) : query;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValCidr(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getFinalField(condition.getField());
+        // Term queries only accept CIDR notation on ip fields
+        ruleQueryFields.put(field, Collections.singletonMap("type", "ip"));
+        QueryBuilder query = QueryBuilders.termQuery(field, ((SigmaCIDRExpression) condition.getValue()).convert());
+        return applyDeMorgans ? negate(query, field) : query;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValOpVal(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getFinalField(condition.getField());
+        SigmaCompareExpression compare = (SigmaCompareExpression) condition.getValue();
+        Object number = numberValue(compare.getNumber());
+        RangeQueryBuilder query = QueryBuilders.rangeQuery(field);
+        switch (compare.getOp()) {
+            case SigmaCompareExpression.CompareOperators.GT:
+                query.gt(number);
+                break;
+            case SigmaCompareExpression.CompareOperators.GTE:
+                query.gte(number);
+                break;
+            case SigmaCompareExpression.CompareOperators.LT:
+                query.lt(number);
+                break;
+            default:
+                query.lte(number);
+        }
+        return applyDeMorgans ? negate(query, field) : query;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNull(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getFinalField(condition.getField());
+        ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+        QueryBuilder exists = QueryBuilders.existsQuery(field);
+        return applyDeMorgans ? exists : QueryBuilders.boolQuery().mustNot(exists);
+    }
+
+    @Override
+    public Object convertConditionFieldEqValExists(
+            ConditionFieldEqualsValueExpression condition, boolean isConditionNot, boolean applyDeMorgans) {
+        String field = getFinalField(condition.getField());
+        ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+        boolean fieldShouldExist = applyDeMorgans != ((SigmaExists) condition.getValue()).exists();
+        QueryBuilder exists = QueryBuilders.existsQuery(field);
+        return fieldShouldExist ? exists : QueryBuilders.boolQuery().mustNot(exists);
+    }
+
+    @Override
+    public Object convertConditionValStr(ConditionValueExpression condition, boolean applyDeMorgans) throws SigmaValueError {
+        SigmaString value = (SigmaString) condition.getValue();
+        String converted = value.convert("\\", "*", "?", KEYWORD_ESCAPED_CHARS, KEYWORD_RESERVED, "");
+        QueryBuilder query = QueryBuilders.queryStringQuery(value.containsWildcard() ? converted : "\"" + converted + "\"");
+        return applyDeMorgans ? QueryBuilders.boolQuery().mustNot(query) : query;
+    }
+
+    @Override
+    public Object convertConditionValNum(ConditionValueExpression condition, boolean applyDeMorgans) {
+        QueryBuilder query = QueryBuilders.queryStringQuery("\"" + condition.getValue().toString() + "\"");
+        return applyDeMorgans ? QueryBuilders.boolQuery().mustNot(query) : query;
+    }
+
+    @Override
+    public Object convertConditionValRe(ConditionValueExpression condition, boolean applyDeMorgans) {
+        String regexp = ((SigmaRegularExpression) condition.getValue()).escape(List.of("\""), "\\");
+        QueryBuilder query = QueryBuilders.queryStringQuery("/" + regexp + "/");
+        return applyDeMorgans ? QueryBuilders.boolQuery().mustNot(query) : query;
+    }
+
+    @Override
+    public AggregationQueries convertAggregation(AggregationItem aggregation) {
+        return this.aggregationBackend.convertAggregation(aggregation);
+    }
+
+    /**
+     * Combines the children of an AND or OR node.
+     *
+     * @param disjunction true to require any child, false to require all of them
+     * @param applyDeMorgans whether the children are negated
+     */
+    private QueryBuilder combine(
+            List<Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String>> args,
+            boolean disjunction,
+            boolean applyDeMorgans)
+            throws SigmaValueError {
+        List<QueryBuilder> children = new ArrayList<>();
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg : args) {
+            if (arg.isLeft()) {
+                Object converted = this.convertCondition(conditionType(arg.getLeft()), false, applyDeMorgans);
+                if (converted != null) {
+                    children.add((QueryBuilder) converted);
+                }
+            }
+        }
+        if (children.size() == 1) {
+            return children.get(0);
+        }
+        BoolQueryBuilder bool = QueryBuilders.boolQuery();
+        for (QueryBuilder child : children) {
+            if (disjunction) {
+                bool.should(child);
+            } else {
+                bool.filter(child);
+            }
+        }
+        if (disjunction) {
+            bool.minimumShouldMatch(1);
+        }
+        return bool;
+    }
+
+    /** A negated leaf only matches documents holding the field, as in {@link OSQueryBackend}. */
+    private static QueryBuilder negate(QueryBuilder query, String field) {
+        return QueryBuilders.boolQuery().mustNot(query).filter(QueryBuilders.existsQuery(field));
+    }
+
+    private static ConditionType conditionType(
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> arg) {
+        if (arg.isLeft()) {
+            ConditionItem item = arg.getLeft();
+            if (item instanceof ConditionAND) {
+                return new ConditionType(Either.left(AnyOneOf.leftVal((ConditionAND) item)));
+            } else if (item instanceof ConditionOR) {
+                return new ConditionType(Either.left(AnyOneOf.middleVal((ConditionOR) item)));
+            }
+            return new ConditionType(Either.left(AnyOneOf.rightVal((ConditionNOT) item)));
+        } else if (arg.isMiddle()) {
+            return new ConditionType(Either.right(Either.left(arg.getMiddle())));
+        }
+        return new ConditionType(Either.right(Either.right(arg.get())));
+    }
+
+    private static Object termValue(ConditionFieldEqualsValueExpression expression) {
+        if (expression.getValue() instanceof SigmaNumber) {
+            return numberValue((SigmaNumber) expression.getValue());
+        }
+        return plainValue((SigmaString) expression.getValue());
+    }
+
+    private static Object queryFieldOf(Object value) {
+        if (value instanceof SigmaNumber) {
+            return ((SigmaNumber) value).getNumOpt().isLeft()
+                    ? Collections.singletonMap("type", "integer")
+                    : Collections.singletonMap("type", "float");
+        }
+        return Map.of("type", "text", "analyzer", "rule_analyzer");
+    }
+
+    private static Object numberValue(SigmaNumber number) {
+        return number.getNumOpt().isLeft() ? number.getNumOpt().getLeft() : number.getNumOpt().get();
+    }
+
+    /** A single trailing multi-character wildcard, i.e. a {@code startswith} value. */
+    private static boolean isPrefix(SigmaString value) {
+        List<AnyOneOf<String, Character, ?>> parts = new ArrayList<>(value.getsOpt());
+        int last = parts.size() - 1;
+        if (last < 0 || !parts.get(last).isMiddle() || parts.get(last).getMiddle() != SigmaString.SpecialChars.WILDCARD_MULTI) {
+            return false;
+        }
+        for (int i = 0; i < last; i++) {
+            if (!parts.get(i).isLeft()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The literal parts of a string, wildcards left out. */
+    private static String plainValue(SigmaString value) {
+        StringBuilder s = new StringBuilder();
+        for (AnyOneOf<String, Character, ?> part : value.getsOpt()) {
+            if (part.isLeft()) {
+                s.append(part.getLeft());
+            }
+        }
+        return s.toString();
+    }
+
+    private static String wildcardValue(SigmaString value) {
+        StringBuilder s = new StringBuilder();
+        for (AnyOneOf<String, Character, ?> part : value.getsOpt()) {
+            if (part.isLeft()) {
+                for (char c : part.getLeft().toCharArray()) {
+                    if (c == '*' || c == '?' || c == '\\') {
+                        s.append('\\');
+                    }
+                    s.append(c);
+                }
+            } else if (part.isMiddle()) {
+                s.append(part.getMiddle() == SigmaString.SpecialChars.WILDCARD_MULTI ? '*' : '?');
+            }
+        }
+        return s.toString();
+    }
+
+    /** Sigma regular expressions store spaces as {@code _ws_} for the rule analyzer. */
+    private static String regexValue(SigmaRegularExpression re) {
+        return re.getRegexp().replace("_ws_", " ");
+    }
+
+    private String getFinalField(String field) {
+        if (this.enableFieldMappings && this.fieldMappings.containsKey(field) && this.fieldMappings.get(field) != null) {
+            return this.fieldMappings.get(field);
+        }
+        return field;
+    }
+}
@@ -153,7 +153,7 @@ public abstract class QueryBackend {
         ConditionItem cond = condition.isLeft()? condition.getLeft(): condition.get();
 
         for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: cond.getArgs()) {
-            if (arg.isLeft() || !arg.getLeft().isMiddle()) {
+            if (!arg.isLeft() || !arg.getLeft().isMiddle()) {
                 return false;
             }
         }
@@ -178,6 +178,10 @@ public abstract class QueryBackend {
         return true;
     }
 
+    public Map<String, String> getFieldMappings() {
+        return fieldMappings;
+    }
+
     public Map<String, Object> getQueryFields() {
         return queryFields;
     }
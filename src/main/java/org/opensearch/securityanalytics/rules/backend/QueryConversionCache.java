@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.opensearch.common.hash.MessageDigests;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Node level cache of Sigma rule conversions, so that detector and rule updates only convert the
+ * rules which are actually new.
+ *
+ * <p>Conversions are keyed by the SHA-256 of the rule YAML, the backend and the field mappings
+ * version published by {@code LogTypeService}. A new version drops every cached conversion. As
+ * field mappings may also be written from other nodes, a conversion is only served when it was made
+ * with the same field mappings as the caller's.
+ *
+ * <p>A size of zero disables the cache.
+ */
+public class QueryConversionCache {
+
+    /** Query backend a conversion is made with. */
+    public enum Backend {
+        QUERY_STRING,
+        DSL
+    }
+
+    private static final QueryConversionCache DISABLED = new QueryConversionCache(0, () -> 0L);
+
+    private final int maxSize;
+
+    private final LongSupplier fieldMappingsVersion;
+
+    private final Map<Key, CachedConversion> conversions;
+
+    private long version;
+
+    public QueryConversionCache(int maxSize, LongSupplier fieldMappingsVersion) {
+        this.maxSize = maxSize;
+        this.fieldMappingsVersion = fieldMappingsVersion;
+        this.version = fieldMappingsVersion.getAsLong();
+        this.conversions =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(Map.Entry<Key, CachedConversion> eldest) {
+                                return this.size() > QueryConversionCache.this.maxSize;
+                            }
+                        });
+    }
+
+    /**
+     * Converts a rule, or returns the conversion previously made for the same rule and field
+     * mappings.
+     *
+     * @param backend the backend to convert the rule with
+     * @param rule the parsed rule
+     * @param ruleYaml the YAML the rule was parsed from
+     * @param fieldMappings rule field to index field mappings
+     * @param enableFieldMappings whether the field mappings are applied
+     */
+    public Conversion convert(
+            Backend backend,
+            SigmaRule rule,
+            String ruleYaml,
+            Map<String, String> fieldMappings,
+            boolean enableFieldMappings)
+            throws IOException, SigmaValueError, SigmaConditionError {
+        Map<String, String> mappings =
+                enableFieldMappings && fieldMappings != null ? fieldMappings : Collections.emptyMap();
+        if (this.maxSize <= 0 || ruleYaml == null) {
+            return convertUncached(backend, rule, mappings, enableFieldMappings);
+        }
+
+        Key key = new Key(backend, sha256(ruleYaml), enableFieldMappings, this.currentVersion());
+        CachedConversion entry = this.conversions.get(key);
+        if (entry != null && entry.fieldMappings.equals(mappings)) {
+            return entry.conversion;
+        }
+        Conversion conversion = convertUncached(backend, rule, mappings, enableFieldMappings);
+        if (key.version == this.currentVersion()) {
+            this.conversions.put(key, new CachedConversion(mappings, conversion));
+        }
+        return conversion;
+    }
+
+    /** Returns a cache converting every rule again. */
+    public static QueryConversionCache disabled() {
+        return DISABLED;
+    }
+
+    public int size() {
+        return this.conversions.size();
+    }
+
+    public void invalidateAll() {
+        this.conversions.clear();
+    }
+
+    /** Returns the field mappings version, dropping every conversion made with an older one. */
+    private long currentVersion() {
+        long current = this.fieldMappingsVersion.getAsLong();
+        synchronized (this.conversions) {
+            if (current != this.version) {
+                this.conversions.clear();
+                this.version = current;
+            }
+        }
+        return current;
+    }
+
+    private static Conversion convertUncached(
+            Backend backend, SigmaRule rule, Map<String, String> fieldMappings, boolean enableFieldMappings)
+            throws IOException, SigmaValueError, SigmaConditionError {
+        QueryBackend queryBackend =
+                backend == Backend.DSL
+                        ? new OSDslQueryBackend(fieldMappings, false, enableFieldMappings)
+                        : new OSQueryBackend(fieldMappings, true, enableFieldMappings);
+        List<Object> queries = queryBackend.convertRule(rule);
+        return new Conversion(queries, new ArrayList<>(queryBackend.getQueryFields().keySet()));
+    }
+
+    private static String sha256(String ruleYaml) {
+        return MessageDigests.toHexString(
+                MessageDigests.sha256().digest(ruleYaml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Queries generated for a rule, and the rule fields they query. */
+    public static final class Conversion {
+
+        private final List<Object> queries;
+
+        private final List<String> queryFieldNames;
+
+        Conversion(List<Object> queries, List<String> queryFieldNames) {
+            this.queries = Collections.unmodifiableList(queries);
+            this.queryFieldNames = Collections.unmodifiableList(queryFieldNames);
+        }
+
+        public List<Object> getQueries() {
+            return this.queries;
+        }
+
+        public List<String> getQueryFieldNames() {
+            return this.queryFieldNames;
+        }
+    }
+
+    private static final class CachedConversion {
+
+        private final Map<String, String> fieldMappings;
+
+        private final Conversion conversion;
+
+        private CachedConversion(Map<String, String> fieldMappings, Conversion conversion) {
+            this.fieldMappings = fieldMappings;
+            this.conversion = conversion;
+        }
+    }
+
+    private static final class Key {
+
+        private final Backend backend;
+
+        private final String ruleHash;
+
+        private final boolean enableFieldMappings;
+
+        private final long version;
+
+        private Key(Backend backend, String ruleHash, boolean enableFieldMappings, long version) {
+            this.backend = backend;
+            this.ruleHash = ruleHash;
+            this.enableFieldMappings = enableFieldMappings;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return this.enableFieldMappings == key.enableFieldMappings
+                    && this.version == key.version
+                    && this.backend == key.backend
+                    && this.ruleHash.equals(key.ruleHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.backend, this.ruleHash, this.enableFieldMappings, this.version);
+        }
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Time windowed state of the Sigma aggregation conditions, e.g. {@code count(*) by source.ip > 10}.
+ *
+ * <p>Windows follow event time: the {@value #TIMESTAMP_FIELD} of the event, or the current time for
+ * events without one. Each aggregation keeps one accumulator per value of its group by field and
+ * tumbling window of the rule {@code timeframe}, so an event arriving out of order is counted in
+ * the window it belongs to. A window is closed once an event a whole window later was seen, and
+ * events arriving after their window closed are ignored. An aggregation matches on the event that
+ * makes its comparison true, and then stays silent for the rest of that window, so a burst is
+ * reported once.
+ *
+ * <p>The number of windows kept per aggregation is capped: when the cap is reached the closed ones
+ * are evicted first, then the oldest opened one. The number of aggregations is capped the same
+ * way: when the cap is reached the aggregations that saw no event for a whole window, such as the
+ * ones of a previous version of an updated rule, are evicted first, then the least recently used
+ * one.
+ *
+ * <p>The functions follow the bucket level monitors: {@code count(*)} counts events, {@code
+ * count(field)} counts events having the field, and {@code sum}, {@code min}, {@code max} and
+ * {@code avg} apply to the numeric values of the field.
+ */
+class AggregationWindows {
+
+    /** Window of aggregations without a timeframe, the one used by bucket level monitors. */
+    static final long DEFAULT_WINDOW_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /** Maximum number of aggregations whose state is kept. */
+    static final int MAX_TRACKED_AGGREGATIONS = 10000;
+
+    /** Field of the flattened events holding their time. */
+    static final String TIMESTAMP_FIELD = "@timestamp";
+
+    private static final Pattern TIMEFRAME_PATTERN = Pattern.compile("(\\d+)([smhdwMy])");
+
+    private final Map<String, Aggregation> aggregations = new ConcurrentHashMap<>();
+
+    private final int maxAggregations;
+
+    private final int maxGroups;
+
+    private final LongSupplier clock;
+
+    /**
+     * @param maxGroups maximum number of group windows kept per aggregation
+     * @param clock the current time in milliseconds
+     */
+    AggregationWindows(int maxGroups, LongSupplier clock) {
+        this(MAX_TRACKED_AGGREGATIONS, maxGroups, clock);
+    }
+
+    /**
+     * @param maxAggregations maximum number of aggregations kept
+     * @param maxGroups maximum number of group windows kept per aggregation
+     * @param clock the current time in milliseconds
+     */
+    AggregationWindows(int maxAggregations, int maxGroups, LongSupplier clock) {
+        this.maxAggregations = maxAggregations;
+        this.maxGroups = maxGroups;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds an event matching the detection of an aggregation rule.
+     *
+     * @param key identifies the aggregation, e.g. the detector, rule id and condition index
+     * @param item the aggregation
+     * @param timeframe the rule timeframe, {@code null} for the default window
+     * @param event the flattened event
+     * @return a description of the aggregation if the event makes it match, {@code null} otherwise
+     */
+    String add(String key, AggregationItem item, String timeframe, Map<String, Object> event) {
+        long now = this.clock.getAsLong();
+        Aggregation aggregation = this.aggregations.get(key);
+        if (aggregation == null) {
+            if (this.aggregations.size() >= this.maxAggregations) {
+                this.evictAggregations(now);
+            }
+            aggregation = this.aggregations.computeIfAbsent(key, k -> new Aggregation(item, windowMillis(timeframe)));
+        }
+        return aggregation.add(event, eventTime(event, now), now);
+    }
+
+    /** Creates empty windows with the same limits, for state that doesn't outlive a request. */
+    AggregationWindows newEmpty() {
+        return new AggregationWindows(this.maxAggregations, this.maxGroups, this.clock);
+    }
+
+    /**
+     * Gets the time of an event, from its {@value #TIMESTAMP_FIELD} in epoch milliseconds or ISO 8601.
+     *
+     * @param event the flattened event
+     * @param now the current time in milliseconds
+     * @return the time of the event, {@code now} if it has none or it can't be parsed
+     */
+    static long eventTime(Map<String, Object> event, long now) {
+        Object timestamp = event.get(TIMESTAMP_FIELD);
+        if (timestamp instanceof Number) {
+            return ((Number) timestamp).longValue();
+        }
+        if (timestamp instanceof String) {
+            try {
+                return Instant.parse((String) timestamp).toEpochMilli();
+            } catch (DateTimeParseException e) {
+                try {
+                    return OffsetDateTime.parse((String) timestamp).toInstant().toEpochMilli();
+                } catch (DateTimeParseException ignored) {
+                    // Not a date, fall back to the current time
+                }
+            }
+        }
+        return now;
+    }
+
+    /**
+     * Gets the number of aggregations currently kept.
+     *
+     * @return the number of aggregations
+     */
+    int aggregationCount() {
+        return this.aggregations.size();
+    }
+
+    /** Makes room for a new aggregation, dropping expired ones and then the least recently used. */
+    private synchronized void evictAggregations(long now) {
+        if (this.aggregations.size() < this.maxAggregations) {
+            return;
+        }
+        this.aggregations.values().removeIf(aggregation -> aggregation.expired(now));
+        if (this.aggregations.size() < this.maxAggregations) {
+            return;
+        }
+        Map.Entry<String, Aggregation> leastRecentlyUsed = null;
+        for (Map.Entry<String, Aggregation> entry : this.aggregations.entrySet()) {
+            if (leastRecentlyUsed == null || entry.getValue().lastUsed < leastRecentlyUsed.getValue().lastUsed) {
+                leastRecentlyUsed = entry;
+            }
+        }
+        if (leastRecentlyUsed != null) {
+            this.aggregations.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+        }
+    }
+
+    /**
+     * Gets the number of group windows currently kept by an aggregation.
+     *
+     * @param key identifies the aggregation
+     * @return the number of group windows, 0 if the aggregation is unknown
+     */
+    int groupCount(String key) {
+        Aggregation aggregation = this.aggregations.get(key);
+        return aggregation == null ? 0 : aggregation.groupCount();
+    }
+
+    /**
+     * Parses a Sigma timeframe, e.g. {@code 30s}, {@code 5m}, {@code 1h} or {@code 7d}.
+     *
+     * @param timeframe the timeframe
+     * @return the window in milliseconds, {@link #DEFAULT_WINDOW_MILLIS} if missing or invalid
+     */
+    static long windowMillis(String timeframe) {
+        if (timeframe == null) {
+            return DEFAULT_WINDOW_MILLIS;
+        }
+        Matcher matcher = TIMEFRAME_PATTERN.matcher(timeframe.trim());
+        if (!matcher.matches()) {
+            return DEFAULT_WINDOW_MILLIS;
+        }
+        long amount;
+        try {
+            amount = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return DEFAULT_WINDOW_MILLIS;
+        }
+        TimeUnit unit;
+        long multiplier = 1;
+        switch (matcher.group(2)) {
+            case "s":
+                unit = TimeUnit.SECONDS;
+                break;
+            case "m":
+                unit = TimeUnit.MINUTES;
+                break;
+            case "h":
+                unit = TimeUnit.HOURS;
+                break;
+            case "w":
+                unit = TimeUnit.DAYS;
+                multiplier = 7;
+                break;
+            case "M":
+                unit = TimeUnit.DAYS;
+                multiplier = 30;
+                break;
+            case "y":
+                unit = TimeUnit.DAYS;
+                multiplier = 365;
+                break;
+            default:
+                unit = TimeUnit.DAYS;
+                break;
+        }
+        long millis = unit.toMillis(amount) * multiplier;
+        return millis > 0 ? millis : DEFAULT_WINDOW_MILLIS;
+    }
+
+    /** State of a single aggregation, by group and window. */
+    private final class Aggregation {
+        private final AggregationItem item;
+        private final long windowMillis;
+        private final boolean countAll;
+
+        /** Accumulators by group and window start, in opening order, the oldest first. */
+        private final LinkedHashMap<String, Accumulator> windows = new LinkedHashMap<>();
+
+        /** Latest event time seen. */
+        private long watermark = Long.MIN_VALUE;
+
+        /** Time the last event was added. */
+        private volatile long lastUsed;
+
+        Aggregation(AggregationItem item, long windowMillis) {
+            this.item = item;
+            this.windowMillis = windowMillis;
+            this.countAll = "count".equals(item.getAggFunction())
+                    && (item.getAggField() == null || "*".equals(item.getAggField()));
+        }
+
+        synchronized int groupCount() {
+            return this.windows.size();
+        }
+
+        /** Whether no event was added for a whole window. */
+        boolean expired(long now) {
+            return now - this.lastUsed >= this.windowMillis;
+        }
+
+        /** Whether no more event is counted in the window starting at the given time. */
+        private boolean closed(long windowStart) {
+            return this.watermark != Long.MIN_VALUE && windowStart + 2 * this.windowMillis <= this.watermark;
+        }
+
+        synchronized String add(Map<String, Object> event, long eventTime, long now) {
+            this.lastUsed = now;
+            String group = "";
+            if (this.item.getGroupByField() != null) {
+                Object groupValue = event.get(this.item.getGroupByField());
+                if (groupValue == null) {
+                    return null;
+                }
+                group = groupValue.toString();
+            }
+
+            Double value = null;
+            if (!this.countAll) {
+                Object fieldValue = event.get(this.item.getAggField());
+                if (fieldValue == null) {
+                    return null;
+                }
+                if (!"count".equals(this.item.getAggFunction())) {
+                    try {
+                        value = new BigDecimal(fieldValue.toString()).doubleValue();
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+            }
+
+            long windowStart = Math.floorDiv(eventTime, this.windowMillis) * this.windowMillis;
+            if (this.closed(windowStart)) {
+                return null;
+            }
+            this.watermark = Math.max(this.watermark, eventTime);
+            String windowKey = group + '\u0000' + windowStart;
+            Accumulator accumulator = this.windows.get(windowKey);
+            if (accumulator == null) {
+                this.evict();
+                accumulator = new Accumulator(windowStart);
+                this.windows.put(windowKey, accumulator);
+            }
+
+            accumulator.add(value);
+            if (accumulator.matched) {
+                return null;
+            }
+            double result = accumulator.result(this.item.getAggFunction());
+            if (!compare(result, this.item.getCompOperator(), this.item.getThreshold())) {
+                return null;
+            }
+            accumulator.matched = true;
+            return String.format(
+                    Locale.ROOT,
+                    "%s(%s)%s %s %s matched with %s%s",
+                    this.item.getAggFunction(),
+                    this.item.getAggField(),
+                    this.item.getGroupByField() == null ? "" : " by " + this.item.getGroupByField(),
+                    this.item.getCompOperator(),
+                    BigDecimal.valueOf(this.item.getThreshold()).stripTrailingZeros().toPlainString(),
+                    BigDecimal.valueOf(result).stripTrailingZeros().toPlainString(),
+                    this.item.getGroupByField() == null ? "" : " for '" + group + "'");
+        }
+
+        /** Makes room for a new window, dropping closed windows and then the oldest opened ones. */
+        private void evict() {
+            Iterator<Accumulator> iterator = this.windows.values().iterator();
+            // Windows open mostly in time order, so the closed ones are mostly at the head
+            while (iterator.hasNext()) {
+                Accumulator oldest = iterator.next();
+                if (!this.closed(oldest.windowStart)) {
+                    break;
+                }
+                iterator.remove();
+            }
+            if (this.windows.size() < maxGroups) {
+                return;
+            }
+            this.windows.values().removeIf(accumulator -> this.closed(accumulator.windowStart));
+            iterator = this.windows.values().iterator();
+            while (this.windows.size() >= maxGroups && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /** Accumulated values of a group over a window. */
+    private static final class Accumulator {
+        private final long windowStart;
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private boolean matched;
+
+        Accumulator(long windowStart) {
+            this.windowStart = windowStart;
+        }
+
+        void add(Double value) {
+            this.count++;
+            if (value != null) {
+                this.sum += value;
+                this.min = Math.min(this.min, value);
+                this.max = Math.max(this.max, value);
+            }
+        }
+
+        double result(String function) {
+            switch (function) {
+                case "sum":
+                    return this.sum;
+                case "min":
+                    return this.min;
+                case "max":
+                    return this.max;
+                case "avg":
+                    return this.sum / this.count;
+                default:
+                    return this.count;
+            }
+        }
+    }
+
+    private static boolean compare(double value, String operator, Double threshold) {
+        if (threshold == null || operator == null) {
+            return false;
+        }
+        switch (operator) {
+            case ">":
+                return value > threshold;
+            case ">=":
+                return value >= threshold;
+            case "<":
+                return value < threshold;
+            case "<=":
+                return value <= threshold;
+            case "==":
+                return value == threshold;
+            default:
+                return false;
+        }
+    }
+}
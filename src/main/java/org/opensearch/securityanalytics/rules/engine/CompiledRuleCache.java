@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Node level cache of the Sigma rules stored in the rule indices, parsed and compiled for the
+ * {@link EventMatcher}, so that rules referenced by id are only parsed again when their document
+ * changes.
+ *
+ * <p>Rules are keyed by index and id, and an entry is only served for the document version it was
+ * compiled from. Least recently used rules are evicted first, and a size of zero disables the
+ * cache.
+ */
+public class CompiledRuleCache {
+
+    private final int maxSize;
+
+    private final Map<String, CompiledRule> rules;
+
+    public CompiledRuleCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.rules =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(Map.Entry<String, CompiledRule> eldest) {
+                                return this.size() > CompiledRuleCache.this.maxSize;
+                            }
+                        });
+    }
+
+    /**
+     * Returns the rule compiled from the given version of a rule document, or null when it is not
+     * cached.
+     */
+    public SigmaRule get(String index, String id, long version) {
+        CompiledRule entry = this.rules.get(key(index, id));
+        return entry != null && entry.version == version ? entry.rule : null;
+    }
+
+    /**
+     * Parses and compiles the YAML of a rule document, and caches it for the given version.
+     *
+     * @throws SigmaConditionError if one of the rule conditions is invalid
+     */
+    public SigmaRule put(String index, String id, long version, String ruleYaml) throws SigmaConditionError {
+        SigmaRule rule = compile(ruleYaml);
+        if (this.maxSize > 0) {
+            this.rules.put(key(index, id), new CompiledRule(version, rule));
+        }
+        return rule;
+    }
+
+    public int size() {
+        return this.rules.size();
+    }
+
+    public void invalidateAll() {
+        this.rules.clear();
+    }
+
+    /** Parses a rule and its conditions, so that it can be shared by concurrent evaluations. */
+    public static SigmaRule compile(String ruleYaml) throws SigmaConditionError {
+        SigmaRule rule = SigmaRule.fromYaml(ruleYaml, true);
+        if (rule.getDetection() != null) {
+            rule.getDetection().compile();
+        }
+        return rule;
+    }
+
+    private static String key(String index, String id) {
+        return index + "/" + id;
+    }
+
+    private static final class CompiledRule {
+
+        private final long version;
+
+        private final SigmaRule rule;
+
+        private CompiledRule(long version, SigmaRule rule) {
+            this.version = version;
+            this.rule = rule;
+        }
+    }
+}
@@ -18,32 +18,65 @@ package org.opensearch.securityanalytics.rules.engine;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.util.automaton.Operations;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.condition.*;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.securityanalytics.rules.types.*;
 import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
 import org.opensearch.securityanalytics.rules.utils.Either;
+import org.opensearch.securityanalytics.util.LatencyHistogram;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+import com.wazuh.securityanalytics.action.WEvaluateRulesResponse;
+import com.wazuh.securityanalytics.action.WEvaluateRulesResponse.MatchedCondition;
+
 /**
  * Evaluates Sigma rules against normalized events.
  *
  * <p>Takes a JSON event and a list of pre-parsed {@link SigmaRule} objects, flattens the event into
  * a dot-notation map, then evaluates each rule's detection conditions against the event fields.
- * Results are returned as a JSON string summarizing which rules matched and why.
+ * Results are returned as a {@link WEvaluateRulesResponse} summarizing which rules matched and why,
+ * rendered to JSON only on demand.
+ *
+ * <p>Rule conditions are parsed once by {@link SigmaCondition} and the
+ * resulting trees are shared, so the same rules can be evaluated by several threads. Rule
+ * sets reaching the parallel threshold are split into contiguous partitions evaluated concurrently
+ * on the executor, and the results are merged in rule order and delivered to a listener.
  *
- * <p>Compiled regex patterns for wildcard matching are cached in a thread-safe {@link
- * ConcurrentHashMap} to avoid repeated compilation of the same expressions.
+ * <p>Aggregation conditions ({@code count(*) by field > n}) are evaluated on the stream of events
+ * of a scope, such as a detector: events matching the detection update the event time windowed
+ * per group state kept by {@link AggregationWindows}, and the rule matches on the event crossing
+ * the threshold. Requests without a scope share no state.
+ *
+ * <p>Regular expression and wildcard values are compiled once into automata and kept in a bounded
+ * {@link ValuePatternCache}. Evaluations above a threshold are logged, at most once per {@link
+ * #SLOW_RULE_WARNING_INTERVAL}. When cost tracking is enabled, the evaluation time of every rule is
+ * accumulated so that slow rules can be identified. When profiling is enabled, the CPU time,
+ * matches, latency distribution and time spent per kind of value of every rule are also recorded,
+ * see {@link #getHotRules(int, CostOrder)}. Both are read once per event.
  */
 public class EventMatcher {
 
@@ -51,15 +84,188 @@ public class EventMatcher {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
-    /** Cache of compiled regex patterns keyed by the original wildcard string. */
-    private final Map<String, Pattern> regexCache = new ConcurrentHashMap<>();
+    /** Default maximum number of compiled regular expression and wildcard values. */
+    static final int DEFAULT_PATTERN_CACHE_SIZE = 10000;
+
+    /** Default determinization effort, the Lucene default. */
+    static final int DEFAULT_DETERMINIZE_WORK_LIMIT = Operations.DEFAULT_DETERMINIZE_WORK_LIMIT;
+
+    /** Default maximum number of groups kept per aggregation condition. */
+    static final int DEFAULT_MAX_AGGREGATION_GROUPS = 10000;
+
+    /** Minimum number of rules of a partition when a rule set is evaluated in parallel. */
+    static final int MIN_RULES_PER_PARTITION = 64;
+
+    /** Maximum number of rules whose evaluation cost is tracked. */
+    private static final int MAX_TRACKED_RULES = 10000;
+
+    /** Minimum interval between two slow rule warnings. */
+    static final TimeValue SLOW_RULE_WARNING_INTERVAL = TimeValue.timeValueSeconds(10);
+
+    /** Compiled regular expression and wildcard values. */
+    private final ValuePatternCache patternCache;
+
+    /** Accumulated evaluation cost, by rule id. */
+    private final Map<String, RuleMatchCost> ruleCosts = new ConcurrentHashMap<>();
+
+    private final long slowRuleThresholdNanos;
+
+    /** Time before which slow rule evaluations are not logged, in {@link System#nanoTime()}. */
+    private final AtomicLong nextSlowRuleWarning = new AtomicLong(System.nanoTime());
+
+    /** Slow rule evaluations not logged since the last warning. */
+    private final AtomicLong suppressedSlowRuleWarnings = new AtomicLong();
+
+    /** Executor evaluating rule partitions, or {@code null} to always evaluate sequentially. */
+    private final Executor executor;
+
+    /** Maximum number of partitions a rule set is split into. */
+    private final int parallelism;
+
+    /** Minimum number of rules of a request evaluated in parallel, zero to disable. */
+    private final int parallelThreshold;
+
+    /** Windowed state of the aggregation conditions. */
+    private final AggregationWindows aggregationWindows;
+
+    /** Whether the evaluation count and time of every rule are recorded. */
+    private volatile boolean costTracking = true;
+
+    /** Whether the CPU time, matches and value costs of every rule are recorded. */
+    private volatile boolean profiling;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
 
-    private static final String STATUS_SUCCESS = "success";
-    private static final String STATUS_ERROR = "error";
     private static final String UNKNOWN_VALUE = "unknown";
 
-    /** Creates a new {@code EventMatcher} instance. */
-    public EventMatcher() {}
+    /** Creates a new {@code EventMatcher} instance with the default limits. */
+    public EventMatcher() {
+        this(
+                DEFAULT_PATTERN_CACHE_SIZE,
+                DEFAULT_DETERMINIZE_WORK_LIMIT,
+                TimeValue.timeValueMillis(50));
+    }
+
+    /**
+     * Creates a new {@code EventMatcher} instance.
+     *
+     * @param patternCacheSize maximum number of compiled regular expression and wildcard values
+     * @param determinizeWorkLimit maximum effort spent compiling a single value
+     * @param slowRuleThreshold evaluation time of a rule above which it is logged as slow
+     */
+    public EventMatcher(int patternCacheSize, int determinizeWorkLimit, TimeValue slowRuleThreshold) {
+        this(
+                patternCacheSize,
+                determinizeWorkLimit,
+                slowRuleThreshold,
+                null,
+                1,
+                0,
+                DEFAULT_MAX_AGGREGATION_GROUPS);
+    }
+
+    /**
+     * Creates a new {@code EventMatcher} instance evaluating large rule sets in parallel.
+     *
+     * @param patternCacheSize maximum number of compiled regular expression and wildcard values
+     * @param determinizeWorkLimit maximum effort spent compiling a single value
+     * @param slowRuleThreshold evaluation time of a rule above which it is logged as slow
+     * @param executor executor evaluating rule partitions, {@code null} to evaluate sequentially
+     * @param parallelism maximum number of partitions a rule set is split into
+     * @param parallelThreshold minimum number of rules evaluated in parallel, zero to disable
+     * @param maxAggregationGroups maximum number of groups kept per aggregation condition
+     */
+    public EventMatcher(
+            int patternCacheSize,
+            int determinizeWorkLimit,
+            TimeValue slowRuleThreshold,
+            Executor executor,
+            int parallelism,
+            int parallelThreshold,
+            int maxAggregationGroups) {
+        this(
+                patternCacheSize,
+                determinizeWorkLimit,
+                slowRuleThreshold,
+                executor,
+                parallelism,
+                parallelThreshold,
+                new AggregationWindows(maxAggregationGroups, System::currentTimeMillis));
+    }
+
+    EventMatcher(
+            int patternCacheSize,
+            int determinizeWorkLimit,
+            TimeValue slowRuleThreshold,
+            Executor executor,
+            int parallelism,
+            int parallelThreshold,
+            AggregationWindows aggregationWindows) {
+        this.patternCache = new ValuePatternCache(patternCacheSize, determinizeWorkLimit);
+        this.slowRuleThresholdNanos = slowRuleThreshold.nanos();
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.parallelThreshold = parallelThreshold;
+        this.aggregationWindows = aggregationWindows;
+    }
+
+    /**
+     * Gets the accumulated evaluation cost of every rule evaluated so far.
+     *
+     * @return a snapshot of the costs, keyed by rule id
+     */
+    public Map<String, RuleMatchCost> getRuleMatchCosts() {
+        return new HashMap<>(this.ruleCosts);
+    }
+
+    /**
+     * Gets the most expensive rules evaluated so far.
+     *
+     * @param size the maximum number of rules returned
+     * @param order the cost the rules are sorted by, most expensive first
+     * @return the most expensive rules
+     */
+    public List<RuleMatchCost> getHotRules(int size, CostOrder order) {
+        return this.ruleCosts.values().stream()
+                .sorted(order.comparator.reversed())
+                .limit(Math.max(0, size))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Enables or disables profiling. Disabling it keeps the costs recorded so far.
+     *
+     * @param profiling whether the CPU time, matches and value costs of every rule are recorded
+     */
+    public void setProfiling(boolean profiling) {
+        this.profiling = profiling && THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+        if (profiling && !this.profiling) {
+            log.warn("Rule profiling requires thread CPU time measurement, which this JVM doesn't support");
+        }
+    }
+
+    public boolean isProfiling() {
+        return this.profiling;
+    }
+
+    /**
+     * Enables or disables cost tracking. Disabling it keeps the costs recorded so far. Profiling
+     * records the costs regardless.
+     *
+     * @param costTracking whether the evaluation count and time of every rule are recorded
+     */
+    public void setCostTracking(boolean costTracking) {
+        this.costTracking = costTracking;
+    }
+
+    public boolean isCostTracking() {
+        return this.costTracking;
+    }
+
+    /** Drops the costs recorded so far. */
+    public void clearRuleMatchCosts() {
+        this.ruleCosts.clear();
+    }
 
     /**
      * Evaluates a list of pre-parsed Sigma rules against a single event.
@@ -72,92 +278,341 @@ public class EventMatcher {
      * @param rules list of pre-parsed {@link SigmaRule} objects to evaluate
      * @return a JSON string containing {@code status}, {@code rules_evaluated}, {@code
      *     rules_matched}, and a {@code matches} array with details for each match
+     * @see #evaluateRules(String, List)
      */
-    @SuppressWarnings("unchecked")
     public String evaluate(String eventJson, List<SigmaRule> rules) {
-        List<Map<String, Object>> matches = new ArrayList<>();
-        int rulesEvaluated = 0;
-        String status = STATUS_SUCCESS;
+        return this.evaluateRules(eventJson, rules).getResultJson();
+    }
 
+    /**
+     * Evaluates a list of pre-parsed Sigma rules against a single event on the calling thread,
+     * returning the structured result. Aggregation conditions only count this event.
+     *
+     * @param eventJson the event as a JSON string (may contain nested objects)
+     * @param rules list of pre-parsed {@link SigmaRule} objects to evaluate
+     * @return the evaluation result
+     * @see #evaluateRules(String, List, String)
+     */
+    public WEvaluateRulesResponse evaluateRules(String eventJson, List<SigmaRule> rules) {
+        return this.evaluateRules(eventJson, rules, null);
+    }
+
+    /**
+     * Evaluates a list of pre-parsed Sigma rules against a single event on the calling thread,
+     * returning the structured result. See {@link #evaluateRules(String, List, String,
+     * ActionListener)} to evaluate large rule sets in parallel.
+     *
+     * @param eventJson the event as a JSON string (may contain nested objects)
+     * @param rules list of pre-parsed {@link SigmaRule} objects to evaluate
+     * @param scope the events aggregation conditions are evaluated over, e.g. a detector id, or
+     *     {@code null} for aggregation conditions to only count this event
+     * @return the evaluation result
+     */
+    public WEvaluateRulesResponse evaluateRules(String eventJson, List<SigmaRule> rules, String scope) {
+        Map<String, Object> flatEvent;
         try {
-            Map<String, Object> parsedEvent = MAPPER.readValue(eventJson, Map.class);
-            Map<String, Object> flatEvent = new HashMap<>();
-            flattenMapIterative(parsedEvent, flatEvent);
-
-            for (SigmaRule sigmaRule : rules) {
-                rulesEvaluated++;
-                List<String> matchedConditions = new ArrayList<>();
-                boolean ruleMatched;
-
-                try {
-                    ruleMatched =
-                            sigmaRule.getDetection().getParsedCondition().stream()
-                                    .map(
-                                            condition -> {
-                                                try {
-                                                    return condition.parsed().getLeft();
-                                                } catch (SigmaConditionError e) {
-                                                    throw new IllegalStateException("Condition parse error", e);
-                                                }
-                                            })
-                                    .filter(Objects::nonNull)
-                                    .anyMatch(
-                                            conditionItem ->
-                                                    evaluateCondition(conditionItem, flatEvent, matchedConditions));
-                } catch (IllegalStateException e) {
-                    log.warn(
-                            "Failed to evaluate condition for rule '{}': {}", sigmaRule.getId(), e.getMessage());
-                    continue; // Skip this rule and proceed to the next
-                }
+            flatEvent = this.flattenEvent(eventJson);
+        } catch (Exception e) {
+            log.error("Failed to evaluate rules against event.", e);
+            return new WEvaluateRulesResponse(WEvaluateRulesResponse.STATUS_ERROR, 0, List.of());
+        }
+        RulePartition partition =
+                new RulePartition(
+                        rules, 0, rules.size(), flatEvent, this.aggregationWindows(scope), scope, this.costRecording());
+        partition.run();
+        return this.merge(List.of(partition));
+    }
 
-                if (ruleMatched) {
-                    matches.add(buildMatchEntry(sigmaRule, matchedConditions));
-                }
-            }
+    /**
+     * Evaluates a list of pre-parsed Sigma rules against a single event. Rule sets reaching the
+     * parallel threshold are split into contiguous partitions forked to the executor, and the
+     * listener is completed by the thread finishing the last one, so the calling thread never waits
+     * for them. A partition the executor rejects is evaluated by the calling thread.
+     *
+     * @param eventJson the event as a JSON string (may contain nested objects)
+     * @param rules list of pre-parsed {@link SigmaRule} objects to evaluate
+     * @param scope the events aggregation conditions are evaluated over, e.g. a detector id, or
+     *     {@code null} for aggregation conditions to only count this event
+     * @param listener notified with the evaluation result
+     */
+    public void evaluateRules(
+            String eventJson,
+            List<SigmaRule> rules,
+            String scope,
+            ActionListener<WEvaluateRulesResponse> listener) {
+        int partitionCount = this.partitionCount(rules.size());
+        if (partitionCount <= 1) {
+            listener.onResponse(this.evaluateRules(eventJson, rules, scope));
+            return;
+        }
+        Map<String, Object> flatEvent;
+        try {
+            flatEvent = this.flattenEvent(eventJson);
         } catch (Exception e) {
             log.error("Failed to evaluate rules against event.", e);
-            status = STATUS_ERROR;
+            listener.onResponse(new WEvaluateRulesResponse(WEvaluateRulesResponse.STATUS_ERROR, 0, List.of()));
+            return;
         }
 
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("status", status);
-        result.put("rules_evaluated", rulesEvaluated);
-        result.put("rules_matched", matches.size());
-        result.put("matches", matches);
+        AggregationWindows windows = this.aggregationWindows(scope);
+        CostRecording recording = this.costRecording();
+        List<RulePartition> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            int from = (int) ((long) rules.size() * i / partitionCount);
+            int to = (int) ((long) rules.size() * (i + 1) / partitionCount);
+            partitions.add(new RulePartition(rules, from, to, flatEvent, windows, scope, recording));
+        }
+        // The last partition to finish publishes the results of the others through the counter
+        AtomicInteger pending = new AtomicInteger(partitionCount);
+        for (RulePartition partition : partitions) {
+            Runnable task =
+                    () -> {
+                        try {
+                            partition.run();
+                        } finally {
+                            if (pending.decrementAndGet() == 0) {
+                                listener.onResponse(this.merge(partitions));
+                            }
+                        }
+                    };
+            try {
+                this.executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+    }
+
+    /** What is recorded of the rules evaluated against the next event. */
+    private CostRecording costRecording() {
+        if (this.profiling) {
+            return CostRecording.PROFILE;
+        }
+        return this.costTracking ? CostRecording.COST : CostRecording.NONE;
+    }
+
+    /** The windows of the aggregation conditions of a scope, empty ones for an unscoped request. */
+    private AggregationWindows aggregationWindows(String scope) {
+        return scope != null ? this.aggregationWindows : this.aggregationWindows.newEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> flattenEvent(String eventJson) throws IOException {
+        Map<String, Object> parsedEvent = MAPPER.readValue(eventJson, Map.class);
+        Map<String, Object> flatEvent = new HashMap<>();
+        flattenMapIterative(parsedEvent, flatEvent);
+        return flatEvent;
+    }
+
+    /**
+     * Merges evaluated partitions in rule order. A failure stops the merge at the failing rule, so the
+     * result is the same as evaluating every rule one after another.
+     */
+    private WEvaluateRulesResponse merge(List<RulePartition> partitions) {
+        List<WEvaluateRulesResponse.RuleMatch> matches = new ArrayList<>();
+        int rulesEvaluated = 0;
+        for (RulePartition partition : partitions) {
+            rulesEvaluated += partition.evaluated;
+            for (int i = 0; i < partition.matchedRules.size(); i++) {
+                matches.add(
+                        new WEvaluateRulesResponse.RuleMatch(
+                                buildRuleInfo(partition.matchedRules.get(i)), partition.matchedConditions.get(i)));
+            }
+            if (partition.failure != null) {
+                log.error("Failed to evaluate rules against event.", partition.failure);
+                return new WEvaluateRulesResponse(WEvaluateRulesResponse.STATUS_ERROR, rulesEvaluated, matches);
+            }
+        }
+        return new WEvaluateRulesResponse(WEvaluateRulesResponse.STATUS_SUCCESS, rulesEvaluated, matches);
+    }
+
+    /**
+     * Gets the number of partitions a rule set is split into.
+     *
+     * @param ruleCount the number of rules
+     * @return the number of partitions, {@code 1} when the rules are evaluated sequentially
+     */
+    int partitionCount(int ruleCount) {
+        if (this.executor == null
+                || this.parallelThreshold <= 0
+                || this.parallelism <= 1
+                || ruleCount < this.parallelThreshold) {
+            return 1;
+        }
+        return Math.max(1, Math.min(this.parallelism, ruleCount / MIN_RULES_PER_PARTITION));
+    }
+
+    /**
+     * Evaluates a single rule against the flattened event.
+     *
+     * @param sigmaRule the rule to evaluate
+     * @param flatEvent the flattened event
+     * @param windows the windows of the aggregation conditions
+     * @param scope the scope of the aggregation conditions
+     * @param recording what is recorded of the evaluation
+     * @return the conditions that matched, or {@code null} if the rule doesn't match or can't be
+     *     evaluated
+     */
+    private List<MatchedCondition> evaluateRule(
+            SigmaRule sigmaRule,
+            Map<String, Object> flatEvent,
+            AggregationWindows windows,
+            String scope,
+            CostRecording recording) {
+        List<MatchedCondition> matchedConditions = new ArrayList<>();
+        boolean ruleMatched = false;
+        RuleMatchCost cost = recording != CostRecording.NONE ? this.ruleCost(sigmaRule) : null;
+        RuleMatchCost profile = recording == CostRecording.PROFILE ? cost : null;
+        long cpuStart = profile != null ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0L;
+        long start = System.nanoTime();
 
         try {
-            return MAPPER.writeValueAsString(result);
-        } catch (Exception e) {
-            return String.format(
-                    "{\"status\":\"%s\",\"rules_evaluated\":0,\"rules_matched\":0,\"matches\":[]}",
-                    STATUS_ERROR);
+            List<SigmaCondition> conditions = sigmaRule.getDetection().getParsedCondition();
+            for (int i = 0; i < conditions.size() && !ruleMatched; i++) {
+                Pair<ConditionItem, AggregationItem> parsed = conditions.get(i).parsed();
+                if (parsed.getLeft() == null
+                        || !evaluateCondition(parsed.getLeft(), flatEvent, matchedConditions, profile)) {
+                    continue;
+                }
+                if (parsed.getRight() == null) {
+                    ruleMatched = true;
+                    continue;
+                }
+                String aggregationMatch =
+                        windows.add(
+                                aggregationKey(scope, sigmaRule, i),
+                                parsed.getRight(),
+                                sigmaRule.getDetection().getTimeframe(),
+                                flatEvent);
+                if (aggregationMatch != null) {
+                    matchedConditions.add(
+                            new MatchedCondition(MatchedCondition.Type.AGGREGATION, null, aggregationMatch));
+                    ruleMatched = true;
+                }
+            }
+        } catch (SigmaConditionError | IllegalStateException e) {
+            log.warn("Failed to evaluate condition for rule '{}': {}", ruleKey(sigmaRule), e.getMessage());
+            return null; // Skip this rule and proceed to the next
+        } finally {
+            long nanos = System.nanoTime() - start;
+            if (cost != null) {
+                cost.record(nanos);
+            }
+            this.warnIfSlow(sigmaRule, nanos);
+            if (profile != null) {
+                profile.recordProfile(
+                        nanos, THREAD_MX_BEAN.getCurrentThreadCpuTime() - cpuStart, ruleMatched);
+            }
+        }
+
+        return ruleMatched ? matchedConditions : null;
+    }
+
+    /**
+     * Identifies the windowed state of an aggregation condition. The scope keeps the events of
+     * different detectors apart. The condition and timeframe are part of the key, so that updating a
+     * rule starts from a fresh state. The state of the previous version of the rule is evicted by
+     * {@link AggregationWindows} once it needs the room.
+     *
+     * @param scope the scope of the aggregation, {@code null} for unscoped requests
+     * @param rule the rule
+     * @param conditionIndex the index of the aggregation condition in the rule
+     * @return the key of the aggregation state
+     */
+    private static String aggregationKey(String scope, SigmaRule rule, int conditionIndex) {
+        return scope
+                + '\u0000'
+                + ruleKey(rule)
+                + '\u0000'
+                + rule.getDetection().getCondition().get(conditionIndex)
+                + '\u0000'
+                + rule.getDetection().getTimeframe();
+    }
+
+    /**
+     * Identifies a rule in the costs and aggregation state: by its id, or by its title for rules
+     * without one, or by a hash of its detection for rules without either.
+     *
+     * @param rule the rule
+     * @return the rule key
+     */
+    static String ruleKey(SigmaRule rule) {
+        if (rule.getId() != null) {
+            return rule.getId().toString();
         }
+        if (rule.getTitle() != null) {
+            return "title:" + rule.getTitle();
+        }
+        Object condition = rule.getDetection() != null ? rule.getDetection().getCondition() : null;
+        return "condition:" + Integer.toHexString(Objects.hashCode(condition));
     }
 
     /**
-     * Builds a match result entry containing rule metadata and the conditions that triggered it.
+     * Logs a rule evaluation if it is slow. Warnings are logged at most once per {@link
+     * #SLOW_RULE_WARNING_INTERVAL}, the next one reports how many slow evaluations were left out.
+     *
+     * @param rule the evaluated rule
+     * @param nanos the evaluation time
+     */
+    private void warnIfSlow(SigmaRule rule, long nanos) {
+        if (nanos <= this.slowRuleThresholdNanos) {
+            return;
+        }
+        long now = System.nanoTime();
+        long next = this.nextSlowRuleWarning.get();
+        if (now - next < 0
+                || !this.nextSlowRuleWarning.compareAndSet(next, now + SLOW_RULE_WARNING_INTERVAL.nanos())) {
+            this.suppressedSlowRuleWarnings.incrementAndGet();
+            return;
+        }
+        log.warn(
+                "Slow rule evaluation: rule '{}' ({}) took [{}] ms, [{}] more slow evaluations since the last warning",
+                rule.getTitle(),
+                ruleKey(rule),
+                TimeUnit.NANOSECONDS.toMillis(nanos),
+                this.suppressedSlowRuleWarnings.getAndSet(0));
+    }
+
+    /**
+     * Gets the number of slow rule evaluations not logged since the last warning.
+     *
+     * @return the number of evaluations
+     */
+    long getSuppressedSlowRuleWarnings() {
+        return this.suppressedSlowRuleWarnings.get();
+    }
+
+    /**
+     * Gets the accumulated cost of a rule, created on its first evaluation.
+     *
+     * @param rule the evaluated rule
+     * @return the cost, or {@code null} if the maximum number of rules is already tracked
+     */
+    private RuleMatchCost ruleCost(SigmaRule rule) {
+        String ruleId = ruleKey(rule);
+        RuleMatchCost cost = this.ruleCosts.get(ruleId);
+        if (cost == null && this.ruleCosts.size() < MAX_TRACKED_RULES) {
+            cost = this.ruleCosts.computeIfAbsent(ruleId, id -> new RuleMatchCost(id, rule.getTitle()));
+        }
+        return cost;
+    }
+
+    /**
+     * Builds the metadata of a matched rule.
      *
      * @param rule the matched {@link SigmaRule}
-     * @param matchedConditions human-readable descriptions of the conditions that matched
-     * @return an ordered map suitable for JSON serialization
+     * @return the rule metadata
      */
-    private Map<String, Object> buildMatchEntry(SigmaRule rule, List<String> matchedConditions) {
-        Map<String, Object> ruleInfo = new LinkedHashMap<>();
-        ruleInfo.put("id", rule.getId() != null ? rule.getId().toString() : UNKNOWN_VALUE);
-        ruleInfo.put("title", rule.getTitle() != null ? rule.getTitle() : UNKNOWN_VALUE);
-        ruleInfo.put("level", rule.getLevel() != null ? rule.getLevel().toString() : UNKNOWN_VALUE);
-        ruleInfo.put(
-                "tags",
+    private WEvaluateRulesResponse.RuleInfo buildRuleInfo(SigmaRule rule) {
+        return new WEvaluateRulesResponse.RuleInfo(
+                rule.getId() != null ? rule.getId().toString() : UNKNOWN_VALUE,
+                rule.getTitle() != null ? rule.getTitle() : UNKNOWN_VALUE,
+                rule.getLevel() != null ? rule.getLevel().toString() : UNKNOWN_VALUE,
                 rule.getTags() == null
                         ? Collections.emptyList()
                         : rule.getTags().stream()
                                 .map(tag -> tag.getNamespace() + "." + tag.getName())
                                 .collect(Collectors.toList()));
-
-        Map<String, Object> match = new LinkedHashMap<>();
-        match.put("rule", ruleInfo);
-        match.put("matched_conditions", matchedConditions);
-        return match;
     }
 
     /**
@@ -202,16 +657,23 @@ public class EventMatcher {
      *
      * @param item the condition node to evaluate
      * @param event the flattened event map (dot-notation keys)
-     * @param matchedConditions accumulator for human-readable descriptions of matched conditions
+     * @param matchedConditions accumulator for the conditions that matched
+     * @param profile the cost the value matches are recorded in, {@code null} when not profiling
      * @return {@code true} if the condition matches the event
      */
     private boolean evaluateCondition(
-            ConditionItem item, Map<String, Object> event, List<String> matchedConditions) {
+            ConditionItem item,
+            Map<String, Object> event,
+            List<MatchedCondition> matchedConditions,
+            RuleMatchCost profile) {
 
         if (item instanceof ConditionFieldEqualsValueExpression fieldExpr) {
-            if (matchValue(event.get(fieldExpr.getField()), fieldExpr.getValue())) {
+            if (matchValue(event.get(fieldExpr.getField()), fieldExpr.getValue(), profile)) {
                 matchedConditions.add(
-                        fieldExpr.getField() + " matched '" + formatSigmaValue(fieldExpr.getValue()) + "'");
+                        new MatchedCondition(
+                                MatchedCondition.Type.FIELD,
+                                fieldExpr.getField(),
+                                formatSigmaValue(fieldExpr.getValue())));
                 return true;
             }
             return false;
@@ -219,8 +681,12 @@ public class EventMatcher {
 
         if (item instanceof ConditionValueExpression valueExpr) {
             for (Map.Entry<String, Object> entry : event.entrySet()) {
-                if (matchValue(entry.getValue(), valueExpr.getValue())) {
-                    matchedConditions.add(entry.getKey() + " contains '" + valueExpr.getValue() + "'");
+                if (matchValue(entry.getValue(), valueExpr.getValue(), profile)) {
+                    matchedConditions.add(
+                            new MatchedCondition(
+                                    MatchedCondition.Type.KEYWORD,
+                                    entry.getKey(),
+                                    String.valueOf(valueExpr.getValue())));
                     return true;
                 }
             }
@@ -238,14 +704,14 @@ public class EventMatcher {
 
         if (item instanceof ConditionOR) {
             return children.stream()
-                    .anyMatch(child -> evaluateCondition(child, event, matchedConditions));
+                    .anyMatch(child -> evaluateCondition(child, event, matchedConditions, profile));
         } else if (item instanceof ConditionNOT) {
             if (children.isEmpty()) return false;
-            return !evaluateCondition(children.getFirst(), event, new ArrayList<>());
+            return !evaluateCondition(children.getFirst(), event, new ArrayList<>(), profile);
         } else {
             return !children.isEmpty()
                     && children.stream()
-                            .allMatch(child -> evaluateCondition(child, event, matchedConditions));
+                            .allMatch(child -> evaluateCondition(child, event, matchedConditions, profile));
         }
     }
 
@@ -267,6 +733,27 @@ public class EventMatcher {
         return null;
     }
 
+    /**
+     * Checks whether an event field value matches a Sigma detection value, recording the time spent
+     * by kind of value when profiling.
+     *
+     * @param eventValue the value from the flattened event (may be {@code null})
+     * @param sigmaValue the expected value from the Sigma rule detection
+     * @param profile the cost the match is recorded in, {@code null} when not profiling
+     * @return {@code true} if the event value satisfies the Sigma condition
+     */
+    private boolean matchValue(Object eventValue, SigmaType sigmaValue, RuleMatchCost profile) {
+        if (profile == null) {
+            return matchValue(eventValue, sigmaValue);
+        }
+        long start = System.nanoTime();
+        try {
+            return matchValue(eventValue, sigmaValue);
+        } finally {
+            profile.recordValue(ValueKind.of(sigmaValue), System.nanoTime() - start);
+        }
+    }
+
     /**
      * Checks whether an event field value matches a Sigma detection value.
      *
@@ -348,10 +835,7 @@ public class EventMatcher {
         // Explicit regular expression
         if (sigmaValue instanceof SigmaRegularExpression regexValue) {
             try {
-                Pattern pattern =
-                        regexCache.computeIfAbsent(
-                                "re:" + regexValue.getRegexp(), k -> Pattern.compile(regexValue.getRegexp()));
-                return pattern.matcher(eventValue.toString()).find();
+                return patternCache.regex(regexValue.getRegexp()).matches(eventValue.toString());
             } catch (Exception e) {
                 log.warn("Failed to evaluate SigmaRegularExpression: {}", regexValue.getRegexp(), e);
                 return false;
@@ -370,26 +854,7 @@ public class EventMatcher {
             }
 
             try {
-                String cacheKey = stringValue.getOriginal();
-                Pattern pattern =
-                        regexCache.computeIfAbsent(
-                                cacheKey,
-                                k -> {
-                                    String regex =
-                                            "(?i)"
-                                                    + stringValue.getsOpt().stream()
-                                                            .map(
-                                                                    part ->
-                                                                            part.isLeft()
-                                                                                    ? Pattern.quote(part.getLeft())
-                                                                                    : part.getMiddle()
-                                                                                                    == SigmaString.SpecialChars.WILDCARD_MULTI
-                                                                                            ? ".*"
-                                                                                            : ".")
-                                                            .collect(Collectors.joining());
-                                    return Pattern.compile(regex);
-                                });
-                return pattern.matcher(eventValue.toString()).matches();
+                return patternCache.wildcard(stringValue).matches(eventValue.toString());
             } catch (Exception e) {
                 log.warn(
                         "Failed to evaluate regex pattern for Sigma wildcard: {}",
@@ -479,4 +944,225 @@ public class EventMatcher {
             return false;
         }
     }
+
+    /** A contiguous range of rules evaluated by a single thread. */
+    private final class RulePartition implements Runnable {
+        private final List<SigmaRule> rules;
+        private final int from;
+        private final int to;
+        private final Map<String, Object> flatEvent;
+        private final AggregationWindows windows;
+        private final String scope;
+        private final CostRecording recording;
+        private final List<SigmaRule> matchedRules = new ArrayList<>();
+        private final List<List<MatchedCondition>> matchedConditions = new ArrayList<>();
+        private int evaluated;
+        private Exception failure;
+
+        RulePartition(
+                List<SigmaRule> rules,
+                int from,
+                int to,
+                Map<String, Object> flatEvent,
+                AggregationWindows windows,
+                String scope,
+                CostRecording recording) {
+            this.rules = rules;
+            this.from = from;
+            this.to = to;
+            this.flatEvent = flatEvent;
+            this.windows = windows;
+            this.scope = scope;
+            this.recording = recording;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = this.from; i < this.to; i++) {
+                    this.evaluated++;
+                    SigmaRule rule = this.rules.get(i);
+                    List<MatchedCondition> conditions = evaluateRule(rule, this.flatEvent, this.windows, this.scope, this.recording);
+                    if (conditions != null) {
+                        this.matchedRules.add(rule);
+                        this.matchedConditions.add(conditions);
+                    }
+                }
+            } catch (Exception e) {
+                this.failure = e;
+            }
+        }
+    }
+
+    /** What is recorded of the evaluation of a rule. */
+    private enum CostRecording {
+        NONE,
+        COST,
+        PROFILE
+    }
+
+    /** Cost a rule set can be sorted by. */
+    public enum CostOrder {
+        TOTAL_TIME(Comparator.comparingLong(RuleMatchCost::getTotalNanos)),
+        CPU_TIME(Comparator.comparingLong(RuleMatchCost::getCpuNanos)),
+        MAX_TIME(Comparator.comparingLong(RuleMatchCost::getMaxNanos)),
+        EVALUATIONS(Comparator.comparingLong(RuleMatchCost::getEvaluations));
+
+        private final Comparator<RuleMatchCost> comparator;
+
+        CostOrder(Comparator<RuleMatchCost> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    /**
+     * Kind of Sigma value a field is compared with. Modifiers such as {@code contains} or {@code
+     * startswith} are turned into wildcard values, {@code re} into regular expressions, and {@code
+     * gt}, {@code lt}... into comparisons.
+     */
+    public enum ValueKind {
+        STRING,
+        WILDCARD,
+        REGEX,
+        CIDR,
+        COMPARE,
+        NUMBER,
+        BOOL,
+        NULL,
+        EXPANSION,
+        OTHER;
+
+        static ValueKind of(SigmaType value) {
+            if (value instanceof SigmaString string) {
+                return string.containsWildcard() ? WILDCARD : STRING;
+            } else if (value instanceof SigmaRegularExpression) {
+                return REGEX;
+            } else if (value instanceof SigmaCIDRExpression) {
+                return CIDR;
+            } else if (value instanceof SigmaCompareExpression) {
+                return COMPARE;
+            } else if (value instanceof SigmaNumber) {
+                return NUMBER;
+            } else if (value instanceof SigmaBool) {
+                return BOOL;
+            } else if (value instanceof SigmaNull) {
+                return NULL;
+            } else if (value instanceof SigmaExpansion) {
+                return EXPANSION;
+            }
+            return OTHER;
+        }
+
+        public String getName() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Accumulated evaluation cost of a rule. The evaluation count and time are recorded while cost
+     * tracking or profiling is enabled; the CPU time, matches, latency histogram and value costs only
+     * while profiling.
+     *
+     * <p>Percentiles are estimated by a {@link LatencyHistogram}, within a factor of two.
+     */
+    public static final class RuleMatchCost {
+        private final String ruleId;
+        private final String title;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder profiledEvaluations = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder[] valueCounts = newAdders(ValueKind.values().length);
+        private final LongAdder[] valueNanos = newAdders(ValueKind.values().length);
+
+        RuleMatchCost(String ruleId, String title) {
+            this.ruleId = ruleId;
+            this.title = title;
+        }
+
+        private static LongAdder[] newAdders(int size) {
+            LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+
+        void record(long nanos) {
+            this.evaluations.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        void recordProfile(long nanos, long cpuNanos, boolean matched) {
+            this.profiledEvaluations.increment();
+            this.cpuNanos.add(Math.max(0L, cpuNanos));
+            if (matched) {
+                this.matches.increment();
+            }
+            this.histogram.record(nanos);
+        }
+
+        void recordValue(ValueKind kind, long nanos) {
+            this.valueCounts[kind.ordinal()].increment();
+            this.valueNanos[kind.ordinal()].add(nanos);
+        }
+
+        public String getRuleId() {
+            return this.ruleId;
+        }
+
+        public String getTitle() {
+            return this.title;
+        }
+
+        public long getEvaluations() {
+            return this.evaluations.sum();
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return this.maxNanos.get();
+        }
+
+        public long getProfiledEvaluations() {
+            return this.profiledEvaluations.sum();
+        }
+
+        public long getCpuNanos() {
+            return this.cpuNanos.sum();
+        }
+
+        public long getMatches() {
+            return this.matches.sum();
+        }
+
+        /**
+         * Estimates a percentile of the profiled evaluation times.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the upper bound of the histogram bucket holding the percentile, {@code 0} when no
+         *     evaluation was profiled
+         * @see LatencyHistogram#getPercentileNanos(double)
+         */
+        public long getPercentileNanos(double percentile) {
+            return this.histogram.getPercentileNanos(percentile);
+        }
+
+        /** Gets the number of values of a kind compared while profiling. */
+        public long getValueCount(ValueKind kind) {
+            return this.valueCounts[kind.ordinal()].sum();
+        }
+
+        /** Gets the time spent comparing values of a kind while profiling. */
+        public long getValueNanos(ValueKind kind) {
+            return this.valueNanos[kind.ordinal()].sum();
+        }
+    }
 }
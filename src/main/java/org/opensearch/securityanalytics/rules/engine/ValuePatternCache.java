@@ -0,0 +1,537 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.apache.lucene.util.automaton.RegExp;
+import org.apache.lucene.util.automaton.TooComplexToDeterminizeException;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles Sigma {@code re} and wildcard values into matchers and keeps the most recently used
+ * ones.
+ *
+ * <p>Values are compiled into Lucene {@link CharacterRunAutomaton}s, which match in time linear
+ * to the input whatever the expression. Determinization is bounded by a work limit: an expression
+ * exceeding it never matches instead of falling back to a backtracking engine. Regular expressions
+ * using constructs that have no automaton equivalent (lookarounds, back references, possessive
+ * quantifiers, inline flags other than a leading {@code (?i)}, ...) keep using {@link Pattern}.
+ *
+ * <p>Regular expressions and wildcards are cached under distinct keys, so a wildcard value and a
+ * regular expression with the same text do not share an entry.
+ */
+class ValuePatternCache {
+
+    private static final Logger log = LogManager.getLogger(ValuePatternCache.class);
+
+    /** Java {@code .} does not match line terminators unless DOTALL is set. */
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+
+    private static final String ANY_BUT_LINE_TERMINATOR = "[^" + LINE_TERMINATORS + "]";
+
+    /** Java {@code $} also matches right before a final line terminator. */
+    private static final String OPTIONAL_FINAL_LINE_TERMINATOR =
+            "(\r\n|[" + LINE_TERMINATORS + "])?";
+
+    /** Matcher of values whose automaton is too complex to determinize. */
+    static final ValuePattern NEVER = value -> false;
+
+    private final int determinizeWorkLimit;
+
+    private final Map<Key, ValuePattern> cache;
+
+    ValuePatternCache(int maxSize, int determinizeWorkLimit) {
+        this.determinizeWorkLimit = determinizeWorkLimit;
+        this.cache =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(Map.Entry<Key, ValuePattern> eldest) {
+                                return size() > maxSize;
+                            }
+                        });
+    }
+
+    /**
+     * Gets the matcher of a Sigma {@code re} value. The expression matches if it is found anywhere
+     * in the value, as {@link java.util.regex.Matcher#find()} does.
+     *
+     * @param regexp the Java regular expression
+     * @return the matcher
+     */
+    ValuePattern regex(String regexp) {
+        return get(new Key(Kind.REGEX, regexp), () -> compileRegex(regexp));
+    }
+
+    /**
+     * Gets the matcher of a Sigma string value holding wildcards. The whole value must match,
+     * ignoring ASCII case.
+     *
+     * @param value the Sigma string
+     * @return the matcher
+     */
+    ValuePattern wildcard(SigmaString value) {
+        return get(new Key(Kind.WILDCARD, value.getOriginal()), () -> compileWildcard(value));
+    }
+
+    int size() {
+        return this.cache.size();
+    }
+
+    private ValuePattern get(Key key, Supplier<ValuePattern> compiler) {
+        ValuePattern pattern = this.cache.get(key);
+        if (pattern == null) {
+            // Compiled outside of the lock, two threads may compile the same value concurrently
+            pattern = compiler.get();
+            this.cache.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    private ValuePattern compileRegex(String regexp) {
+        Translation translation = translateRegex(regexp);
+        if (translation == null) {
+            Pattern pattern = Pattern.compile(regexp);
+            return value -> pattern.matcher(value).find();
+        }
+        return compileAutomaton(translation.regexp, translation.matchFlags, regexp);
+    }
+
+    private ValuePattern compileWildcard(SigmaString value) {
+        StringBuilder regexp = new StringBuilder();
+        for (var part : value.getsOpt()) {
+            if (part.isLeft()) {
+                appendLiteral(regexp, part.getLeft());
+            } else if (part.getMiddle() == SigmaString.SpecialChars.WILDCARD_MULTI) {
+                regexp.append(ANY_BUT_LINE_TERMINATOR).append('*');
+            } else {
+                regexp.append(ANY_BUT_LINE_TERMINATOR);
+            }
+        }
+        return compileAutomaton(
+                regexp.toString(), RegExp.ASCII_CASE_INSENSITIVE, value.getOriginal());
+    }
+
+    private ValuePattern compileAutomaton(String regexp, int matchFlags, String original) {
+        try {
+            Automaton automaton = new RegExp(regexp, RegExp.NONE, matchFlags).toAutomaton();
+            automaton = Operations.determinize(automaton, this.determinizeWorkLimit);
+            CharacterRunAutomaton runAutomaton = new CharacterRunAutomaton(automaton);
+            return runAutomaton::run;
+        } catch (TooComplexToDeterminizeException e) {
+            log.warn(
+                    "Sigma value [{}] is too complex to evaluate (determinize work limit [{}]), it will never match",
+                    original,
+                    this.determinizeWorkLimit);
+            return NEVER;
+        }
+    }
+
+    /**
+     * Translates a Java regular expression into an equivalent Lucene one, wrapped so it is found
+     * anywhere in the value.
+     *
+     * @param regexp the Java regular expression
+     * @return the translation, or null if the expression uses constructs Lucene does not support
+     */
+    static Translation translateRegex(String regexp) {
+        int matchFlags = 0;
+        int start = 0;
+        if (regexp.startsWith("(?i)")) {
+            matchFlags = RegExp.ASCII_CASE_INSENSITIVE;
+            start = 4;
+        }
+        boolean anchoredStart = false;
+        if (regexp.startsWith("^", start)) {
+            anchoredStart = true;
+            start++;
+        }
+        int end = regexp.length();
+        boolean anchoredEnd = false;
+        if (end > start && regexp.charAt(end - 1) == '$' && !isEscaped(regexp, end - 1)) {
+            anchoredEnd = true;
+            end--;
+        }
+
+        StringBuilder body = new StringBuilder();
+        int depth = 0;
+        boolean topLevelAlternation = false;
+        int i = start;
+        while (i < end) {
+            char c = regexp.charAt(i);
+            switch (c) {
+                case '\\' -> {
+                    if (i + 1 >= end) {
+                        return null;
+                    }
+                    int consumed = appendEscape(body, regexp, i + 1, end, false);
+                    if (consumed < 0) {
+                        return null;
+                    }
+                    i += 1 + consumed;
+                    continue;
+                }
+                case '[' -> {
+                    int next = appendCharClass(body, regexp, i + 1, end, matchFlags != 0);
+                    if (next < 0) {
+                        return null;
+                    }
+                    i = next;
+                    continue;
+                }
+                case '(' -> {
+                    if (i + 1 < end && regexp.charAt(i + 1) == '?') {
+                        return null;
+                    }
+                    depth++;
+                    body.append('(');
+                }
+                case ')' -> {
+                    if (--depth < 0) {
+                        return null;
+                    }
+                    body.append(')');
+                }
+                case '|' -> {
+                    if (depth == 0) {
+                        topLevelAlternation = true;
+                    }
+                    body.append('|');
+                }
+                case '*', '+', '?' -> {
+                    body.append(c);
+                    if (i + 1 < end) {
+                        char modifier = regexp.charAt(i + 1);
+                        if (modifier == '+') {
+                            return null;
+                        }
+                        if (modifier == '?') {
+                            // Reluctant quantifiers find the same matches
+                            i++;
+                        }
+                    }
+                }
+                case '{' -> {
+                    int close = regexp.indexOf('}', i);
+                    if (close < 0 || close >= end
+                            || !regexp.substring(i + 1, close).matches("\\d+(,\\d*)?")) {
+                        return null;
+                    }
+                    body.append(regexp, i, close + 1);
+                    i = close;
+                    if (i + 1 < end) {
+                        char modifier = regexp.charAt(i + 1);
+                        if (modifier == '+') {
+                            return null;
+                        }
+                        if (modifier == '?') {
+                            i++;
+                        }
+                    }
+                }
+                case '.' -> body.append(ANY_BUT_LINE_TERMINATOR);
+                case '^', '$' -> {
+                    return null;
+                }
+                default -> appendLiteral(body, c);
+            }
+            i++;
+        }
+        if (depth != 0 || (topLevelAlternation && (anchoredStart || anchoredEnd))) {
+            return null;
+        }
+
+        StringBuilder lucene = new StringBuilder();
+        if (!anchoredStart) {
+            lucene.append(".*");
+        }
+        lucene.append('(').append(body).append(')');
+        lucene.append(anchoredEnd ? OPTIONAL_FINAL_LINE_TERMINATOR : ".*");
+        return new Translation(lucene.toString(), matchFlags);
+    }
+
+    /**
+     * Appends the translation of a character class starting right after its opening bracket.
+     *
+     * <p>Lucene only folds the case of single characters, not of ranges, so when matching ignores
+     * case the class is closed under ASCII case folding first: {@code [a-f]} becomes {@code
+     * [a-fA-F]}. A negated class is then the complement of the folded class, as in Java.
+     *
+     * @param caseInsensitive whether the expression matches ignoring ASCII case
+     * @return the index right after the closing bracket, or -1 if the class is not supported
+     */
+    private static int appendCharClass(
+            StringBuilder out, String regexp, int from, int end, boolean caseInsensitive) {
+        out.append('[');
+        int i = from;
+        if (i < end && regexp.charAt(i) == '^') {
+            out.append('^');
+            i++;
+        }
+        int first = i;
+        // Case counterparts of the letters of the class, appended before its closing bracket
+        StringBuilder folded = new StringBuilder();
+        // Last single character of the class, not folded until it is known not to start a range,
+        // and the start of the range being read if any
+        int previous = -1;
+        int rangeStart = -1;
+        while (i < end) {
+            char c = regexp.charAt(i);
+            if (c == ']' && i > first) {
+                if (rangeStart >= 0) {
+                    return -1;
+                }
+                if (caseInsensitive && previous >= 0) {
+                    appendCaseCounterparts(folded, (char) previous, (char) previous);
+                }
+                out.append(folded).append(']');
+                return i + 1;
+            }
+            if (c == '[' || c == ']' || (c == '&' && i + 1 < end && regexp.charAt(i + 1) == '&')) {
+                // Nested classes, intersections and leading ']' are Java specific
+                return -1;
+            }
+            int current;
+            if (c == '\\') {
+                if (i + 1 >= end) {
+                    return -1;
+                }
+                StringBuilder escape = new StringBuilder();
+                int consumed = appendEscape(escape, regexp, i + 1, end, true);
+                if (consumed < 0) {
+                    return -1;
+                }
+                out.append(escape);
+                current = singleCharacter(escape);
+                i += 1 + consumed;
+            } else if (c == '-' && i > first && i + 1 < end && regexp.charAt(i + 1) != ']') {
+                if (previous < 0) {
+                    // A range can neither start with a shorthand class nor follow another range
+                    return -1;
+                }
+                out.append('-');
+                rangeStart = previous;
+                previous = -1;
+                i++;
+                continue;
+            } else {
+                if (c == '-') {
+                    out.append("\\-");
+                } else {
+                    appendLiteral(out, c);
+                }
+                current = c;
+                i++;
+            }
+            if (rangeStart >= 0) {
+                if (current < 0) {
+                    return -1;
+                }
+                if (caseInsensitive) {
+                    appendCaseCounterparts(folded, (char) rangeStart, (char) current);
+                }
+                rangeStart = -1;
+                previous = -1;
+            } else {
+                // The previous character did not start a range
+                if (caseInsensitive && previous >= 0) {
+                    appendCaseCounterparts(folded, (char) previous, (char) previous);
+                }
+                previous = current;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the character written by {@link #appendEscape} or {@link #appendLiteral}.
+     *
+     * @return the character, or -1 if a shorthand class was written instead
+     */
+    private static int singleCharacter(CharSequence translated) {
+        if (translated.length() == 1) {
+            return translated.charAt(0);
+        }
+        if (translated.length() == 2 && translated.charAt(0) == '\\') {
+            return translated.charAt(1);
+        }
+        return -1;
+    }
+
+    /** Appends the other ASCII case of the letters of {@code [low-high]}, as class ranges. */
+    private static void appendCaseCounterparts(StringBuilder out, char low, char high) {
+        appendShiftedRange(out, low, high, 'a', 'z', 'A' - 'a');
+        appendShiftedRange(out, low, high, 'A', 'Z', 'a' - 'A');
+    }
+
+    private static void appendShiftedRange(
+            StringBuilder out, char low, char high, char from, char to, int shift) {
+        char lower = (char) Math.max(low, from);
+        char upper = (char) Math.min(high, to);
+        if (lower > upper) {
+            return;
+        }
+        out.append((char) (lower + shift));
+        if (upper > lower) {
+            out.append('-').append((char) (upper + shift));
+        }
+    }
+
+    /**
+     * Appends the translation of an escape sequence.
+     *
+     * @param at index of the character following the backslash
+     * @param inClass whether the escape sits inside a character class
+     * @return the number of characters consumed after the backslash, or -1 if not supported
+     */
+    private static int appendEscape(
+            StringBuilder out, String regexp, int at, int end, boolean inClass) {
+        char c = regexp.charAt(at);
+        String expansion =
+                switch (c) {
+                    case 'd' -> "0-9";
+                    case 'w' -> "a-zA-Z_0-9";
+                    case 's' -> " \t\n\u000B\f\r";
+                    default -> null;
+                };
+        if (expansion != null) {
+            out.append(inClass ? expansion : "[" + expansion + "]");
+            return 1;
+        }
+        if (c == 'D' || c == 'W' || c == 'S') {
+            if (inClass) {
+                return -1;
+            }
+            String negated = c == 'D' ? "0-9" : c == 'W' ? "a-zA-Z_0-9" : " \t\n\u000B\f\r";
+            out.append("[^").append(negated).append(']');
+            return 1;
+        }
+        char literal;
+        int consumed = 1;
+        switch (c) {
+            case 't' -> literal = '\t';
+            case 'n' -> literal = '\n';
+            case 'r' -> literal = '\r';
+            case 'f' -> literal = '\f';
+            case 'a' -> literal = '\u0007';
+            case 'e' -> literal = '\u001B';
+            case 'x', 'u' -> {
+                int digits = c == 'x' ? 2 : 4;
+                if (at + digits >= end) {
+                    return -1;
+                }
+                String hex = regexp.substring(at + 1, at + 1 + digits);
+                if (!hex.matches("[0-9a-fA-F]+")) {
+                    return -1;
+                }
+                literal = (char) Integer.parseInt(hex, 16);
+                consumed += digits;
+            }
+            default -> {
+                if (Character.isLetterOrDigit(c)) {
+                    // Back references, boundaries, quoting, properties, ...
+                    return -1;
+                }
+                literal = c;
+            }
+        }
+        appendLiteral(out, literal);
+        return consumed;
+    }
+
+    private static void appendLiteral(StringBuilder out, String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            appendLiteral(out, literal.charAt(i));
+        }
+    }
+
+    /** Letters and digits are never escaped: Lucene gives a meaning to some escaped letters. */
+    private static void appendLiteral(StringBuilder out, char c) {
+        if (!Character.isLetterOrDigit(c) && !Character.isSurrogate(c) && !Character.isWhitespace(c)) {
+            out.append('\\');
+        }
+        out.append(c);
+    }
+
+    private static boolean isEscaped(String regexp, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && regexp.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /** Matches a single event value. */
+    @FunctionalInterface
+    interface ValuePattern {
+        boolean matches(String value);
+    }
+
+    /** A Java regular expression translated to Lucene syntax. */
+    static final class Translation {
+        final String regexp;
+        final int matchFlags;
+
+        Translation(String regexp, int matchFlags) {
+            this.regexp = regexp;
+            this.matchFlags = matchFlags;
+        }
+    }
+
+    private enum Kind {
+        REGEX,
+        WILDCARD
+    }
+
+    private static final class Key {
+        final Kind kind;
+        final String value;
+
+        Key(Kind kind, String value) {
+            this.kind = kind;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return this.kind == other.kind && this.value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.kind, this.value);
+        }
+    }
+}
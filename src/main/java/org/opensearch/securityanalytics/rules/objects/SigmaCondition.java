@@ -65,13 +65,11 @@ public class SigmaCondition {
 
     private SigmaDetections detections;
 
-    private ConditionParser parser;
-
-    private AggregationParser aggParser;
-
-    private ConditionTraverseVisitor conditionVisitor;
-
-    private AggregationTraverseVisitor aggVisitor;
+    /**
+     * The parsed condition and aggregation. ANTLR parsers and visitors are stateful, so the condition
+     * is parsed once and the resulting tree is shared by every caller, which must not modify it.
+     */
+    private volatile Pair<ConditionItem, AggregationItem> parsedItems;
 
     /**
      * Normalize operators in the condition string to lowercase to ensure they are correctly
@@ -103,32 +101,48 @@ public class SigmaCondition {
         }
 
         this.detections = detections;
-
-        ConditionLexer lexer = new ConditionLexer(CharStreams.fromString(this.condition));
-        this.parser = new ConditionParser(new CommonTokenStream(lexer));
-        this.conditionVisitor = new ConditionTraverseVisitor(this);
-
-        AggregationLexer aggLexer = new AggregationLexer(CharStreams.fromString(this.aggregation));
-        this.aggParser = new AggregationParser(new CommonTokenStream(aggLexer));
-        this.aggVisitor = new AggregationTraverseVisitor();
     }
 
+    /**
+     * Gets the parsed condition and aggregation. The condition is parsed on the first call and the
+     * same tree is returned afterwards, so it can be evaluated concurrently by several threads.
+     *
+     * @return the condition tree and the aggregation, or {@code null} when there is no aggregation
+     * @throws SigmaConditionError if the condition can't be parsed
+     */
     public Pair<ConditionItem, AggregationItem> parsed() throws SigmaConditionError {
+        Pair<ConditionItem, AggregationItem> items = this.parsedItems;
+        if (items == null) {
+            synchronized (this) {
+                items = this.parsedItems;
+                if (items == null) {
+                    items = this.parse();
+                    this.parsedItems = items;
+                }
+            }
+        }
+        return items;
+    }
+
+    private Pair<ConditionItem, AggregationItem> parse() throws SigmaConditionError {
+        ConditionLexer lexer = new ConditionLexer(CharStreams.fromString(this.condition));
+        ConditionParser parser = new ConditionParser(new CommonTokenStream(lexer));
+
         ConditionItem parsedConditionItem;
-        Either<ConditionItem, String> itemOrCondition = conditionVisitor.visit(parser.start());
+        Either<ConditionItem, String> itemOrCondition = new ConditionTraverseVisitor(this).visit(parser.start());
         if (itemOrCondition.isLeft()) {
             parsedConditionItem = itemOrCondition.getLeft();
         } else {
-            parsedConditionItem =
-                    Objects.requireNonNull(parsed(condition)).isLeft()
-                            ? Objects.requireNonNull(parsed(condition)).getLeft()
-                            : ((Objects.requireNonNull(parsed(condition))).isMiddle()
-                                    ? Objects.requireNonNull(parsed(condition)).getMiddle()
-                                    : Objects.requireNonNull(parsed(condition)).get());
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> item =
+                    Objects.requireNonNull(parsed(condition));
+            parsedConditionItem = item.isLeft() ? item.getLeft() : (item.isMiddle() ? item.getMiddle() : item.get());
         }
 
         AggregationItem parsedAggItem = null;
         if (!this.aggregation.isEmpty()) {
+            AggregationLexer aggLexer = new AggregationLexer(CharStreams.fromString(this.aggregation));
+            AggregationParser aggParser = new AggregationParser(new CommonTokenStream(aggLexer));
+            AggregationTraverseVisitor aggVisitor = new AggregationTraverseVisitor();
             aggVisitor.visit(aggParser.comparison_expr());
             parsedAggItem = aggVisitor.getAggregationItem();
         }
@@ -81,4 +81,16 @@ public class SigmaDetections {
     public String getTimeframe() {
         return timeframe;
     }
+
+    /**
+     * Parses every condition up front, so that evaluating the rule doesn't pay the parsing cost and
+     * invalid conditions are reported when the rule is loaded.
+     *
+     * @throws SigmaConditionError if a condition can't be parsed
+     */
+    public void compile() throws SigmaConditionError {
+        for (SigmaCondition cond: this.parsedCondition) {
+            cond.parsed();
+        }
+    }
 }
\ No newline at end of file
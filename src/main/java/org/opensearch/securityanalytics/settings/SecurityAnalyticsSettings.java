@@ -17,7 +17,11 @@
 package org.opensearch.securityanalytics.settings;
 
 import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.index.engine.EngineConfig;
 
 import java.util.concurrent.TimeUnit;
 
@@ -274,6 +278,56 @@ public class SecurityAnalyticsSettings {
                     Setting.Property.NodeScope,
                     Setting.Property.Dynamic);
 
+    /**
+     * Share of {@link #CORRELATION_MAX_PENDING_FINDINGS}, as a percentage, that the findings of a
+     * single detector can take in the correlation backlog. Findings over the quota are handled like
+     * those arriving at a full backlog, so one noisy detector can't crowd out the others.
+     */
+    public static final Setting<Integer> CORRELATION_MAX_PENDING_FINDINGS_PER_DETECTOR_PERCENT =
+            Setting.intSetting(
+                    "plugins.security_analytics.correlation.max_pending_findings_per_detector_percent",
+                    50,
+                    1,
+                    100,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Whether findings arriving while the correlation backlog is full are spilled to a node-local log
+     * on disk and correlated later, instead of being dropped.
+     */
+    public static final Setting<Boolean> CORRELATION_SPILL_ENABLED =
+            Setting.boolSetting(
+                    "plugins.security_analytics.correlation.spill.enabled",
+                    true,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Maximum disk space taken by the correlation spill log of a node. Findings are dropped once it
+     * is full.
+     */
+    public static final Setting<ByteSizeValue> CORRELATION_SPILL_MAX_SIZE =
+            Setting.byteSizeSetting(
+                    "plugins.security_analytics.correlation.spill.max_size",
+                    new ByteSizeValue(256, ByteSizeUnit.MB),
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Maximum number of spilled findings handed back to the correlation backlog per second. Spilled
+     * findings are only drained while the backlog is below half of {@link
+     * #CORRELATION_MAX_PENDING_FINDINGS}.
+     */
+    public static final Setting<Integer> CORRELATION_SPILL_DRAIN_RATE =
+            Setting.intSetting(
+                    "plugins.security_analytics.correlation.spill.drain_rate",
+                    100,
+                    1,
+                    100000,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
     /**
      * TTL for the in-memory caches of slow-changing correlation metadata (log type list and
      * correlation rules by detector type). Each cached lookup eliminates a per-finding {@code size:
@@ -382,6 +436,58 @@ public class SecurityAnalyticsSettings {
                     Setting.Property.NodeScope,
                     Setting.Property.Dynamic);
 
+    /**
+     * Maximum number of findings the findings APIs look up on the {@code wazuh.finding} flat fields of
+     * the enriched findings when filtering by severity or detection type, capped by the default
+     * {@code index.max_result_window}. Above it, when any enriched findings index predates the flat
+     * fields, or when some of the findings are not enriched yet, they fall back to nested queries on
+     * the findings. A value of 0 always uses nested queries.
+     */
+    public static final Setting<Integer> FINDINGS_FLAT_FIELDS_MAX_IDS =
+            Setting.intSetting(
+                    "plugins.security_analytics.findings_flat_fields_max_ids",
+                    10000,
+                    0,
+                    65536,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Maximum number of findings or alerts returned in one chunk of the findings and alerts export
+     * APIs. Larger chunks mean fewer round trips but more memory held per request.
+     */
+    public static final Setting<Integer> EXPORT_MAX_CHUNK_DOCS =
+            Setting.intSetting(
+                    "plugins.security_analytics.export.max_chunk_docs",
+                    10000,
+                    1,
+                    100000,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Size above which a chunk of the findings and alerts export APIs is cut short, whatever the
+     * number of documents requested. The rest of the page is returned with the next chunk.
+     */
+    public static final Setting<ByteSizeValue> EXPORT_MAX_CHUNK_SIZE =
+            Setting.byteSizeSetting(
+                    "plugins.security_analytics.export.max_chunk_size",
+                    new ByteSizeValue(16, ByteSizeUnit.MB),
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * How long the point in time of an export is kept alive between two chunks. An export whose next
+     * chunk isn't requested within it expires, and its cursor can't be used anymore.
+     */
+    public static final Setting<TimeValue> EXPORT_KEEP_ALIVE =
+            Setting.timeSetting(
+                    "plugins.security_analytics.export.keep_alive",
+                    TimeValue.timeValueMinutes(1),
+                    TimeValue.timeValueSeconds(1),
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
     /**
      * Maximum number of findings that can be updated in a single request to {@code
      * RestUpdateFindingsAction}. A value of 0 disables the case management bulk update endpoint.
@@ -394,4 +500,236 @@ public class SecurityAnalyticsSettings {
                     100,
                     Setting.Property.NodeScope,
                     Setting.Property.Dynamic);
+
+    /**
+     * Maximum rate, in requests per second, at which {@code RestUpdateFindingsByQueryAction} updates
+     * findings. It is also the default rate of the updates which don't set one.
+     */
+    public static final Setting<Float> CASE_MANAGEMENT_MAX_REQUESTS_PER_SECOND =
+            Setting.floatSetting(
+                    "plugins.security_analytics.case_management.max_requests_per_second",
+                    500f,
+                    1f,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Maximum number of detectors deleted concurrently by {@code
+     * WTransportDeleteSpaceResourcesAction} when a space is torn down. Each detector delete cascades
+     * through its workflow and monitors, so this bounds the load put on the alerting plugin.
+     */
+    public static final Setting<Integer> SPACE_DELETION_MAX_CONCURRENT_DETECTORS =
+            Setting.intSetting(
+                    "plugins.security_analytics.space_deletion.max_concurrent_detectors",
+                    8,
+                    1,
+                    64,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Whether rolled over findings, enriched findings and correlation history generations are
+     * optimized by {@code DetectorIndexManagementService} once they stop receiving writes.
+     */
+    public static final Setting<Boolean> HISTORY_OPTIMIZATION_ENABLED =
+            Setting.boolSetting(
+                    "plugins.security_analytics.history_optimization.enabled",
+                    true,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /** Number of segments rolled over history generations are force merged to. */
+    public static final Setting<Integer> HISTORY_OPTIMIZATION_MAX_NUM_SEGMENTS =
+            Setting.intSetting(
+                    "plugins.security_analytics.history_optimization.max_num_segments",
+                    1,
+                    1,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Codec rolled over history generations are switched to before being force merged. The codec is
+     * a static index setting, so switching it closes the generation: it can neither be searched nor
+     * written to until it is reopened and its shards are recovered. Empty by default, which keeps the
+     * codec the generation was created with and never closes it.
+     */
+    public static final Setting<String> HISTORY_OPTIMIZATION_CODEC =
+            Setting.simpleString(
+                    "plugins.security_analytics.history_optimization.codec",
+                    "",
+                    SecurityAnalyticsSettings::validateHistoryOptimizationCodec,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Time a history generation must have spent rolled over before it is optimized. Switching the
+     * codec closes the generation, so freshly rolled generations, which may still receive late
+     * writes and be searched heavily, are left alone.
+     */
+    public static final Setting<TimeValue> HISTORY_OPTIMIZATION_MIN_AGE =
+            Setting.positiveTimeSetting(
+                    "plugins.security_analytics.history_optimization.min_age",
+                    new TimeValue(1, TimeUnit.DAYS),
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Whether the replicas of rolled over history generations are dropped once they reach {@link
+     * #HISTORY_OPTIMIZATION_REPLICA_DROP_MIN_AGE}. Disabled by default: without replicas a
+     * generation becomes unavailable, and its documents are lost, when the node holding its primary
+     * shards leaves the cluster.
+     */
+    public static final Setting<Boolean> HISTORY_OPTIMIZATION_REPLICA_DROP_ENABLED =
+            Setting.boolSetting(
+                    "plugins.security_analytics.history_optimization.replica_drop.enabled",
+                    false,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Age after which the replicas of rolled over history generations are dropped, when {@link
+     * #HISTORY_OPTIMIZATION_REPLICA_DROP_ENABLED} is set. Retention still applies afterwards.
+     */
+    public static final Setting<TimeValue> HISTORY_OPTIMIZATION_REPLICA_DROP_MIN_AGE =
+            Setting.positiveTimeSetting(
+                    "plugins.security_analytics.history_optimization.replica_drop_min_age",
+                    new TimeValue(7, TimeUnit.DAYS),
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /** Marks a history generation that has already been force merged and recompressed. */
+    public static final Setting<Boolean> HISTORY_INDEX_OPTIMIZED_SETTING =
+            Setting.boolSetting(
+                    "index.security_analytics.optimized",
+                    false,
+                    Setting.Property.IndexScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Margin applied around the lifetime of each findings and correlation history generation when
+     * resolving the generations that may hold documents of a time range. It covers documents
+     * indexed after their timestamp, e.g. right after a rollover.
+     */
+    public static final Setting<TimeValue> FINDING_INDEX_CATALOG_TIME_SLACK =
+            Setting.positiveTimeSetting(
+                    "plugins.security_analytics.finding_index_catalog.time_slack",
+                    TimeValue.timeValueHours(1),
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Maximum number of compiled Sigma {@code re} and wildcard values kept by the rule evaluation
+     * engine. Least recently used values are evicted first.
+     */
+    public static final Setting<Integer> RULE_MATCHER_PATTERN_CACHE_SIZE =
+            Setting.intSetting(
+                    "plugins.security_analytics.rule_matcher.pattern_cache_size",
+                    10000,
+                    1,
+                    Setting.Property.NodeScope);
+
+    /**
+     * Maximum effort spent turning a Sigma {@code re} or wildcard value into a deterministic
+     * automaton. Values exceeding it never match.
+     */
+    public static final Setting<Integer> RULE_MATCHER_DETERMINIZE_WORK_LIMIT =
+            Setting.intSetting(
+                    "plugins.security_analytics.rule_matcher.determinize_work_limit",
+                    10000,
+                    1,
+                    Setting.Property.NodeScope);
+
+    /** Evaluation time of a single rule against an event above which the rule is logged as slow. */
+    public static final Setting<TimeValue> RULE_MATCHER_SLOW_RULE_THRESHOLD =
+            Setting.positiveTimeSetting(
+                    "plugins.security_analytics.rule_matcher.slow_rule_threshold",
+                    TimeValue.timeValueMillis(50),
+                    Setting.Property.NodeScope);
+
+    /**
+     * Minimum number of rules a single evaluation must hold to be split across the rule matcher
+     * thread pool. Smaller rule sets are evaluated by the calling thread, and zero disables parallel
+     * evaluation.
+     */
+    public static final Setting<Integer> RULE_MATCHER_PARALLEL_THRESHOLD =
+            Setting.intSetting(
+                    "plugins.security_analytics.rule_matcher.parallel_threshold",
+                    1000,
+                    0,
+                    Setting.Property.NodeScope);
+
+    /**
+     * Maximum number of groups, i.e. values of the group by field, for which the rule evaluation
+     * engine keeps the windowed state of a Sigma aggregation condition. The oldest windows are
+     * evicted first.
+     */
+    public static final Setting<Integer> RULE_MATCHER_AGGREGATION_MAX_GROUPS =
+            Setting.intSetting(
+                    "plugins.security_analytics.rule_matcher.aggregation.max_groups",
+                    10000,
+                    1,
+                    Setting.Property.NodeScope);
+
+    /**
+     * Whether the rule evaluation engine accumulates the evaluation count and time of every rule, as
+     * reported by the rule profile API. Profiling records them regardless.
+     */
+    public static final Setting<Boolean> RULE_MATCHER_COST_TRACKING_ENABLED =
+            Setting.boolSetting(
+                    "plugins.security_analytics.rule_matcher.cost_tracking.enabled",
+                    true,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Whether the rule evaluation engine records the CPU time, matches, latency distribution and
+     * per value cost of every rule, as reported by the rule profile API.
+     */
+    public static final Setting<Boolean> RULE_MATCHER_PROFILING_ENABLED =
+            Setting.boolSetting(
+                    "plugins.security_analytics.rule_matcher.profiling.enabled",
+                    false,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Maximum number of stored rules kept compiled by the rule evaluation engine for requests
+     * referencing rules by detector or rule id. Least recently used rules are evicted first, and zero
+     * disables the cache.
+     */
+    public static final Setting<Integer> RULE_MATCHER_COMPILED_RULE_CACHE_SIZE =
+            Setting.intSetting(
+                    "plugins.security_analytics.rule_matcher.compiled_rule_cache.size",
+                    10000,
+                    0,
+                    Setting.Property.NodeScope);
+
+    /**
+     * Maximum number of rule conversions kept by the node level rule query cache. Least recently used
+     * conversions are evicted first, and zero disables the cache.
+     */
+    public static final Setting<Integer> RULE_QUERY_CACHE_SIZE =
+            Setting.intSetting(
+                    "plugins.security_analytics.rule_query_cache.size",
+                    10000,
+                    0,
+                    Setting.Property.NodeScope);
+
+    /** Rejects codecs the index codec setting would reject, so a typo fails the settings update. */
+    private static void validateHistoryOptimizationCodec(String codec) {
+        if (codec.isEmpty()) {
+            return;
+        }
+        try {
+            EngineConfig.INDEX_CODEC_SETTING.get(
+                    Settings.builder().put(EngineConfig.INDEX_CODEC_SETTING.getKey(), codec).build());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Invalid value ["
+                            + codec
+                            + "] for [plugins.security_analytics.history_optimization.codec]: "
+                            + e.getMessage(),
+                    e);
+        }
+    }
 }
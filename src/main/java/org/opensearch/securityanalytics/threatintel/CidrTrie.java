@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.threatintel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary prefix trie of CIDR blocks of a single address family.
+ *
+ * <p>Nodes are stored in parallel arrays rather than as objects, so a trie of millions of blocks
+ * stays compact and a lookup walks at most one node per address bit. The values stored at every
+ * prefix along the path of an address are returned, i.e. all the blocks containing it.
+ *
+ * @param <T> the type of the values attached to the blocks
+ */
+final class CidrTrie<T> {
+
+    private static final int NO_NODE = 0;
+
+    private final int addressLength;
+
+    /** Children of each node, {@code children[2 * node + bit]}, 0 when missing. Node 0 is the root. */
+    private int[] children = new int[32];
+
+    /** Values of each node, {@code null} when no block ends at the node. */
+    private Object[] values = new Object[16];
+
+    private int nodeCount = 1;
+
+    private int size;
+
+    /**
+     * @param addressLength the address length in bytes, 4 for IPv4 and 16 for IPv6
+     */
+    CidrTrie(int addressLength) {
+        this.addressLength = addressLength;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds a value to the block made of the first {@code prefixLength} bits of {@code address}.
+     *
+     * @param address the network address of the block
+     * @param prefixLength the block prefix length
+     * @param value the value to attach to the block
+     */
+    @SuppressWarnings("unchecked")
+    void add(byte[] address, int prefixLength, T value) {
+        if (address.length != this.addressLength || prefixLength < 0 || prefixLength > this.addressLength * 8) {
+            throw new IllegalArgumentException("Invalid CIDR block for an address of " + this.addressLength + " bytes");
+        }
+        int node = 0;
+        for (int i = 0; i < prefixLength; i++) {
+            int slot = 2 * node + bit(address, i);
+            if (this.children[slot] == NO_NODE) {
+                this.children[slot] = this.newNode();
+            }
+            node = this.children[slot];
+        }
+        List<T> nodeValues = (List<T>) this.values[node];
+        if (nodeValues == null) {
+            nodeValues = new ArrayList<>(1);
+            this.values[node] = nodeValues;
+        }
+        nodeValues.add(value);
+        this.size++;
+    }
+
+    /**
+     * Collects the values of every block containing an address.
+     *
+     * @param address the address, ignored if it isn't of this trie's family
+     * @param matches the list the values are added to, from the widest block to the narrowest
+     */
+    @SuppressWarnings("unchecked")
+    void collect(byte[] address, List<T> matches) {
+        if (address.length != this.addressLength) {
+            return;
+        }
+        int node = 0;
+        for (int i = 0; ; i++) {
+            if (this.values[node] != null) {
+                matches.addAll((List<T>) this.values[node]);
+            }
+            if (i == this.addressLength * 8) {
+                return;
+            }
+            node = this.children[2 * node + bit(address, i)];
+            if (node == NO_NODE) {
+                return;
+            }
+        }
+    }
+
+    private int newNode() {
+        if (this.nodeCount == this.values.length) {
+            this.values = Arrays.copyOf(this.values, this.values.length * 2);
+            this.children = Arrays.copyOf(this.children, this.children.length * 2);
+        }
+        return this.nodeCount++;
+    }
+
+    private static int bit(byte[] address, int index) {
+        return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+}
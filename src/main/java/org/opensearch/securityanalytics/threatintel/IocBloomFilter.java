@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.threatintel;
+
+/**
+ * Bloom filter over indicator values, placed in front of the exact value maps of {@link
+ * IocMatcher} so that the common case, an event value matching no indicator, is rejected with a
+ * few bit tests on a compact array.
+ *
+ * <p>Bit positions are derived from the cached {@link String#hashCode()} with double hashing, so a
+ * lookup doesn't allocate. The filter is immutable once built.
+ */
+final class IocBloomFilter {
+
+    /** Bits per value, giving a false positive rate of about 1% with {@link #HASH_COUNT} hashes. */
+    static final int BITS_PER_VALUE = 10;
+
+    static final int HASH_COUNT = 7;
+
+    private final long[] bits;
+
+    private final int mask;
+
+    IocBloomFilter(int expectedValues) {
+        long wanted = Math.max(64L, (long) expectedValues * BITS_PER_VALUE);
+        int size = (int) Math.min(1L << 30, Long.highestOneBit(wanted - 1) << 1);
+        this.bits = new long[size >>> 6];
+        this.mask = size - 1;
+    }
+
+    void add(String value) {
+        long hash = mix(value.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & this.mask;
+            this.bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = mix(value.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & this.mask;
+            if ((this.bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Spreads a 32 bit hash over 64 bits, the MurmurHash3 finalizer. */
+    private static long mix(int hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.threatintel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.network.InetAddresses;
+import org.opensearch.common.xcontent.support.XContentMapValues;
+import org.opensearch.securityanalytics.model.LogType;
+import org.opensearch.securityanalytics.model.STIX2IOC;
+import org.opensearch.securityanalytics.model.threatintel.IocFinding;
+import org.opensearch.securityanalytics.model.threatintel.IocWithFeeds;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Matches events against a set of indicators of compromise held in memory.
+ *
+ * <p>Indicators are loaded once into compact structures per indicator kind:
+ *
+ * <ul>
+ *   <li>exact values (IP addresses, domains, hashes, ...) in a hash map fronted by a {@link
+ *       IocBloomFilter}, so values matching no indicator are rejected without probing the map;
+ *   <li>CIDR blocks in a {@link CidrTrie} per address family, so an address is checked against
+ *       every block in at most one step per address bit.
+ * </ul>
+ *
+ * <p>Events are checked on the fields configured for each indicator kind by the {@link
+ * LogType.IocFields} of their log type, instead of generating doc level queries holding one term
+ * per indicator. A matcher is immutable once built and can be shared by several threads.
+ */
+public class IocMatcher {
+
+    private static final Logger log = LogManager.getLogger(IocMatcher.class);
+
+    /** Kind of the IP address indicators, {@code ipv4-addr}, {@code ipv6-addr} and {@code ip}. */
+    public static final String IP = "ip";
+
+    /** Kind of the domain name indicators, {@code domain-name} and {@code domain}. */
+    public static final String DOMAIN = "domain";
+
+    /** Kind of the file hash indicators, {@code hashes} and {@code hash}. */
+    public static final String HASH = "hash";
+
+    private final Map<String, Map<String, List<Indicator>>> exactValues;
+
+    private final IocBloomFilter bloomFilter;
+
+    private final CidrTrie<Indicator> ipv4Blocks;
+
+    private final CidrTrie<Indicator> ipv6Blocks;
+
+    private final int size;
+
+    private IocMatcher(
+            Map<String, Map<String, List<Indicator>>> exactValues,
+            IocBloomFilter bloomFilter,
+            CidrTrie<Indicator> ipv4Blocks,
+            CidrTrie<Indicator> ipv6Blocks,
+            int size) {
+        this.exactValues = exactValues;
+        this.bloomFilter = bloomFilter;
+        this.ipv4Blocks = ipv4Blocks;
+        this.ipv6Blocks = ipv6Blocks;
+        this.size = size;
+    }
+
+    /**
+     * Builds a matcher from a set of indicators. Indicators whose value isn't valid for their kind,
+     * e.g. a malformed IP address, are skipped.
+     *
+     * @param iocs the indicators
+     * @return the matcher
+     */
+    public static IocMatcher build(Collection<STIX2IOC> iocs) {
+        Map<String, Map<String, List<Indicator>>> exactValues = new HashMap<>();
+        CidrTrie<Indicator> ipv4Blocks = new CidrTrie<>(4);
+        CidrTrie<Indicator> ipv6Blocks = new CidrTrie<>(16);
+        List<String> bloomValues = new ArrayList<>(iocs.size());
+        int size = 0;
+
+        for (STIX2IOC ioc : iocs) {
+            String kind = kind(ioc.getType());
+            Indicator indicator = new Indicator(ioc.getId(), kind, ioc.getValue(), ioc.getFeedId(), ioc.getFeedName());
+            try {
+                if (IP.equals(kind) && ioc.getValue().indexOf('/') >= 0) {
+                    Tuple<InetAddress, Integer> cidr = InetAddresses.parseCidr(ioc.getValue().trim());
+                    byte[] address = cidr.v1().getAddress();
+                    (address.length == 4 ? ipv4Blocks : ipv6Blocks).add(address, cidr.v2(), indicator);
+                } else {
+                    String value = normalize(kind, ioc.getValue());
+                    if (value == null) {
+                        log.debug("Skipping indicator [{}], invalid [{}] value", ioc.getId(), kind);
+                        continue;
+                    }
+                    exactValues
+                            .computeIfAbsent(kind, k -> new HashMap<>())
+                            .computeIfAbsent(value, v -> new ArrayList<>(1))
+                            .add(indicator);
+                    bloomValues.add(value);
+                }
+                size++;
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping indicator [{}], invalid CIDR [{}]", ioc.getId(), ioc.getValue());
+            }
+        }
+
+        IocBloomFilter bloomFilter = new IocBloomFilter(bloomValues.size());
+        bloomValues.forEach(bloomFilter::add);
+        return new IocMatcher(exactValues, bloomFilter, ipv4Blocks, ipv6Blocks, size);
+    }
+
+    /**
+     * Gets the number of indicators loaded.
+     *
+     * @return the number of indicators
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks a single value against the indicators of a kind.
+     *
+     * @param iocType the indicator kind or STIX2 type
+     * @param value the event value
+     * @return the matching indicators, empty if none
+     */
+    public List<Indicator> lookup(String iocType, String value) {
+        if (value == null || value.isEmpty()) {
+            return List.of();
+        }
+        String kind = kind(iocType);
+        InetAddress address = null;
+        String normalized;
+        if (IP.equals(kind)) {
+            address = parseIp(value);
+            normalized = address == null ? null : InetAddresses.toAddrString(address);
+        } else {
+            normalized = normalize(kind, value);
+        }
+        if (normalized == null) {
+            return List.of();
+        }
+
+        List<Indicator> matches = null;
+        if (this.bloomFilter.mightContain(normalized)) {
+            Map<String, List<Indicator>> values = this.exactValues.get(kind);
+            List<Indicator> exact = values == null ? null : values.get(normalized);
+            if (exact != null) {
+                matches = new ArrayList<>(exact);
+            }
+        }
+
+        if (address != null) {
+            byte[] bytes = address.getAddress();
+            CidrTrie<Indicator> blocks = bytes.length == 4 ? this.ipv4Blocks : this.ipv6Blocks;
+            if (blocks.size() > 0) {
+                if (matches == null) {
+                    matches = new ArrayList<>(1);
+                }
+                blocks.collect(bytes, matches);
+            }
+        }
+        return matches == null || matches.isEmpty() ? List.of() : matches;
+    }
+
+    /**
+     * Checks an event on the fields configured for each indicator kind.
+     *
+     * @param event the event source, fields may be nested objects or dotted keys
+     * @param iocFields the fields to check for each indicator kind
+     * @return the matches, empty if none
+     */
+    public List<Match> match(Map<String, Object> event, List<LogType.IocFields> iocFields) {
+        List<Match> matches = new ArrayList<>();
+        for (LogType.IocFields fields : iocFields) {
+            for (String field : fields.getFields()) {
+                for (Object value : XContentMapValues.extractRawValues(field, event)) {
+                    if (value == null) {
+                        continue;
+                    }
+                    String eventValue = value.toString();
+                    for (Indicator indicator : this.lookup(fields.getIoc(), eventValue)) {
+                        matches.add(new Match(field, eventValue, indicator));
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Checks a batch of events and groups the matches into one {@link IocFinding} per indicator
+     * value, holding the ids of all the documents containing it.
+     *
+     * @param events the event sources, by document id
+     * @param iocFields the fields to check for each indicator kind
+     * @param index the index the events belong to
+     * @param monitorId the id of the monitor running the scan
+     * @param monitorName the name of the monitor running the scan
+     * @param executionId the id of the scan
+     * @param timestamp the time of the scan
+     * @return the findings, in the order the indicators were first matched
+     */
+    public List<IocFinding> findings(
+            Map<String, Map<String, Object>> events,
+            List<LogType.IocFields> iocFields,
+            String index,
+            String monitorId,
+            String monitorName,
+            String executionId,
+            Instant timestamp) {
+        Map<String, Set<String>> docIdsByValue = new LinkedHashMap<>();
+        Map<String, Map<String, Indicator>> indicatorsByValue = new HashMap<>();
+        Map<String, String> kindByValue = new HashMap<>();
+
+        for (Map.Entry<String, Map<String, Object>> event : events.entrySet()) {
+            for (Match match : this.match(event.getValue(), iocFields)) {
+                Indicator indicator = match.getIndicator();
+                String key = indicator.getKind() + ':' + indicator.getValue();
+                docIdsByValue.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(event.getKey());
+                indicatorsByValue.computeIfAbsent(key, k -> new LinkedHashMap<>()).putIfAbsent(indicator.getId(), indicator);
+                kindByValue.putIfAbsent(key, indicator.getKind());
+            }
+        }
+
+        List<IocFinding> findings = new ArrayList<>(docIdsByValue.size());
+        for (Map.Entry<String, Set<String>> entry : docIdsByValue.entrySet()) {
+            Collection<Indicator> indicators = indicatorsByValue.get(entry.getKey()).values();
+            List<IocWithFeeds> iocWithFeeds = new ArrayList<>(indicators.size());
+            for (Indicator indicator : indicators) {
+                iocWithFeeds.add(new IocWithFeeds(indicator.getId(), indicator.getFeedId(), indicator.getFeedName(), index));
+            }
+            findings.add(new IocFinding(
+                    UUID.randomUUID().toString(),
+                    new ArrayList<>(entry.getValue()),
+                    iocWithFeeds,
+                    monitorId,
+                    monitorName,
+                    indicators.iterator().next().getValue(),
+                    kindByValue.get(entry.getKey()),
+                    timestamp,
+                    executionId));
+        }
+        return findings;
+    }
+
+    /**
+     * Maps a STIX2 indicator type, or the indicator name used by {@link LogType.IocFields}, to the
+     * kind of its values.
+     */
+    static String kind(String iocType) {
+        String type = iocType == null ? "" : iocType.trim().toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "ip":
+            case "ipv4":
+            case "ipv6":
+            case "ipv4-addr":
+            case "ipv6-addr":
+                return IP;
+            case "domain":
+            case "domain-name":
+                return DOMAIN;
+            case "hash":
+            case "hashes":
+            case "file-hash":
+                return HASH;
+            default:
+                return type;
+        }
+    }
+
+    /**
+     * Normalizes a value of a kind, so that equivalent values compare equal: IP addresses are
+     * written in their canonical form, domains and hashes are lowercased.
+     *
+     * @return the normalized value, {@code null} if it isn't valid for the kind
+     */
+    static String normalize(String kind, String value) {
+        String trimmed = value.trim();
+        switch (kind) {
+            case IP:
+                InetAddress address = parseIp(trimmed);
+                return address == null ? null : InetAddresses.toAddrString(address);
+            case DOMAIN:
+                String domain = trimmed.toLowerCase(Locale.ROOT);
+                return domain.endsWith(".") ? domain.substring(0, domain.length() - 1) : domain;
+            case HASH:
+                return trimmed.toLowerCase(Locale.ROOT);
+            default:
+                return trimmed;
+        }
+    }
+
+    /** Parses an IP address literal, without name resolution. */
+    private static InetAddress parseIp(String value) {
+        try {
+            return InetAddresses.forString(value.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** An indicator loaded into the matcher. */
+    public static final class Indicator {
+        private final String id;
+        private final String kind;
+        private final String value;
+        private final String feedId;
+        private final String feedName;
+
+        Indicator(String id, String kind, String value, String feedId, String feedName) {
+            this.id = id;
+            this.kind = kind;
+            this.value = value;
+            this.feedId = feedId;
+            this.feedName = feedName;
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        public String getKind() {
+            return this.kind;
+        }
+
+        public String getValue() {
+            return this.value;
+        }
+
+        public String getFeedId() {
+            return this.feedId;
+        }
+
+        public String getFeedName() {
+            return this.feedName;
+        }
+    }
+
+    /** An event value matching an indicator. */
+    public static final class Match {
+        private final String field;
+        private final String value;
+        private final Indicator indicator;
+
+        Match(String field, String value, Indicator indicator) {
+            this.field = field;
+            this.value = value;
+            this.indicator = indicator;
+        }
+
+        public String getField() {
+            return this.field;
+        }
+
+        public String getValue() {
+            return this.value;
+        }
+
+        public Indicator getIndicator() {
+            return this.indicator;
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.opensearch.securityanalytics.transport;
 
+import com.cronutils.utils.VisibleForTesting;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
@@ -36,6 +37,8 @@ import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.common.lifecycle.LifecycleListener;
+import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
@@ -47,8 +50,10 @@ import org.opensearch.commons.alerting.action.SubscribeFindingsResponse;
 import org.opensearch.commons.alerting.model.Finding;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.InputStreamStreamInput;
 import org.opensearch.core.common.io.stream.OutputStreamStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -59,14 +64,18 @@ import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.correlation.CorrelationPipelineStats;
 import org.opensearch.securityanalytics.correlation.CorrelationRulesCache;
+import org.opensearch.securityanalytics.correlation.CorrelationSpillLog;
 import org.opensearch.securityanalytics.correlation.DetectorLookupCache;
+import org.opensearch.securityanalytics.correlation.FairCorrelationQueue;
 import org.opensearch.securityanalytics.correlation.JoinEngine;
 import org.opensearch.securityanalytics.correlation.LogTypeListCache;
 import org.opensearch.securityanalytics.correlation.VectorEmbeddingsEngine;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
 import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
 import org.opensearch.securityanalytics.enrichment.WazuhEnrichedFindingService;
+import org.opensearch.securityanalytics.indexmanagment.FindingIndexCatalog;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.CustomLogType;
 import org.opensearch.securityanalytics.model.Detector;
@@ -76,6 +85,7 @@ import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.IndexUtils;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.Scheduler;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
@@ -88,11 +98,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -138,6 +145,21 @@ public class TransportCorrelateFindingAction
 
     private final CorrelationRulesCache correlationRulesCache;
 
+    private final FindingIndexCatalog findingIndexCatalog;
+
+    private final CorrelationPipelineStats pipelineStats;
+
+    /** Findings that arrived while the backlog was full, correlated later by {@link #drainSpill()}. */
+    private final CorrelationSpillLog spillLog;
+
+    private volatile boolean spillEnabled;
+
+    /** Maximum number of spilled findings handed back to the backlog per second. */
+    private volatile int spillDrainRate;
+
+    /** Periodic run of {@link #drainSpill()}, cancelled when the node stops. */
+    private final Scheduler.Cancellable spillDrain;
+
     /**
      * Limits the number of correlation pipelines (one per published finding) running concurrently.
      * When alerting's doc-level monitor fan-out publishes many findings at once, this semaphore caps
@@ -146,25 +168,22 @@ public class TransportCorrelateFindingAction
      */
     private final Semaphore correlationPermits;
 
-    /** Pipelines waiting for an in-flight permit; drained as permits are released. */
-    private final ConcurrentLinkedQueue<AsyncCorrelateFindingAction> pendingStarts =
-            new ConcurrentLinkedQueue<>();
-
     /**
-     * Size of {@link #pendingStarts}. Incremented when an action is queued, decremented when one is
-     * drained.
+     * Pipelines waiting for an in-flight permit, by detector and severity; drained as permits are
+     * released, high severity findings first without starving any detector.
      */
-    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final FairCorrelationQueue<AsyncCorrelateFindingAction> pendingStarts =
+            new FairCorrelationQueue<>();
 
     /**
-     * Maximum allowed correlation backlog. When {@link #pendingCount} reaches this, new findings are
-     * shed instead of growing the queue {@code
+     * Maximum allowed correlation backlog. When {@link #pendingStarts} reaches this, new findings are
+     * spilled or shed instead of growing the queue {@code
      * plugins.security_analytics.correlation.max_pending_findings}.
      */
     private volatile int maxPendingFindings;
 
-    /** Count of findings shed due to a full correlation backlog (for an occasional WARN log). */
-    private final AtomicLong droppedFindings = new AtomicLong();
+    /** Share of {@link #maxPendingFindings}, as a percentage, a single detector can take. */
+    private volatile int maxPendingFindingsPerDetectorPercent;
 
     /** Tracks the current configured permit count to compute deltas on dynamic updates. */
     private volatile int currentMaxInFlight;
@@ -250,7 +269,10 @@ public class TransportCorrelateFindingAction
             WazuhEnrichedFindingService enrichedFindingService,
             DetectorLookupCache detectorLookupCache,
             LogTypeListCache logTypeListCache,
-            CorrelationRulesCache correlationRulesCache) {
+            CorrelationRulesCache correlationRulesCache,
+            FindingIndexCatalog findingIndexCatalog,
+            CorrelationPipelineStats pipelineStats,
+            CorrelationSpillLog spillLog) {
         super(
                 AlertingActions.SUBSCRIBE_FINDINGS_ACTION_NAME,
                 transportService,
@@ -269,10 +291,15 @@ public class TransportCorrelateFindingAction
         this.detectorLookupCache = detectorLookupCache;
         this.logTypeListCache = logTypeListCache;
         this.correlationRulesCache = correlationRulesCache;
+        this.findingIndexCatalog = findingIndexCatalog;
+        this.pipelineStats = pipelineStats;
+        this.spillLog = spillLog;
         this.currentMaxInFlight =
                 SecurityAnalyticsSettings.CORRELATION_MAX_IN_FLIGHT_FINDINGS.get(settings);
         this.maxPendingFindings =
                 SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS.get(settings);
+        this.maxPendingFindingsPerDetectorPercent =
+                SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS_PER_DETECTOR_PERCENT.get(settings);
         this.correlationPermits = new AdjustableSemaphore(this.currentMaxInFlight);
         this.threadPool = this.detectorIndices.getThreadPool();
 
@@ -312,6 +339,11 @@ public class TransportCorrelateFindingAction
                 .addSettingsUpdateConsumer(
                         SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS,
                         newMax -> this.maxPendingFindings = newMax);
+        this.clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS_PER_DETECTOR_PERCENT,
+                        it -> this.maxPendingFindingsPerDetectorPercent = it);
         this.clusterService
                 .getClusterSettings()
                 .addSettingsUpdateConsumer(
@@ -341,32 +373,180 @@ public class TransportCorrelateFindingAction
                 .addSettingsUpdateConsumer(
                         SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_LOW_WATERMARK_PERCENT,
                         it -> this.eventsLowWatermarkPercent = it);
+        this.spillEnabled = SecurityAnalyticsSettings.CORRELATION_SPILL_ENABLED.get(this.settings);
+        this.spillDrainRate = SecurityAnalyticsSettings.CORRELATION_SPILL_DRAIN_RATE.get(this.settings);
+        this.clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        SecurityAnalyticsSettings.CORRELATION_SPILL_ENABLED, it -> this.spillEnabled = it);
+        this.clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        SecurityAnalyticsSettings.CORRELATION_SPILL_MAX_SIZE,
+                        it -> spillLog.setMaxBytes(it.getBytes()));
+        this.clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        SecurityAnalyticsSettings.CORRELATION_SPILL_DRAIN_RATE, it -> this.spillDrainRate = it);
         this.setupTimestamp = System.currentTimeMillis();
+        this.pipelineStats.setQueue(new QueueState());
+        this.spillDrain =
+                this.threadPool.scheduleWithFixedDelay(
+                        this::drainSpill, TimeValue.timeValueSeconds(1), ThreadPool.Names.GENERIC);
+        this.clusterService.addLifecycleListener(
+                new LifecycleListener() {
+                    @Override
+                    public void beforeStop() {
+                        spillDrain.cancel();
+                    }
+                });
+    }
+
+    /** Exposes the correlation queue to {@link CorrelationPipelineStats}. */
+    private final class QueueState implements CorrelationPipelineStats.QueueState {
+        @Override
+        public int pending() {
+            return pendingStarts.size();
+        }
+
+        @Override
+        public int maxPending() {
+            return maxPendingFindings;
+        }
+
+        @Override
+        public int inFlight() {
+            return Math.max(0, currentMaxInFlight - correlationPermits.availablePermits());
+        }
+
+        @Override
+        public int maxInFlight() {
+            return currentMaxInFlight;
+        }
+
+        @Override
+        public boolean eventsWriteBlocked() {
+            return eventsBlocked.get();
+        }
+
+        @Override
+        public int spillPending() {
+            return spillLog.getPending();
+        }
+
+        @Override
+        public long spillSizeInBytes() {
+            return spillLog.getSizeInBytes();
+        }
     }
 
     /**
      * Adds {@code action} to the in-flight queue and starts as many queued pipelines as permits
      * allow. The terminal callbacks ({@link AsyncCorrelateFindingAction#onOperation()}, {@link
-     * AsyncCorrelateFindingAction#onFailures(Exception)}) release the permit.
+     * AsyncCorrelateFindingAction#onFailures(Exception)}) release the permit. When the queue is full,
+     * or the detector of the finding reached its quota, the finding is spilled to disk, or dropped if
+     * it can't be. Replayed spilled findings are always queued, {@link #drainSpill()} already checked
+     * for room.
      */
     private void scheduleCorrelation(AsyncCorrelateFindingAction action) {
-        if (pendingCount.get() >= maxPendingFindings) {
-            long n = droppedFindings.incrementAndGet();
-            if (n == 1 || n % 10000 == 0) {
-                log.warn(
-                        "Correlation queue capacity reached ({} pending). Dropping correlation and enrichment for the current finding. Total dropped so far: {}",
-                        maxPendingFindings,
-                        n);
-            }
-            action.dropForBackpressure();
+        boolean replay = action.isReplay();
+        if (!replay && pendingStarts.size() >= maxPendingFindings) {
+            overflow(action, "Correlation queue capacity reached (" + maxPendingFindings + " pending)");
             return;
         }
-        pendingCount.incrementAndGet();
-        pendingStarts.add(action);
+        int quota =
+                replay
+                        ? 0
+                        : Math.max(1, (int) ((long) maxPendingFindings * maxPendingFindingsPerDetectorPercent / 100L));
+        if (!pendingStarts.offer(action.request.getMonitorId(), action.severity, action, quota)) {
+            overflow(
+                    action,
+                    "Correlation queue quota of monitor " + action.request.getMonitorId() + " reached (" + quota + " pending)");
+            return;
+        }
+        pipelineStats.onQueued();
         evaluateBackpressure();
         drainPending();
     }
 
+    /** Spills the finding of {@code action}, or drops it if it can't be spilled. */
+    private void overflow(AsyncCorrelateFindingAction action, String reason) {
+        if (spill(action)) {
+            return;
+        }
+        long n = pipelineStats.onDropped();
+        if (n == 1 || n % 10000 == 0) {
+            log.warn(
+                    "{} and the spill log is full or disabled. Dropping correlation and enrichment for the current finding. Total dropped so far: {}",
+                    reason,
+                    n);
+        }
+        action.dropForBackpressure();
+    }
+
+    /**
+     * Appends the finding of {@code action} to the spill log and completes the action.
+     *
+     * @return false if the finding could not be spilled
+     */
+    private boolean spill(AsyncCorrelateFindingAction action) {
+        if (!spillEnabled || action.correlationSkipped) {
+            return false;
+        }
+        try {
+            BytesStreamOutput out = new BytesStreamOutput();
+            action.request.writeTo(out);
+            out.writeOptionalWriteable(action.user);
+            if (!spillLog.append(BytesReference.toBytes(out.bytes()))) {
+                return false;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to spill finding {}", action.request.getFinding().getId(), e);
+            return false;
+        }
+        pipelineStats.onSpilled();
+        action.completeSpilled();
+        return true;
+    }
+
+    /**
+     * Hands up to {@link #spillDrainRate} spilled findings back to the correlation backlog, as long
+     * as it is below half of {@link #maxPendingFindings}, so live findings keep the other half. Runs
+     * every second, and forces what was spilled and completed since the last run to disk.
+     */
+    @VisibleForTesting
+    void drainSpill() {
+        try {
+            int room = Math.max(1, maxPendingFindings / 2) - pendingStarts.size();
+            if (room > 0 && spillLog.getUndelivered() > 0 && correlationIndices.correlationIndexExists()) {
+                for (CorrelationSpillLog.Record record : spillLog.poll(Math.min(room, spillDrainRate))) {
+                    replay(record);
+                }
+            }
+            spillLog.sync();
+        } catch (Exception e) {
+            log.error("Failed to drain the correlation spill log", e);
+        }
+    }
+
+    private void replay(CorrelationSpillLog.Record record) throws IOException {
+        PublishFindingsRequest request;
+        User user;
+        try (StreamInput sin = StreamInput.wrap(record.getPayload())) {
+            request = new PublishFindingsRequest(sin);
+            user = sin.readOptionalWriteable(User::new);
+        } catch (Exception e) {
+            log.error("Discarding unreadable spilled finding {}", record.getSeq(), e);
+            spillLog.complete(record.getSeq());
+            return;
+        }
+        pipelineStats.onReplayed();
+        // Nobody waits for a replayed finding, failures are logged by onFailures.
+        scheduleCorrelation(
+                new AsyncCorrelateFindingAction(
+                        null, request, user, ActionListener.wrap(response -> {}, e -> {}), record.getSeq()));
+    }
+
     private void drainPending() {
         while (correlationPermits.tryAcquire()) {
             AsyncCorrelateFindingAction next = pendingStarts.poll();
@@ -374,7 +554,6 @@ public class TransportCorrelateFindingAction
                 correlationPermits.release();
                 return;
             }
-            pendingCount.decrementAndGet();
             next.markPermitAcquired();
             next.doStart();
         }
@@ -399,7 +578,7 @@ public class TransportCorrelateFindingAction
             return;
         }
         int max = maxPendingFindings;
-        int pending = pendingCount.get();
+        int pending = pendingStarts.size();
         long high = (long) max * eventsHighWatermarkPercent / 100L;
         long low = (long) max * eventsLowWatermarkPercent / 100L;
 
@@ -428,7 +607,7 @@ public class TransportCorrelateFindingAction
                 "Events ingestion backpressure: {} write block on '{}' (correlation backlog {}/{})",
                 block ? "Applying" : "Lifting",
                 EVENTS_INDEX_PATTERN,
-                pendingCount.get(),
+                pendingStarts.size(),
                 maxPendingFindings);
         client
                 .admin()
@@ -438,6 +617,9 @@ public class TransportCorrelateFindingAction
                         new ActionListener<>() {
                             @Override
                             public void onResponse(AcknowledgedResponse response) {
+                                if (block) {
+                                    pipelineStats.onEventsWriteBlocked();
+                                }
                                 eventsBlocked.set(block);
                                 blockTransitionInFlight.set(false);
                                 evaluateBackpressure();
@@ -628,6 +810,13 @@ public class TransportCorrelateFindingAction
         private final AtomicReference<Object> response;
         private final AtomicBoolean counter = new AtomicBoolean();
         private final Task task;
+        private final User user;
+
+        /** Sequence number in the spill log of a replayed spilled finding, or -1. */
+        private final long spillSeq;
+
+        /** Severity level the finding is queued at, see {@link FairCorrelationQueue#severityOf(Finding)}. */
+        private final int severity;
 
         /**
          * Set to {@code true} when this pipeline has acquired an in-flight permit; gates the permit
@@ -643,13 +832,30 @@ public class TransportCorrelateFindingAction
          */
         private volatile boolean correlationSkipped = false;
 
+        /** Pipeline stage being timed, or null. */
+        private volatile CorrelationPipelineStats.Stage stage;
+
+        private volatile long stageStartNanos;
+
         AsyncCorrelateFindingAction(
                 Task task,
                 PublishFindingsRequest request,
                 User user,
                 ActionListener<SubscribeFindingsResponse> listener) {
+            this(task, request, user, listener, -1);
+        }
+
+        AsyncCorrelateFindingAction(
+                Task task,
+                PublishFindingsRequest request,
+                User user,
+                ActionListener<SubscribeFindingsResponse> listener,
+                long spillSeq) {
             this.task = task;
             this.request = request;
+            this.user = user;
+            this.spillSeq = spillSeq;
+            this.severity = FairCorrelationQueue.severityOf(request.getFinding());
             this.listener = listener;
             this.response = new AtomicReference<>();
             this.joinEngine =
@@ -665,7 +871,8 @@ public class TransportCorrelateFindingAction
                             correlationAlertService,
                             notificationService,
                             user,
-                            correlationRulesCache);
+                            correlationRulesCache,
+                            findingIndexCatalog);
             this.vectorEmbeddingsEngine =
                     new VectorEmbeddingsEngine(client, indexTimeout, corrTimeWindow, this);
         }
@@ -682,6 +889,43 @@ public class TransportCorrelateFindingAction
             this.permitAcquired = true;
         }
 
+        boolean isReplay() {
+            return this.spillSeq >= 0;
+        }
+
+        /**
+         * Records the completion of a replayed spilled finding, so it isn't replayed again after a
+         * restart.
+         */
+        private void completeReplay() {
+            if (!this.isReplay()) {
+                return;
+            }
+            try {
+                spillLog.complete(this.spillSeq);
+            } catch (IOException e) {
+                log.warn("Failed to record the completion of spilled finding {}", request.getFinding().getId(), e);
+            }
+        }
+
+        /** Records the time spent in the current stage, if any, and starts timing {@code next}. */
+        private void beginStage(CorrelationPipelineStats.Stage next) {
+            long now = System.nanoTime();
+            CorrelationPipelineStats.Stage current = this.stage;
+            if (current != null) {
+                pipelineStats.recordStage(current, now - this.stageStartNanos);
+            }
+            this.stage = next;
+            this.stageStartNanos = now;
+        }
+
+        /** Records the time spent in {@code current} if it is the stage being timed. */
+        private void endStage(CorrelationPipelineStats.Stage current) {
+            if (this.stage == current) {
+                this.beginStage(null);
+            }
+        }
+
         /**
          * Fires enrichment for a finding whose monitor has just been confirmed to belong to a SAP
          * threat detector. Failures are swallowed and logged so a misbehaving enrichment cannot block
@@ -698,6 +942,7 @@ public class TransportCorrelateFindingAction
         /** Body of {@code start()}; only invoked once a permit has been acquired. */
         void doStart() {
             TransportCorrelateFindingAction.this.threadPool.getThreadContext().stashContext();
+            beginStage(CorrelationPipelineStats.Stage.DETECTOR_LOOKUP);
             String monitorId = request.getMonitorId();
             Finding finding = request.getFinding();
 
@@ -715,12 +960,14 @@ public class TransportCorrelateFindingAction
 
             Optional<Detector> cached = detectorLookupCache.get(monitorId);
             if (cached.isPresent()) {
+                endStage(CorrelationPipelineStats.Stage.DETECTOR_LOOKUP);
                 dispatchEnrichment(finding);
                 if (correlationSkipped) {
                     onOperation();
                     return;
                 }
                 try {
+                    beginStage(CorrelationPipelineStats.Stage.JOIN_ENGINE);
                     joinEngine.onSearchDetectorResponse(cached.get(), finding);
                 } catch (Exception e) {
                     onFailures(e);
@@ -768,11 +1015,13 @@ public class TransportCorrelateFindingAction
                                                                 hit.getSourceAsString());
                                         Detector detector = Detector.docParse(xcp, hit.getId(), hit.getVersion());
                                         detectorLookupCache.put(monitorId, detector);
+                                        endStage(CorrelationPipelineStats.Stage.DETECTOR_LOOKUP);
                                         dispatchEnrichment(finding);
                                         if (correlationSkipped) {
                                             onOperation();
                                             return;
                                         }
+                                        beginStage(CorrelationPipelineStats.Stage.JOIN_ENGINE);
                                         joinEngine.onSearchDetectorResponse(detector, finding);
                                     } catch (Exception e) {
                                         log.error("Exception for request {}", searchRequest, e);
@@ -797,6 +1046,7 @@ public class TransportCorrelateFindingAction
                 String detectorType,
                 Map<String, List<String>> correlatedFindings,
                 List<String> correlationRules) {
+            endStage(CorrelationPipelineStats.Stage.JOIN_ENGINE);
             try {
                 if (!IndexUtils.correlationIndexUpdated) {
                     IndexUtils.updateIndexMapping(
@@ -832,6 +1082,7 @@ public class TransportCorrelateFindingAction
                 Map<String, List<String>> correlatedFindings,
                 Finding orphanFinding,
                 List<String> correlationRules) {
+            endStage(CorrelationPipelineStats.Stage.JOIN_ENGINE);
             try {
                 if (!correlationIndices.correlationMetadataIndexExists()) {
                     correlationIndices.initCorrelationMetadataIndex(
@@ -1060,6 +1311,7 @@ public class TransportCorrelateFindingAction
                 String detectorType,
                 List<String> correlationRules,
                 Finding orphanFinding) {
+            beginStage(CorrelationPipelineStats.Stage.VECTOR_EMBEDDINGS);
             withLogTypes(
                     logTypes -> {
                         if (correlatedFindings != null) {
@@ -1132,6 +1384,13 @@ public class TransportCorrelateFindingAction
         public void onOperation() {
             this.response.set(RestStatus.OK);
             if (counter.compareAndSet(false, true)) {
+                beginStage(null);
+                completeReplay();
+                if (correlationSkipped) {
+                    pipelineStats.onSkipped();
+                } else {
+                    pipelineStats.onCompleted();
+                }
                 if (permitAcquired) {
                     releasePermitAndDrain();
                 }
@@ -1151,6 +1410,17 @@ public class TransportCorrelateFindingAction
             }
         }
 
+        /**
+         * Completes this finding once it is in the spill log. Like {@link #dropForBackpressure()} no
+         * permit was acquired, and success is answered inline; the finding is correlated when it is
+         * replayed.
+         */
+        void completeSpilled() {
+            if (counter.compareAndSet(false, true)) {
+                listener.onResponse(new SubscribeFindingsResponse(RestStatus.OK));
+            }
+        }
+
         /**
          * Skips correlation for this finding without failing the monitor execution, because bootstrap
          * of the correlation index/metadata/alert indices did not succeed for a reason other than
@@ -1176,6 +1446,9 @@ public class TransportCorrelateFindingAction
                 return;
             }
             if (counter.compareAndSet(false, true)) {
+                beginStage(null);
+                completeReplay();
+                pipelineStats.onSkipped();
                 releasePermitAndDrain();
                 listener.onResponse(new SubscribeFindingsResponse(RestStatus.OK));
             }
@@ -1188,6 +1461,9 @@ public class TransportCorrelateFindingAction
                     request.getFinding().getId(),
                     t);
             if (counter.compareAndSet(false, true)) {
+                beginStage(null);
+                completeReplay();
+                pipelineStats.onFailed();
                 if (permitAcquired) {
                     releasePermitAndDrain();
                 }
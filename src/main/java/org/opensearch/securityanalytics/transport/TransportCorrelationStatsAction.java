@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.securityanalytics.action.CorrelationStatsAction;
+import org.opensearch.securityanalytics.action.CorrelationStatsNodeResponse;
+import org.opensearch.securityanalytics.action.CorrelationStatsRequest;
+import org.opensearch.securityanalytics.action.CorrelationStatsResponse;
+import org.opensearch.securityanalytics.correlation.CorrelationPipelineStats;
+import org.opensearch.securityanalytics.correlation.CorrelationRulesCache;
+import org.opensearch.securityanalytics.correlation.DetectorLookupCache;
+import org.opensearch.securityanalytics.indexmanagment.DetectorIndexManagementService;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportRequest;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the {@link CorrelationPipelineStats}, the correlation cache stats and the history index
+ * optimization stats of each node.
+ */
+public class TransportCorrelationStatsAction
+        extends TransportNodesAction<
+                CorrelationStatsRequest,
+                CorrelationStatsResponse,
+                TransportCorrelationStatsAction.NodeRequest,
+                CorrelationStatsNodeResponse> {
+
+    private final CorrelationPipelineStats pipelineStats;
+
+    private final DetectorLookupCache detectorLookupCache;
+
+    private final CorrelationRulesCache correlationRulesCache;
+
+    private final DetectorIndexManagementService detectorIndexManagementService;
+
+    @Inject
+    public TransportCorrelationStatsAction(
+            ThreadPool threadPool,
+            ClusterService clusterService,
+            TransportService transportService,
+            ActionFilters actionFilters,
+            CorrelationPipelineStats pipelineStats,
+            DetectorLookupCache detectorLookupCache,
+            CorrelationRulesCache correlationRulesCache,
+            DetectorIndexManagementService detectorIndexManagementService) {
+        super(
+                CorrelationStatsAction.NAME,
+                threadPool,
+                clusterService,
+                transportService,
+                actionFilters,
+                CorrelationStatsRequest::new,
+                NodeRequest::new,
+                ThreadPool.Names.MANAGEMENT,
+                CorrelationStatsNodeResponse.class);
+        this.pipelineStats = pipelineStats;
+        this.detectorLookupCache = detectorLookupCache;
+        this.correlationRulesCache = correlationRulesCache;
+        this.detectorIndexManagementService = detectorIndexManagementService;
+    }
+
+    @Override
+    protected CorrelationStatsResponse newResponse(
+            CorrelationStatsRequest request,
+            List<CorrelationStatsNodeResponse> responses,
+            List<FailedNodeException> failures) {
+        return new CorrelationStatsResponse(this.clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(CorrelationStatsRequest request) {
+        return new NodeRequest();
+    }
+
+    @Override
+    protected CorrelationStatsNodeResponse newNodeResponse(StreamInput sin) throws IOException {
+        return new CorrelationStatsNodeResponse(sin);
+    }
+
+    @Override
+    protected CorrelationStatsNodeResponse nodeOperation(NodeRequest request) {
+        Map<String, CorrelationStatsNodeResponse.CacheStats> caches = new LinkedHashMap<>();
+        caches.put(
+                "detector_lookup",
+                new CorrelationStatsNodeResponse.CacheStats(
+                        this.detectorLookupCache.getHits(), this.detectorLookupCache.getMisses()));
+        caches.put(
+                "correlation_rules",
+                new CorrelationStatsNodeResponse.CacheStats(
+                        this.correlationRulesCache.getHits(), this.correlationRulesCache.getMisses()));
+        return new CorrelationStatsNodeResponse(
+                this.clusterService.localNode(),
+                this.pipelineStats,
+                caches,
+                this.detectorIndexManagementService.getOptimizationStats());
+    }
+
+    /** Request sent to each node. */
+    public static class NodeRequest extends TransportRequest {
+
+        NodeRequest() {}
+
+        NodeRequest(StreamInput sin) throws IOException {
+            super(sin);
+        }
+    }
+}
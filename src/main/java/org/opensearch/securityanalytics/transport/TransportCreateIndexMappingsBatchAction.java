@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsBatchAction;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsBatchRequest;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsBatchResponse;
+import org.opensearch.securityanalytics.mapper.MapperService;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+public class TransportCreateIndexMappingsBatchAction
+        extends HandledTransportAction<CreateIndexMappingsBatchRequest, CreateIndexMappingsBatchResponse> {
+    private final MapperService mapperService;
+
+    private final ThreadPool threadPool;
+
+    @Inject
+    public TransportCreateIndexMappingsBatchAction(
+            TransportService transportService,
+            ActionFilters actionFilters,
+            ThreadPool threadPool,
+            MapperService mapperService) {
+        super(
+                CreateIndexMappingsBatchAction.NAME,
+                transportService,
+                actionFilters,
+                CreateIndexMappingsBatchRequest::new);
+        this.mapperService = mapperService;
+        this.threadPool = threadPool;
+    }
+
+    @Override
+    protected void doExecute(
+            Task task,
+            CreateIndexMappingsBatchRequest request,
+            ActionListener<CreateIndexMappingsBatchResponse> actionListener) {
+        this.threadPool.getThreadContext().stashContext();
+
+        this.mapperService.createMappingsBatchAction(request.getRequests(), actionListener);
+    }
+}
@@ -361,6 +361,10 @@ public class TransportDeleteDetectorAction
                     new ActionListener<>() {
                         @Override
                         public void onResponse(DeleteResponse response) {
+                            if (request.isSkipTemplateCleanup()) {
+                                onOperation(response);
+                                return;
+                            }
 
                             indexTemplateManager.deleteAllUnusedTemplates(
                                     new ActionListener<Void>() {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.securityanalytics.action.ExportAction;
+import org.opensearch.securityanalytics.action.ExportRequest;
+import org.opensearch.securityanalytics.action.ExportResponse;
+import org.opensearch.securityanalytics.findings.ExportService;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+
+import java.util.Locale;
+
+/** Exports a chunk of findings or alerts, see {@link ExportService}. */
+public class TransportExportAction extends HandledTransportAction<ExportRequest, ExportResponse> implements SecureTransportAction {
+
+    private final ExportService exportService;
+
+    private final ClusterService clusterService;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    @Inject
+    public TransportExportAction(
+            TransportService transportService,
+            ActionFilters actionFilters,
+            ClusterService clusterService,
+            Settings settings,
+            ThreadPool threadPool,
+            NamedXContentRegistry xContentRegistry,
+            Client client) {
+        super(ExportAction.NAME, transportService, actionFilters, ExportRequest::new);
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.exportService = new ExportService(client, clusterService, xContentRegistry);
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+    }
+
+    @Override
+    protected void doExecute(Task task, ExportRequest request, ActionListener<ExportResponse> listener) {
+        User user = this.readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = this.validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            listener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+            return;
+        }
+
+        int maxChunkDocs = this.clusterService.getClusterSettings().get(SecurityAnalyticsSettings.EXPORT_MAX_CHUNK_DOCS);
+        if (request.getSize() > maxChunkDocs) {
+            listener.onFailure(new OpenSearchStatusException(
+                    String.format(Locale.getDefault(), "size can't be greater than %d", maxChunkDocs), RestStatus.BAD_REQUEST));
+            return;
+        }
+
+        this.exportService.export(request, ActionListener.wrap(listener::onResponse, e -> listener.onFailure(SecurityAnalyticsException.wrap(e))));
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+}
@@ -32,6 +32,7 @@ import org.opensearch.securityanalytics.action.GetFindingsRequest;
 import org.opensearch.securityanalytics.action.GetFindingsResponse;
 import org.opensearch.securityanalytics.action.SearchDetectorRequest;
 import org.opensearch.securityanalytics.findings.FindingsService;
+import org.opensearch.securityanalytics.indexmanagment.FindingIndexCatalog;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
@@ -79,7 +80,8 @@ public class TransportGetFindingsAction extends HandledTransportAction<GetFindin
             TransportSearchDetectorAction transportSearchDetectorAction,
             NamedXContentRegistry xContentRegistry,
             Client client,
-            LogTypeService logTypeService
+            LogTypeService logTypeService,
+            FindingIndexCatalog findingIndexCatalog
     ) {
         super(GetFindingsAction.NAME, transportService, actionFilters, GetFindingsRequest::new);
         this.xContentRegistry = xContentRegistry;
@@ -89,7 +91,7 @@ public class TransportGetFindingsAction extends HandledTransportAction<GetFindin
         this.logTypeService = logTypeService;
         this.threadPool = detectorIndices.getThreadPool();
         this.settings = settings;
-        this.findingsService = new FindingsService(client);
+        this.findingsService = new FindingsService(client, findingIndexCatalog, clusterService);
         this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
     }
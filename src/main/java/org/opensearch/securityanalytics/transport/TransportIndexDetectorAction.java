@@ -104,7 +104,10 @@ import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.AggregationQueries;
 import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.backend.QueryConversionCache;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.ExceptionChecker;
@@ -1541,6 +1544,27 @@ public class TransportIndexDetectorAction
                 });
     }
 
+    /**
+     * Builds the filter of a bucket level monitor, either from the stored query string of the rule or,
+     * for detectors using the DSL query backend, by converting the rule to structured queries.
+     */
+    private QueryBuilder bucketLevelMonitorQuery(Rule rule, Detector detector, QueryBackend queryBackend)
+            throws IOException, SigmaError {
+        if (!detector.usesDslQueryBackend()) {
+            return QueryBuilders.queryStringQuery(rule.getQueries().get(0).getValue());
+        }
+        QueryConversionCache.Conversion conversion =
+                this.ruleIndices
+                        .getQueryConversionCache()
+                        .convert(
+                                QueryConversionCache.Backend.DSL,
+                                SigmaRule.fromYaml(rule.getRule(), true),
+                                rule.getRule(),
+                                queryBackend.getFieldMappings(),
+                                true);
+        return (QueryBuilder) conversion.getQueries().get(0);
+    }
+
     private void createBucketLevelMonitorRequest(
             Rule rule,
             Detector detector,
@@ -1560,8 +1584,7 @@ public class TransportIndexDetectorAction
                     new SearchSourceBuilder()
                             .seqNoAndPrimaryTerm(true)
                             .version(true)
-                            // Build query string filter
-                            .query(QueryBuilders.queryStringQuery(rule.getQueries().get(0).getValue()))
+                            .query(this.bucketLevelMonitorQuery(rule, detector, queryBackend))
                             .aggregation(aggregationQueries.getAggBuilder());
             // input index can also be an index pattern or alias so we have to resolve it to concrete
             // index
@@ -57,8 +57,7 @@ import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.FieldMappingDoc;
 import org.opensearch.securityanalytics.model.Rule;
-import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
-import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.backend.QueryConversionCache;
 import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
@@ -245,22 +244,29 @@ public class TransportIndexRuleAction
                                     AsyncIndexRulesAction.this.onFailures(parsedRule.getErrors());
                                     return;
                                 }
-                                QueryBackend backend = new OSQueryBackend(fieldMappings, true, true);
                                 if (AsyncIndexRulesAction.this.request.getDocumentId() != null) {
                                     ruleId = UUID.randomUUID().toString();
                                 } else if (AsyncIndexRulesAction.this.request.getRuleId() != null) {
                                     ruleId = AsyncIndexRulesAction.this.request.getRuleId();
                                 }
-                                List<Object> queries = backend.convertRule(parsedRule);
-                                Set<String> queryFieldNames = backend.getQueryFields().keySet();
+                                QueryConversionCache.Conversion conversion =
+                                        TransportIndexRuleAction.this
+                                                .ruleIndices
+                                                .getQueryConversionCache()
+                                                .convert(
+                                                        QueryConversionCache.Backend.QUERY_STRING,
+                                                        parsedRule,
+                                                        rule,
+                                                        fieldMappings,
+                                                        true);
                                 Rule ruleDoc =
                                         new Rule(
                                                 ruleId,
                                                 NO_VERSION,
                                                 parsedRule,
                                                 category,
-                                                queries,
-                                                new ArrayList<>(queryFieldNames),
+                                                conversion.getQueries(),
+                                                new ArrayList<>(conversion.getQueryFieldNames()),
                                                 rule);
                                 ruleDoc.setDocumentId(AsyncIndexRulesAction.this.request.getDocumentId());
                                 ruleDoc.setSpace(AsyncIndexRulesAction.this.request.getSpace());
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.securityanalytics.action.HotRuleDto;
+import org.opensearch.securityanalytics.action.RuleProfileAction;
+import org.opensearch.securityanalytics.action.RuleProfileNodeResponse;
+import org.opensearch.securityanalytics.action.RuleProfileRequest;
+import org.opensearch.securityanalytics.action.RuleProfileResponse;
+import org.opensearch.securityanalytics.rules.engine.EventMatcher;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportRequest;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/** Collects the most expensive rules from the {@link EventMatcher} of each node. */
+public class TransportRuleProfileAction
+        extends TransportNodesAction<
+                RuleProfileRequest,
+                RuleProfileResponse,
+                TransportRuleProfileAction.NodeRequest,
+                RuleProfileNodeResponse> {
+
+    private final EventMatcher eventMatcher;
+
+    @Inject
+    public TransportRuleProfileAction(
+            ThreadPool threadPool,
+            ClusterService clusterService,
+            TransportService transportService,
+            ActionFilters actionFilters,
+            EventMatcher eventMatcher) {
+        super(
+                RuleProfileAction.NAME,
+                threadPool,
+                clusterService,
+                transportService,
+                actionFilters,
+                RuleProfileRequest::new,
+                NodeRequest::new,
+                ThreadPool.Names.MANAGEMENT,
+                RuleProfileNodeResponse.class);
+        this.eventMatcher = eventMatcher;
+    }
+
+    @Override
+    protected RuleProfileResponse newResponse(
+            RuleProfileRequest request, List<RuleProfileNodeResponse> responses, List<FailedNodeException> failures) {
+        return new RuleProfileResponse(this.clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(RuleProfileRequest request) {
+        return new NodeRequest(request);
+    }
+
+    @Override
+    protected RuleProfileNodeResponse newNodeResponse(StreamInput sin) throws IOException {
+        return new RuleProfileNodeResponse(sin);
+    }
+
+    @Override
+    protected RuleProfileNodeResponse nodeOperation(NodeRequest request) {
+        List<HotRuleDto> rules =
+                this.eventMatcher.getHotRules(request.size, request.order).stream()
+                        .map(HotRuleDto::new)
+                        .collect(Collectors.toList());
+        return new RuleProfileNodeResponse(
+                this.clusterService.localNode(), this.eventMatcher.isProfiling(), rules);
+    }
+
+    /** Request sent to each node. */
+    public static class NodeRequest extends TransportRequest {
+
+        private final int size;
+
+        private final EventMatcher.CostOrder order;
+
+        NodeRequest(RuleProfileRequest request) {
+            this.size = request.getSize();
+            this.order = request.getOrder();
+        }
+
+        NodeRequest(StreamInput sin) throws IOException {
+            super(sin);
+            this.size = sin.readVInt();
+            this.order = sin.readEnum(EventMatcher.CostOrder.class);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeVInt(this.size);
+            out.writeEnum(this.order);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
@@ -31,6 +32,7 @@ import org.opensearch.securityanalytics.action.CorrelatedFindingRequest;
 import org.opensearch.securityanalytics.action.CorrelatedFindingResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.correlation.index.query.CorrelationQueryBuilder;
+import org.opensearch.securityanalytics.indexmanagment.FindingIndexCatalog;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.FindingWithScore;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
@@ -63,19 +65,23 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
 
     private final ThreadPool threadPool;
 
+    private final FindingIndexCatalog findingIndexCatalog;
+
     @Inject
     public TransportSearchCorrelationAction(TransportService transportService,
                                             Client client,
                                             NamedXContentRegistry xContentRegistry,
                                             ClusterService clusterService,
                                             Settings settings,
-                                            ActionFilters actionFilters) {
+                                            ActionFilters actionFilters,
+                                            FindingIndexCatalog findingIndexCatalog) {
         super(CorrelatedFindingAction.NAME, transportService, actionFilters, CorrelatedFindingRequest::new);
         this.client = client;
         this.xContentRegistry = xContentRegistry;
         this.clusterService = clusterService;
         this.settings = settings;
         this.threadPool = this.client.threadPool();
+        this.findingIndexCatalog = findingIndexCatalog;
     }
 
     @Override
@@ -188,7 +194,9 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
                                         searchSourceBuilder.fetchSource(true);
                                         searchSourceBuilder.size(noOfNearbyFindings);
                                         SearchRequest searchRequest = new SearchRequest();
-                                        searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+                                        searchRequest.indices(findingIndexCatalog.correlationHistoryIndices(
+                                                findingTimestamp - timeWindow, findingTimestamp + timeWindow));
+                                        searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
                                         searchRequest.source(searchSourceBuilder);
                                         searchRequest.preference(Preference.PRIMARY_FIRST.type());
 
@@ -19,6 +19,7 @@ package org.opensearch.securityanalytics.transport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
 import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.delete.DeleteRequest;
@@ -26,7 +27,9 @@ import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.action.support.WriteRequest;
+import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.query.QueryBuilders;
@@ -35,18 +38,24 @@ import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.action.DeleteDetectorAction;
 import org.opensearch.securityanalytics.action.DeleteDetectorRequest;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.mapper.IndexTemplateManager;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import com.wazuh.securityanalytics.action.WDeleteSpaceResourcesAction;
 import com.wazuh.securityanalytics.action.WDeleteSpaceResourcesRequest;
@@ -59,7 +68,9 @@ import com.wazuh.securityanalytics.action.WDeleteSpaceResourcesResponse;
  *
  * <ol>
  *   <li><b>Detectors</b> — must go first; integrations cannot be deleted while detectors reference
- *       them.
+ *       them. Detectors are deleted concurrently, at most {@link
+ *       SecurityAnalyticsSettings#SPACE_DELETION_MAX_CONCURRENT_DETECTORS} at a time, and the
+ *       unused index templates are cleaned up once after the last one.
  *   <li><b>Rules</b> — deleted via direct bulk request on both pre-packaged and custom indices.
  *   <li><b>Integrations</b> — deleted via direct bulk request on the log-type index.
  * </ol>
@@ -82,17 +93,35 @@ public class WTransportDeleteSpaceResourcesAction
     private static final String INTEGRATION_NAME_FIELD = "name";
     private static final int MAX_RESULTS = 10000;
 
+    /** Maximum number of detector failures reported back in the response. */
+    static final int MAX_REPORTED_DETECTOR_FAILURES = 100;
+
     private final Client client;
+    private final IndexTemplateManager indexTemplateManager;
+    private volatile int maxConcurrentDetectors;
 
     @Inject
     public WTransportDeleteSpaceResourcesAction(
-            TransportService transportService, Client client, ActionFilters actionFilters) {
+            TransportService transportService,
+            Client client,
+            ActionFilters actionFilters,
+            IndexTemplateManager indexTemplateManager,
+            ClusterService clusterService,
+            Settings settings) {
         super(
                 WDeleteSpaceResourcesAction.NAME,
                 transportService,
                 actionFilters,
                 WDeleteSpaceResourcesRequest::new);
         this.client = client;
+        this.indexTemplateManager = indexTemplateManager;
+        this.maxConcurrentDetectors =
+                SecurityAnalyticsSettings.SPACE_DELETION_MAX_CONCURRENT_DETECTORS.get(settings);
+        clusterService
+                .getClusterSettings()
+                .addSettingsUpdateConsumer(
+                        SecurityAnalyticsSettings.SPACE_DELETION_MAX_CONCURRENT_DETECTORS,
+                        value -> this.maxConcurrentDetectors = value);
     }
 
     @Override
@@ -137,7 +166,7 @@ public class WTransportDeleteSpaceResourcesAction
                 integrationNames,
                 refreshPolicy,
                 ActionListener.wrap(
-                        deletedDetectors ->
+                        detectors ->
                                 // Step 3: Bulk-delete rules.
                                 this.bulkDeleteRules(
                                         space,
@@ -152,31 +181,38 @@ public class WTransportDeleteSpaceResourcesAction
                                                                         deletedIntegrations -> {
                                                                             log.info(
                                                                                     "Space [{}] delete complete: "
-                                                                                            + "[{}] detectors, [{}] rules, [{}] integrations",
+                                                                                            + "[{}] detectors ([{}] failed), [{}] rules, [{}] integrations",
                                                                                     space,
-                                                                                    deletedDetectors,
+                                                                                    detectors.deleted,
+                                                                                    detectors.failures.size(),
                                                                                     deletedRules,
                                                                                     deletedIntegrations);
                                                                             listener.onResponse(
                                                                                     new WDeleteSpaceResourcesResponse(
-                                                                                            deletedIntegrations, deletedRules, false, null));
+                                                                                            detectors.deleted,
+                                                                                            detectors.failures,
+                                                                                            deletedIntegrations,
+                                                                                            deletedRules,
+                                                                                            false,
+                                                                                            null));
                                                                         },
-                                                                        e -> partialFailure(listener, 0, deletedRules, e))),
-                                                e -> partialFailure(listener, 0, 0, e))),
-                        e -> partialFailure(listener, 0, 0, e)));
+                                                                        e -> partialFailure(listener, detectors, 0, deletedRules, e))),
+                                                e -> partialFailure(listener, detectors, 0, 0, e))),
+                        e -> partialFailure(listener, DetectorDeletionResult.EMPTY, 0, 0, e)));
     }
 
     /**
      * Finds and deletes all detectors whose {@code detector.detector_type} matches any of the given
-     * integration names. Detectors are deleted sequentially via {@link DeleteDetectorAction} to
-     * ensure proper resource cleanup (alerts, findings, etc.).
+     * integration names. Detectors are deleted via {@link DeleteDetectorAction} to ensure proper
+     * resource cleanup (workflow, monitors, etc.), with bounded concurrency. The per-detector refresh
+     * and unused template cleanup are skipped and done once after the last detector instead.
      */
     private void deleteDetectors(
             List<String> integrationNames,
             WriteRequest.RefreshPolicy refreshPolicy,
-            ActionListener<Integer> listener) {
+            ActionListener<DetectorDeletionResult> listener) {
         if (integrationNames.isEmpty()) {
-            listener.onResponse(0);
+            listener.onResponse(DetectorDeletionResult.EMPTY);
             return;
         }
 
@@ -195,35 +231,161 @@ public class WTransportDeleteSpaceResourcesAction
                 ActionListener.wrap(
                         response -> {
                             List<String> ids = collectIds(response);
-                            this.deleteDetectorsSequentially(
-                                    ids.iterator(), refreshPolicy, new AtomicInteger(0), listener);
+                            this.deleteDetectorsConcurrently(ids, refreshPolicy, listener);
                         },
-                        e -> resolveOrFail(e, 0, listener)));
+                        e -> resolveOrFail(e, DetectorDeletionResult.EMPTY, listener)));
     }
 
-    private void deleteDetectorsSequentially(
-            Iterator<String> iterator,
+    private void deleteDetectorsConcurrently(
+            List<String> ids,
             WriteRequest.RefreshPolicy refreshPolicy,
-            AtomicInteger deleted,
-            ActionListener<Integer> listener) {
-        if (!iterator.hasNext()) {
-            listener.onResponse(deleted.get());
+            ActionListener<DetectorDeletionResult> listener) {
+        if (ids.isEmpty()) {
+            listener.onResponse(DetectorDeletionResult.EMPTY);
             return;
         }
 
-        String id = iterator.next();
-        this.client.execute(
-                DeleteDetectorAction.INSTANCE,
-                new DeleteDetectorRequest(id, refreshPolicy, true),
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        // Log progress roughly every 10% of the detectors.
+        int progressStep = Math.max(1, ids.size() / 10);
+        int concurrency = this.maxConcurrentDetectors;
+        log.info(
+                "Deleting [{}] detectors with up to [{}] concurrent deletions", ids.size(), concurrency);
+
+        forEachBounded(
+                ids,
+                concurrency,
+                (id, done) ->
+                        this.client.execute(
+                                DeleteDetectorAction.INSTANCE,
+                                new DeleteDetectorRequest(id, WriteRequest.RefreshPolicy.NONE, true, true),
+                                ActionListener.runAfter(
+                                        ActionListener.wrap(
+                                                response -> deleted.incrementAndGet(),
+                                                e -> {
+                                                    log.warn("Failed to delete detector [{}]: {}", id, e.getMessage());
+                                                    failures.add(id + ": " + e.getMessage());
+                                                }),
+                                        () -> {
+                                            int count = completed.incrementAndGet();
+                                            if (count % progressStep == 0 || count == ids.size()) {
+                                                log.info(
+                                                        "Detector deletion progress: [{}/{}] processed, [{}] failed",
+                                                        count,
+                                                        ids.size(),
+                                                        failures.size());
+                                            }
+                                            done.onResponse(null);
+                                        })),
                 ActionListener.wrap(
-                        response -> {
-                            deleted.incrementAndGet();
-                            this.deleteDetectorsSequentially(iterator, refreshPolicy, deleted, listener);
-                        },
-                        e -> {
-                            log.warn("Failed to delete detector [{}]: {}", id, e.getMessage());
-                            this.deleteDetectorsSequentially(iterator, refreshPolicy, deleted, listener);
-                        }));
+                        v ->
+                                this.afterDetectorsDeleted(
+                                        refreshPolicy,
+                                        ActionListener.wrap(
+                                                r ->
+                                                        listener.onResponse(
+                                                                new DetectorDeletionResult(deleted.get(), failures)),
+                                                listener::onFailure)),
+                        listener::onFailure));
+    }
+
+    /**
+     * Runs {@code action} on every item, with at most {@code maxConcurrency} actions in flight.
+     * Items are started in list order; {@code onComplete} is notified once every action has signaled
+     * its completion listener. Actions are expected to record their own failures and always complete
+     * their listener.
+     */
+    static <T> void forEachBounded(
+            List<T> items,
+            int maxConcurrency,
+            BiConsumer<T, ActionListener<Void>> action,
+            ActionListener<Void> onComplete) {
+        if (items.isEmpty()) {
+            onComplete.onResponse(null);
+            return;
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger pending = new AtomicInteger(items.size());
+        int workers = Math.min(Math.max(1, maxConcurrency), items.size());
+        for (int i = 0; i < workers; i++) {
+            startNext(items, next, pending, action, onComplete);
+        }
+    }
+
+    /**
+     * Starts items one after another on the calling thread for as long as their actions complete
+     * synchronously. Whichever of the caller and the completion listener finishes second continues
+     * with the next item, so a long run of synchronous completions loops here instead of recursing
+     * through the listeners.
+     */
+    private static <T> void startNext(
+            List<T> items,
+            AtomicInteger next,
+            AtomicInteger pending,
+            BiConsumer<T, ActionListener<Void>> action,
+            ActionListener<Void> onComplete) {
+        while (true) {
+            int index = next.getAndIncrement();
+            if (index >= items.size()) {
+                return;
+            }
+            AtomicBoolean handedOff = new AtomicBoolean();
+            ActionListener<Void> done =
+                    ActionListener.wrap(
+                            () -> {
+                                if (pending.decrementAndGet() == 0) {
+                                    onComplete.onResponse(null);
+                                } else if (handedOff.compareAndSet(false, true) == false) {
+                                    startNext(items, next, pending, action, onComplete);
+                                }
+                            });
+            try {
+                action.accept(items.get(index), done);
+            } catch (Exception e) {
+                log.warn("Bounded action failed for item [{}]: {}", items.get(index), e.getMessage());
+                done.onResponse(null);
+            }
+            if (handedOff.compareAndSet(false, true)) {
+                // Still in flight: its listener starts the next item once it completes.
+                return;
+            }
+        }
+    }
+
+    /**
+     * Performs the work skipped by the individual detector deletions: a single refresh of the
+     * detectors index (unless the request opted out of refreshing) and a single cleanup of the index
+     * templates no longer used by any detector. Failures are logged and do not fail the teardown.
+     */
+    private void afterDetectorsDeleted(
+            WriteRequest.RefreshPolicy refreshPolicy, ActionListener<Void> listener) {
+        ActionListener<Void> cleanupTemplates =
+                ActionListener.wrap(
+                        () ->
+                                this.indexTemplateManager.deleteAllUnusedTemplates(
+                                        ActionListener.wrap(
+                                                listener::onResponse,
+                                                e -> {
+                                                    log.error("Error deleting unused templates: {}", e.getMessage());
+                                                    listener.onResponse(null);
+                                                })));
+        if (refreshPolicy == WriteRequest.RefreshPolicy.NONE) {
+            cleanupTemplates.onResponse(null);
+            return;
+        }
+        this.client
+                .admin()
+                .indices()
+                .refresh(
+                        new RefreshRequest(Detector.DETECTORS_INDEX),
+                        ActionListener.wrap(
+                                r -> cleanupTemplates.onResponse(null),
+                                e -> {
+                                    log.warn("Failed to refresh detectors index: {}", e.getMessage());
+                                    cleanupTemplates.onResponse(null);
+                                }));
     }
 
     /**
@@ -369,12 +531,43 @@ public class WTransportDeleteSpaceResourcesAction
     /** Returns a partial-success response, logging the failure. */
     private static void partialFailure(
             ActionListener<WDeleteSpaceResourcesResponse> listener,
+            DetectorDeletionResult detectors,
             int deletedIntegrations,
             int deletedRules,
             Exception e) {
         log.error("Space resource deletion failed partially: {}", e.getMessage());
         listener.onResponse(
-                new WDeleteSpaceResourcesResponse(deletedIntegrations, deletedRules, true, e.getMessage()));
+                new WDeleteSpaceResourcesResponse(
+                        detectors.deleted,
+                        detectors.failures,
+                        deletedIntegrations,
+                        deletedRules,
+                        true,
+                        e.getMessage()));
+    }
+
+    /**
+     * Outcome of the detector deletion step: how many detectors were deleted and the failures, capped
+     * to {@link #MAX_REPORTED_DETECTOR_FAILURES} entries.
+     */
+    static class DetectorDeletionResult {
+        static final DetectorDeletionResult EMPTY =
+                new DetectorDeletionResult(0, Collections.emptyList());
+
+        final int deleted;
+        final List<String> failures;
+
+        DetectorDeletionResult(int deleted, Collection<String> failures) {
+            this.deleted = deleted;
+            List<String> reported = new ArrayList<>();
+            for (String failure : failures) {
+                if (reported.size() >= MAX_REPORTED_DETECTOR_FAILURES) {
+                    break;
+                }
+                reported.add(failure);
+            }
+            this.failures = Collections.unmodifiableList(reported);
+        }
     }
 
     /** Holds an integration {@code _id} and its logical name. */
@@ -18,17 +18,33 @@ package org.opensearch.securityanalytics.transport;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.securityanalytics.action.GetDetectorAction;
+import org.opensearch.securityanalytics.action.GetDetectorRequest;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.DetectorRule;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.engine.CompiledRuleCache;
 import org.opensearch.securityanalytics.rules.engine.EventMatcher;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.wazuh.securityanalytics.action.WEvaluateRulesAction;
 import com.wazuh.securityanalytics.action.WEvaluateRulesRequest;
@@ -37,6 +53,10 @@ import com.wazuh.securityanalytics.action.WEvaluateRulesResponse;
 /**
  * Transport action handler for evaluating Sigma rules against a normalized event.
  *
+ * <p>Rules referenced by detector or rule id are resolved from the rule indices. Their document
+ * versions are read first, and only the rules missing from the {@link CompiledRuleCache} at that
+ * version are fetched and compiled.
+ *
  * @see WEvaluateRulesAction
  * @see EventMatcher
  */
@@ -45,49 +65,231 @@ public class WTransportEvaluateRulesAction
 
     private static final Logger log = LogManager.getLogger(WTransportEvaluateRulesAction.class);
 
+    private static final String[] RULE_INDICES = {Rule.PRE_PACKAGED_RULES_INDEX, Rule.CUSTOM_RULES_INDEX};
+
+    private static final String RULE_YAML_FIELD = "rule.rule";
+
     private final EventMatcher eventMatcher;
 
+    private final CompiledRuleCache compiledRuleCache;
+
+    private final Client client;
+
     /**
      * Constructs a new WTransportEvaluateRulesAction.
      *
      * @param transportService the transport service
      * @param actionFilters the action filters
      * @param eventMatcher the injected event matcher engine
+     * @param compiledRuleCache the injected cache of compiled stored rules
+     * @param client the client used to resolve stored detectors and rules
      */
     @Inject
     public WTransportEvaluateRulesAction(
-            TransportService transportService, ActionFilters actionFilters, EventMatcher eventMatcher) {
+            TransportService transportService,
+            ActionFilters actionFilters,
+            EventMatcher eventMatcher,
+            CompiledRuleCache compiledRuleCache,
+            Client client) {
         super(WEvaluateRulesAction.NAME, transportService, actionFilters, WEvaluateRulesRequest::new);
         this.eventMatcher = eventMatcher;
+        this.compiledRuleCache = compiledRuleCache;
+        this.client = client;
     }
 
     @Override
     protected void doExecute(
             Task task, WEvaluateRulesRequest request, ActionListener<WEvaluateRulesResponse> listener) {
-        try {
-            List<SigmaRule> parsedRules = new ArrayList<>();
+        List<SigmaRule> parsedRules = new ArrayList<>();
+        if (request.getRulesBodies() != null) {
             for (String ruleBody : request.getRulesBodies()) {
                 try {
-                    parsedRules.add(SigmaRule.fromYaml(ruleBody, true));
+                    parsedRules.add(CompiledRuleCache.compile(ruleBody));
                 } catch (Exception e) {
                     log.warn("Failed to parse Sigma rule YAML: {}", e.getMessage());
                 }
             }
+        }
 
+        this.resolveRuleIds(
+                request,
+                ActionListener.delegateFailure(
+                        listener,
+                        (idsListener, ruleIds) ->
+                                this.resolveRules(
+                                        ruleIds,
+                                        ActionListener.delegateFailure(
+                                                idsListener,
+                                                (rulesListener, storedRules) -> {
+                                                    parsedRules.addAll(storedRules);
+                                                    this.evaluate(request, parsedRules, rulesListener);
+                                                }))));
+    }
+
+    private void evaluate(
+            WEvaluateRulesRequest request,
+            List<SigmaRule> parsedRules,
+            ActionListener<WEvaluateRulesResponse> listener) {
+        try {
             if (parsedRules.isEmpty()) {
                 log.warn("No valid rules were parsed for this request. Skipping event evaluation.");
-                String emptyResult =
-                        "{\"status\":\"success\",\"rules_evaluated\":0,\"rules_matched\":0,\"matches\":[]}";
-                listener.onResponse(new WEvaluateRulesResponse(emptyResult));
+                listener.onResponse(WEvaluateRulesResponse.empty());
                 return;
             }
 
-            String resultJson = eventMatcher.evaluate(request.getEventJson(), parsedRules);
-
-            listener.onResponse(new WEvaluateRulesResponse(resultJson));
+            // Aggregation conditions count the events of the detector; ad-hoc rule sets share no state
+            String detectorId = request.getDetectorId();
+            String scope = detectorId == null || detectorId.isEmpty() ? null : detectorId;
+            // Large rule sets are evaluated on the rule matcher pool, not on this thread
+            eventMatcher.evaluateRules(request.getEventJson(), parsedRules, scope, listener);
         } catch (Exception e) {
             log.error("Failed to evaluate Sigma rules against event.", e);
             listener.onFailure(e);
         }
     }
+
+    /** Collects the ids of the stored rules a request references, in order and without duplicates. */
+    private void resolveRuleIds(WEvaluateRulesRequest request, ActionListener<List<String>> listener) {
+        Set<String> ruleIds = new LinkedHashSet<>();
+        String detectorId = request.getDetectorId();
+        if (detectorId == null || detectorId.isEmpty()) {
+            if (request.getRuleIds() != null) {
+                ruleIds.addAll(request.getRuleIds());
+            }
+            listener.onResponse(new ArrayList<>(ruleIds));
+            return;
+        }
+
+        this.client.execute(
+                GetDetectorAction.INSTANCE,
+                new GetDetectorRequest(detectorId, -3L),
+                ActionListener.delegateFailure(
+                        listener,
+                        (delegatedListener, getDetectorResponse) -> {
+                            Detector detector = getDetectorResponse.getDetector();
+                            for (DetectorInput input : detector.getInputs()) {
+                                input.getPrePackagedRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+                                input.getCustomRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+                            }
+                            if (request.getRuleIds() != null) {
+                                ruleIds.addAll(request.getRuleIds());
+                            }
+                            delegatedListener.onResponse(new ArrayList<>(ruleIds));
+                        }));
+    }
+
+    /**
+     * Resolves stored rules from the compiled rule cache. The current version of every rule document
+     * is read without its source, and only the rules not cached at that version are fetched.
+     */
+    private void resolveRules(List<String> ruleIds, ActionListener<List<SigmaRule>> listener) {
+        if (ruleIds.isEmpty()) {
+            listener.onResponse(List.of());
+            return;
+        }
+
+        MultiGetRequest versionsRequest = new MultiGetRequest();
+        for (String ruleId : ruleIds) {
+            for (String index : RULE_INDICES) {
+                versionsRequest.add(
+                        new MultiGetRequest.Item(index, ruleId)
+                                .fetchSourceContext(FetchSourceContext.DO_NOT_FETCH_SOURCE));
+            }
+        }
+
+        this.client.multiGet(
+                versionsRequest,
+                ActionListener.delegateFailure(
+                        listener,
+                        (delegatedListener, versionsResponse) -> {
+                            Map<String, SigmaRule> rules = new HashMap<>();
+                            Map<String, String> missIndices = new HashMap<>();
+                            for (MultiGetItemResponse item : versionsResponse.getResponses()) {
+                                String ruleId = item.getId();
+                                if (item.isFailed()
+                                        || !item.getResponse().isExists()
+                                        || rules.containsKey(ruleId)
+                                        || missIndices.containsKey(ruleId)) {
+                                    continue;
+                                }
+                                GetResponse response = item.getResponse();
+                                SigmaRule cached =
+                                        this.compiledRuleCache.get(response.getIndex(), ruleId, response.getVersion());
+                                if (cached != null) {
+                                    rules.put(ruleId, cached);
+                                } else {
+                                    missIndices.put(ruleId, response.getIndex());
+                                }
+                            }
+
+                            if (missIndices.isEmpty()) {
+                                delegatedListener.onResponse(orderedRules(ruleIds, rules));
+                                return;
+                            }
+                            this.fetchRules(missIndices, rules, ruleIds, delegatedListener);
+                        }));
+    }
+
+    /** Fetches, compiles and caches the YAML of the rules missing from the cache. */
+    private void fetchRules(
+            Map<String, String> missIndices,
+            Map<String, SigmaRule> rules,
+            List<String> ruleIds,
+            ActionListener<List<SigmaRule>> listener) {
+        FetchSourceContext ruleYaml = new FetchSourceContext(true, new String[] {RULE_YAML_FIELD}, null);
+        MultiGetRequest rulesRequest = new MultiGetRequest();
+        missIndices.forEach(
+                (ruleId, index) ->
+                        rulesRequest.add(new MultiGetRequest.Item(index, ruleId).fetchSourceContext(ruleYaml)));
+
+        this.client.multiGet(
+                rulesRequest,
+                ActionListener.delegateFailure(
+                        listener,
+                        (delegatedListener, rulesResponse) -> {
+                            for (MultiGetItemResponse item : rulesResponse.getResponses()) {
+                                if (item.isFailed() || !item.getResponse().isExists()) {
+                                    continue;
+                                }
+                                GetResponse response = item.getResponse();
+                                try {
+                                    rules.put(
+                                            item.getId(),
+                                            this.compiledRuleCache.put(
+                                                    response.getIndex(),
+                                                    item.getId(),
+                                                    response.getVersion(),
+                                                    ruleYaml(response.getSourceAsMap())));
+                                } catch (Exception e) {
+                                    log.warn("Failed to parse stored Sigma rule [{}]: {}", item.getId(), e.getMessage());
+                                }
+                            }
+                            delegatedListener.onResponse(orderedRules(ruleIds, rules));
+                        }));
+    }
+
+    private static List<SigmaRule> orderedRules(List<String> ruleIds, Map<String, SigmaRule> rules) {
+        List<SigmaRule> ordered = new ArrayList<>(rules.size());
+        for (String ruleId : ruleIds) {
+            SigmaRule rule = rules.get(ruleId);
+            if (rule != null) {
+                ordered.add(rule);
+            } else {
+                log.warn("Stored Sigma rule [{}] not found, skipping it.", ruleId);
+            }
+        }
+        return ordered;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String ruleYaml(Map<String, Object> source) {
+        Object rule = source.get(Rule.RULE);
+        if (rule instanceof Map) {
+            Object yaml = ((Map<String, Object>) rule).get(Rule.RULE);
+            if (yaml instanceof String) {
+                return (String) yaml;
+            }
+        }
+        throw new IllegalArgumentException("rule document has no rule YAML");
+    }
 }
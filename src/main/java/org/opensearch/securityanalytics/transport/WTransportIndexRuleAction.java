@@ -34,8 +34,8 @@ import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.FieldMappingDoc;
 import org.opensearch.securityanalytics.model.Rule;
-import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
-import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.backend.QueryConversionCache;
+import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
@@ -51,6 +51,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -131,6 +132,135 @@ public class WTransportIndexRuleAction
         asyncAction.start();
     }
 
+    /**
+     * Ensures the pre-packaged rules index exists with proper mappings. This must be done before
+     * indexing any rules to avoid mapping conflicts.
+     */
+    static void ensureRuleIndexInitialized(RuleIndices ruleIndices, ActionListener<Void> listener) {
+        if (ruleIndices.ruleIndexExists(true)) {
+            // Index already exists, proceed
+            listener.onResponse(null);
+            return;
+        }
+
+        // Create the index with proper mappings
+        try {
+            ruleIndices.initRuleIndex(
+                    new ActionListener<>() {
+                        @Override
+                        public void onResponse(CreateIndexResponse response) {
+                            if (response.isAcknowledged()) {
+                                log.info("Pre-packaged rules index created with proper mappings");
+                                listener.onResponse(null);
+                            } else {
+                                listener.onFailure(
+                                        new RuntimeException("Failed to create pre-packaged rules index"));
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            // Index might already exist (race condition), check again
+                            if (ruleIndices.ruleIndexExists(true)) {
+                                listener.onResponse(null);
+                            } else {
+                                listener.onFailure(e);
+                            }
+                        }
+                    },
+                    true);
+        } catch (IOException e) {
+            listener.onFailure(e);
+        }
+    }
+
+    /**
+     * Parses the Sigma rule of the request and converts it in a single pass into a {@link Rule}
+     * carrying its queries and query field names. Conversion errors are logged and the rule is built
+     * with empty queries and fields, so that it can still be indexed.
+     *
+     * @param request the rule indexing request
+     * @param queryConversionCache cache of previous conversions of the rule
+     * @return the rule, ready to be indexed
+     * @throws CompositeSigmaErrors if the rule YAML is not a valid Sigma rule
+     */
+    static Rule buildRule(WIndexRuleRequest request, QueryConversionCache queryConversionCache) {
+        String category = request.getLogType();
+        String ruleStr = request.getRule();
+
+        SigmaRule parsedRule = SigmaRule.fromYaml(ruleStr, true);
+        if (parsedRule.getErrors() != null && !parsedRule.getErrors().getErrors().isEmpty()) {
+            throw parsedRule.getErrors();
+        }
+
+        List<Object> queries = Collections.emptyList();
+        Set<String> queryFieldNames = Collections.emptySet();
+
+        try {
+            // Single-pass conversion to get both queries and field names
+            QueryConversionCache.Conversion conversion =
+                    queryConversionCache.convert(
+                            QueryConversionCache.Backend.QUERY_STRING,
+                            parsedRule,
+                            ruleStr,
+                            Collections.emptyMap(),
+                            false);
+            queries = conversion.getQueries();
+            queryFieldNames = new HashSet<>(conversion.getQueryFieldNames());
+        } catch (IOException | SigmaConditionError | SigmaValueError e) {
+            // Log warning but continue - rule can still be indexed with empty queries/fields
+            log.warn(
+                    "Failed to convert rule for log type {}: {}. Indexing with empty field mappings.",
+                    category,
+                    e.getMessage());
+        }
+
+        if (queryFieldNames.isEmpty()) {
+            // Rule has no field-based conditions (keyword-only rule) or conversion failed
+            log.debug(
+                    "Rule has no field-based conditions (keyword-only). Indexing with empty field mappings for log type: {}",
+                    category);
+        }
+
+        String sapId =
+                request.getDocumentId() != null ? request.getDocumentId() : UUID.randomUUID().toString();
+        Rule rule =
+                new Rule(
+                        sapId,
+                        NO_VERSION,
+                        parsedRule,
+                        category,
+                        queries,
+                        new ArrayList<>(queryFieldNames),
+                        ruleStr);
+        rule.setDocumentId(request.getDocumentId());
+        rule.setSpace(request.getSpace());
+        return rule;
+    }
+
+    /**
+     * Builds the FieldMappingDoc entries that associate the rule fields with the integration
+     * (category). Rule fields are mapped onto themselves in the default schema. These mappings are
+     * used by detectors to find the correct fields.
+     *
+     * @param rule the converted rule
+     * @param defaultSchema the default mapping schema field
+     * @return one FieldMappingDoc per query field of the rule
+     */
+    static List<FieldMappingDoc> buildFieldMappingDocs(Rule rule, String defaultSchema) {
+        List<FieldMappingDoc> fieldMappingDocs = new ArrayList<>();
+        rule.getQueryFieldNames()
+                .forEach(
+                        field -> {
+                            String fieldName = field.getValue();
+                            Map<String, String> schemaFields = new HashMap<>();
+                            schemaFields.put(defaultSchema, fieldName);
+                            fieldMappingDocs.add(
+                                    new FieldMappingDoc(fieldName, schemaFields, Set.of(rule.getCategory())));
+                        });
+        return fieldMappingDocs;
+    }
+
     class AsyncIndexRule {
         private final WIndexRuleRequest request;
         private final ActionListener<WIndexRuleResponse> listener;
@@ -146,7 +276,8 @@ public class WTransportIndexRuleAction
         void start() {
             WTransportIndexRuleAction.this.threadPool.getThreadContext().stashContext();
             // First, ensure the pre-packaged rules index exists with proper mappings
-            this.ensureRuleIndexInitialized(
+            ensureRuleIndexInitialized(
+                    WTransportIndexRuleAction.this.ruleIndices,
                     ActionListener.wrap(
                             v -> {
                                 this.processRule();
@@ -156,114 +287,24 @@ public class WTransportIndexRuleAction
                             }));
         }
 
-        /**
-         * Ensures the pre-packaged rules index exists with proper mappings. This must be done before
-         * indexing any rules to avoid mapping conflicts.
-         */
-        private void ensureRuleIndexInitialized(ActionListener<Void> listener) {
-            if (WTransportIndexRuleAction.this.ruleIndices.ruleIndexExists(true)) {
-                // Index already exists, proceed
-                listener.onResponse(null);
-                return;
-            }
-
-            // Create the index with proper mappings
-            try {
-                WTransportIndexRuleAction.this.ruleIndices.initRuleIndex(
-                        new ActionListener<>() {
-                            @Override
-                            public void onResponse(CreateIndexResponse response) {
-                                if (response.isAcknowledged()) {
-                                    log.info("Pre-packaged rules index created with proper mappings");
-                                    listener.onResponse(null);
-                                } else {
-                                    listener.onFailure(
-                                            new RuntimeException("Failed to create pre-packaged rules index"));
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Exception e) {
-                                // Index might already exist (race condition), check again
-                                if (WTransportIndexRuleAction.this.ruleIndices.ruleIndexExists(true)) {
-                                    listener.onResponse(null);
-                                } else {
-                                    listener.onFailure(e);
-                                }
-                            }
-                        },
-                        true);
-            } catch (IOException e) {
-                listener.onFailure(e);
-            }
-        }
-
         /**
          * Process the rule after ensuring the index exists. Parses the rule once and converts it in a
          * single pass to extract fields and queries.
          */
         private void processRule() {
-            String category = this.request.getLogType();
-            String ruleStr = this.request.getRule();
-
             try {
-                SigmaRule parsedRule = SigmaRule.fromYaml(ruleStr, true);
-                if (parsedRule.getErrors() != null && !parsedRule.getErrors().getErrors().isEmpty()) {
-                    this.onFailures(parsedRule.getErrors());
-                    return;
-                }
-
-                List<Object> queries = Collections.emptyList();
-                Set<String> queryFieldNames = Collections.emptySet();
-                Map<String, String> fieldMappings = new HashMap<>();
-
-                try {
-                    // Single-pass conversion to get both queries and field names
-                    QueryBackend backend = new OSQueryBackend(Collections.emptyMap(), true, false);
-                    queries = backend.convertRule(parsedRule);
-                    queryFieldNames = backend.getQueryFields().keySet();
-
-                    // Build identity mappings (field -> field) from discovered fields
-                    for (String field : queryFieldNames) {
-                        fieldMappings.put(field, field);
-                    }
-                } catch (IOException | SigmaConditionError | SigmaValueError e) {
-                    // Log warning but continue - rule can still be indexed with empty queries/fields
-                    log.warn(
-                            "Failed to convert rule for log type {}: {}. Indexing with empty field mappings.",
-                            category,
-                            e.getMessage());
-                }
-
-                if (fieldMappings.isEmpty()) {
-                    // Rule has no field-based conditions (keyword-only rule) or conversion failed
-                    log.debug(
-                            "Rule has no field-based conditions (keyword-only). Indexing with empty field mappings for log type: {}",
-                            category);
-                }
-
-                String sapId =
-                        this.request.getDocumentId() != null
-                                ? this.request.getDocumentId()
-                                : UUID.randomUUID().toString();
                 Rule rule =
-                        new Rule(
-                                sapId,
-                                NO_VERSION,
-                                parsedRule,
-                                category,
-                                queries,
-                                new ArrayList<>(queryFieldNames),
-                                ruleStr);
-                rule.setDocumentId(this.request.getDocumentId());
-                rule.setSpace(this.request.getSpace());
-
-                this.indexRule(rule, fieldMappings);
-
+                        buildRule(this.request, WTransportIndexRuleAction.this.ruleIndices.getQueryConversionCache());
+                this.indexRule(rule);
+            } catch (CompositeSigmaErrors e) {
+                this.onFailures(e);
             } catch (IOException e) {
                 this.onFailures(
                         new SigmaError(
-                                "Could not process rule for log type: " + category + ". Error: " + e.getMessage()));
+                                "Could not process rule for log type: "
+                                        + this.request.getLogType()
+                                        + ". Error: "
+                                        + e.getMessage()));
             }
         }
 
@@ -271,7 +312,7 @@ public class WTransportIndexRuleAction
          * Indexes a Rule into the pre-packaged rules index. After successful indexing, updates field
          * mappings in the log type config index.
          */
-        void indexRule(Rule rule, Map<String, String> ruleFieldMappings) throws IOException {
+        void indexRule(Rule rule) throws IOException {
             IndexRequest indexRequest =
                     new IndexRequest(PRE_PACKAGED_RULES_INDEX)
                             .id(rule.getId())
@@ -288,9 +329,9 @@ public class WTransportIndexRuleAction
                         public void onResponse(IndexResponse indexResponse) {
                             // Update field mappings in the log type config index
                             // This associates the fields with the integration/category
-                            AsyncIndexRule.this.updateFieldMappings(
-                                    rule,
-                                    ruleFieldMappings,
+                            WTransportIndexRuleAction.this.logTypeService.indexFieldMappingsForWazuh(
+                                    buildFieldMappingDocs(
+                                            rule, WTransportIndexRuleAction.this.logTypeService.getDefaultSchemaField()),
                                     ActionListener.wrap(
                                             v -> {
                                                 log.info("Successfully updated field mappings for rule: {}", rule.getId());
@@ -310,36 +351,6 @@ public class WTransportIndexRuleAction
                     });
         }
 
-        /**
-         * Updates field mappings in the log type config index. This creates FieldMappingDoc entries
-         * that associate rule fields with the integration/category. These mappings are used by
-         * detectors to find the correct fields.
-         */
-        private void updateFieldMappings(
-                Rule rule, Map<String, String> ruleFieldMappings, ActionListener<Void> listener) {
-            List<FieldMappingDoc> fieldMappingDocs = new ArrayList<>();
-            String defaultSchema = WTransportIndexRuleAction.this.logTypeService.getDefaultSchemaField();
-
-            rule.getQueryFieldNames()
-                    .forEach(
-                            field -> {
-                                String fieldName = field.getValue();
-                                Map<String, String> schemaFields = new HashMap<>();
-
-                                // Use the mapped field name (which is the same in identity mapping)
-                                // Fallback: use field name as-is for identity mapping
-                                schemaFields.put(
-                                        defaultSchema, ruleFieldMappings.getOrDefault(fieldName, fieldName));
-
-                                FieldMappingDoc mappingDoc =
-                                        new FieldMappingDoc(fieldName, schemaFields, Set.of(rule.getCategory()));
-                                fieldMappingDocs.add(mappingDoc);
-                            });
-
-            WTransportIndexRuleAction.this.logTypeService.indexFieldMappingsForWazuh(
-                    fieldMappingDocs, listener);
-        }
-
         /** Handler for successful rule indexing operations. */
         private void onOperation(IndexResponse response, Rule rule) {
             this.response.set(response);
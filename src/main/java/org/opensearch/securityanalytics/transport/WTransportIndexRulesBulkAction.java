@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.GroupedActionListener;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.FieldMappingDoc;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.util.RuleIndices;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.wazuh.securityanalytics.action.WIndexRuleRequest;
+import com.wazuh.securityanalytics.action.WIndexRulesBulkAction;
+import com.wazuh.securityanalytics.action.WIndexRulesBulkRequest;
+import com.wazuh.securityanalytics.action.WIndexRulesBulkResponse;
+
+import static org.opensearch.securityanalytics.model.Rule.PRE_PACKAGED_RULES_INDEX;
+
+/**
+ * Transport action handler for indexing many Wazuh rules in a single request.
+ *
+ * <p>Batch counterpart of {@link WTransportIndexRuleAction}. The work is split into three stages:
+ *
+ * <ol>
+ *   <li><b>Conversion</b> — rules are parsed and converted to queries in parallel, in contiguous
+ *       slices on the generic thread pool.
+ *   <li><b>Write</b> — converted rules are written through one or a few bulk requests without
+ *       refreshing, followed by a single refresh of the rules index when the request asks for it.
+ *   <li><b>Field mappings</b> — the field mappings of all written rules are merged per log type and
+ *       sent through one {@link LogTypeService#indexFieldMappingsForWazuh} call per log type.
+ * </ol>
+ *
+ * <p>A rule that fails to parse or to be written does not abort the batch; its failure is reported
+ * in the corresponding item of the response, which preserves the request order.
+ *
+ * @see WIndexRulesBulkAction
+ * @see WIndexRulesBulkRequest
+ * @see WIndexRulesBulkResponse
+ */
+public class WTransportIndexRulesBulkAction
+        extends HandledTransportAction<WIndexRulesBulkRequest, WIndexRulesBulkResponse>
+        implements SecureTransportAction {
+    private static final Logger log = LogManager.getLogger(WTransportIndexRulesBulkAction.class);
+
+    /** Maximum number of rules written by a single bulk request. */
+    static final int MAX_RULES_PER_BULK = 500;
+
+    private final Client client;
+    private final LogTypeService logTypeService;
+    private final RuleIndices ruleIndices;
+    private final ThreadPool threadPool;
+    private final int conversionParallelism;
+
+    /**
+     * Constructs a new WTransportIndexRulesBulkAction.
+     *
+     * @param transportService the transport service for inter-node communication
+     * @param client the OpenSearch client for executing internal actions
+     * @param actionFilters filters to apply to the action execution
+     * @param logTypeService service for managing log type configurations
+     * @param ruleIndices utility for managing rule indices
+     * @param settings the node settings, used to size the conversion fan-out
+     */
+    @Inject
+    public WTransportIndexRulesBulkAction(
+            TransportService transportService,
+            Client client,
+            ActionFilters actionFilters,
+            LogTypeService logTypeService,
+            RuleIndices ruleIndices,
+            Settings settings) {
+        super(WIndexRulesBulkAction.NAME, transportService, actionFilters, WIndexRulesBulkRequest::new);
+        this.client = client;
+        this.threadPool = ruleIndices.getThreadPool();
+        this.logTypeService = logTypeService;
+        this.ruleIndices = ruleIndices;
+        this.conversionParallelism = Math.max(1, OpenSearchExecutors.allocatedProcessors(settings));
+    }
+
+    @Override
+    protected void doExecute(
+            Task task,
+            WIndexRulesBulkRequest request,
+            ActionListener<WIndexRulesBulkResponse> listener) {
+        this.threadPool.getThreadContext().stashContext();
+        new AsyncIndexRules(request, listener).start();
+    }
+
+    /**
+     * Splits {@code size} items into at most {@code parallelism} contiguous, non-empty slices.
+     *
+     * @param size number of items to split
+     * @param parallelism maximum number of slices
+     * @return the {@code [from, to)} bounds of each slice, in order
+     */
+    static List<int[]> slices(int size, int parallelism) {
+        List<int[]> slices = new ArrayList<>();
+        if (size == 0) {
+            return slices;
+        }
+        int count = Math.min(size, Math.max(1, parallelism));
+        int base = size / count;
+        int remainder = size % count;
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int to = from + base + (i < remainder ? 1 : 0);
+            slices.add(new int[] {from, to});
+            from = to;
+        }
+        return slices;
+    }
+
+    /**
+     * Merges the field mappings of the given rules into one list per log type. Fields repeated across
+     * rules of the same log type are kept once.
+     *
+     * @param rules the successfully written rules
+     * @param defaultSchema the default mapping schema field
+     * @return the merged field mappings, keyed by log type
+     */
+    static Map<String, List<FieldMappingDoc>> mergeFieldMappingsByLogType(
+            List<Rule> rules, String defaultSchema) {
+        Map<String, Map<String, FieldMappingDoc>> byLogType = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            Map<String, FieldMappingDoc> docs =
+                    byLogType.computeIfAbsent(rule.getCategory(), k -> new LinkedHashMap<>());
+            for (FieldMappingDoc doc :
+                    WTransportIndexRuleAction.buildFieldMappingDocs(rule, defaultSchema)) {
+                docs.putIfAbsent(doc.getRawField(), doc);
+            }
+        }
+        Map<String, List<FieldMappingDoc>> merged = new LinkedHashMap<>();
+        byLogType.forEach((logType, docs) -> merged.put(logType, new ArrayList<>(docs.values())));
+        return merged;
+    }
+
+    /** Returns a readable failure reason, unwrapping the collected Sigma errors if present. */
+    static String failureMessage(Exception e) {
+        if (e instanceof CompositeSigmaErrors) {
+            return ((CompositeSigmaErrors) e)
+                    .getErrors().stream().map(SigmaError::getMessage).collect(Collectors.joining("; "));
+        }
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    class AsyncIndexRules {
+        private final WIndexRulesBulkRequest request;
+        private final ActionListener<WIndexRulesBulkResponse> listener;
+        private final List<WIndexRuleRequest> rules;
+
+        /** Converted rules by request position; null where conversion failed. */
+        private final Rule[] converted;
+
+        /** Per-rule results by request position; null until the rule is resolved. */
+        private final WIndexRulesBulkResponse.Item[] items;
+
+        AsyncIndexRules(
+                WIndexRulesBulkRequest request, ActionListener<WIndexRulesBulkResponse> listener) {
+            this.request = request;
+            this.listener = listener;
+            this.rules = request.getRules();
+            this.converted = new Rule[this.rules.size()];
+            this.items = new WIndexRulesBulkResponse.Item[this.rules.size()];
+        }
+
+        void start() {
+            WTransportIndexRuleAction.ensureRuleIndexInitialized(
+                    WTransportIndexRulesBulkAction.this.ruleIndices,
+                    ActionListener.wrap(v -> this.convertRules(), this.listener::onFailure));
+        }
+
+        /** Converts every rule of the request, one contiguous slice per generic thread. */
+        private void convertRules() {
+            List<int[]> slices =
+                    slices(this.rules.size(), WTransportIndexRulesBulkAction.this.conversionParallelism);
+            GroupedActionListener<Void> slicesListener =
+                    new GroupedActionListener<>(
+                            ActionListener.wrap(v -> this.writeRules(), this.listener::onFailure),
+                            slices.size());
+            for (int[] slice : slices) {
+                WTransportIndexRulesBulkAction.this
+                        .threadPool
+                        .executor(ThreadPool.Names.GENERIC)
+                        .execute(
+                                () -> {
+                                    for (int i = slice[0]; i < slice[1]; i++) {
+                                        this.convertRule(i);
+                                    }
+                                    slicesListener.onResponse(null);
+                                });
+            }
+        }
+
+        private void convertRule(int position) {
+            WIndexRuleRequest rule = this.rules.get(position);
+            try {
+                this.converted[position] =
+                        WTransportIndexRuleAction.buildRule(
+                                rule, WTransportIndexRulesBulkAction.this.ruleIndices.getQueryConversionCache());
+            } catch (Exception e) {
+                log.warn(
+                        "Failed to convert rule [{}] for log type {}: {}",
+                        rule.getDocumentId(),
+                        rule.getLogType(),
+                        failureMessage(e));
+                this.items[position] =
+                        new WIndexRulesBulkResponse.Item(
+                                rule.getDocumentId(), null, RestStatus.BAD_REQUEST, failureMessage(e));
+            }
+        }
+
+        /** Writes the converted rules through consecutive bulk requests of bounded size. */
+        private void writeRules() {
+            List<BulkRequest> bulks = new ArrayList<>();
+            List<List<Integer>> bulkPositions = new ArrayList<>();
+            BulkRequest bulk = null;
+            List<Integer> positions = null;
+            for (int i = 0; i < this.converted.length; i++) {
+                Rule rule = this.converted[i];
+                if (rule == null) {
+                    continue;
+                }
+                IndexRequest indexRequest;
+                try {
+                    indexRequest =
+                            new IndexRequest(PRE_PACKAGED_RULES_INDEX)
+                                    .id(rule.getId())
+                                    .source(
+                                            rule.toXContent(
+                                                    XContentFactory.jsonBuilder(),
+                                                    new ToXContent.MapParams(Map.of("with_type", "true"))));
+                } catch (IOException e) {
+                    this.converted[i] = null;
+                    this.items[i] =
+                            new WIndexRulesBulkResponse.Item(
+                                    rule.getId(), null, RestStatus.INTERNAL_SERVER_ERROR, failureMessage(e));
+                    continue;
+                }
+                if (bulk == null || bulk.numberOfActions() >= MAX_RULES_PER_BULK) {
+                    bulk =
+                            new BulkRequest()
+                                    .setRefreshPolicy(WriteRequest.RefreshPolicy.NONE)
+                                    .timeout(TimeValue.timeValueSeconds(30));
+                    positions = new ArrayList<>();
+                    bulks.add(bulk);
+                    bulkPositions.add(positions);
+                }
+                bulk.add(indexRequest);
+                positions.add(i);
+            }
+            this.executeBulks(bulks.iterator(), bulkPositions.iterator());
+        }
+
+        private void executeBulks(Iterator<BulkRequest> bulks, Iterator<List<Integer>> positions) {
+            if (!bulks.hasNext()) {
+                this.refresh();
+                return;
+            }
+            BulkRequest bulk = bulks.next();
+            List<Integer> bulkPositions = positions.next();
+            WTransportIndexRulesBulkAction.this.client.bulk(
+                    bulk,
+                    ActionListener.wrap(
+                            response -> {
+                                BulkItemResponse[] bulkItems = response.getItems();
+                                for (int i = 0; i < bulkItems.length; i++) {
+                                    int position = bulkPositions.get(i);
+                                    BulkItemResponse item = bulkItems[i];
+                                    if (item.isFailed()) {
+                                        this.converted[position] = null;
+                                        this.items[position] =
+                                                new WIndexRulesBulkResponse.Item(
+                                                        item.getId(), null, item.status(), item.getFailureMessage());
+                                    } else {
+                                        this.items[position] =
+                                                new WIndexRulesBulkResponse.Item(
+                                                        item.getId(), item.getVersion(), RestStatus.CREATED, null);
+                                    }
+                                }
+                                this.executeBulks(bulks, positions);
+                            },
+                            e -> {
+                                // The whole bulk was rejected: fail its rules and carry on with the rest
+                                log.error("Rule bulk write failed", e);
+                                for (int position : bulkPositions) {
+                                    Rule rule = this.converted[position];
+                                    this.converted[position] = null;
+                                    this.items[position] =
+                                            new WIndexRulesBulkResponse.Item(
+                                                    rule.getId(), null, ExceptionsHelper.status(e), failureMessage(e));
+                                }
+                                this.executeBulks(bulks, positions);
+                            }));
+        }
+
+        /** Refreshes the rules index once, unless the request opted out of refreshing. */
+        private void refresh() {
+            if (this.request.getRefreshPolicy() == WriteRequest.RefreshPolicy.NONE) {
+                this.updateFieldMappings();
+                return;
+            }
+            WTransportIndexRulesBulkAction.this
+                    .client
+                    .admin()
+                    .indices()
+                    .refresh(
+                            new RefreshRequest(PRE_PACKAGED_RULES_INDEX),
+                            ActionListener.wrap(
+                                    r -> this.updateFieldMappings(),
+                                    e -> {
+                                        log.warn("Failed to refresh rules index after bulk write", e);
+                                        this.updateFieldMappings();
+                                    }));
+        }
+
+        /** Sends the merged field mappings, one log type after another. */
+        private void updateFieldMappings() {
+            List<Rule> written = new ArrayList<>();
+            for (Rule rule : this.converted) {
+                if (rule != null) {
+                    written.add(rule);
+                }
+            }
+            Map<String, List<FieldMappingDoc>> byLogType =
+                    mergeFieldMappingsByLogType(
+                            written, WTransportIndexRulesBulkAction.this.logTypeService.getDefaultSchemaField());
+            this.updateFieldMappings(byLogType.entrySet().iterator());
+        }
+
+        private void updateFieldMappings(Iterator<Map.Entry<String, List<FieldMappingDoc>>> logTypes) {
+            if (!logTypes.hasNext()) {
+                this.finish();
+                return;
+            }
+            Map.Entry<String, List<FieldMappingDoc>> entry = logTypes.next();
+            // Log types are updated one at a time: every update merges against the stored mappings,
+            // so concurrent updates could overwrite each other.
+            WTransportIndexRulesBulkAction.this.logTypeService.indexFieldMappingsForWazuh(
+                    entry.getValue(),
+                    ActionListener.wrap(
+                            v -> {
+                                log.info(
+                                        "Updated [{}] field mappings for log type {}",
+                                        entry.getValue().size(),
+                                        entry.getKey());
+                                this.updateFieldMappings(logTypes);
+                            },
+                            e -> {
+                                log.error("Failed to update field mappings for log type {}", entry.getKey(), e);
+                                // Still consider the rules indexed successfully
+                                this.updateFieldMappings(logTypes);
+                            }));
+        }
+
+        private void finish() {
+            this.listener.onResponse(new WIndexRulesBulkResponse(Arrays.asList(this.items)));
+        }
+    }
+}
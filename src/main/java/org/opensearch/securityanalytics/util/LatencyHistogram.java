@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram with one bucket per power of two nanoseconds, so that recording is a
+ * couple of {@link LongAdder} increments and percentiles are estimated within a factor of two.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sumNanos = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        this.buckets[bucket(value)].increment();
+        this.count.increment();
+        this.sumNanos.add(value);
+        this.maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /** Index of the bucket holding the values in {@code [2^(i-1), 2^i)}. */
+    static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(nanos);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getSumNanos() {
+        return this.sumNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded values.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, {@code 0} when nothing was
+     *     recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return this.getMaxNanos();
+    }
+}
@@ -51,8 +51,7 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.Rule;
-import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
-import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.backend.QueryConversionCache;
 import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
@@ -70,7 +69,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -90,15 +88,19 @@ public class RuleIndices {
 
     private final LogTypeService logTypeService;
 
+    private final QueryConversionCache queryConversionCache;
+
     public RuleIndices(
             LogTypeService logTypeService,
             Client client,
             ClusterService clusterService,
-            ThreadPool threadPool) {
+            ThreadPool threadPool,
+            QueryConversionCache queryConversionCache) {
         this.client = client;
         this.clusterService = clusterService;
         this.threadPool = threadPool;
         this.logTypeService = logTypeService;
+        this.queryConversionCache = queryConversionCache;
     }
 
     public static String ruleMappings() throws IOException {
@@ -182,6 +184,10 @@ public class RuleIndices {
         return isPrepackaged ? Rule.PRE_PACKAGED_RULES_INDEX : Rule.CUSTOM_RULES_INDEX;
     }
 
+    public QueryConversionCache getQueryConversionCache() {
+        return this.queryConversionCache;
+    }
+
     public ThreadPool getThreadPool() {
         return threadPool;
     }
@@ -377,8 +383,7 @@ public class RuleIndices {
         for (String category : categories) {
             Map<String, String> fieldMappings =
                     logTypeService.getRuleFieldMappingsForBuiltinLogType(category);
-            final QueryBackend backend = new OSQueryBackend(fieldMappings, true, true);
-            queries.addAll(getQueries(backend, category, logIndexToRules.get(category)));
+            queries.addAll(getQueries(fieldMappings, category, logIndexToRules.get(category)));
         }
         loadRules(queries, refreshPolicy, indexTimeout, listener, true);
     }
@@ -393,23 +398,23 @@ public class RuleIndices {
         loadQueries(path, refreshPolicy, indexTimeout, listener);
     }
 
-    private List<Rule> getQueries(QueryBackend backend, String category, List<String> rules)
-            throws SigmaError, CompositeSigmaErrors {
+    private List<Rule> getQueries(Map<String, String> fieldMappings, String category, List<String> rules)
+            throws SigmaError, CompositeSigmaErrors, IOException {
         List<Rule> queries = new ArrayList<>();
         for (String ruleStr : rules) {
             SigmaRule rule = SigmaRule.fromYaml(ruleStr, true);
             // TODO: Check if there are cx errors from the rule created and throw errors
-            backend.resetQueryFields();
-            List<Object> ruleQueries = backend.convertRule(rule);
-            Set<String> queryFieldNames = backend.getQueryFields().keySet();
+            QueryConversionCache.Conversion conversion =
+                    this.queryConversionCache.convert(
+                            QueryConversionCache.Backend.QUERY_STRING, rule, ruleStr, fieldMappings, true);
             Rule ruleModel =
                     new Rule(
                             rule.getId().toString(),
                             NO_VERSION,
                             rule,
                             category,
-                            ruleQueries.stream().map(Object::toString).collect(Collectors.toList()),
-                            new ArrayList<>(queryFieldNames),
+                            conversion.getQueries().stream().map(Object::toString).collect(Collectors.toList()),
+                            new ArrayList<>(conversion.getQueryFieldNames()),
                             ruleStr);
             queries.add(ruleModel);
         }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.securityanalytics.correlation.CorrelationPipelineStats;
+import org.opensearch.securityanalytics.indexmanagment.HistoryOptimizationStats;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+public class CorrelationStatsNodeResponseTests extends OpenSearchTestCase {
+
+    public void testPipelineStats() {
+        CorrelationPipelineStats stats = new CorrelationPipelineStats();
+        assertEquals(0, stats.getQueue().pending());
+        assertFalse(stats.getQueue().eventsWriteBlocked());
+
+        stats.onQueued();
+        stats.onQueued();
+        stats.onQueued();
+        stats.onCompleted();
+        stats.onSkipped();
+        stats.onFailed();
+        assertEquals(1, stats.onDropped());
+        assertEquals(2, stats.onDropped());
+        stats.onEventsWriteBlocked();
+        stats.onSpilled();
+        stats.onReplayed();
+        stats.recordStage(CorrelationPipelineStats.Stage.JOIN_ENGINE, 1000);
+        stats.recordStage(CorrelationPipelineStats.Stage.JOIN_ENGINE, 3000);
+
+        assertEquals(3, stats.getQueued());
+        assertEquals(1, stats.getCompleted());
+        assertEquals(1, stats.getSkipped());
+        assertEquals(1, stats.getFailed());
+        assertEquals(2, stats.getDropped());
+        assertEquals(1, stats.getEventsWriteBlocks());
+        assertEquals(1, stats.getSpilled());
+        assertEquals(1, stats.getReplayed());
+        assertEquals(0, stats.getQueue().spillPending());
+        assertEquals(2, stats.getStage(CorrelationPipelineStats.Stage.JOIN_ENGINE).getCount());
+        assertEquals(0, stats.getStage(CorrelationPipelineStats.Stage.ENRICHMENT).getCount());
+        assertEquals("vector_embeddings", CorrelationPipelineStats.Stage.VECTOR_EMBEDDINGS.getName());
+    }
+
+    public void testLatencyStatsStreamInOut() throws IOException {
+        CorrelationPipelineStats stats = new CorrelationPipelineStats();
+        stats.recordStage(CorrelationPipelineStats.Stage.DETECTOR_LOOKUP, 100);
+        stats.recordStage(CorrelationPipelineStats.Stage.DETECTOR_LOOKUP, 5000);
+
+        CorrelationStatsNodeResponse.LatencyStats latency =
+                new CorrelationStatsNodeResponse.LatencyStats(stats.getStage(CorrelationPipelineStats.Stage.DETECTOR_LOOKUP));
+        BytesStreamOutput out = new BytesStreamOutput();
+        latency.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        CorrelationStatsNodeResponse.LatencyStats newLatency = new CorrelationStatsNodeResponse.LatencyStats(sin);
+
+        assertEquals(2, newLatency.getCount());
+        assertEquals(5100, newLatency.getTotalNanos());
+        assertEquals(8191, newLatency.getP99Nanos());
+    }
+
+    public void testCacheStatsStreamInOut() throws IOException {
+        CorrelationStatsNodeResponse.CacheStats cache = new CorrelationStatsNodeResponse.CacheStats(3, 1);
+        BytesStreamOutput out = new BytesStreamOutput();
+        cache.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        CorrelationStatsNodeResponse.CacheStats newCache = new CorrelationStatsNodeResponse.CacheStats(sin);
+
+        assertEquals(3, newCache.getHits());
+        assertEquals(1, newCache.getMisses());
+        assertEquals(0.75, newCache.getHitRatio(), 0.0);
+        assertEquals(0.0, new CorrelationStatsNodeResponse.CacheStats(0, 0).getHitRatio(), 0.0);
+    }
+
+    public void testHistoryOptimizationStatsStreamInOut() throws IOException {
+        HistoryOptimizationStats optimization = new HistoryOptimizationStats(2, 5, 1, 3, 12000);
+        BytesStreamOutput out = new BytesStreamOutput();
+        optimization.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        HistoryOptimizationStats newOptimization = new HistoryOptimizationStats(sin);
+
+        assertEquals(2, newOptimization.getPending());
+        assertEquals(5, newOptimization.getOptimized());
+        assertEquals(1, newOptimization.getFailed());
+        assertEquals(3, newOptimization.getReplicasDropped());
+        assertEquals(12000, newOptimization.getMergeTimeMillis());
+    }
+}
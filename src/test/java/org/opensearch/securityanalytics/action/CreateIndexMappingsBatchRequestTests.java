@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+
+public class CreateIndexMappingsBatchRequestTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+
+        CreateIndexMappingsBatchRequest req =
+                new CreateIndexMappingsBatchRequest(
+                        List.of(
+                                new CreateIndexMappingsRequest("my_index", "netflow", null),
+                                new CreateIndexMappingsRequest("logs-*", "linux", false)));
+        req.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        CreateIndexMappingsBatchRequest newReq = new CreateIndexMappingsBatchRequest(sin);
+
+        assertEquals(2, newReq.getRequests().size());
+        assertEquals("logs-*", newReq.getRequests().get(1).getIndexName());
+        assertEquals("linux", newReq.getRequests().get(1).getRuleTopic());
+        assertFalse(newReq.getRequests().get(1).getPartial());
+    }
+
+    public void testParse() throws IOException {
+        String body =
+                "{\"mappings\": ["
+                        + "{\"index_name\": \"my_index\", \"rule_topic\": \"netflow\"},"
+                        + "{\"index_name\": \"logs-*\", \"rule_topic\": \"linux\", \"partial\": false}"
+                        + "]}";
+        try (XContentParser xcp =
+                JsonXContent.jsonXContent.createParser(
+                        NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, body)) {
+            CreateIndexMappingsBatchRequest req = CreateIndexMappingsBatchRequest.parse(xcp);
+
+            assertEquals(2, req.getRequests().size());
+            assertEquals("my_index", req.getRequests().get(0).getIndexName());
+            assertTrue(req.getRequests().get(0).getPartial());
+            assertFalse(req.getRequests().get(1).getPartial());
+        }
+    }
+
+    public void testValidate() {
+        CreateIndexMappingsBatchRequest req =
+                new CreateIndexMappingsBatchRequest(
+                        List.of(new CreateIndexMappingsRequest("my_index", "netflow", null)));
+        assertNull(req.validate());
+
+        ActionRequestValidationException e = new CreateIndexMappingsBatchRequest(List.of()).validate();
+        assertNotNull(e);
+
+        req =
+                new CreateIndexMappingsBatchRequest(
+                        List.of(
+                                new CreateIndexMappingsRequest("my_index", "netflow", null),
+                                new CreateIndexMappingsRequest("", "", null)));
+        e = req.validate();
+        assertNotNull(e);
+        assertTrue(e.validationErrors().stream().allMatch(error -> error.startsWith("mappings[1]: ")));
+    }
+
+    public void testResponseStreamInOut() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+
+        CreateIndexMappingsBatchResponse response =
+                new CreateIndexMappingsBatchResponse(
+                        List.of(
+                                CreateIndexMappingsBatchResponse.Item.success("my_index", "netflow", true),
+                                CreateIndexMappingsBatchResponse.Item.failure(
+                                        "logs-*", "linux", new IllegalArgumentException("Not all paths were found"))));
+        response.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        CreateIndexMappingsBatchResponse newResponse = new CreateIndexMappingsBatchResponse(sin);
+
+        assertTrue(newResponse.hasFailures());
+        assertTrue(newResponse.getItems().get(0).isAcknowledged());
+        assertEquals("Not all paths were found", newResponse.getItems().get(1).getError());
+        assertEquals(400, newResponse.getItems().get(1).getStatus().getStatus());
+    }
+}
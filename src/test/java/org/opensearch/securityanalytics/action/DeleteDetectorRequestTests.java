@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.Version;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+public class DeleteDetectorRequestTests extends OpenSearchTestCase {
+
+    private static DeleteDetectorRequest roundTrip(DeleteDetectorRequest request, Version version)
+            throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(version);
+        request.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        sin.setVersion(version);
+        DeleteDetectorRequest copy = new DeleteDetectorRequest(sin);
+        return copy;
+    }
+
+    public void testStreamInOut() throws IOException {
+        DeleteDetectorRequest copy =
+                roundTrip(
+                        new DeleteDetectorRequest("detector-1", WriteRequest.RefreshPolicy.NONE, true, true),
+                        DeleteDetectorRequest.SKIP_TEMPLATE_CLEANUP_VERSION);
+
+        assertEquals("detector-1", copy.getDetectorId());
+        assertEquals(WriteRequest.RefreshPolicy.NONE, copy.getRefreshPolicy());
+        assertTrue(copy.isInternalCaller());
+        assertTrue(copy.isSkipTemplateCleanup());
+    }
+
+    public void testStreamInOut_olderNodeDoesNotReceiveSkipTemplateCleanup() throws IOException {
+        // Same release as this build, but without the field
+        DeleteDetectorRequest copy =
+                roundTrip(
+                        new DeleteDetectorRequest("detector-1", WriteRequest.RefreshPolicy.IMMEDIATE, true, true),
+                        Version.V_3_6_0);
+
+        assertEquals("detector-1", copy.getDetectorId());
+        assertEquals(WriteRequest.RefreshPolicy.IMMEDIATE, copy.getRefreshPolicy());
+        assertTrue(copy.isInternalCaller());
+        assertFalse(copy.isSkipTemplateCleanup());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.securityanalytics.findings.ExportCursor;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.time.Instant;
+
+public class ExportRequestTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        String cursor = new ExportCursor("pit-id", new Object[] { 1L, "f1" }).encode();
+        ExportRequest req = new ExportRequest(
+                ExportRequest.Type.FINDINGS, "detector-1", null, "high", "rule", null,
+                Instant.ofEpochMilli(1), Instant.ofEpochMilli(2), 500, true, cursor);
+        BytesStreamOutput out = new BytesStreamOutput();
+        req.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        ExportRequest newReq = new ExportRequest(sin);
+
+        assertEquals(ExportRequest.Type.FINDINGS, newReq.getType());
+        assertEquals("detector-1", newReq.getDetectorId());
+        assertNull(newReq.getLogType());
+        assertEquals("high", newReq.getSeverity());
+        assertEquals(Instant.ofEpochMilli(2), newReq.getEndTime());
+        assertEquals(500, newReq.getSize());
+        assertTrue(newReq.isIncludeDocs());
+        assertEquals(cursor, newReq.getCursor());
+        assertNull(newReq.validate());
+    }
+
+    public void testValidate() {
+        assertNotNull(new ExportRequest(ExportRequest.Type.FINDINGS, null, null, null, null, null, null, null, 0, false, null).validate());
+        assertNotNull(new ExportRequest(ExportRequest.Type.ALERTS, null, null, null, null, null, null, null, 10, true, null).validate());
+        assertNotNull(new ExportRequest(ExportRequest.Type.FINDINGS, null, null, null, null, null, null, null, 10, false, "bogus").validate());
+        assertNotNull(new ExportRequest(
+                ExportRequest.Type.FINDINGS, null, null, null, null, null,
+                Instant.ofEpochMilli(2), Instant.ofEpochMilli(1), 10, false, null).validate());
+        assertNull(new ExportRequest(ExportRequest.Type.ALERTS, null, "linux", null, null, null, null, null, 10, false, null).validate());
+    }
+}
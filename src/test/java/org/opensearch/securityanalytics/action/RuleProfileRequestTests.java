@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.securityanalytics.rules.engine.EventMatcher;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+
+public class RuleProfileRequestTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        RuleProfileRequest req = new RuleProfileRequest(25, EventMatcher.CostOrder.CPU_TIME, "node-1", "node-2");
+        BytesStreamOutput out = new BytesStreamOutput();
+        req.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        RuleProfileRequest newReq = new RuleProfileRequest(sin);
+
+        assertEquals(25, newReq.getSize());
+        assertEquals(EventMatcher.CostOrder.CPU_TIME, newReq.getOrder());
+        assertArrayEquals(new String[] {"node-1", "node-2"}, newReq.nodesIds());
+        assertNull(newReq.validate());
+    }
+
+    public void testValidate() {
+        assertNotNull(new RuleProfileRequest(0, EventMatcher.CostOrder.TOTAL_TIME).validate());
+        assertNotNull(new RuleProfileRequest(RuleProfileRequest.MAX_SIZE + 1, EventMatcher.CostOrder.TOTAL_TIME).validate());
+        assertNull(new RuleProfileRequest(RuleProfileRequest.DEFAULT_SIZE, EventMatcher.CostOrder.MAX_TIME).validate());
+    }
+
+    public void testHotRuleStreamInOut() throws IOException {
+        String yaml = String.join(
+                "\n",
+                "title: Hot rule",
+                "id: 5f92fff9-82e2-48eb-8fc1-8b133556a551",
+                "status: test",
+                "logsource:",
+                "    category: test",
+                "detection:",
+                "    selection:",
+                "        process.name|contains: cmd",
+                "    condition: selection",
+                "level: high");
+        EventMatcher matcher = new EventMatcher();
+        matcher.setProfiling(true);
+        matcher.evaluate("{\"process\": {\"name\": \"cmd.exe\"}}", List.of(SigmaRule.fromYaml(yaml, true)));
+
+        HotRuleDto rule = new HotRuleDto(matcher.getHotRules(1, EventMatcher.CostOrder.TOTAL_TIME).get(0));
+        BytesStreamOutput out = new BytesStreamOutput();
+        rule.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        HotRuleDto newRule = new HotRuleDto(sin);
+
+        assertEquals("5f92fff9-82e2-48eb-8fc1-8b133556a551", newRule.getRuleId());
+        assertEquals("Hot rule", newRule.getTitle());
+        assertEquals(1, newRule.getEvaluations());
+        assertEquals(rule.getTotalNanos(), newRule.getTotalNanos());
+        assertEquals(rule.getMatches(), newRule.getMatches());
+        assertEquals(rule.getP99Nanos(), newRule.getP99Nanos());
+        assertEquals(rule.getValues().keySet(), newRule.getValues().keySet());
+    }
+}
@@ -41,6 +41,8 @@ public class CorrelationRulesCacheTests extends OpenSearchTestCase {
         assertEquals(2, hit.get().size());
 
         assertTrue(cache.get("system-activity").isEmpty());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
     }
 
     public void testStoredListIsImmutable() {
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class CorrelationSpillLogTests extends OpenSearchTestCase {
+
+    public void testAppendPollComplete() throws Exception {
+        Path dir = createTempDir();
+        CorrelationSpillLog spillLog = new CorrelationSpillLog(dir, 1024 * 1024, 100);
+        spillLog.open();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(spillLog.append(payload(i)));
+        }
+        assertEquals(5, spillLog.getPending());
+        assertTrue("segments roll at the segment size", files(dir) > 1);
+
+        List<CorrelationSpillLog.Record> records = spillLog.poll(3);
+        assertEquals(3, records.size());
+        assertEquals(2, records.get(2).getSeq());
+        assertEquals("finding-1", new String(records.get(1).getPayload(), StandardCharsets.UTF_8));
+        assertEquals(2, spillLog.getUndelivered());
+        assertEquals(2, spillLog.poll(10).size());
+        assertTrue(spillLog.poll(10).isEmpty());
+
+        for (long seq = 0; seq < 5; seq++) {
+            assertTrue(spillLog.complete(seq));
+        }
+        assertFalse(spillLog.complete(3));
+        assertEquals(0, spillLog.getPending());
+        assertEquals(0, spillLog.getSizeInBytes());
+        assertEquals(0, files(dir));
+        spillLog.close();
+    }
+
+    public void testBounded() throws Exception {
+        CorrelationSpillLog spillLog = new CorrelationSpillLog(createTempDir(), 64, 1024);
+        spillLog.open();
+        assertTrue(spillLog.append(new byte[32]));
+        assertFalse(spillLog.append(new byte[32]));
+
+        spillLog.setMaxBytes(128);
+        assertTrue(spillLog.append(new byte[32]));
+        spillLog.close();
+        assertFalse("a closed log spills nothing", spillLog.append(new byte[1]));
+    }
+
+    public void testRecoverSkipsCompletedRecords() throws Exception {
+        Path dir = createTempDir();
+        CorrelationSpillLog spillLog = new CorrelationSpillLog(dir, 1024 * 1024, 1024);
+        spillLog.open();
+        for (int i = 0; i < 3; i++) {
+            spillLog.append(payload(i));
+        }
+        assertEquals(3, spillLog.poll(3).size());
+        assertTrue(spillLog.complete(1));
+        spillLog.close();
+
+        spillLog = new CorrelationSpillLog(dir, 1024 * 1024, 1024);
+        spillLog.open();
+        assertEquals(2, spillLog.getPending());
+        List<CorrelationSpillLog.Record> records = spillLog.poll(10);
+        assertEquals(2, records.size());
+        assertEquals(0, records.get(0).getSeq());
+        assertEquals(2, records.get(1).getSeq());
+        assertFalse("a completed record is never completed twice", spillLog.complete(1));
+
+        assertTrue(spillLog.append(payload(3)));
+        assertEquals(3, spillLog.poll(10).get(0).getSeq());
+        spillLog.close();
+    }
+
+    public void testTornTailIsTruncated() throws Exception {
+        Path dir = createTempDir();
+        CorrelationSpillLog spillLog = new CorrelationSpillLog(dir, 1024 * 1024, 1024);
+        spillLog.open();
+        spillLog.append(payload(0));
+        spillLog.append(payload(1));
+        spillLog.close();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(file -> file.toString().endsWith(CorrelationSpillLog.SEGMENT_SUFFIX)).findFirst().get();
+        }
+        long size = Files.size(segment);
+        Files.write(segment, new byte[] {0, 0, 0, 9, 1, 2}, StandardOpenOption.APPEND);
+
+        spillLog = new CorrelationSpillLog(dir, 1024 * 1024, 1024);
+        spillLog.open();
+        assertEquals(2, spillLog.getPending());
+        assertEquals(size, Files.size(segment));
+        assertEquals(2, spillLog.poll(10).size());
+        spillLog.close();
+    }
+
+    public void testTruncatedSegmentIsDiscardedAndDeleted() throws Exception {
+        Path dir = createTempDir();
+        CorrelationSpillLog spillLog = new CorrelationSpillLog(dir, 1024 * 1024, 1024);
+        spillLog.open();
+        for (int i = 0; i < 4; i++) {
+            spillLog.append(payload(i));
+        }
+        spillLog.sync();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(file -> file.toString().endsWith(CorrelationSpillLog.SEGMENT_SUFFIX)).findFirst().get();
+        }
+        // Cut the third record in half
+        long frameBytes = Files.size(segment) / 4;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(2 * frameBytes + frameBytes / 2);
+        }
+
+        List<CorrelationSpillLog.Record> records = spillLog.poll(10);
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(1).getSeq());
+        assertEquals("the records after the cut are completed", 2, spillLog.getPending());
+        assertEquals(0, spillLog.getUndelivered());
+
+        assertTrue(spillLog.complete(0));
+        assertTrue(spillLog.complete(1));
+        assertEquals(0, spillLog.getPending());
+        assertEquals(0, spillLog.getSizeInBytes());
+        assertEquals("the truncated segment is deleted", 0, files(dir));
+
+        // Appends go to a new segment, which survives a restart
+        assertTrue(spillLog.append(payload(4)));
+        spillLog.close();
+        spillLog = new CorrelationSpillLog(dir, 1024 * 1024, 1024);
+        spillLog.open();
+        records = spillLog.poll(10);
+        assertEquals(1, records.size());
+        assertEquals(4, records.get(0).getSeq());
+        spillLog.close();
+    }
+
+    private static byte[] payload(int i) {
+        return ("finding-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long files(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
@@ -45,6 +45,8 @@ public class DetectorLookupCacheTests extends OpenSearchTestCase {
         assertSame(detector, hit.get());
 
         assertTrue(cache.get("monitor-2").isEmpty());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
     }
 
     public void testTtlExpiry() {
@@ -61,6 +63,8 @@ public class DetectorLookupCacheTests extends OpenSearchTestCase {
         now.addAndGet(TimeValue.timeValueSeconds(2).nanos());
         assertTrue("entry should be expired after TTL", cache.get("monitor-1").isEmpty());
         assertEquals("expired entry should be evicted", 0, cache.size());
+        assertEquals(2, cache.getHits());
+        assertEquals("expired entry should count as a miss", 1, cache.getMisses());
     }
 
     public void testInvalidate() {
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+public class FairCorrelationQueueTests extends OpenSearchTestCase {
+
+    private static final int LOW = 1;
+    private static final int HIGH = 3;
+    private static final int CRITICAL = 4;
+
+    public void testHighSeverityOvertakesNoise() {
+        FairCorrelationQueue<String> queue = new FairCorrelationQueue<>();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue.offer("noisy", LOW, "low-" + i, 0));
+        }
+        assertTrue(queue.offer("noisy", CRITICAL, "critical", 0));
+
+        assertEquals(101, queue.size());
+        assertEquals("critical", queue.poll());
+        assertEquals("low-0", queue.poll());
+    }
+
+    public void testNoDetectorStarves() {
+        FairCorrelationQueue<String> queue = new FairCorrelationQueue<>();
+        for (int i = 0; i < 100; i++) {
+            queue.offer("noisy", LOW, "noisy", 0);
+        }
+        for (int i = 0; i < 3; i++) {
+            queue.offer("quiet", LOW, "quiet", 0);
+        }
+
+        int quiet = 0;
+        for (int i = 0; i < 6; i++) {
+            if ("quiet".equals(queue.poll())) {
+                quiet++;
+            }
+        }
+        assertEquals(3, quiet);
+    }
+
+    public void testServiceIsWeightedBySeverity() {
+        FairCorrelationQueue<String> queue = new FairCorrelationQueue<>();
+        for (int i = 0; i < 30; i++) {
+            queue.offer("a", 0, "informational", 0);
+            queue.offer("b", HIGH, "high", 0);
+        }
+
+        int high = 0;
+        for (int i = 0; i < 18; i++) {
+            if ("high".equals(queue.poll())) {
+                high++;
+            }
+        }
+        assertEquals(16, high);
+    }
+
+    public void testDetectorQuota() {
+        FairCorrelationQueue<String> queue = new FairCorrelationQueue<>();
+        assertTrue(queue.offer("a", LOW, "a-0", 2));
+        assertTrue(queue.offer("a", LOW, "a-1", 2));
+        assertFalse(queue.offer("a", CRITICAL, "a-2", 2));
+        assertTrue("other detectors have their own quota", queue.offer("b", LOW, "b-0", 2));
+        assertTrue("no quota", queue.offer("a", LOW, "a-3", 0));
+
+        assertEquals("a-0", queue.poll());
+        assertFalse(queue.offer("a", LOW, "a-4", 2));
+        assertEquals("b-0", queue.poll());
+        assertEquals("a-1", queue.poll());
+        assertTrue(queue.offer("a", LOW, "a-4", 2));
+    }
+
+    public void testIdleDetectorsAreForgotten() {
+        FairCorrelationQueue<String> queue = new FairCorrelationQueue<>();
+        for (int i = 0; i < 10; i++) {
+            queue.offer("detector-" + (i % 3), i % 5, "item", 0);
+        }
+        assertEquals(3, queue.detectors());
+        while (queue.poll() != null) {}
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.detectors());
+        assertNull(queue.poll());
+    }
+
+    public void testSeverityOf() {
+        assertEquals(FairCorrelationQueue.DEFAULT_SEVERITY, FairCorrelationQueue.severityOf(finding(Collections.emptyList())));
+        assertEquals(
+                HIGH,
+                FairCorrelationQueue.severityOf(
+                        finding(List.of(query("rule-1", List.of("low", "windows")), query("rule-2", List.of("High", "attack.t1059"))))));
+    }
+
+    private static DocLevelQuery query(String id, List<String> tags) {
+        return new DocLevelQuery(id, id, Collections.emptyList(), "query", tags, Collections.emptyList());
+    }
+
+    private static Finding finding(List<DocLevelQuery> queries) {
+        return new Finding(
+                "finding-1",
+                List.of("doc-1"),
+                List.of("doc-1"),
+                "monitor-1",
+                "monitor-name",
+                "test-index",
+                queries,
+                Instant.now(),
+                "high");
+    }
+}
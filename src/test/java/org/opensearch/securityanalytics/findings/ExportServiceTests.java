@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.xcontent.MediaTypeRegistry;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.NestedQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.securityanalytics.action.ExportRequest;
+import org.opensearch.securityanalytics.action.ExportResponse;
+import org.opensearch.securityanalytics.action.SearchDetectorAction;
+import org.opensearch.securityanalytics.action.SearchDetectorRequest;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.util.DetectorUtils;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ExportServiceTests extends OpenSearchTestCase {
+
+    public void testCursorRoundTrip() {
+        ExportCursor cursor = new ExportCursor("pit-id", new Object[] { 1700000000000L, "finding-1" });
+
+        ExportCursor decoded = ExportCursor.decode(cursor.encode());
+
+        assertEquals("pit-id", decoded.getPitId());
+        assertArrayEquals(new Object[] { 1700000000000L, "finding-1" }, decoded.getSearchAfter());
+    }
+
+    public void testInvalidCursor() {
+        expectThrows(IllegalArgumentException.class, () -> ExportCursor.decode("not a cursor"));
+        expectThrows(IllegalArgumentException.class, () -> ExportCursor.decode(""));
+        String cursor = new ExportCursor("pit-id", new Object[] { 1L }).encode();
+        expectThrows(IllegalArgumentException.class, () -> ExportCursor.decode(cursor.substring(0, cursor.length() - 2)));
+    }
+
+    public void testRawSourceIsCopied() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        ExportService.writeLine(out, hit("{\"id\":\"f1\",\"timestamp\":1}"), null);
+        ExportService.writeLine(out, hit("{\n  \"id\": \"f2\",\n  \"timestamp\": 2\n}"), null);
+
+        String[] lines = out.bytes().utf8ToString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":\"f1\",\"timestamp\":1}", lines[0]);
+        assertEquals(Map.of("id", "f2", "timestamp", 2), XContentHelper.convertToMap(new BytesArray(lines[1]), false, MediaTypeRegistry.JSON).v2());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testDocumentsAreJoined() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        SearchHit hit = hit("{\"id\":\"f1\",\"index\":\"logs\",\"related_doc_ids\":[\"d1\",\"d2\"]}");
+        ExportService.writeLine(out, hit, Map.of("logs|d1", Map.of("message", "hello")));
+
+        String line = out.bytes().utf8ToString();
+        assertTrue(line.endsWith("\n"));
+        Map<String, Object> finding = XContentHelper.convertToMap(new BytesArray(line.trim()), false, MediaTypeRegistry.JSON).v2();
+        List<Map<String, Object>> documents = (List<Map<String, Object>>) finding.get(ExportService.DOCUMENTS_FIELD);
+        assertEquals(2, documents.size());
+        assertEquals(true, documents.get(0).get("found"));
+        assertEquals(Map.of("message", "hello"), documents.get(0).get("document"));
+        assertEquals("d2", documents.get(1).get("id"));
+        assertEquals(false, documents.get(1).get("found"));
+    }
+
+    public void testAlertsQuery() {
+        ExportRequest request = new ExportRequest(
+                ExportRequest.Type.ALERTS, null, null, "1", null, "ALL",
+                Instant.ofEpochMilli(1), Instant.ofEpochMilli(2), 10, false, null);
+
+        BoolQueryBuilder query = ExportService.query(request, List.of("monitor-1"));
+
+        // Time range, severity and monitors, any alert state
+        assertEquals(3, query.filter().size());
+        assertTrue(query.toString().contains(ExportService.ALERTS_TIME_FIELD));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testExportWithoutDetectorOnlyReadsPermittedDetectors() {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            SearchDetectorRequest searchDetectorRequest = invocation.getArgument(1);
+            assertArrayEquals(new String[] {Detector.DETECTORS_INDEX}, searchDetectorRequest.searchRequest().indices());
+            ActionListener<SearchResponse> listener = invocation.getArgument(2);
+            // The backend role filter of the detector search left no detector
+            listener.onResponse(DetectorUtils.getEmptySearchResponse());
+            return null;
+        }).when(client).execute(eq(SearchDetectorAction.INSTANCE), any(SearchDetectorRequest.class), any(ActionListener.class));
+        ExportService exportService = new ExportService(client, mock(ClusterService.class), NamedXContentRegistry.EMPTY);
+        ExportRequest request = new ExportRequest(
+                ExportRequest.Type.FINDINGS, null, "windows", null, null, null, null, null, 10, false, null);
+
+        AtomicReference<ExportResponse> response = new AtomicReference<>();
+        exportService.export(request, ActionListener.wrap(response::set, e -> fail(e.getMessage())));
+
+        assertEquals(0, response.get().getCount());
+        assertNull(response.get().getCursor());
+        verify(client, never()).createPit(any(), any());
+    }
+
+    public void testSearchDetectorsRequestFiltersOnLogType() {
+        SearchRequest request = ExportService.searchDetectorsRequest("windows");
+
+        assertArrayEquals(new String[] {Detector.DETECTORS_INDEX}, request.indices());
+        assertTrue(request.source().query() instanceof NestedQueryBuilder);
+        assertTrue(request.source().query().toString().contains(DetectorUtils.DETECTOR_TYPE_PATH));
+        assertEquals(QueryBuilders.matchAllQuery(), ExportService.searchDetectorsRequest(null).source().query());
+    }
+
+    public void testFindingsQueryIsRestrictedToMonitors() {
+        ExportRequest request = new ExportRequest(
+                ExportRequest.Type.FINDINGS, null, null, null, null, null, null, null, 10, false, null);
+
+        BoolQueryBuilder query = ExportService.query(request, List.of());
+
+        assertEquals(List.of(QueryBuilders.termsQuery("monitor_id", List.of())), query.filter());
+    }
+
+    private static SearchHit hit(String source) {
+        return new SearchHit(1, "id", Map.of(), Map.of()).sourceRef(new BytesArray(source));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class FindingFlatFieldsTests extends OpenSearchTestCase {
+
+    public void testFlatFieldsOfFinding() {
+        Instant timestamp = Instant.parse("2026-05-20T10:00:05.000Z");
+        Finding finding =
+                new Finding(
+                        "finding-1",
+                        List.of("doc-1"),
+                        List.of("doc-1"),
+                        "monitor-1",
+                        "monitor-name",
+                        "test-index",
+                        List.of(
+                                new DocLevelQuery("rule-1", "rule-1", Collections.emptyList(), "", List.of("Low", "attack.t1059")),
+                                new DocLevelQuery("rule-2", "rule-2", Collections.emptyList(), "", List.of("high")),
+                                new DocLevelQuery("threat_intel_ip", "threat", Collections.emptyList(), "", List.of())),
+                        timestamp,
+                        "execution-1");
+
+        Map<String, Object> fields = FindingFlatFields.of(finding);
+
+        assertEquals("finding-1", fields.get("id"));
+        assertEquals("monitor-1", fields.get("monitor_id"));
+        assertEquals(timestamp.toEpochMilli(), fields.get("timestamp"));
+        assertEquals(List.of("rule-1", "rule-2", "threat_intel_ip"), fields.get("rule_ids"));
+        assertEquals(List.of("low", "high"), fields.get("severity"));
+        assertEquals("high", fields.get("max_severity"));
+        assertEquals(List.of("rule", "threat"), fields.get("detection_type"));
+    }
+
+    public void testFindingWithoutSeverity() {
+        Finding finding =
+                new Finding(
+                        "finding-2",
+                        List.of("doc-2"),
+                        List.of("doc-2"),
+                        "monitor-1",
+                        "monitor-name",
+                        "test-index",
+                        Collections.emptyList(),
+                        Instant.now(),
+                        "execution-1");
+
+        Map<String, Object> fields = FindingFlatFields.of(finding);
+
+        assertFalse(fields.containsKey("max_severity"));
+        assertEquals(List.of(), fields.get("severity"));
+    }
+
+    public void testNormalizeSeverity() {
+        assertEquals("critical", FindingFlatFields.normalizeSeverity("Critical"));
+        assertNull(FindingFlatFields.normalizeSeverity("attack.t1059"));
+        assertNull(FindingFlatFields.normalizeSeverity(null));
+    }
+
+    public void testQuery() {
+        BoolQueryBuilder query =
+                FindingFlatFields.query(List.of("monitor-1"), "High", "threat", List.of("finding-1"), null, null);
+
+        assertTrue(query.filter().contains(QueryBuilders.termsQuery(FindingFlatFields.MONITOR_ID_FIELD, List.of("monitor-1"))));
+        assertTrue(query.filter().contains(QueryBuilders.termQuery(FindingFlatFields.SEVERITY_FIELD, "high")));
+        assertTrue(query.filter().contains(QueryBuilders.termQuery(FindingFlatFields.DETECTION_TYPE_FIELD, "threat")));
+        assertTrue(query.filter().contains(QueryBuilders.termsQuery(FindingFlatFields.ID_FIELD, List.of("finding-1"))));
+        assertTrue(query.must().isEmpty());
+
+        query = FindingFlatFields.query(List.of("monitor-1"), null, "rules", null, null, null);
+        assertTrue(query.filter().contains(QueryBuilders.termQuery(FindingFlatFields.DETECTION_TYPE_FIELD, "rule")));
+    }
+
+    public void testIsMapped() {
+        assertTrue(
+                FindingFlatFields.isMapped(
+                        indexMetadata(
+                                "wazuh-findings-v5-detection-1",
+                                Map.of("wazuh", Map.of("properties", Map.of("finding", Map.of("properties", Map.of())))))));
+        assertFalse(
+                FindingFlatFields.isMapped(
+                        indexMetadata(
+                                "wazuh-findings-v5-detection-2",
+                                Map.of("wazuh", Map.of("properties", Map.of("integration", Map.of("properties", Map.of())))))));
+    }
+
+    private static IndexMetadata indexMetadata(String name, Map<String, Object> properties) {
+        return IndexMetadata.builder(name)
+                .settings(settings(Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putMapping(
+                        new MappingMetadata(
+                                org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME,
+                                Map.of(
+                                        org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME,
+                                        Map.of("properties", properties))))
+                .build();
+    }
+}
@@ -16,6 +16,10 @@
  */
 package org.opensearch.securityanalytics.findings;
 
+import org.opensearch.Version;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.commons.alerting.model.CronSchedule;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.commons.alerting.model.Finding;
@@ -23,6 +27,12 @@ import org.opensearch.commons.alerting.model.FindingDocument;
 import org.opensearch.commons.alerting.model.Table;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.NestedQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.action.FindingDto;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetDetectorRequest;
@@ -38,6 +48,8 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -330,4 +342,93 @@ public class FindingServiceTests extends OpenSearchTestCase {
                     }
                 });
     }
+
+    public void testGetFlatFieldsBoolQueryBuilder_hasNoNestedQuery() {
+        Instant startTime = Instant.ofEpochMilli(1000L);
+        Instant endTime = Instant.ofEpochMilli(2000L);
+        BoolQueryBuilder query = FindingsService.getFlatFieldsBoolQueryBuilder(
+                List.of("finding-1", "finding-2"), startTime, endTime, List.of("finding-1"));
+
+        assertFalse(containsNestedQuery(query));
+        assertTrue(containsNestedQuery(FindingsService.getBoolQueryBuilder("rules", "high", null, null, null)));
+        assertTrue(query.must().isEmpty());
+        assertTrue(query.filter().contains(QueryBuilders.termsQuery("id", List.of("finding-1", "finding-2"))));
+        assertTrue(query.filter().contains(QueryBuilders.termsQuery("id", List.of("finding-1"))));
+        assertTrue(query.filter().contains(QueryBuilders.rangeQuery("timestamp").from(1000L).to(2000L)));
+    }
+
+    public void testGetFlatFieldsBoolQueryBuilder_noEnrichedFindingMatches() {
+        BoolQueryBuilder query = FindingsService.getFlatFieldsBoolQueryBuilder(null, null, null, List.of());
+
+        assertFalse(containsNestedQuery(query));
+        assertEquals(List.of(QueryBuilders.termsQuery("id", List.of())), query.filter());
+    }
+
+    public void testFlatFieldsFindingIdsSource_readsHitsOfTheFlatFields() {
+        SearchSourceBuilder source = FindingsService.flatFieldsFindingIdsSource(
+                List.of("monitor-1"), "High", "rules", List.of("finding-1"), null, null, 101);
+
+        assertNull(source.aggregations());
+        assertEquals(FindingFlatFields.ID_FIELD, source.collapse().getField());
+        assertEquals(101, source.size());
+        BoolQueryBuilder query = (BoolQueryBuilder) source.query();
+        assertFalse(containsNestedQuery(query));
+        assertEquals(FindingFlatFields.query(List.of("monitor-1"), null, null, List.of("finding-1"), null, null).filter(), query.filter());
+        assertEquals(1, query.should().size());
+        assertEquals(FindingsService.MATCHING_FINDINGS_QUERY, query.should().get(0).queryName());
+        assertTrue(((BoolQueryBuilder) query.should().get(0)).filter()
+                .contains(QueryBuilders.termQuery(FindingFlatFields.SEVERITY_FIELD, "high")));
+    }
+
+    public void testNotEnrichedFindingsQuery_excludesEnrichedFindings() {
+        BoolQueryBuilder query = FindingsService.notEnrichedFindingsQuery(
+                List.of("monitor-1"), null, null, null, List.of("finding-1"));
+
+        assertFalse(containsNestedQuery(query));
+        assertTrue(query.filter().contains(QueryBuilders.termsQuery("monitor_id", List.of("monitor-1"))));
+        assertEquals(List.of(QueryBuilders.termsQuery("id", List.of("finding-1"))), query.mustNot());
+    }
+
+    private static boolean containsNestedQuery(QueryBuilder query) {
+        if (query instanceof NestedQueryBuilder) {
+            return true;
+        }
+        if (query instanceof BoolQueryBuilder) {
+            BoolQueryBuilder bool = (BoolQueryBuilder) query;
+            return Stream.of(bool.must(), bool.filter(), bool.should(), bool.mustNot())
+                    .flatMap(List::stream)
+                    .anyMatch(FindingServiceTests::containsNestedQuery);
+        }
+        return false;
+    }
+
+    public void testFlatFieldsMapped_cachedUntilMetadataChanges() {
+        FindingsService findingsService = new FindingsService();
+        Metadata mapped = Metadata.builder()
+                .version(1L)
+                .put(enrichedFindingsIndex("wazuh-findings-v5-detection-000001", "finding"), false)
+                .build();
+        assertTrue(findingsService.flatFieldsMapped(mapped));
+
+        Metadata notMapped = Metadata.builder(mapped)
+                .put(enrichedFindingsIndex("wazuh-findings-v5-detection-000002", "integration"), false)
+                .build();
+        // Same metadata version, the previous answer is reused
+        assertTrue(findingsService.flatFieldsMapped(notMapped));
+        assertFalse(findingsService.flatFieldsMapped(Metadata.builder(notMapped).version(2L).build()));
+        assertFalse(findingsService.flatFieldsMapped(Metadata.builder().version(3L).build()));
+    }
+
+    private static IndexMetadata.Builder enrichedFindingsIndex(String name, String wazuhField) {
+        return IndexMetadata.builder(name)
+                .settings(settings(Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putMapping(
+                        new MappingMetadata(
+                                MapperService.SINGLE_MAPPING_NAME,
+                                Map.of(
+                                        MapperService.SINGLE_MAPPING_NAME,
+                                        Map.of("properties", Map.of("wazuh", Map.of("properties", Map.of(wazuhField, Map.of("properties", Map.of()))))))));
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+
+public class FindingIndexCatalogTests extends OpenSearchTestCase {
+
+    private static final long HOUR = 60L * 60 * 1000;
+    private static final long DAY = 24 * HOUR;
+
+    private static final String GEN_1 = ".opensearch-sap-linux-findings-2026.01.01-1";
+    private static final String GEN_2 = ".opensearch-sap-linux-findings-2026.01.02-000002";
+    private static final String GEN_3 = ".opensearch-sap-linux-findings-2026.01.03-000003";
+
+    private static FindingIndexCatalog catalogWithLinuxFindings() {
+        FindingIndexCatalog catalog = new FindingIndexCatalog(TimeValue.timeValueHours(1));
+        catalog.add(GEN_1, 10 * DAY);
+        catalog.add(GEN_3, 12 * DAY);
+        catalog.add(GEN_2, 11 * DAY);
+        catalog.add(".opensearch-sap-linux-audit-findings-2026.01.01-1", 10 * DAY);
+        catalog.markInitialized();
+        return catalog;
+    }
+
+    public void testFallsBackToPatternBeforeInitialization() {
+        FindingIndexCatalog catalog = new FindingIndexCatalog(TimeValue.ZERO);
+        catalog.add(GEN_1, 10 * DAY);
+
+        assertArrayEquals(
+                new String[] {DetectorMonitorConfig.getAllFindingsIndicesPattern("linux")},
+                catalog.findingsIndices("linux", 0, Long.MAX_VALUE));
+    }
+
+    public void testFallsBackToPatternForUnknownSeries() {
+        FindingIndexCatalog catalog = catalogWithLinuxFindings();
+
+        assertArrayEquals(
+                new String[] {DetectorMonitorConfig.getAllFindingsIndicesPattern("windows")},
+                catalog.findingsIndices("windows", 0, Long.MAX_VALUE));
+    }
+
+    public void testResolvesGenerationsCoveringRange() {
+        FindingIndexCatalog catalog = catalogWithLinuxFindings();
+
+        // Entirely within the second generation
+        assertArrayEquals(
+                new String[] {GEN_2}, catalog.findingsIndices("linux", 11 * DAY + 2 * HOUR, 11 * DAY + 3 * HOUR));
+        // Spanning the last two generations
+        assertArrayEquals(
+                new String[] {GEN_2, GEN_3},
+                catalog.findingsIndices("linux", 11 * DAY + 2 * HOUR, 13 * DAY));
+        // Before the oldest generation
+        assertArrayEquals(new String[] {GEN_1}, catalog.findingsIndices("linux", 0, DAY));
+        // Everything
+        assertArrayEquals(
+                new String[] {GEN_1, GEN_2, GEN_3}, catalog.findingsIndices("linux", 0, Long.MAX_VALUE));
+    }
+
+    public void testSlackIncludesAdjacentGenerations() {
+        FindingIndexCatalog catalog = catalogWithLinuxFindings();
+
+        // Right after the rollover, late findings may still sit in the previous generation
+        assertArrayEquals(
+                new String[] {GEN_1, GEN_2},
+                catalog.findingsIndices("linux", 11 * DAY + HOUR / 2, 11 * DAY + HOUR));
+        // Right before the rollover, findings may already sit in the next generation
+        assertArrayEquals(
+                new String[] {GEN_1, GEN_2},
+                catalog.findingsIndices("linux", 11 * DAY - 2 * HOUR, 11 * DAY - HOUR / 2));
+
+        catalog.setSlack(TimeValue.ZERO);
+        assertArrayEquals(
+                new String[] {GEN_2}, catalog.findingsIndices("linux", 11 * DAY + HOUR / 2, 11 * DAY + HOUR));
+    }
+
+    public void testRemovedGenerationsAreNotResolved() {
+        FindingIndexCatalog catalog = catalogWithLinuxFindings();
+        catalog.remove(GEN_1);
+        catalog.remove("unrelated-index");
+
+        assertArrayEquals(new String[] {GEN_2, GEN_3}, catalog.findingsIndices("linux", 0, Long.MAX_VALUE));
+    }
+
+    public void testFindingsIndexExpression() {
+        FindingIndexCatalog catalog = catalogWithLinuxFindings();
+
+        assertEquals(
+                DetectorMonitorConfig.getAllFindingsIndicesPattern("linux"),
+                catalog.findingsIndexExpression("linux", null, Instant.ofEpochMilli(DAY)));
+        assertEquals(
+                GEN_2,
+                catalog.findingsIndexExpression(
+                        "linux",
+                        Instant.ofEpochMilli(11 * DAY + 2 * HOUR),
+                        Instant.ofEpochMilli(11 * DAY + 3 * HOUR)));
+        // The common prefix of the last two generations also matches the first one
+        assertEquals(
+                DetectorMonitorConfig.getAllFindingsIndicesPattern("linux"),
+                catalog.findingsIndexExpression(
+                        "linux", Instant.ofEpochMilli(11 * DAY + 2 * HOUR), Instant.ofEpochMilli(13 * DAY)));
+    }
+
+    public void testFindingsIndexExpression_neverWidensToOtherGenerations() {
+        String previousYear = ".opensearch-sap-linux-findings-2025.12.31-000001";
+        FindingIndexCatalog catalog = new FindingIndexCatalog(TimeValue.timeValueHours(1));
+        catalog.add(previousYear, 9 * DAY);
+        catalog.add(GEN_2, 11 * DAY);
+        catalog.add(GEN_3, 12 * DAY);
+        catalog.markInitialized();
+
+        // Only the selected generations share the common prefix
+        assertEquals(
+                ".opensearch-sap-linux-findings-2026.01.0*",
+                catalog.findingsIndexExpression(
+                        "linux", Instant.ofEpochMilli(11 * DAY + 2 * HOUR), Instant.ofEpochMilli(13 * DAY)));
+        // Across the year the common prefix would be "...-findings-202", matching the newest one too
+        assertEquals(
+                DetectorMonitorConfig.getAllFindingsIndicesPattern("linux"),
+                catalog.findingsIndexExpression(
+                        "linux", Instant.ofEpochMilli(9 * DAY + 2 * HOUR), Instant.ofEpochMilli(11 * DAY + 2 * HOUR)));
+    }
+
+    public void testCommonPrefix() {
+        assertEquals("abc", FindingIndexCatalog.commonPrefix(new String[] {"abcd", "abce", "abc"}));
+        assertEquals("", FindingIndexCatalog.commonPrefix(new String[] {"abc", "xyz"}));
+        assertEquals("abc", FindingIndexCatalog.commonPrefix(new String[] {"abc"}));
+    }
+}
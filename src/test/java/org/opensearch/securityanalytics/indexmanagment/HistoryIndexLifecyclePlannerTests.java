@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HistoryIndexLifecyclePlannerTests extends OpenSearchTestCase {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final long NOW = 100 * DAY;
+
+    private static HistoryIndexLifecyclePlanner plannerWithFindings(String... logTypes) {
+        HistoryIndexLifecyclePlanner planner = new HistoryIndexLifecyclePlanner();
+        Map<String, String> patterns = new HashMap<>();
+        for (String logType : logTypes) {
+            patterns.put(
+                    DetectorMonitorConfig.getWazuhFindingsIndex(logType),
+                    DetectorMonitorConfig.getWazuhFindingsIndexPattern(logType));
+        }
+        planner.setSeries("finding", patterns);
+        return planner;
+    }
+
+    public void testGenerationPrefix() {
+        assertEquals(
+                "wazuh-findings-v5-linux-",
+                HistoryIndexLifecyclePlanner.generationPrefix(
+                        DetectorMonitorConfig.getWazuhFindingsIndexPattern("linux")));
+        assertEquals(
+                ".opensearch-sap-correlation-history-",
+                HistoryIndexLifecyclePlanner.generationPrefix(
+                        "<.opensearch-sap-correlation-history-{now/d}-1>"));
+        assertNull(HistoryIndexLifecyclePlanner.generationPrefix("wazuh-findings-v5-linux"));
+    }
+
+    public void testSeriesPrefixOf() {
+        assertEquals(
+                "wazuh-findings-v5-linux-",
+                HistoryIndexLifecyclePlanner.seriesPrefixOf("wazuh-findings-v5-linux-2026.10.19-000002"));
+        assertEquals(
+                "wazuh-findings-v5-linux-audit-",
+                HistoryIndexLifecyclePlanner.seriesPrefixOf("wazuh-findings-v5-linux-audit-2026.10.19-1"));
+        assertNull(HistoryIndexLifecyclePlanner.seriesPrefixOf(".opensearch-sap-linux-alerts"));
+    }
+
+    public void testExpiredGenerations_oldestFirstAndStopsAtRetention() {
+        HistoryIndexLifecyclePlanner planner = plannerWithFindings("linux");
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.03-000003", NOW - 2 * DAY);
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.01-1", NOW - 40 * DAY);
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.02-000002", NOW - 35 * DAY);
+
+        List<String> expired =
+                planner.expiredGenerations("finding", NOW, 30 * DAY, true, alias -> null);
+
+        assertEquals(
+                List.of("wazuh-findings-v5-linux-2026.01.01-1", "wazuh-findings-v5-linux-2026.01.02-000002"),
+                expired);
+    }
+
+    public void testExpiredGenerations_keepsWriteIndexOnlyWhenRequested() {
+        HistoryIndexLifecyclePlanner planner = plannerWithFindings("linux");
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.01-1", NOW - 40 * DAY);
+
+        assertTrue(
+                planner
+                        .expiredGenerations(
+                                "finding",
+                                NOW,
+                                30 * DAY,
+                                true,
+                                alias -> "wazuh-findings-v5-linux-2026.01.01-1")
+                        .isEmpty());
+        assertEquals(
+                List.of("wazuh-findings-v5-linux-2026.01.01-1"),
+                planner.expiredGenerations(
+                        "finding", NOW, 30 * DAY, false, alias -> "wazuh-findings-v5-linux-2026.01.01-1"));
+    }
+
+    public void testSeriesWithSharedPrefixAreKeptApart() {
+        HistoryIndexLifecyclePlanner planner = plannerWithFindings("linux");
+        planner.onIndexCreated("wazuh-findings-v5-linux-audit-2026.01.01-1", NOW - 40 * DAY);
+
+        assertTrue(planner.expiredGenerations("finding", NOW, 30 * DAY, true, alias -> null).isEmpty());
+        assertEquals(0, planner.generationCount("finding", "wazuh-findings-v5-linux"));
+    }
+
+    public void testGenerationsTrackedBeforeSeriesRegistration() {
+        HistoryIndexLifecyclePlanner planner = new HistoryIndexLifecyclePlanner();
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.01-1", NOW - 40 * DAY);
+
+        planner.setSeries(
+                "finding",
+                Map.of(
+                        DetectorMonitorConfig.getWazuhFindingsIndex("linux"),
+                        DetectorMonitorConfig.getWazuhFindingsIndexPattern("linux")));
+
+        assertEquals(1, planner.generationCount("finding", "wazuh-findings-v5-linux"));
+    }
+
+    public void testDeletedIndicesAreForgotten() {
+        HistoryIndexLifecyclePlanner planner = plannerWithFindings("linux");
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.01-1", NOW - 40 * DAY);
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.01-1", NOW - 40 * DAY);
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.02-000002", NOW - 35 * DAY);
+        assertEquals(2, planner.generationCount("finding", "wazuh-findings-v5-linux"));
+
+        planner.onIndexDeleted("wazuh-findings-v5-linux-2026.01.01-1");
+        planner.onIndexDeleted("unrelated-index");
+
+        assertEquals(1, planner.generationCount("finding", "wazuh-findings-v5-linux"));
+        assertEquals(
+                List.of("wazuh-findings-v5-linux-2026.01.02-000002"),
+                planner.expiredGenerations("finding", NOW, 30 * DAY, true, alias -> null));
+    }
+
+    public void testRolledOverGenerations_excludeWriteIndex() {
+        HistoryIndexLifecyclePlanner planner = plannerWithFindings("linux");
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.01-1", NOW - 40 * DAY);
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.02-000002", NOW - 2 * DAY);
+
+        assertEquals(
+                List.of("wazuh-findings-v5-linux-2026.01.01-1"),
+                planner.rolledOverGenerations(
+                        "finding", alias -> "wazuh-findings-v5-linux-2026.01.02-000002"));
+        assertTrue(planner.rolledOverGenerations("correlation", alias -> null).isEmpty());
+    }
+
+    public void testIsRolloverDue() {
+        assertTrue(HistoryIndexLifecyclePlanner.isRolloverDue(NOW, 1000, 1000, DAY, NOW));
+        assertTrue(HistoryIndexLifecyclePlanner.isRolloverDue(NOW - DAY, 0, 1000, DAY, NOW));
+        assertFalse(HistoryIndexLifecyclePlanner.isRolloverDue(NOW - 1, 999, 1000, DAY, NOW));
+    }
+
+    public void testGenerationsCovering_withoutRegisteredSeries() {
+        HistoryIndexLifecyclePlanner planner = new HistoryIndexLifecyclePlanner();
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.01-1", 10 * DAY);
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.02-000002", 11 * DAY);
+        planner.onIndexCreated("wazuh-findings-v5-linux-2026.01.03-000003", 12 * DAY);
+
+        assertEquals(
+                List.of("wazuh-findings-v5-linux-2026.01.02-000002"),
+                planner.generationsCovering("wazuh-findings-v5-linux-", 11 * DAY + 1, 12 * DAY - 1));
+        assertEquals(
+                List.of("wazuh-findings-v5-linux-2026.01.01-1", "wazuh-findings-v5-linux-2026.01.02-000002"),
+                planner.generationsCovering("wazuh-findings-v5-linux-", 0, 11 * DAY));
+        assertEquals(3, planner.generationsOf("wazuh-findings-v5-linux-").size());
+        assertNull(planner.generationsCovering("wazuh-findings-v5-windows-", 0, Long.MAX_VALUE));
+    }
+}
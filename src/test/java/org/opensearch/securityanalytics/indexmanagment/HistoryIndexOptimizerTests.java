@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import org.opensearch.Version;
+import org.opensearch.action.admin.indices.rollover.RolloverInfo;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+
+public class HistoryIndexOptimizerTests extends OpenSearchTestCase {
+
+    private static IndexMetadata.Builder generation(long creationDate) {
+        return IndexMetadata.builder("wazuh-findings-v5-linux-2026.10.19-000001")
+                .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .creationDate(creationDate);
+    }
+
+    public void testRolledOverAtUsesLatestRollover() {
+        IndexMetadata indexMetadata =
+                generation(1000L)
+                        .putRolloverInfo(new RolloverInfo("wazuh-findings-v5-linux", List.of(), 5000L))
+                        .putRolloverInfo(new RolloverInfo("wazuh-findings-v5-linux-alias", List.of(), 3000L))
+                        .build();
+
+        assertEquals(5000L, HistoryIndexOptimizer.rolledOverAt(indexMetadata));
+    }
+
+    public void testRolledOverAtFallsBackToCreationDate() {
+        assertEquals(1000L, HistoryIndexOptimizer.rolledOverAt(generation(1000L).build()));
+    }
+
+    public void testCodecSwitchAndReplicaDropAreOptIn() {
+        // Neither closes a generation nor removes its redundancy unless configured
+        assertEquals("", SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_CODEC.get(Settings.EMPTY));
+        assertFalse(SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_REPLICA_DROP_ENABLED.get(Settings.EMPTY));
+    }
+
+    public void testCodecSettingAcceptsKnownCodecs() {
+        for (String codec : List.of("", "default", "best_compression")) {
+            assertEquals(
+                    codec,
+                    SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_CODEC.get(
+                            Settings.builder()
+                                    .put(SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_CODEC.getKey(), codec)
+                                    .build()));
+        }
+    }
+
+    public void testCodecSettingRejectsUnknownCodec() {
+        Settings settings =
+                Settings.builder()
+                        .put(SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_CODEC.getKey(), "best_compresion")
+                        .build();
+
+        IllegalArgumentException e =
+                expectThrows(
+                        IllegalArgumentException.class,
+                        () -> SecurityAnalyticsSettings.HISTORY_OPTIMIZATION_CODEC.get(settings));
+        assertTrue(e.getMessage(), e.getMessage().contains("best_compresion"));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.logtype;
+
+import org.opensearch.securityanalytics.model.FieldMappingDoc;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class FieldMappingSnapshotTests extends OpenSearchTestCase {
+
+    private static FieldMappingDoc doc(String rawField, Map<String, String> schemaFields, String... logTypes) {
+        return new FieldMappingDoc(
+                rawField + "|" + schemaFields.get("ecs"),
+                rawField,
+                new HashMap<>(schemaFields),
+                new HashSet<>(Set.of(logTypes)));
+    }
+
+    public void testMappingsAreIndexedByLogTypeAndRawField() {
+        FieldMappingSnapshot snapshot =
+                FieldMappingSnapshot.of(
+                        "uuid",
+                        3L,
+                        List.of(
+                                doc("src", Map.of("ecs", "source.ip", "ocsf", "src_endpoint.ip"), "linux", "windows"),
+                                doc("user", Map.of("ecs", "user.name"), "linux")));
+
+        assertEquals(Set.of("linux", "windows"), snapshot.getLogTypes());
+        assertEquals(
+                Map.of("ecs", "source.ip", "ocsf", "src_endpoint.ip"),
+                snapshot.getFieldMappings("windows").get("src"));
+        assertEquals(Map.of("src", "source.ip", "user", "user.name"), snapshot.getRuleFieldMappings("linux", "ecs"));
+        assertTrue(snapshot.getFieldMappings("unknown").isEmpty());
+    }
+
+    public void testMissingSchemaFieldIsMappedToNull() {
+        FieldMappingSnapshot snapshot =
+                FieldMappingSnapshot.of("uuid", 3L, List.of(doc("src", Map.of("ecs", "source.ip"), "linux")));
+
+        Map<String, String> ruleFieldMappings = snapshot.getRuleFieldMappings("linux", "ocsf");
+        assertTrue(ruleFieldMappings.containsKey("src"));
+        assertNull(ruleFieldMappings.get("src"));
+    }
+
+    public void testLastMappingOfRawFieldWins() {
+        FieldMappingSnapshot snapshot =
+                FieldMappingSnapshot.of(
+                        "uuid",
+                        3L,
+                        List.of(
+                                doc("src", Map.of("ecs", "source.ip"), "linux"),
+                                doc("dst", Map.of("ecs", "destination.ip"), "linux"),
+                                doc("src", Map.of("ecs", "client.ip"), "linux")));
+
+        assertEquals(List.of("dst", "src"), List.copyOf(snapshot.getFieldMappings("linux").keySet()));
+        assertEquals("client.ip", snapshot.getRuleFieldMappings("linux", "ecs").get("src"));
+    }
+
+    public void testEveryMappingIsKeptInIndexOrder() {
+        FieldMappingSnapshot snapshot =
+                FieldMappingSnapshot.of(
+                        "uuid",
+                        3L,
+                        List.of(
+                                doc("src", Map.of("ecs", "source.ip"), "linux"),
+                                doc("dst", Map.of("ecs", "destination.ip"), "linux"),
+                                doc("src", Map.of("ecs", "client.ip"), "linux")));
+
+        List<Map.Entry<String, Map<String, String>>> fieldMappings = snapshot.getFieldMappingsInIndexOrder("linux");
+        assertEquals(List.of("src", "dst", "src"), fieldMappings.stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+        // The first mapping of a raw field comes first, so consumers keeping the first one still do
+        assertEquals("source.ip", fieldMappings.get(0).getValue().get("ecs"));
+        assertEquals("client.ip", fieldMappings.get(2).getValue().get("ecs"));
+        assertTrue(snapshot.getFieldMappingsInIndexOrder("unknown").isEmpty());
+    }
+
+    public void testSnapshotIsImmutable() {
+        FieldMappingDoc doc = doc("src", Map.of("ecs", "source.ip"), "linux");
+        FieldMappingSnapshot snapshot = FieldMappingSnapshot.of("uuid", 3L, List.of(doc));
+
+        doc.getSchemaFields().put("ecs", "changed.ip");
+        assertEquals("source.ip", snapshot.getFieldMappings("linux").get("src").get("ecs"));
+        expectThrows(UnsupportedOperationException.class, () -> snapshot.getFieldMappings("linux").remove("src"));
+        expectThrows(UnsupportedOperationException.class, () -> snapshot.getLogTypes().clear());
+        expectThrows(UnsupportedOperationException.class, () -> snapshot.getFieldMappingsInIndexOrder("linux").clear());
+    }
+
+    public void testSnapshotIsCurrentForSameIndexAndMappingVersion() {
+        FieldMappingSnapshot snapshot = FieldMappingSnapshot.of("uuid", 3L, List.of());
+
+        assertTrue(snapshot.isCurrent("uuid", 3L));
+        assertFalse(snapshot.isCurrent("uuid", 4L));
+        assertFalse(snapshot.isCurrent("recreated", 3L));
+    }
+}
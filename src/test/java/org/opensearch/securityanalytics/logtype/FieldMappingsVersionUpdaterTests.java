@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.logtype;
+
+import org.opensearch.Version;
+import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.AdminClient;
+import org.opensearch.transport.client.Client;
+import org.opensearch.transport.client.IndicesAdminClient;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.opensearch.securityanalytics.logtype.FieldMappingsVersionUpdater.FIELD_MAPPINGS_WRITER_META_FIELD;
+import static org.opensearch.securityanalytics.logtype.LogTypeService.FIELD_MAPPINGS_VERSION_META_FIELD;
+import static org.opensearch.securityanalytics.logtype.LogTypeService.LOG_TYPE_INDEX;
+
+public class FieldMappingsVersionUpdaterTests extends OpenSearchTestCase {
+
+    /** Applies put mapping requests one at a time, as the cluster manager does, when the test says so. */
+    private static class ClusterManager {
+        private ClusterState state = stateWith(Map.of("schema_version", 3), 1L);
+        private final Deque<PutMappingRequest> requests = new ArrayDeque<>();
+        private final Deque<ActionListener<AcknowledgedResponse>> listeners = new ArrayDeque<>();
+
+        /** Applies the oldest pending request, without acknowledging it yet. */
+        ActionListener<AcknowledgedResponse> apply() {
+            Map<String, Object> source =
+                    XContentHelper.convertToMap(JsonXContent.jsonXContent, requests.poll().source(), false);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> meta = (Map<String, Object>) source.get("_meta");
+            IndexMetadata index = state.metadata().index(LOG_TYPE_INDEX);
+            if (!Objects.equals(meta, index.mapping().sourceAsMap().get("_meta"))) {
+                // Like the cluster manager, only a mapping change bumps the mapping version
+                state = stateWith(meta, index.getMappingVersion() + 1);
+            }
+            return listeners.poll();
+        }
+
+        /** Moves the oldest pending request behind the others. */
+        void defer() {
+            requests.addLast(requests.poll());
+            listeners.addLast(listeners.poll());
+        }
+
+        long mappingVersion() {
+            return state.metadata().index(LOG_TYPE_INDEX).getMappingVersion();
+        }
+
+        Object meta(String field) {
+            return ((Map<?, ?>) state.metadata().index(LOG_TYPE_INDEX).mapping().sourceAsMap().get("_meta")).get(field);
+        }
+    }
+
+    private static ClusterState stateWith(Map<String, Object> meta, long mappingVersion) {
+        IndexMetadata index =
+                IndexMetadata.builder(LOG_TYPE_INDEX)
+                        .settings(settings(Version.CURRENT))
+                        .numberOfShards(1)
+                        .numberOfReplicas(0)
+                        .mappingVersion(mappingVersion)
+                        .putMapping(
+                                new MappingMetadata(
+                                        MapperService.SINGLE_MAPPING_NAME,
+                                        Map.of(MapperService.SINGLE_MAPPING_NAME, Map.of("_meta", meta))))
+                        .build();
+        return ClusterState.builder(ClusterName.DEFAULT)
+                .metadata(Metadata.builder().put(index, false))
+                .build();
+    }
+
+    /** An updater on a node of its own, sharing the cluster state of the given cluster manager. */
+    @SuppressWarnings("unchecked")
+    private static FieldMappingsVersionUpdater node(ClusterManager clusterManager) {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.state()).thenAnswer(invocation -> clusterManager.state);
+        IndicesAdminClient indicesAdminClient = mock(IndicesAdminClient.class);
+        doAnswer(
+                        invocation -> {
+                            clusterManager.requests.add(invocation.getArgument(0));
+                            clusterManager.listeners.add(invocation.getArgument(1));
+                            return null;
+                        })
+                .when(indicesAdminClient)
+                .putMapping(any(PutMappingRequest.class), any(ActionListener.class));
+        AdminClient adminClient = mock(AdminClient.class);
+        when(adminClient.indices()).thenReturn(indicesAdminClient);
+        Client client = mock(Client.class);
+        when(client.admin()).thenReturn(adminClient);
+        return new FieldMappingsVersionUpdater(client, clusterService);
+    }
+
+    public void testBumpKeepsTheRestOfTheMeta() {
+        ClusterManager clusterManager = new ClusterManager();
+        FieldMappingsVersionUpdater updater = node(clusterManager);
+        AtomicInteger completed = new AtomicInteger();
+
+        updater.bump(ActionListener.wrap(r -> completed.incrementAndGet(), e -> fail()));
+        clusterManager.apply().onResponse(new AcknowledgedResponse(true));
+        updater.bump(ActionListener.wrap(r -> completed.incrementAndGet(), e -> fail()));
+        clusterManager.apply().onResponse(new AcknowledgedResponse(true));
+
+        assertEquals(2, completed.get());
+        assertEquals(2, ((Number) clusterManager.meta(FIELD_MAPPINGS_VERSION_META_FIELD)).intValue());
+        assertEquals(3, clusterManager.meta("schema_version"));
+        assertEquals(3L, clusterManager.mappingVersion());
+        assertTrue(clusterManager.requests.isEmpty());
+    }
+
+    public void testConcurrentWritersEachStoreAVersionOfTheirOwn() {
+        ClusterManager clusterManager = new ClusterManager();
+        FieldMappingsVersionUpdater first = node(clusterManager);
+        FieldMappingsVersionUpdater second = node(clusterManager);
+        AtomicInteger completed = new AtomicInteger();
+
+        // Both writers read version 0 before either of their requests is applied
+        first.bump(ActionListener.wrap(r -> completed.incrementAndGet(), e -> fail()));
+        second.bump(ActionListener.wrap(r -> completed.incrementAndGet(), e -> fail()));
+        assertEquals(2, clusterManager.requests.size());
+
+        ActionListener<AcknowledgedResponse> firstAck = clusterManager.apply();
+        ActionListener<AcknowledgedResponse> secondAck = clusterManager.apply();
+        // The second write of version 1 still changed the mapping, thanks to its writer token
+        assertEquals(3L, clusterManager.mappingVersion());
+
+        // The first writer lost version 1 to the second one and tries again
+        firstAck.onResponse(new AcknowledgedResponse(true));
+        assertEquals(0, completed.get());
+        assertEquals(1, clusterManager.requests.size());
+        secondAck.onResponse(new AcknowledgedResponse(true));
+        assertEquals(1, completed.get());
+
+        clusterManager.apply().onResponse(new AcknowledgedResponse(true));
+        assertEquals(2, completed.get());
+        assertEquals(2, ((Number) clusterManager.meta(FIELD_MAPPINGS_VERSION_META_FIELD)).intValue());
+        assertEquals(4L, clusterManager.mappingVersion());
+        assertTrue(clusterManager.requests.isEmpty());
+    }
+
+    public void testWriterRetriesWhenAnOlderVersionOverwroteIt() {
+        ClusterManager clusterManager = new ClusterManager();
+        FieldMappingsVersionUpdater stale = node(clusterManager);
+        FieldMappingsVersionUpdater current = node(clusterManager);
+        AtomicInteger completed = new AtomicInteger();
+
+        // The stale writer reads version 0, then another node stores version 1 before the current one reads
+        stale.bump(ActionListener.wrap(r -> completed.incrementAndGet(), e -> fail()));
+        clusterManager.state =
+                stateWith(Map.of(FIELD_MAPPINGS_VERSION_META_FIELD, 1, FIELD_MAPPINGS_WRITER_META_FIELD, "other"), 2L);
+        current.bump(ActionListener.wrap(r -> completed.incrementAndGet(), e -> fail()));
+
+        // The current writer's version 2 is applied first, then overwritten by the stale version 1
+        clusterManager.defer();
+        ActionListener<AcknowledgedResponse> currentAck = clusterManager.apply();
+        ActionListener<AcknowledgedResponse> staleAck = clusterManager.apply();
+        assertEquals(1, ((Number) clusterManager.meta(FIELD_MAPPINGS_VERSION_META_FIELD)).intValue());
+
+        currentAck.onResponse(new AcknowledgedResponse(true));
+        staleAck.onResponse(new AcknowledgedResponse(true));
+        assertEquals(1, completed.get());
+
+        clusterManager.apply().onResponse(new AcknowledgedResponse(true));
+        assertEquals(2, completed.get());
+        assertEquals(2, ((Number) clusterManager.meta(FIELD_MAPPINGS_VERSION_META_FIELD)).intValue());
+        assertTrue(clusterManager.requests.isEmpty());
+    }
+
+    public void testFailureIsOnlyLogged() {
+        ClusterManager clusterManager = new ClusterManager();
+        FieldMappingsVersionUpdater updater = node(clusterManager);
+        AtomicInteger completed = new AtomicInteger();
+
+        updater.bump(ActionListener.wrap(r -> completed.incrementAndGet(), e -> fail()));
+        clusterManager.requests.poll();
+        clusterManager.listeners.poll().onFailure(new IllegalStateException("cluster manager left"));
+
+        assertEquals(1, completed.get());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.logtype;
+
+import org.opensearch.securityanalytics.model.FieldMappingDoc;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class MergeFieldMappingsTests extends OpenSearchTestCase {
+
+    private static FieldMappingDoc doc(String id, String rawField, String ecs, String... logTypes) {
+        Map<String, String> schemaFields = new HashMap<>();
+        if (ecs != null) {
+            schemaFields.put("ecs", ecs);
+        }
+        return new FieldMappingDoc(id, rawField, schemaFields, new HashSet<>(Set.of(logTypes)));
+    }
+
+    private static List<FieldMappingDoc> merge(List<FieldMappingDoc> existing, FieldMappingDoc... incoming) {
+        return LogTypeService.mergeFieldMappings(new ArrayList<>(existing), List.of(incoming), "ecs");
+    }
+
+    public void testSameRawAndSchemaFieldIsMerged() {
+        FieldMappingDoc existing = doc("src|source.ip", "src", "source.ip", "linux");
+        List<FieldMappingDoc> merged = merge(List.of(existing), doc(null, "src", "source.ip", "windows"));
+
+        assertEquals(1, merged.size());
+        assertEquals(Set.of("linux", "windows"), existing.getLogTypes());
+        assertTrue(existing.isDirty());
+    }
+
+    public void testUnchangedMappingIsNotRewritten() {
+        FieldMappingDoc existing = doc("src|source.ip", "src", "source.ip", "linux", "windows");
+        List<FieldMappingDoc> merged = merge(List.of(existing), doc(null, "src", "source.ip", "linux"));
+
+        assertEquals(1, merged.size());
+        assertFalse(existing.isDirty());
+    }
+
+    public void testIdSuffixMatchCoveringLogTypesIsMerged() {
+        FieldMappingDoc existing = doc("src|source.ip", "src", "source.ip", "linux", "windows");
+        List<FieldMappingDoc> merged = merge(List.of(existing), doc(null, "source.ip", "source.ip", "linux"));
+
+        assertEquals(1, merged.size());
+        assertFalse(existing.isDirty());
+    }
+
+    public void testIdSuffixMatchNotCoveringLogTypesIsAppended() {
+        FieldMappingDoc existing = doc("src|source.ip", "src", "source.ip", "linux");
+        FieldMappingDoc incoming = doc(null, "source.ip", "source.ip", "windows");
+        List<FieldMappingDoc> merged = merge(List.of(existing), incoming);
+
+        assertEquals(List.of(existing, incoming), merged);
+        assertTrue(incoming.isDirty());
+        assertFalse(existing.isDirty());
+    }
+
+    public void testDifferentSchemaFieldIsAppended() {
+        FieldMappingDoc existing = doc("src|source.ip", "src", "source.ip", "linux");
+        FieldMappingDoc incoming = doc(null, "src", "destination.ip", "linux");
+
+        assertEquals(List.of(existing, incoming), merge(List.of(existing), incoming));
+        assertTrue(incoming.isDirty());
+    }
+
+    public void testLastMatchingMappingWins() {
+        FieldMappingDoc first = doc("a|src", "src", "source.ip", "linux");
+        FieldMappingDoc second = doc("b|src", "src", "source.ip", "linux");
+        merge(List.of(first, second), doc(null, "src", "source.ip", "windows"));
+
+        assertFalse(first.isDirty());
+        assertTrue(second.isDirty());
+        assertEquals(Set.of("linux", "windows"), second.getLogTypes());
+    }
+
+    public void testMergedSchemaFieldIsMatchedByLaterMappings() {
+        FieldMappingDoc existing = doc("x|src", "x", "old.ip", "linux");
+        // Matched by id suffix, the first incoming mapping changes the schema field of the existing one
+        FieldMappingDoc renamed = doc(null, "src", "new.ip", "linux");
+        FieldMappingDoc sameNewSchemaField = doc(null, "x", "new.ip", "windows");
+        FieldMappingDoc sameOldSchemaField = doc(null, "x", "old.ip", "linux");
+        List<FieldMappingDoc> merged = merge(List.of(existing), renamed, sameNewSchemaField, sameOldSchemaField);
+
+        assertEquals(List.of(existing, sameOldSchemaField), merged);
+        assertEquals("new.ip", existing.getSchemaFields().get("ecs"));
+        assertEquals(Set.of("linux", "windows"), existing.getLogTypes());
+    }
+
+    public void testLargeMergeIsLinear() {
+        int count = 50_000;
+        List<FieldMappingDoc> existing = new ArrayList<>(count);
+        FieldMappingDoc[] incoming = new FieldMappingDoc[count];
+        for (int i = 0; i < count; i++) {
+            existing.add(doc("field" + i + "|ecs" + i, "field" + i, "ecs" + i, "linux"));
+            incoming[i] = doc(null, "field" + i, "ecs" + i, i % 2 == 0 ? "linux" : "windows");
+        }
+        List<FieldMappingDoc> merged = merge(existing, incoming);
+
+        assertEquals(count, merged.size());
+        assertEquals(count / 2, merged.stream().filter(FieldMappingDoc::isDirty).count());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.mapper;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FlatFieldIndexTests extends OpenSearchTestCase {
+
+    private static MappingMetadata mapping(Map<String, Object> properties) {
+        return new MappingMetadata(
+                org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME,
+                Map.of(org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME, Map.of("properties", properties)));
+    }
+
+    private static final MappingMetadata MAPPING = mapping(
+            Map.of(
+                    "source", Map.of("properties", Map.of(
+                            "ip", Map.of("type", "ip"),
+                            "port", Map.of("type", "integer"))),
+                    "message", Map.of("type", "text"),
+                    "srcaddr", Map.of("type", "alias", "path", "source.ip")));
+
+    public void testFieldsAreFlattened() {
+        FlatFieldIndex index = FlatFieldIndex.of(MAPPING);
+
+        assertEquals(Set.of("source.ip", "source.port", "message", "srcaddr"), index.getFields());
+        assertEquals(Set.of("source.ip", "source.port", "message"), index.getNonAliasFields());
+        assertTrue(index.contains("srcaddr"));
+        assertFalse(index.containsNonAlias("srcaddr"));
+        assertFalse(index.contains("source"));
+        assertFalse(index.contains(null));
+        assertEquals(List.of(Pair.of("srcaddr", "source.ip")), index.getAliasPathPairs());
+        assertFalse(index.isEmpty());
+    }
+
+    public void testFieldMappingsOfPresentPaths() {
+        FlatFieldIndex index = FlatFieldIndex.of(MAPPING);
+
+        assertEquals(
+                Map.of("source.ip", Map.of("type", "ip")),
+                index.getFieldMappings(List.of("source.ip", "missing.field")));
+    }
+
+    public void testAliasConflicts() {
+        FlatFieldIndex index = FlatFieldIndex.of(MAPPING);
+
+        // Taken by a field which is not an alias
+        assertTrue(index.conflictsWithAlias("message"));
+        // Taken by an object
+        assertTrue(index.conflictsWithAlias("source"));
+        // A parent is a leaf field
+        assertTrue(index.conflictsWithAlias("message.keyword"));
+        // An alias can be updated
+        assertFalse(index.conflictsWithAlias("srcaddr"));
+        assertFalse(index.conflictsWithAlias("source.address"));
+        assertFalse(index.conflictsWithAlias("destination.ip"));
+    }
+
+    public void testEmptyMapping() {
+        MappingMetadata empty =
+                new MappingMetadata(
+                        org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME,
+                        Map.of(org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME, Map.of()));
+        FlatFieldIndex index = FlatFieldIndex.of(empty);
+
+        assertTrue(index.isEmpty());
+        assertTrue(index.getFields().isEmpty());
+    }
+
+    public void testFieldIndexIsCachedByMappingVersion() {
+        MapperService mapperService = new MapperService();
+        ClusterService clusterService = mock(ClusterService.class);
+        mapperService.setClusterService(clusterService);
+
+        when(clusterService.state()).thenReturn(state(MAPPING, 1L));
+        FlatFieldIndex first = mapperService.getFieldIndex("my_index", MAPPING);
+        assertSame(first, mapperService.getFieldIndex("my_index", MAPPING));
+
+        MappingMetadata updated = mapping(Map.of("message", Map.of("type", "text"), "user", Map.of("type", "keyword")));
+        when(clusterService.state()).thenReturn(state(updated, 2L));
+        FlatFieldIndex second = mapperService.getFieldIndex("my_index", updated);
+        assertNotSame(first, second);
+        assertTrue(second.contains("user"));
+    }
+
+    private static ClusterState state(MappingMetadata mappingMetadata, long mappingVersion) {
+        IndexMetadata indexMetadata =
+                IndexMetadata.builder("my_index")
+                        .settings(settings(Version.CURRENT))
+                        .numberOfShards(1)
+                        .numberOfReplicas(0)
+                        .putMapping(mappingMetadata)
+                        .mappingVersion(mappingVersion)
+                        .build();
+        return ClusterState.builder(ClusterName.DEFAULT)
+                .metadata(Metadata.builder().put(indexMetadata, false))
+                .build();
+    }
+}
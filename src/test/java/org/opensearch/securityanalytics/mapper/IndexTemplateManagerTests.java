@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.mapper;
+
+import org.opensearch.Version;
+import org.opensearch.action.admin.indices.template.put.PutComponentTemplateAction;
+import org.opensearch.action.admin.indices.template.put.PutComposableIndexTemplateAction;
+import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.securityanalytics.model.CreateMappingResult;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexTemplateManagerTests extends OpenSearchTestCase {
+
+    private final List<PutComponentTemplateAction.Request> componentTemplateRequests = new ArrayList<>();
+
+    private final List<PutComposableIndexTemplateAction.Request> indexTemplateRequests = new ArrayList<>();
+
+    /**
+     * Template manager over a cluster holding the given indices, whose client fails the put of the
+     * component templates in {@code failingComponents} and acknowledges every other put.
+     */
+    private IndexTemplateManager indexTemplateManager(List<String> indices, Set<String> failingComponents) {
+        Metadata.Builder metadata = Metadata.builder();
+        for (String index : indices) {
+            metadata.put(
+                    IndexMetadata.builder(index)
+                            .settings(settings(Version.CURRENT))
+                            .numberOfShards(1)
+                            .numberOfReplicas(0),
+                    false);
+        }
+        ClusterState state = ClusterState.builder(new ClusterName("test")).metadata(metadata).build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.state()).thenReturn(state);
+
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            Object request = invocation.getArgument(1);
+            ActionListener<AcknowledgedResponse> listener = invocation.getArgument(2);
+            if (request instanceof PutComponentTemplateAction.Request) {
+                PutComponentTemplateAction.Request put = (PutComponentTemplateAction.Request) request;
+                componentTemplateRequests.add(put);
+                if (failingComponents.contains(put.name())) {
+                    listener.onFailure(new IllegalStateException("component template rejected"));
+                    return null;
+                }
+            } else {
+                indexTemplateRequests.add((PutComposableIndexTemplateAction.Request) request);
+            }
+            listener.onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(client).execute(any(), any(), any());
+
+        return new IndexTemplateManager(
+                client,
+                clusterService,
+                new IndexNameExpressionResolver(new ThreadContext(Settings.EMPTY)),
+                NamedXContentRegistry.EMPTY);
+    }
+
+    /** Applied mappings of an index name, given for every concrete index it may resolve to. */
+    private static Collection<CreateMappingResult> appliedMappings(String field, String... concreteIndices) {
+        List<CreateMappingResult> results = new ArrayList<>();
+        for (String concreteIndex : concreteIndices) {
+            results.add(
+                    new CreateMappingResult(
+                            new AcknowledgedResponse(true),
+                            concreteIndex,
+                            Map.of("properties", Map.of(field, Map.of("type", "alias", "path", "src_ip")))));
+        }
+        return results;
+    }
+
+    public void testTemplatesSharedByTheBatchArePutOnce() {
+        IndexTemplateManager indexTemplateManager = indexTemplateManager(List.of("logs-a-1", "logs-a-x-1"), Set.of());
+        Map<String, Collection<CreateMappingResult>> createMappingResults = new LinkedHashMap<>();
+        createMappingResults.put("logs-a*", appliedMappings("srcaddr", "logs-a-1", "logs-a-x-1"));
+        createMappingResults.put("logs-a-x*", appliedMappings("source", "logs-a-1", "logs-a-x-1"));
+
+        AtomicReference<Map<String, Exception>> failures = new AtomicReference<>();
+        indexTemplateManager.upsertIndexTemplatesWithAliasMappings(
+                createMappingResults, ActionListener.wrap(failures::set, e -> fail("Unexpected failure: " + e)));
+
+        assertTrue(failures.get().isEmpty());
+        assertEquals(2, componentTemplateRequests.size());
+        // The second index name matches the template planned for the first one, which is put once
+        assertEquals(1, indexTemplateRequests.size());
+        PutComposableIndexTemplateAction.Request indexTemplate = indexTemplateRequests.get(0);
+        assertEquals(IndexTemplateUtils.computeIndexTemplateName("logs-a*"), indexTemplate.name());
+        assertEquals(List.of("logs-a*", "logs-a-x*"), indexTemplate.indexTemplate().indexPatterns());
+        assertEquals(
+                List.of(
+                        IndexTemplateUtils.computeComponentTemplateName("logs-a*"),
+                        IndexTemplateUtils.computeComponentTemplateName("logs-a-x*")),
+                indexTemplate.indexTemplate().composedOf());
+    }
+
+    public void testFailingComponentTemplateFailsOnlyItsIndexName() {
+        String failingComponent = IndexTemplateUtils.computeComponentTemplateName("metrics*");
+        IndexTemplateManager indexTemplateManager =
+                indexTemplateManager(List.of("logs-1", "metrics-1"), Set.of(failingComponent));
+        Map<String, Collection<CreateMappingResult>> createMappingResults = new LinkedHashMap<>();
+        createMappingResults.put("logs*", appliedMappings("srcaddr", "logs-1"));
+        createMappingResults.put("metrics*", appliedMappings("srcaddr", "metrics-1"));
+        createMappingResults.put("logs-1", appliedMappings("srcaddr", "logs-1"));
+
+        AtomicReference<Map<String, Exception>> failures = new AtomicReference<>();
+        indexTemplateManager.upsertIndexTemplatesWithAliasMappings(
+                createMappingResults, ActionListener.wrap(failures::set, e -> fail("Unexpected failure: " + e)));
+
+        assertEquals(Set.of("metrics*", "logs-1"), failures.get().keySet());
+        assertTrue(failures.get().get("metrics*").getMessage().contains("component template rejected"));
+        assertEquals(2, componentTemplateRequests.size());
+        assertEquals(1, indexTemplateRequests.size());
+        assertEquals(List.of("logs*"), indexTemplateRequests.get(0).indexTemplate().indexPatterns());
+    }
+}
@@ -6,22 +6,47 @@
 
 package org.opensearch.securityanalytics.mapper;
 
+import org.opensearch.Version;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.admin.indices.mapping.get.GetMappingsRequest;
 import org.opensearch.action.admin.indices.mapping.get.GetMappingsResponse;
+import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsBatchResponse;
+import org.opensearch.securityanalytics.action.CreateIndexMappingsRequest;
 import org.opensearch.securityanalytics.action.GetMappingsViewResponse;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.AdminClient;
+import org.opensearch.transport.client.Client;
+import org.opensearch.transport.client.IndicesAdminClient;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class MapperServiceTests extends OpenSearchTestCase {
 
@@ -303,4 +328,151 @@ public class MapperServiceTests extends OpenSearchTestCase {
         });
     }*/
 
+    private static final String INDEX = "logs-1";
+
+    private static final String SRC_ALIAS_MAPPINGS =
+            "{\"properties\":{\"srcaddr\":{\"type\":\"alias\",\"path\":\"src_ip\"}}}";
+
+    private static final String DST_ALIAS_MAPPINGS =
+            "{\"properties\":{\"dstaddr\":{\"type\":\"alias\",\"path\":\"dst_ip\"}}}";
+
+    private static final String MISSING_PATH_ALIAS_MAPPINGS =
+            "{\"properties\":{\"user\":{\"type\":\"alias\",\"path\":\"user_name\"}}}";
+
+    /** Mapper service over a cluster holding {@link #INDEX}, with fields src_ip and dst_ip. */
+    private static MapperService mapperService(IndicesAdminClient indicesClient) {
+        Map<String, Object> fields = Map.of("src_ip", Map.of("type", "ip"), "dst_ip", Map.of("type", "ip"));
+        Map<String, Object> root =
+                Map.of(org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME, Map.of("properties", fields));
+        MappingMetadata mappingMetadata =
+                new MappingMetadata(org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME, root);
+        ClusterState state =
+                ClusterState.builder(new ClusterName("test"))
+                        .metadata(
+                                Metadata.builder()
+                                        .put(
+                                                IndexMetadata.builder(INDEX)
+                                                        .settings(settings(Version.CURRENT))
+                                                        .numberOfShards(1)
+                                                        .numberOfReplicas(0),
+                                                false))
+                        .build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.state()).thenReturn(state);
+        Client client = mock(Client.class);
+        AdminClient adminClient = mock(AdminClient.class);
+        when(client.admin()).thenReturn(adminClient);
+        when(adminClient.indices()).thenReturn(indicesClient);
+
+        doAnswer(invocation -> {
+            ActionListener<GetMappingsResponse> l = invocation.getArgument(1);
+            l.onResponse(new GetMappingsResponse(Map.of(INDEX, mappingMetadata)));
+            return null;
+        }).when(indicesClient).getMappings(any(GetMappingsRequest.class), any(ActionListener.class));
+
+        return new MapperService(
+                client,
+                clusterService,
+                new IndexNameExpressionResolver(new ThreadContext(Settings.EMPTY)),
+                mock(IndexTemplateManager.class),
+                mock(LogTypeService.class));
+    }
+
+    public void testCreateMappingsBatchAction_entriesOfSameIndexArePutOnce() {
+        IndicesAdminClient indicesClient = mock(IndicesAdminClient.class);
+        List<PutMappingRequest> putMappingRequests = new ArrayList<>();
+        doAnswer(invocation -> {
+            putMappingRequests.add(invocation.getArgument(0));
+            ActionListener<AcknowledgedResponse> l = invocation.getArgument(1);
+            l.onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(indicesClient).putMapping(any(PutMappingRequest.class), any(ActionListener.class));
+        MapperService mapperService = mapperService(indicesClient);
+
+        AtomicReference<CreateIndexMappingsBatchResponse> response = new AtomicReference<>();
+        mapperService.createMappingsBatchAction(
+                List.of(
+                        new CreateIndexMappingsRequest(INDEX, "netflow", SRC_ALIAS_MAPPINGS, false),
+                        new CreateIndexMappingsRequest(INDEX, "netflow", DST_ALIAS_MAPPINGS, false)),
+                ActionListener.wrap(response::set, e -> fail("Unexpected failure: " + e)));
+
+        verify(indicesClient, times(1)).getMappings(any(GetMappingsRequest.class), any(ActionListener.class));
+        assertEquals(1, putMappingRequests.size());
+        assertEquals(INDEX, putMappingRequests.get(0).indices()[0]);
+        assertTrue(putMappingRequests.get(0).source().contains("srcaddr"));
+        assertTrue(putMappingRequests.get(0).source().contains("dstaddr"));
+        assertEquals(2, response.get().getItems().size());
+        assertFalse(response.get().hasFailures());
+        assertTrue(response.get().getItems().get(0).isAcknowledged());
+    }
+
+    public void testCreateMappingsBatchAction_failingEntryFailsAlone() {
+        IndicesAdminClient indicesClient = mock(IndicesAdminClient.class);
+        List<PutMappingRequest> putMappingRequests = new ArrayList<>();
+        doAnswer(invocation -> {
+            putMappingRequests.add(invocation.getArgument(0));
+            ActionListener<AcknowledgedResponse> l = invocation.getArgument(1);
+            l.onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(indicesClient).putMapping(any(PutMappingRequest.class), any(ActionListener.class));
+        MapperService mapperService = mapperService(indicesClient);
+
+        AtomicReference<CreateIndexMappingsBatchResponse> response = new AtomicReference<>();
+        mapperService.createMappingsBatchAction(
+                List.of(
+                        new CreateIndexMappingsRequest(INDEX, "netflow", SRC_ALIAS_MAPPINGS, false),
+                        new CreateIndexMappingsRequest(INDEX, "netflow", MISSING_PATH_ALIAS_MAPPINGS, false),
+                        new CreateIndexMappingsRequest("missing-index", "netflow", DST_ALIAS_MAPPINGS, false)),
+                ActionListener.wrap(response::set, e -> fail("Unexpected failure: " + e)));
+
+        assertEquals(1, putMappingRequests.size());
+        assertTrue(putMappingRequests.get(0).source().contains("srcaddr"));
+        assertFalse(putMappingRequests.get(0).source().contains("user_name"));
+        List<CreateIndexMappingsBatchResponse.Item> items = response.get().getItems();
+        assertFalse(items.get(0).isFailed());
+        assertTrue(items.get(1).isFailed());
+        assertTrue(items.get(1).getError(), items.get(1).getError().contains("user_name"));
+        assertTrue(items.get(2).isFailed());
+    }
+
+    public void testCreateMappingsBatchAction_putMappingFailureFailsEntriesOfThatIndex() {
+        IndicesAdminClient indicesClient = mock(IndicesAdminClient.class);
+        doAnswer(invocation -> {
+            ActionListener<AcknowledgedResponse> l = invocation.getArgument(1);
+            l.onFailure(new IllegalStateException("put mapping rejected"));
+            return null;
+        }).when(indicesClient).putMapping(any(PutMappingRequest.class), any(ActionListener.class));
+        MapperService mapperService = mapperService(indicesClient);
+
+        AtomicReference<CreateIndexMappingsBatchResponse> response = new AtomicReference<>();
+        mapperService.createMappingsBatchAction(
+                List.of(
+                        new CreateIndexMappingsRequest(INDEX, "netflow", SRC_ALIAS_MAPPINGS, false),
+                        new CreateIndexMappingsRequest(INDEX, "netflow", DST_ALIAS_MAPPINGS, false)),
+                ActionListener.wrap(response::set, e -> fail("Unexpected failure: " + e)));
+
+        verify(indicesClient, times(1)).putMapping(any(PutMappingRequest.class), any(ActionListener.class));
+        for (CreateIndexMappingsBatchResponse.Item item : response.get().getItems()) {
+            assertTrue(item.isFailed());
+            assertTrue(item.getError(), item.getError().contains("put mapping rejected"));
+        }
+    }
+
+    public void testCreateMappingAction_missingPathsWithoutPartialAnswersOnce() {
+        IndicesAdminClient indicesClient = mock(IndicesAdminClient.class);
+        MapperService mapperService = mapperService(indicesClient);
+
+        AtomicInteger responses = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        mapperService.createMappingAction(
+                INDEX,
+                "netflow",
+                MISSING_PATH_ALIAS_MAPPINGS,
+                false,
+                ActionListener.wrap(r -> responses.incrementAndGet(), e -> failures.incrementAndGet()));
+
+        verify(indicesClient, never()).putMapping(any(PutMappingRequest.class), any(ActionListener.class));
+        assertEquals(0, responses.get());
+        assertEquals(1, failures.get());
+    }
 }
@@ -5,6 +5,7 @@
 package org.opensearch.securityanalytics.model;
 
 import org.junit.Assert;
+import org.opensearch.Version;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.commons.authuser.User;
@@ -32,6 +33,27 @@ public class WriteableTests extends OpenSearchTestCase {
         Assert.assertEquals("Round tripping Detector doesn't work", detector, newDetector);
     }
 
+    public void testDetectorQueryBackendIsOnlySentToNewerNodes() throws IOException {
+        Detector detector = randomDetector(List.of());
+        detector.setInputs(List.of(new DetectorInput("", List.of(), List.of(), List.of())));
+        detector.setQueryBackend(Detector.DSL_BACKEND);
+
+        Assert.assertEquals(Detector.DSL_BACKEND, roundTrip(detector, Detector.QUERY_BACKEND_VERSION).getQueryBackend());
+
+        Detector older = roundTrip(detector, Version.V_3_6_0);
+        Assert.assertEquals(Detector.QUERY_STRING_BACKEND, older.getQueryBackend());
+        Assert.assertEquals(detector.getName(), older.getName());
+    }
+
+    private static Detector roundTrip(Detector detector, Version version) throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(version);
+        detector.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        sin.setVersion(version);
+        return new Detector(sin);
+    }
+
     public void testDetector() throws IOException { // an edge case of detector serialization that failed testDetectorAsAStream() intermittently
         String detectorString = "{\"type\":\"detector\",\"name\":\"MczAuRCrve\",\"detector_type\":\"test_windows\"," +
                 "\"user\":{\"name\":\"QhKrfthgxw\",\"backend_roles\":[\"uYvGLCPhfX\",\"fOLkcRxMWR\"],\"roles\"" +
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.reindex.AbstractBulkByScrollRequest;
+import org.opensearch.index.reindex.UpdateByQueryRequest;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class RestUpdateFindingsByQueryActionTests extends OpenSearchTestCase {
+
+    private final RestUpdateFindingsByQueryAction action =
+            new RestUpdateFindingsByQueryAction(
+                    new ClusterSettings(
+                            Settings.EMPTY,
+                            Set.of(
+                                    SecurityAnalyticsSettings.MAX_CASE_MANAGEMENT_BULK_SIZE,
+                                    SecurityAnalyticsSettings.CASE_MANAGEMENT_MAX_REQUESTS_PER_SECOND)));
+
+    public void testFindingsQuery() {
+        BoolQueryBuilder query =
+                RestUpdateFindingsByQueryAction.buildFindingsQuery(
+                        Map.of(
+                                "rule_ids", List.of("rule-1", "rule-2"),
+                                "agent_ids", "001",
+                                "severity", List.of("HIGH"),
+                                "start_time", "2026-06-10T08:00:00.000Z",
+                                "end_time", 1781078400000L));
+
+        assertEquals(4, query.filter().size());
+        String json = query.toString();
+        assertTrue(json.contains("wazuh.rule.id"));
+        assertTrue(json.contains("wazuh.agent.id"));
+        assertTrue(json.contains("\"high\""));
+        assertTrue(json.contains("@timestamp"));
+    }
+
+    public void testFindingsQueryIsRejected() {
+        // No criterion at all would update every finding
+        expectThrows(IllegalArgumentException.class, () -> RestUpdateFindingsByQueryAction.buildFindingsQuery(Map.of()));
+        expectThrows(
+                IllegalArgumentException.class,
+                () -> RestUpdateFindingsByQueryAction.buildFindingsQuery(Map.of("category", "security")));
+        expectThrows(
+                IllegalArgumentException.class,
+                () -> RestUpdateFindingsByQueryAction.buildFindingsQuery(Map.of("rule_id", "rule-1")));
+        expectThrows(
+                IllegalArgumentException.class,
+                () -> RestUpdateFindingsByQueryAction.buildFindingsQuery(Map.of("rule_ids", List.of())));
+        expectThrows(
+                IllegalArgumentException.class,
+                () -> RestUpdateFindingsByQueryAction.buildFindingsQuery(Map.of("start_time", Map.of())));
+    }
+
+    public void testUpdateByQueryRequest() {
+        UpdateByQueryRequest request =
+                this.action.buildUpdateByQueryRequest(
+                        Map.of("rule_ids", "rule-1", "category", "Security"), Map.of("status", "completed"), "auto", null);
+
+        assertArrayEquals(new String[] {"wazuh-findings-v5-security-*"}, request.indices());
+        assertEquals(AbstractBulkByScrollRequest.AUTO_SLICES, request.getSlices());
+        assertEquals(500f, request.getRequestsPerSecond(), 0f);
+        assertFalse(request.isAbortOnVersionConflict());
+        assertEquals(Map.of("case", Map.of("status", "completed")), request.getScript().getParams());
+
+        request = this.action.buildUpdateByQueryRequest(Map.of("rule_ids", "rule-1"), Map.of("status", "completed"), "4", "100");
+        assertArrayEquals(new String[] {"wazuh-findings-v5-*-*"}, request.indices());
+        assertEquals(4, request.getSlices());
+        assertEquals(100f, request.getRequestsPerSecond(), 0f);
+    }
+
+    public void testThrottleIsCapped() {
+        Map<String, Object> query = Map.of("rule_ids", "rule-1");
+        Map<String, Object> caseMap = Map.of("status", "completed");
+        expectThrows(IllegalArgumentException.class, () -> this.action.buildUpdateByQueryRequest(query, caseMap, "auto", "1000"));
+        expectThrows(IllegalArgumentException.class, () -> this.action.buildUpdateByQueryRequest(query, caseMap, "auto", "0"));
+        expectThrows(IllegalArgumentException.class, () -> this.action.buildUpdateByQueryRequest(query, caseMap, "auto", "fast"));
+        expectThrows(IllegalArgumentException.class, () -> this.action.buildUpdateByQueryRequest(query, caseMap, "0", null));
+    }
+}
@@ -257,6 +257,49 @@ public class UpdateFindingsIT extends SecurityAnalyticsRestTestCase {
         assertEquals("admin", ((Map<?, ?>) caseObj.get("user")).get("name"));
     }
 
+    /**
+     * The update by query merges the case into the existing one, and reports the findings it
+     * wouldn't change as noops.
+     */
+    @SuppressWarnings("unchecked")
+    public void testUpdateFindingsByQuery_mergesExistingCaseFields() throws IOException {
+        String index = this.createFindingsIndex(
+                "wazuh-findings-v5-test-" + OpenSearchTestCase.randomAlphaOfLength(5).toLowerCase());
+        String docId = this.indexFindingDoc(index);
+
+        String body1 =
+                "{"
+                        + "\"findings\": [{"
+                        + "  \"_id\": \""
+                        + docId
+                        + "\","
+                        + "  \"_index\": \""
+                        + index
+                        + "\","
+                        + "  \"case\": { \"status\": \"active\", \"user\": { \"name\": \"admin\" } }"
+                        + "}]"
+                        + "}";
+        this.makePutRequest(body1);
+
+        String body2 =
+                "{"
+                        + "\"query\": { \"rule_ids\": [\"test-rule\"] },"
+                        + "\"case\": { \"user\": { \"name\": \"analyst\" }, \"tags\": [\"triage\"] }"
+                        + "}";
+        Map<String, Object> responseBody = OpenSearchRestTestCase.entityAsMap(this.makeUpdateByQueryRequest(body2));
+        assertEquals(1, responseBody.get("updated"));
+
+        Map<String, Object> caseObj =
+                (Map<String, Object>) ((Map<String, Object>) this.getDocSource(index, docId).get("wazuh")).get("case");
+        assertEquals("active", caseObj.get("status"));
+        assertEquals("analyst", ((Map<?, ?>) caseObj.get("user")).get("name"));
+        assertEquals(List.of("triage"), caseObj.get("tags"));
+
+        responseBody = OpenSearchRestTestCase.entityAsMap(this.makeUpdateByQueryRequest(body2));
+        assertEquals(0, responseBody.get("updated"));
+        assertEquals(1, responseBody.get("noops"));
+    }
+
     // ---------------------------------------------------------------
     // Validation / error tests
     // ---------------------------------------------------------------
@@ -465,7 +508,11 @@ public class UpdateFindingsIT extends SecurityAnalyticsRestTestCase {
 
     /** Creates a temporary index with a mapping that includes the wazuh.case fields. */
     private String createFindingsIndex() throws IOException {
-        String index = "test-findings-" + OpenSearchTestCase.randomAlphaOfLength(5).toLowerCase();
+        return this.createFindingsIndex("test-findings-" + OpenSearchTestCase.randomAlphaOfLength(5).toLowerCase());
+    }
+
+    /** Creates the given index with a mapping that includes the wazuh.case fields. */
+    private String createFindingsIndex(String index) throws IOException {
         String mapping =
                 "{"
                         + "\"mappings\": {"
@@ -501,6 +548,7 @@ public class UpdateFindingsIT extends SecurityAnalyticsRestTestCase {
                         + "        },"
                         + "        \"rule\": {"
                         + "          \"properties\": {"
+                        + "            \"id\": { \"type\": \"keyword\" },"
                         + "            \"name\": { \"type\": \"keyword\" }"
                         + "          }"
                         + "        }"
@@ -526,7 +574,7 @@ public class UpdateFindingsIT extends SecurityAnalyticsRestTestCase {
         String doc =
                 "{"
                         + "\"wazuh\": {"
-                        + "  \"rule\": { \"name\": \"Test Rule\" }"
+                        + "  \"rule\": { \"id\": \"test-rule\", \"name\": \"Test Rule\" }"
                         + "},"
                         + "\"timestamp\": \"2026-06-10T08:00:00.000Z\""
                         + "}";
@@ -568,4 +616,14 @@ public class UpdateFindingsIT extends SecurityAnalyticsRestTestCase {
                 new StringEntity(body),
                 new BasicHeader("Content-Type", CONTENT_TYPE));
     }
+
+    private Response makeUpdateByQueryRequest(String body) throws IOException {
+        return this.makeRequest(
+                OpenSearchRestTestCase.client(),
+                "POST",
+                SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_update_by_query",
+                Map.of("wait_for_completion", "true"),
+                new StringEntity(body),
+                new BasicHeader("Content-Type", CONTENT_TYPE));
+    }
 }
@@ -0,0 +1,557 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.Strings;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.MediaTypeRegistry;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.AbstractQueryBuilder;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.ExistsQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
+import org.opensearch.search.SearchModule;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class OSDslQueryBackendTests extends OpenSearchTestCase {
+
+    private static final Map<String, String> FIELD_MAPPINGS = Map.of("fieldB", "mappedB");
+
+    private static final NamedXContentRegistry REGISTRY =
+            new NamedXContentRegistry(new SearchModule(Settings.EMPTY, Collections.emptyList()).getNamedXContents());
+
+    private static String rule(String detection) {
+        return "            title: Test\n"
+                + "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n"
+                + "            status: test\n"
+                + "            level: critical\n"
+                + "            description: Test rule\n"
+                + "            author: Wazuh\n"
+                + "            date: 2026/01/01\n"
+                + "            logsource:\n"
+                + "                category: test_category\n"
+                + "                product: test_product\n"
+                + "            detection:\n"
+                + detection;
+    }
+
+    private static QueryBuilder convert(String detection) throws IOException, SigmaError {
+        return convert(new OSDslQueryBackend(FIELD_MAPPINGS, false, true), detection);
+    }
+
+    private static QueryBuilder convert(OSDslQueryBackend backend, String detection) throws SigmaError {
+        return (QueryBuilder) backend.convertRule(SigmaRule.fromYaml(rule(detection), false)).get(0);
+    }
+
+    public void testEqualsAreTermsAndSameFieldNumbersAreCollapsed() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel:\n"
+                                + "                    fieldA: valueA\n"
+                                + "                    fieldB:\n"
+                                + "                        - valueB1\n"
+                                + "                        - valueB2\n"
+                                + "                    fieldC: 4624\n"
+                                + "                    fieldD:\n"
+                                + "                        - 4624\n"
+                                + "                        - 4625\n"
+                                + "                condition: sel");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.termQuery("fieldA", "valueA").caseInsensitive(true))
+                        .filter(
+                                QueryBuilders.boolQuery()
+                                        .should(QueryBuilders.termQuery("mappedB", "valueB1").caseInsensitive(true))
+                                        .should(QueryBuilders.termQuery("mappedB", "valueB2").caseInsensitive(true))
+                                        .minimumShouldMatch(1))
+                        .filter(QueryBuilders.termQuery("fieldC", 4624))
+                        .filter(QueryBuilders.termsQuery("fieldD", List.of(4624, 4625))),
+                query);
+    }
+
+    public void testStringsIgnoreCaseWithAndWithoutWildcards() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel:\n"
+                                + "                    fieldA: 'C:\\Windows\\System32\\CMD.exe'\n"
+                                + "                    fieldC|endswith: '\\CMD.exe'\n"
+                                + "                    fieldD|startswith: 'C:\\Windows'\n"
+                                + "                condition: sel");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .filter(
+                                QueryBuilders.termQuery("fieldA", "C:\\Windows\\System32\\CMD.exe")
+                                        .caseInsensitive(true))
+                        .filter(QueryBuilders.wildcardQuery("fieldC", "*\\\\CMD.exe").caseInsensitive(true))
+                        .filter(QueryBuilders.prefixQuery("fieldD", "C:\\Windows").caseInsensitive(true)),
+                query);
+
+        // The plain value matches a differently cased event value, as the wildcard ones do
+        Map<String, String> document = Map.of("fieldA", "c:\\windows\\system32\\cmd.EXE");
+        assertTrue(matches(((BoolQueryBuilder) query).filter().get(0), document));
+    }
+
+    public void testWildcardsAreTranslatedToNarrowestQuery() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel:\n"
+                                + "                    fieldA|startswith: abc\n"
+                                + "                    fieldC|contains: def\n"
+                                + "                    fieldD: 'g?h'\n"
+                                + "                condition: sel");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.prefixQuery("fieldA", "abc").caseInsensitive(true))
+                        .filter(QueryBuilders.wildcardQuery("fieldC", "*def*").caseInsensitive(true))
+                        .filter(QueryBuilders.wildcardQuery("fieldD", "g?h").caseInsensitive(true)),
+                query);
+    }
+
+    public void testWildcardsAreNotCollapsedIntoTerms() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel:\n"
+                                + "                    fieldA|endswith:\n"
+                                + "                        - .exe\n"
+                                + "                        - .dll\n"
+                                + "                condition: sel");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .should(QueryBuilders.wildcardQuery("fieldA", "*.exe").caseInsensitive(true))
+                        .should(QueryBuilders.wildcardQuery("fieldA", "*.dll").caseInsensitive(true))
+                        .minimumShouldMatch(1),
+                query);
+    }
+
+    public void testRangeCidrAndRegexp() throws IOException, SigmaError {
+        OSDslQueryBackend backend = new OSDslQueryBackend(FIELD_MAPPINGS, false, true);
+        QueryBuilder query =
+                convert(
+                        backend,
+                        "                sel:\n"
+                                + "                    fieldA|gte: 10\n"
+                                + "                    fieldC|lt: 2.5\n"
+                                + "                    fieldD|cidr: 192.168.0.0/16\n"
+                                + "                    fieldE|re: 'a.*b'\n"
+                                + "                condition: sel");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.rangeQuery("fieldA").gte(10))
+                        .filter(QueryBuilders.rangeQuery("fieldC").lt(2.5f))
+                        .filter(QueryBuilders.termQuery("fieldD", "192.168.0.0/16"))
+                        .filter(QueryBuilders.regexpQuery("fieldE", "a.*b")),
+                query);
+        assertEquals(Map.of("type", "ip"), backend.getQueryFields().get("fieldD"));
+    }
+
+    public void testNegatedLeavesRequireTheField() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel1:\n"
+                                + "                    fieldA: valueA\n"
+                                + "                sel2:\n"
+                                + "                    fieldB:\n"
+                                + "                        - valueB1\n"
+                                + "                        - valueB2\n"
+                                + "                condition: sel1 and not sel2");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.termQuery("fieldA", "valueA").caseInsensitive(true))
+                        .filter(
+                                QueryBuilders.boolQuery()
+                                        .filter(
+                                                QueryBuilders.boolQuery()
+                                                        .mustNot(
+                                                                QueryBuilders.termQuery("mappedB", "valueB1")
+                                                                        .caseInsensitive(true))
+                                                        .filter(QueryBuilders.existsQuery("mappedB")))
+                                        .filter(
+                                                QueryBuilders.boolQuery()
+                                                        .mustNot(
+                                                                QueryBuilders.termQuery("mappedB", "valueB2")
+                                                                        .caseInsensitive(true))
+                                                        .filter(QueryBuilders.existsQuery("mappedB")))),
+                query);
+    }
+
+    public void testNegationIsPushedDownWithDeMorgan() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel:\n"
+                                + "                    fieldA: valueA\n"
+                                + "                    fieldC: valueC\n"
+                                + "                condition: not sel");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .should(
+                                QueryBuilders.boolQuery()
+                                        .mustNot(QueryBuilders.termQuery("fieldA", "valueA").caseInsensitive(true))
+                                        .filter(QueryBuilders.existsQuery("fieldA")))
+                        .should(
+                                QueryBuilders.boolQuery()
+                                        .mustNot(QueryBuilders.termQuery("fieldC", "valueC").caseInsensitive(true))
+                                        .filter(QueryBuilders.existsQuery("fieldC")))
+                        .minimumShouldMatch(1),
+                query);
+    }
+
+    public void testNegationOverOrIsPushedDownWithDeMorgan() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel1:\n"
+                                + "                    fieldA|endswith: .exe\n"
+                                + "                sel2:\n"
+                                + "                    fieldC: valueC\n"
+                                + "                condition: not (sel1 or sel2)");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .filter(
+                                QueryBuilders.boolQuery()
+                                        .mustNot(QueryBuilders.wildcardQuery("fieldA", "*.exe").caseInsensitive(true))
+                                        .filter(QueryBuilders.existsQuery("fieldA")))
+                        .filter(
+                                QueryBuilders.boolQuery()
+                                        .mustNot(QueryBuilders.termQuery("fieldC", "valueC").caseInsensitive(true))
+                                        .filter(QueryBuilders.existsQuery("fieldC"))),
+                query);
+    }
+
+    public void testDoubleNegationRestoresTheGroup() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel1:\n"
+                                + "                    fieldA: valueA\n"
+                                + "                sel2:\n"
+                                + "                    fieldC: valueC\n"
+                                + "                condition: not (sel1 and not sel2)");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .should(
+                                QueryBuilders.boolQuery()
+                                        .mustNot(QueryBuilders.termQuery("fieldA", "valueA").caseInsensitive(true))
+                                        .filter(QueryBuilders.existsQuery("fieldA")))
+                        .should(QueryBuilders.termQuery("fieldC", "valueC").caseInsensitive(true))
+                        .minimumShouldMatch(1),
+                query);
+    }
+
+    public void testNullAndExists() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                sel:\n"
+                                + "                    fieldA: null\n"
+                                + "                    fieldC|exists: true\n"
+                                + "                    fieldD|exists: false\n"
+                                + "                condition: sel");
+        assertEquals(
+                QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery("fieldA")))
+                        .filter(QueryBuilders.existsQuery("fieldC"))
+                        .filter(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery("fieldD"))),
+                query);
+    }
+
+    public void testKeywordsStayQueryString() throws IOException, SigmaError {
+        QueryBuilder query =
+                convert(
+                        "                keywords:\n"
+                                + "                    - 'mimikatz'\n"
+                                + "                condition: keywords");
+        assertEquals(QueryBuilders.queryStringQuery("\"mimikatz\""), query);
+    }
+
+    /**
+     * Every bundled rule converts alike with both backends: same failures, same query fields, and a
+     * DSL query which survives a round trip through its JSON form.
+     */
+    public void testParityWithQueryStringBackendOnBundledRules() throws IOException {
+        Path rulesDir = bundledRulesDir();
+        assumeTrue("bundled rules are not reachable from the working directory", rulesDir != null);
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(rulesDir)) {
+            files = paths.filter(p -> p.toString().endsWith(".yml")).sorted().collect(Collectors.toList());
+        }
+        assertFalse(files.isEmpty());
+
+        int converted = 0;
+        for (Path file : files) {
+            SigmaRule sigmaRule = SigmaRule.fromYaml(Files.readString(file), true);
+            if (!sigmaRule.getErrors().getErrors().isEmpty()) {
+                continue;
+            }
+            OSQueryBackend queryStringBackend = new OSQueryBackend(Collections.emptyMap(), false, true);
+            OSDslQueryBackend dslBackend = new OSDslQueryBackend(Collections.emptyMap(), false, true);
+
+            Exception queryStringFailure = null;
+            try {
+                queryStringBackend.convertRule(sigmaRule);
+            } catch (Exception e) {
+                queryStringFailure = e;
+            }
+            List<Object> queries;
+            try {
+                queries = dslBackend.convertRule(sigmaRule);
+            } catch (Exception e) {
+                assertNotNull(file + " only fails with the DSL backend: " + e, queryStringFailure);
+                continue;
+            }
+            assertNull(file + " only fails with the query string backend", queryStringFailure);
+            assertEquals(
+                    file.toString(),
+                    queryStringBackend.getQueryFields().keySet(),
+                    dslBackend.getQueryFields().keySet());
+
+            QueryBuilder query = (QueryBuilder) queries.get(0);
+            String json = Strings.toString(MediaTypeRegistry.JSON, query);
+            try (XContentParser parser =
+                    JsonXContent.jsonXContent.createParser(
+                            REGISTRY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, json)) {
+                QueryBuilder parsed = AbstractQueryBuilder.parseInnerQueryBuilder(parser);
+                assertEquals(file.toString(), json, Strings.toString(MediaTypeRegistry.JSON, parsed));
+            }
+            converted++;
+        }
+        assertTrue("no bundled rule was converted", converted > 0);
+    }
+
+    /**
+     * Both backends match the same documents, including when negations are pushed down through AND
+     * and OR groups. Documents cover every combination of a field being absent, holding one of the
+     * rule values or holding another value.
+     */
+    public void testParityWithQueryStringBackendOnNegatedGroups() throws IOException, SigmaError {
+        String selections =
+                "                sel1:\n"
+                        + "                    fieldA: valueA\n"
+                        + "                    fieldB: valueB\n"
+                        + "                sel2:\n"
+                        + "                    fieldC:\n"
+                        + "                        - valueC1\n"
+                        + "                        - valueC2\n"
+                        + "                sel3:\n"
+                        + "                    fieldD: valueD\n";
+        List<String> conditions =
+                List.of(
+                        "sel1 and not sel2",
+                        "sel1 or not sel3",
+                        "not sel1",
+                        "not sel2",
+                        "not (sel1 and sel3)",
+                        "not (sel1 or sel3)",
+                        "not sel1 or not sel3",
+                        "sel3 and not (sel1 or sel2)",
+                        "not 1 of sel*");
+
+        List<Map<String, String>> documents = new ArrayList<>();
+        documents.add(new HashMap<>());
+        addFieldValues(documents, "fieldA", "valueA");
+        addFieldValues(documents, "fieldB", "valueB");
+        addFieldValues(documents, "fieldC", "valueC1", "valueC2");
+        addFieldValues(documents, "fieldD", "valueD");
+
+        for (String condition : conditions) {
+            SigmaRule sigmaRule =
+                    SigmaRule.fromYaml(rule(selections + "                condition: " + condition), false);
+            String queryString =
+                    (String) new OSQueryBackend(Collections.emptyMap(), false, true).convertRule(sigmaRule).get(0);
+            QueryBuilder query =
+                    (QueryBuilder) new OSDslQueryBackend(Collections.emptyMap(), false, true).convertRule(sigmaRule).get(0);
+            for (Map<String, String> document : documents) {
+                assertEquals(
+                        condition + " on " + document + "\nquery_string: " + queryString + "\ndsl: " + query,
+                        new QueryStringEvaluator(queryString, document).matches(),
+                        matches(query, document));
+            }
+        }
+    }
+
+    /** Expands every document with the field absent, holding each of the values or another value. */
+    private static void addFieldValues(List<Map<String, String>> documents, String field, String... values) {
+        List<Map<String, String>> expanded = new ArrayList<>();
+        for (Map<String, String> document : documents) {
+            expanded.add(document);
+            for (String value : Stream.concat(Stream.of(values), Stream.of("other")).collect(Collectors.toList())) {
+                Map<String, String> withField = new HashMap<>(document);
+                withField.put(field, value);
+                expanded.add(withField);
+            }
+        }
+        documents.clear();
+        documents.addAll(expanded);
+    }
+
+    /** Evaluates the queries produced by {@link OSDslQueryBackend} on string fields. */
+    private static boolean matches(QueryBuilder query, Map<String, String> document) {
+        if (query instanceof TermQueryBuilder) {
+            TermQueryBuilder term = (TermQueryBuilder) query;
+            String value = document.get(term.fieldName());
+            return term.caseInsensitive()
+                    ? String.valueOf(term.value()).equalsIgnoreCase(value)
+                    : String.valueOf(term.value()).equals(value);
+        } else if (query instanceof TermsQueryBuilder) {
+            TermsQueryBuilder terms = (TermsQueryBuilder) query;
+            return terms.values().stream().map(String::valueOf).anyMatch(v -> v.equals(document.get(terms.fieldName())));
+        } else if (query instanceof ExistsQueryBuilder) {
+            return document.containsKey(((ExistsQueryBuilder) query).fieldName());
+        } else if (query instanceof BoolQueryBuilder) {
+            BoolQueryBuilder bool = (BoolQueryBuilder) query;
+            for (QueryBuilder clause : bool.filter()) {
+                if (!matches(clause, document)) {
+                    return false;
+                }
+            }
+            for (QueryBuilder clause : bool.must()) {
+                if (!matches(clause, document)) {
+                    return false;
+                }
+            }
+            for (QueryBuilder clause : bool.mustNot()) {
+                if (matches(clause, document)) {
+                    return false;
+                }
+            }
+            return bool.should().isEmpty() || bool.should().stream().anyMatch(clause -> matches(clause, document));
+        }
+        throw new IllegalArgumentException("Unexpected query " + query);
+    }
+
+    /**
+     * Evaluates the {@code query_string} syntax produced by {@link OSQueryBackend} on string fields:
+     * groups, {@code NOT}, {@code AND}, {@code OR}, {@code field: value} and {@code _exists_: field}.
+     */
+    private static final class QueryStringEvaluator {
+
+        private final List<String> tokens = new ArrayList<>();
+
+        private final Map<String, String> document;
+
+        private int position = 0;
+
+        QueryStringEvaluator(String queryString, Map<String, String> document) {
+            this.document = document;
+            int i = 0;
+            while (i < queryString.length()) {
+                char c = queryString.charAt(i);
+                if (c == ' ') {
+                    i++;
+                } else if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else {
+                    StringBuilder token = new StringBuilder();
+                    boolean quoted = false;
+                    while (i < queryString.length()) {
+                        c = queryString.charAt(i);
+                        if (!quoted && (c == ' ' || c == ')')) {
+                            break;
+                        }
+                        if (c == '\\' && i + 1 < queryString.length()) {
+                            token.append(queryString.charAt(++i));
+                        } else if (c == '"') {
+                            quoted = !quoted;
+                        } else {
+                            token.append(c);
+                        }
+                        i++;
+                    }
+                    tokens.add(token.toString());
+                }
+            }
+        }
+
+        boolean matches() {
+            boolean matches = or();
+            assertEquals("unexpected trailing tokens " + tokens, tokens.size(), position);
+            return matches;
+        }
+
+        private boolean or() {
+            boolean matches = and();
+            while (next("OR")) {
+                matches |= and();
+            }
+            return matches;
+        }
+
+        private boolean and() {
+            boolean matches = not();
+            while (next("AND")) {
+                matches &= not();
+            }
+            return matches;
+        }
+
+        private boolean not() {
+            return next("NOT") ? !not() : primary();
+        }
+
+        private boolean primary() {
+            String token = tokens.get(position++);
+            if (token.equals("(")) {
+                boolean matches = or();
+                assertTrue("unbalanced group in " + tokens, next(")"));
+                return matches;
+            }
+            assertTrue("expected a field in " + tokens, token.endsWith(":"));
+            String field = token.substring(0, token.length() - 1);
+            String value = tokens.get(position++);
+            if (field.equals("_exists_")) {
+                return document.containsKey(value);
+            }
+            return value.equals(document.get(field));
+        }
+
+        private boolean next(String token) {
+            if (position < tokens.size() && tokens.get(position).equals(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** The bundled rules live in the project sources, looked up from the test working directory. */
+    private static Path bundledRulesDir() {
+        for (Path dir = Path.of("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+            Path rules = dir.resolve(Path.of("src", "main", "config", "rules"));
+            if (Files.isDirectory(rules)) {
+                return rules;
+            }
+        }
+        return null;
+    }
+}
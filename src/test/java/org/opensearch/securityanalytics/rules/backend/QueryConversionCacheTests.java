@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.securityanalytics.rules.backend.QueryConversionCache.Backend;
+import org.opensearch.securityanalytics.rules.backend.QueryConversionCache.Conversion;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class QueryConversionCacheTests extends OpenSearchTestCase {
+
+    private static String rule(String id, String field) {
+        return "title: Test\n"
+                + "id: "
+                + id
+                + "\n"
+                + "status: test\n"
+                + "level: critical\n"
+                + "description: Test rule\n"
+                + "author: Wazuh\n"
+                + "date: 2026/01/01\n"
+                + "logsource:\n"
+                + "    category: test_category\n"
+                + "    product: test_product\n"
+                + "detection:\n"
+                + "    sel:\n"
+                + "        "
+                + field
+                + ": value\n"
+                + "    condition: sel";
+    }
+
+    private static final String RULE = rule("39f919f3-980b-4e6f-a975-8af7e507ef2b", "fieldA");
+
+    private final AtomicLong version = new AtomicLong();
+
+    private Conversion convert(QueryConversionCache cache, Backend backend, String yaml, Map<String, String> mappings)
+            throws IOException, SigmaError {
+        return cache.convert(backend, SigmaRule.fromYaml(yaml, true), yaml, mappings, true);
+    }
+
+    public void testConversionIsReused() throws IOException, SigmaError {
+        QueryConversionCache cache = new QueryConversionCache(10, this.version::get);
+
+        Conversion first = convert(cache, Backend.QUERY_STRING, RULE, Map.of("fieldA", "mappedA"));
+        assertEquals(List.of("mappedA: \"value\""), first.getQueries());
+        assertEquals(List.of("mappedA"), first.getQueryFieldNames());
+        assertSame(first, convert(cache, Backend.QUERY_STRING, RULE, Map.of("fieldA", "mappedA")));
+        assertEquals(1, cache.size());
+    }
+
+    public void testBackendsAreCachedSeparately() throws IOException, SigmaError {
+        QueryConversionCache cache = new QueryConversionCache(10, this.version::get);
+
+        convert(cache, Backend.QUERY_STRING, RULE, Map.of());
+        Conversion dsl = convert(cache, Backend.DSL, RULE, Map.of());
+        assertEquals(List.of(QueryBuilders.termQuery("fieldA", "value")), dsl.getQueries());
+        assertEquals(2, cache.size());
+    }
+
+    public void testOtherFieldMappingsAreNotServed() throws IOException, SigmaError {
+        QueryConversionCache cache = new QueryConversionCache(10, this.version::get);
+
+        convert(cache, Backend.QUERY_STRING, RULE, Map.of("fieldA", "mappedA"));
+        Conversion remapped = convert(cache, Backend.QUERY_STRING, RULE, Map.of("fieldA", "otherA"));
+        assertEquals(List.of("otherA: \"value\""), remapped.getQueries());
+    }
+
+    public void testNewFieldMappingsVersionDropsConversions() throws IOException, SigmaError {
+        QueryConversionCache cache = new QueryConversionCache(10, this.version::get);
+
+        Conversion first = convert(cache, Backend.QUERY_STRING, RULE, Map.of());
+        this.version.incrementAndGet();
+        Conversion second = convert(cache, Backend.QUERY_STRING, RULE, Map.of());
+        assertNotSame(first, second);
+        assertEquals(first.getQueries(), second.getQueries());
+        assertEquals(1, cache.size());
+    }
+
+    public void testCacheIsBounded() throws IOException, SigmaError {
+        QueryConversionCache cache = new QueryConversionCache(2, this.version::get);
+
+        convert(cache, Backend.QUERY_STRING, rule("11111111-1111-1111-1111-111111111111", "fieldA"), Map.of());
+        convert(cache, Backend.QUERY_STRING, rule("22222222-2222-2222-2222-222222222222", "fieldB"), Map.of());
+        convert(cache, Backend.QUERY_STRING, rule("33333333-3333-3333-3333-333333333333", "fieldC"), Map.of());
+        assertEquals(2, cache.size());
+    }
+
+    public void testDisabledCacheConvertsEveryTime() throws IOException, SigmaError {
+        QueryConversionCache cache = QueryConversionCache.disabled();
+
+        Conversion first = convert(cache, Backend.QUERY_STRING, RULE, Map.of());
+        assertNotSame(first, convert(cache, Backend.QUERY_STRING, RULE, Map.of()));
+        assertEquals(0, cache.size());
+    }
+}
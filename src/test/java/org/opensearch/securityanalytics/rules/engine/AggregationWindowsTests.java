@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AggregationWindowsTests extends OpenSearchTestCase {
+
+    private static AggregationItem aggregation(String function, String field, String groupBy, String operator, double threshold) {
+        AggregationItem item = new AggregationItem();
+        item.setAggFunction(function);
+        item.setAggField(field);
+        item.setGroupByField(groupBy);
+        item.setCompOperator(operator);
+        item.setThreshold(threshold);
+        return item;
+    }
+
+    public void testCountByGroupMatchesOncePerWindow() {
+        AtomicLong now = new AtomicLong(0);
+        AggregationWindows windows = new AggregationWindows(100, now::get);
+        AggregationItem item = aggregation("count", "*", "source.ip", ">", 2);
+
+        assertNull(windows.add("rule", item, "1m", Map.of("source.ip", "10.0.0.1")));
+        assertNull(windows.add("rule", item, "1m", Map.of("source.ip", "10.0.0.1")));
+        assertNull(windows.add("rule", item, "1m", Map.of("source.ip", "10.0.0.2")));
+        String match = windows.add("rule", item, "1m", Map.of("source.ip", "10.0.0.1"));
+        assertEquals("count(*) by source.ip > 2 matched with 3 for '10.0.0.1'", match);
+        // Already reported for this window
+        assertNull(windows.add("rule", item, "1m", Map.of("source.ip", "10.0.0.1")));
+        // Events without the group by field are ignored
+        assertNull(windows.add("rule", item, "1m", Map.of("destination.ip", "10.0.0.1")));
+        assertEquals(2, windows.groupCount("rule"));
+
+        // The window expires, counting starts over
+        now.addAndGet(TimeUnit.MINUTES.toMillis(1));
+        assertNull(windows.add("rule", item, "1m", Map.of("source.ip", "10.0.0.1")));
+        assertNull(windows.add("rule", item, "1m", Map.of("source.ip", "10.0.0.1")));
+        assertNotNull(windows.add("rule", item, "1m", Map.of("source.ip", "10.0.0.1")));
+    }
+
+    public void testNumericFunctions() {
+        AggregationWindows windows = new AggregationWindows(100, () -> 0L);
+
+        AggregationItem sum = aggregation("sum", "bytes", null, ">=", 100);
+        assertNull(windows.add("sum", sum, null, Map.of("bytes", 60)));
+        assertNull(windows.add("sum", sum, null, Map.of("bytes", "not a number")));
+        assertEquals("sum(bytes) >= 100 matched with 110", windows.add("sum", sum, null, Map.of("bytes", "50")));
+
+        AggregationItem max = aggregation("max", "bytes", "user", ">", 10);
+        assertNull(windows.add("max", max, null, Map.of("user", "a", "bytes", 5)));
+        assertNotNull(windows.add("max", max, null, Map.of("user", "a", "bytes", 11)));
+
+        AggregationItem avg = aggregation("avg", "latency", null, "<", 5);
+        assertNull(windows.add("avg", avg, null, Map.of("latency", 9)));
+        assertNotNull(windows.add("avg", avg, null, Map.of("latency", 0)));
+
+        AggregationItem count = aggregation("count", "user", null, "==", 2);
+        assertNull(windows.add("count", count, null, Map.of("user", "a")));
+        assertNull(windows.add("count", count, null, Map.of("host", "b")));
+        assertNotNull(windows.add("count", count, null, Map.of("user", "b")));
+    }
+
+    public void testGroupsAreCapped() {
+        AtomicLong now = new AtomicLong(0);
+        AggregationWindows windows = new AggregationWindows(3, now::get);
+        AggregationItem item = aggregation("count", "*", "user", ">", 1);
+
+        for (int i = 0; i < 10; i++) {
+            now.incrementAndGet();
+            windows.add("rule", item, "1h", Map.of("user", "user" + i));
+            assertTrue(windows.groupCount("rule") <= 3);
+        }
+        // user0 was evicted with the oldest windows, its count starts over
+        assertNull(windows.add("rule", item, "1h", Map.of("user", "user0")));
+        // user9 is still tracked
+        assertNotNull(windows.add("rule", item, "1h", Map.of("user", "user9")));
+    }
+
+    public void testWindowMillis() {
+        assertEquals(TimeUnit.SECONDS.toMillis(30), AggregationWindows.windowMillis("30s"));
+        assertEquals(TimeUnit.MINUTES.toMillis(5), AggregationWindows.windowMillis("5m"));
+        assertEquals(TimeUnit.HOURS.toMillis(12), AggregationWindows.windowMillis("12h"));
+        assertEquals(TimeUnit.DAYS.toMillis(14), AggregationWindows.windowMillis("2w"));
+        assertEquals(AggregationWindows.DEFAULT_WINDOW_MILLIS, AggregationWindows.windowMillis(null));
+        assertEquals(AggregationWindows.DEFAULT_WINDOW_MILLIS, AggregationWindows.windowMillis("soon"));
+    }
+
+    public void testCapEvictsExpiredAggregationsFirst() {
+        AtomicLong now = new AtomicLong(0);
+        AggregationWindows windows = new AggregationWindows(3, 100, now::get);
+        AggregationItem item = aggregation("count", "*", null, ">", 5);
+
+        assertNull(windows.add("rule-1", item, "1h", Map.of()));
+        assertNull(windows.add("rule-2", item, "1h", Map.of()));
+        now.addAndGet(TimeUnit.SECONDS.toMillis(1));
+        assertNull(windows.add("old-version", item, "1m", Map.of()));
+        assertEquals(3, windows.aggregationCount());
+
+        // The old version saw no event for a whole window, it makes room even though it is the most recently used
+        now.addAndGet(TimeUnit.MINUTES.toMillis(1));
+        assertNull(windows.add("new-version", item, "1m", Map.of()));
+        assertEquals(3, windows.aggregationCount());
+        assertEquals(0, windows.groupCount("old-version"));
+        assertEquals(1, windows.groupCount("rule-1"));
+        assertEquals(1, windows.groupCount("rule-2"));
+        assertEquals(1, windows.groupCount("new-version"));
+    }
+
+    public void testOutOfOrderEventsAreCountedInTheirWindow() {
+        AggregationWindows windows = new AggregationWindows(100, () -> 0L);
+        AggregationItem item = aggregation("count", "*", null, ">", 2);
+
+        assertNull(windows.add("rule", item, "1m", event(10)));
+        assertNull(windows.add("rule", item, "1m", event(70)));
+        // Late events still count in the first window while the next one is open
+        assertNull(windows.add("rule", item, "1m", event(20)));
+        assertEquals("count(*) > 2 matched with 3", windows.add("rule", item, "1m", event(30)));
+        assertEquals(2, windows.groupCount("rule"));
+
+        // An event a whole window later closes the first window, later events for it are dropped
+        assertNull(windows.add("rule", item, "1m", event(130)));
+        assertNull(windows.add("rule", item, "1m", event(40)));
+        assertEquals(2, windows.groupCount("rule"));
+    }
+
+    public void testEventTime() {
+        assertEquals(1000L, AggregationWindows.eventTime(Map.of("@timestamp", 1000L), 5L));
+        assertEquals(1000L, AggregationWindows.eventTime(Map.of("@timestamp", "1970-01-01T00:00:01Z"), 5L));
+        assertEquals(1000L, AggregationWindows.eventTime(Map.of("@timestamp", "1970-01-01T01:00:01+01:00"), 5L));
+        assertEquals(5L, AggregationWindows.eventTime(Map.of("@timestamp", "yesterday"), 5L));
+        assertEquals(5L, AggregationWindows.eventTime(Map.of(), 5L));
+    }
+
+    private static Map<String, Object> event(long seconds) {
+        return Map.of("@timestamp", TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    public void testCapEvictsLeastRecentlyUsedAggregation() {
+        AtomicLong now = new AtomicLong(0);
+        AggregationWindows windows = new AggregationWindows(2, 100, now::get);
+        AggregationItem item = aggregation("count", "*", null, ">", 2);
+
+        assertNull(windows.add("rule-1", item, "1h", Map.of()));
+        now.incrementAndGet();
+        assertNull(windows.add("rule-2", item, "1h", Map.of()));
+        now.incrementAndGet();
+        assertNull(windows.add("rule-1", item, "1h", Map.of()));
+
+        // The cap is reached and no window expired, rule-2 is the least recently used
+        now.incrementAndGet();
+        assertNull(windows.add("rule-3", item, "1h", Map.of()));
+        assertEquals(2, windows.aggregationCount());
+        assertEquals(0, windows.groupCount("rule-2"));
+        assertEquals(1, windows.groupCount("rule-3"));
+        // rule-1 kept its state, and new aggregations keep being tracked at the cap
+        assertNotNull(windows.add("rule-1", item, "1h", Map.of()));
+        for (int i = 0; i < 10; i++) {
+            now.incrementAndGet();
+            assertNull(windows.add("rule-" + (i + 4), item, "1h", Map.of()));
+            assertEquals(1, windows.groupCount("rule-" + (i + 4)));
+        }
+        assertEquals(2, windows.aggregationCount());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+
+import com.wazuh.securityanalytics.action.WEvaluateRulesResponse;
+
+public class CompiledRuleCacheTests extends OpenSearchTestCase {
+
+    private static String ruleYaml(String title) {
+        return String.join(
+                "\n",
+                "title: " + title,
+                "status: test",
+                "logsource:",
+                "    category: test",
+                "detection:",
+                "    selection:",
+                "        process.name: cmd.exe",
+                "    condition: selection",
+                "level: high");
+    }
+
+    public void testServesRuleOnlyForCachedVersion() throws Exception {
+        CompiledRuleCache cache = new CompiledRuleCache(10);
+        SigmaRule rule = cache.put(Rule.CUSTOM_RULES_INDEX, "r1", 1L, ruleYaml("First"));
+
+        assertSame(rule, cache.get(Rule.CUSTOM_RULES_INDEX, "r1", 1L));
+        assertNull(cache.get(Rule.CUSTOM_RULES_INDEX, "r1", 2L));
+        assertNull(cache.get(Rule.PRE_PACKAGED_RULES_INDEX, "r1", 1L));
+
+        SigmaRule updated = cache.put(Rule.CUSTOM_RULES_INDEX, "r1", 2L, ruleYaml("Updated"));
+        assertSame(updated, cache.get(Rule.CUSTOM_RULES_INDEX, "r1", 2L));
+        assertNull(cache.get(Rule.CUSTOM_RULES_INDEX, "r1", 1L));
+        assertEquals(1, cache.size());
+    }
+
+    public void testEvictsLeastRecentlyUsedRules() throws Exception {
+        CompiledRuleCache cache = new CompiledRuleCache(2);
+        cache.put(Rule.CUSTOM_RULES_INDEX, "r1", 1L, ruleYaml("One"));
+        cache.put(Rule.CUSTOM_RULES_INDEX, "r2", 1L, ruleYaml("Two"));
+        assertNotNull(cache.get(Rule.CUSTOM_RULES_INDEX, "r1", 1L));
+        cache.put(Rule.CUSTOM_RULES_INDEX, "r3", 1L, ruleYaml("Three"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(Rule.CUSTOM_RULES_INDEX, "r1", 1L));
+        assertNull(cache.get(Rule.CUSTOM_RULES_INDEX, "r2", 1L));
+        assertNotNull(cache.get(Rule.CUSTOM_RULES_INDEX, "r3", 1L));
+    }
+
+    public void testDisabledCacheStillCompiles() throws Exception {
+        CompiledRuleCache cache = new CompiledRuleCache(0);
+        SigmaRule rule = cache.put(Rule.CUSTOM_RULES_INDEX, "r1", 1L, ruleYaml("Disabled"));
+
+        assertEquals("Disabled", rule.getTitle());
+        assertNull(cache.get(Rule.CUSTOM_RULES_INDEX, "r1", 1L));
+        assertEquals(0, cache.size());
+    }
+
+    public void testCachedRuleIsEvaluated() throws Exception {
+        CompiledRuleCache cache = new CompiledRuleCache(10);
+        cache.put(Rule.CUSTOM_RULES_INDEX, "r1", 1L, ruleYaml("Cached"));
+
+        WEvaluateRulesResponse response =
+                new EventMatcher()
+                        .evaluateRules(
+                                "{\"process\": {\"name\": \"cmd.exe\"}}",
+                                List.of(cache.get(Rule.CUSTOM_RULES_INDEX, "r1", 1L)));
+        assertEquals(1, response.getMatches().size());
+        assertEquals("Cached", response.getMatches().get(0).getRule().getTitle());
+    }
+}
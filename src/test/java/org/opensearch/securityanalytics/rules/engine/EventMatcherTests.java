@@ -18,14 +18,28 @@ package org.opensearch.securityanalytics.rules.engine;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.opensearch.Version;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.test.OpenSearchTestCase;
 import org.junit.Assert;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.wazuh.securityanalytics.action.WEvaluateRulesResponse;
 
 public class EventMatcherTests extends OpenSearchTestCase {
 
@@ -439,6 +453,189 @@ public class EventMatcherTests extends OpenSearchTestCase {
     }
     // spotless:on
 
+    public void testRegexModifierMatch() throws Exception {
+        String yaml =
+                ruleYaml("Regex", "    selection:\n        process.thread.name|re: '^Compaction.*\\d$'");
+        String result = matcher.evaluate(CASSANDRA_EVENT, List.of(parseRule(yaml)));
+        Map<String, Object> parsed = MAPPER.readValue(result, Map.class);
+        Assert.assertEquals(1, parsed.get("rules_matched"));
+    }
+
+    public void testRuleMatchCostIsRecorded() throws Exception {
+        SigmaRule rule =
+                SigmaRule.fromYaml(
+                        indexedRuleJson(
+                                "92345678-1234-1234-1234-123456789abc",
+                                "Cost Rule",
+                                "low",
+                                "message|contains",
+                                "\"Some\""),
+                        true);
+
+        matcher.evaluate(CASSANDRA_EVENT, List.of(rule));
+        matcher.evaluate(CASSANDRA_EVENT, List.of(rule));
+
+        EventMatcher.RuleMatchCost cost =
+                matcher.getRuleMatchCosts().get("92345678-1234-1234-1234-123456789abc");
+        Assert.assertNotNull(cost);
+        Assert.assertEquals("Cost Rule", cost.getTitle());
+        Assert.assertEquals(2, cost.getEvaluations());
+        Assert.assertTrue(cost.getTotalNanos() >= cost.getMaxNanos());
+    }
+
+    public void testRuleMatchCostIsNotRecordedWithoutCostTracking() throws Exception {
+        SigmaRule rule =
+                SigmaRule.fromYaml(
+                        indexedRuleJson(
+                                "e2345678-1234-1234-1234-123456789abc",
+                                "Untracked",
+                                "low",
+                                "message|contains",
+                                "\"Some\""),
+                        true);
+        EventMatcher untracked = new EventMatcher();
+        untracked.setCostTracking(false);
+
+        untracked.evaluate(CASSANDRA_EVENT, List.of(rule));
+        Assert.assertTrue(untracked.getRuleMatchCosts().isEmpty());
+
+        untracked.setCostTracking(true);
+        untracked.evaluate(CASSANDRA_EVENT, List.of(rule));
+        Assert.assertEquals(
+                1, untracked.getRuleMatchCosts().get("e2345678-1234-1234-1234-123456789abc").getEvaluations());
+    }
+
+    public void testRulesWithoutIdAreKeyedByTitleOrDetection() throws Exception {
+        SigmaRule titled = parseRule(ruleYaml("Titled", "    selection:\n        process.name: cmd.exe"));
+        SigmaRule other = parseRule(ruleYaml("Other", "    selection:\n        process.name: cmd.exe"));
+
+        Assert.assertEquals("title:Titled", EventMatcher.ruleKey(titled));
+        Assert.assertNotEquals(EventMatcher.ruleKey(titled), EventMatcher.ruleKey(other));
+        matcher.evaluate("{\"process\": {\"name\": \"cmd.exe\"}}", List.of(titled, other));
+        Assert.assertEquals(1, matcher.getRuleMatchCosts().get("title:Titled").getEvaluations());
+        Assert.assertEquals(1, matcher.getRuleMatchCosts().get("title:Other").getEvaluations());
+    }
+
+    public void testSlowRuleWarningsAreRateLimited() throws Exception {
+        List<SigmaRule> rules = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rules.add(parseRule(ruleYaml("Slow " + i, "    selection:\n        process.name: cmd.exe")));
+        }
+        EventMatcher slow = new EventMatcher(100, 10000, TimeValue.ZERO);
+
+        slow.evaluate("{\"process\": {\"name\": \"cmd.exe\"}}", rules);
+        // Every evaluation is slow, only the first one within the interval is logged
+        Assert.assertEquals(4, slow.getSuppressedSlowRuleWarnings());
+    }
+
+    public void testProfilingRecordsMatchesAndValueCosts() throws Exception {
+        SigmaRule matching =
+                SigmaRule.fromYaml(
+                        indexedRuleJson(
+                                "a2345678-1234-1234-1234-123456789abc",
+                                "Profiled Match",
+                                "low",
+                                "process.thread.name|startswith",
+                                "\"Compaction\""),
+                        true);
+        SigmaRule missing =
+                SigmaRule.fromYaml(
+                        indexedRuleJson(
+                                "b2345678-1234-1234-1234-123456789abc",
+                                "Profiled Miss",
+                                "low",
+                                "process.thread.name",
+                                "\"nothing\""),
+                        true);
+        EventMatcher profiled = new EventMatcher();
+        profiled.setProfiling(true);
+        assumeTrue("thread CPU time is not supported", profiled.isProfiling());
+
+        profiled.evaluate(CASSANDRA_EVENT, List.of(matching, missing));
+        profiled.evaluate(CASSANDRA_EVENT, List.of(matching, missing));
+        profiled.setProfiling(false);
+        profiled.evaluate(CASSANDRA_EVENT, List.of(matching, missing));
+
+        Map<String, EventMatcher.RuleMatchCost> costs = profiled.getRuleMatchCosts();
+        EventMatcher.RuleMatchCost matchCost = costs.get("a2345678-1234-1234-1234-123456789abc");
+        Assert.assertEquals(3, matchCost.getEvaluations());
+        Assert.assertEquals(2, matchCost.getProfiledEvaluations());
+        Assert.assertEquals(2, matchCost.getMatches());
+        Assert.assertEquals(2, matchCost.getValueCount(EventMatcher.ValueKind.WILDCARD));
+        Assert.assertEquals(0, matchCost.getValueCount(EventMatcher.ValueKind.STRING));
+        Assert.assertTrue(matchCost.getPercentileNanos(99) >= matchCost.getPercentileNanos(50));
+
+        EventMatcher.RuleMatchCost missCost = costs.get("b2345678-1234-1234-1234-123456789abc");
+        Assert.assertEquals(0, missCost.getMatches());
+        Assert.assertEquals(2, missCost.getValueCount(EventMatcher.ValueKind.STRING));
+    }
+
+    public void testProfilingIsOffByDefault() throws Exception {
+        SigmaRule rule =
+                SigmaRule.fromYaml(
+                        indexedRuleJson(
+                                "c2345678-1234-1234-1234-123456789abc",
+                                "Unprofiled",
+                                "low",
+                                "process.thread.name|startswith",
+                                "\"Compaction\""),
+                        true);
+        matcher.evaluate(CASSANDRA_EVENT, List.of(rule));
+
+        EventMatcher.RuleMatchCost cost =
+                matcher.getRuleMatchCosts().get("c2345678-1234-1234-1234-123456789abc");
+        Assert.assertFalse(matcher.isProfiling());
+        Assert.assertEquals(1, cost.getEvaluations());
+        Assert.assertEquals(0, cost.getProfiledEvaluations());
+        Assert.assertEquals(0, cost.getMatches());
+        Assert.assertEquals(0, cost.getPercentileNanos(50));
+    }
+
+    public void testHotRulesAreSortedByCost() throws Exception {
+        List<SigmaRule> rules = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rules.add(
+                    SigmaRule.fromYaml(
+                            indexedRuleJson(
+                                    "d234567" + i + "-1234-1234-1234-123456789abc",
+                                    "Hot " + i,
+                                    "low",
+                                    "process.thread.name|contains",
+                                    "\"Compaction\""),
+                            true));
+        }
+        matcher.evaluate(CASSANDRA_EVENT, rules);
+        matcher.evaluate(CASSANDRA_EVENT, rules.subList(0, 2));
+
+        List<EventMatcher.RuleMatchCost> byEvaluations =
+                matcher.getHotRules(3, EventMatcher.CostOrder.EVALUATIONS);
+        Assert.assertEquals(3, byEvaluations.size());
+        Assert.assertEquals(2, byEvaluations.get(0).getEvaluations());
+        Assert.assertEquals(2, byEvaluations.get(1).getEvaluations());
+        Assert.assertEquals(1, byEvaluations.get(2).getEvaluations());
+
+        List<EventMatcher.RuleMatchCost> byTime = matcher.getHotRules(10, EventMatcher.CostOrder.TOTAL_TIME);
+        Assert.assertEquals(5, byTime.size());
+        for (int i = 1; i < byTime.size(); i++) {
+            Assert.assertTrue(byTime.get(i - 1).getTotalNanos() >= byTime.get(i).getTotalNanos());
+        }
+
+        matcher.clearRuleMatchCosts();
+        Assert.assertTrue(matcher.getHotRules(10, EventMatcher.CostOrder.TOTAL_TIME).isEmpty());
+    }
+
+    public void testProfiledLatencyPercentiles() {
+        EventMatcher.RuleMatchCost cost = new EventMatcher.RuleMatchCost("r", "t");
+        for (int i = 0; i < 99; i++) {
+            cost.recordProfile(1000, 1000, false);
+        }
+        cost.recordProfile(1_000_000, 1_000_000, true);
+        Assert.assertEquals(1023, cost.getPercentileNanos(50));
+        Assert.assertEquals(1023, cost.getPercentileNanos(99));
+        Assert.assertEquals((1L << 20) - 1, cost.getPercentileNanos(100));
+        Assert.assertEquals(1, cost.getMatches());
+    }
+
     // ---- YAML-based modifier tests ----
 
     public void testStartswithMatch() throws Exception {
@@ -694,4 +891,235 @@ public class EventMatcherTests extends OpenSearchTestCase {
                         .toList();
         Assert.assertEquals(List.of("Endswith Rule", "Startswith Rule"), matchedTitles);
     }
+
+    // ---- Parallel evaluation ----
+
+    public void testPartitionCount() {
+        EventMatcher parallel =
+                new EventMatcher(10, 10000, TimeValue.timeValueSeconds(1), Runnable::run, 4, 1000, 100);
+        Assert.assertEquals(1, parallel.partitionCount(999));
+        Assert.assertEquals(4, parallel.partitionCount(1000));
+        Assert.assertEquals(4, parallel.partitionCount(100000));
+
+        EventMatcher fewRules =
+                new EventMatcher(10, 10000, TimeValue.timeValueSeconds(1), Runnable::run, 4, 1, 100);
+        Assert.assertEquals(1, fewRules.partitionCount(EventMatcher.MIN_RULES_PER_PARTITION));
+        Assert.assertEquals(2, fewRules.partitionCount(2 * EventMatcher.MIN_RULES_PER_PARTITION));
+
+        Assert.assertEquals(1, matcher.partitionCount(100000));
+        Assert.assertEquals(
+                1,
+                new EventMatcher(10, 10000, TimeValue.timeValueSeconds(1), Runnable::run, 4, 0, 100)
+                        .partitionCount(100000));
+    }
+
+    public void testParallelEvaluationMatchesSequential() throws Exception {
+        List<SigmaRule> rules = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String value = i % 7 == 0 ? "cmd.exe" : (i % 11 == 0 ? "*.exe" : "notepad-" + i);
+            rules.add(parseRule(ruleYaml("Rule " + i, "    selection:\n        process.name: '" + value + "'")));
+        }
+        String event = "{\"process\": {\"name\": \"cmd.exe\"}}";
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            EventMatcher parallel =
+                    new EventMatcher(100, 10000, TimeValue.timeValueSeconds(1), executor, 4, 100, 100);
+            Assert.assertEquals(4, parallel.partitionCount(rules.size()));
+
+            String sequentialResult = matcher.evaluate(event, rules);
+            for (int i = 0; i < 10; i++) {
+                PlainActionFuture<WEvaluateRulesResponse> future = PlainActionFuture.newFuture();
+                parallel.evaluateRules(event, rules, null, future);
+                Assert.assertEquals(sequentialResult, future.actionGet().getResultJson());
+            }
+
+            Map<String, Object> parsed = MAPPER.readValue(sequentialResult, Map.class);
+            Assert.assertEquals(500, parsed.get("rules_evaluated"));
+            Assert.assertEquals(72 + 39, parsed.get("rules_matched"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testParallelEvaluationFallsBackWhenRejected() throws Exception {
+        List<SigmaRule> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rules.add(parseRule(ruleYaml("Rule " + i, "    selection:\n        process.name: cmd.exe")));
+        }
+        Executor rejecting =
+                command -> {
+                    throw new RejectedExecutionException("rejected");
+                };
+        EventMatcher parallel =
+                new EventMatcher(100, 10000, TimeValue.timeValueSeconds(1), rejecting, 4, 100, 100);
+
+        PlainActionFuture<WEvaluateRulesResponse> future = PlainActionFuture.newFuture();
+        parallel.evaluateRules("{\"process\": {\"name\": \"cmd.exe\"}}", rules, null, future);
+        Map<String, Object> parsed = MAPPER.readValue(future.actionGet().getResultJson(), Map.class);
+        Assert.assertEquals("success", parsed.get("status"));
+        Assert.assertEquals(200, parsed.get("rules_matched"));
+    }
+
+    public void testParallelEvaluationDoesNotBlockTheCallingThread() throws Exception {
+        List<SigmaRule> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rules.add(parseRule(ruleYaml("Rule " + i, "    selection:\n        process.name: cmd.exe")));
+        }
+        List<Runnable> forked = new ArrayList<>();
+        EventMatcher parallel =
+                new EventMatcher(100, 10000, TimeValue.timeValueSeconds(1), forked::add, 4, 100, 100);
+        AtomicReference<WEvaluateRulesResponse> response = new AtomicReference<>();
+
+        parallel.evaluateRules(
+                "{\"process\": {\"name\": \"cmd.exe\"}}",
+                rules,
+                null,
+                ActionListener.wrap(response::set, e -> Assert.fail(e.getMessage())));
+
+        // Every partition was forked and the call returned without evaluating any of them
+        Assert.assertEquals(3, forked.size());
+        Assert.assertNull(response.get());
+        Assert.assertTrue(parallel.getRuleMatchCosts().isEmpty());
+
+        for (int i = forked.size() - 1; i >= 0; i--) {
+            forked.get(i).run();
+            Assert.assertEquals(i == 0, response.get() != null);
+        }
+        Assert.assertEquals(200, response.get().getRulesEvaluated());
+        Assert.assertEquals(200, response.get().getMatches().size());
+    }
+
+    // ---- Aggregation conditions ----
+
+    public void testAggregationMatchesWhenThresholdIsCrossed() throws Exception {
+        SigmaRule rule = parseRule(bruteForceRule());
+        EventMatcher aggregating = new EventMatcher();
+        String failed = "{\"event\": {\"action\": \"logon-failed\"}, \"source\": {\"ip\": \"10.0.0.1\"}}";
+        String other = "{\"event\": {\"action\": \"logon-failed\"}, \"source\": {\"ip\": \"10.0.0.2\"}}";
+        String success = "{\"event\": {\"action\": \"logon\"}, \"source\": {\"ip\": \"10.0.0.1\"}}";
+
+        List<Integer> matched = new ArrayList<>();
+        for (String event : List.of(failed, success, other, failed, failed, failed)) {
+            matched.add(aggregating.evaluateRules(event, List.of(rule), "detector-1").getMatches().size());
+        }
+        // Matches on the third failed logon from 10.0.0.1 only
+        Assert.assertEquals(List.of(0, 0, 0, 0, 1, 0), matched);
+    }
+
+    public void testAggregationScopesDoNotShareEvents() throws Exception {
+        SigmaRule rule = parseRule(bruteForceRule());
+        EventMatcher aggregating = new EventMatcher();
+        String failed = "{\"event\": {\"action\": \"logon-failed\"}, \"source\": {\"ip\": \"10.0.0.1\"}}";
+
+        List<Integer> matched = new ArrayList<>();
+        for (String scope : List.of("detector-1", "detector-2", "detector-1", "detector-2", "detector-1")) {
+            matched.add(aggregating.evaluateRules(failed, List.of(rule), scope).getMatches().size());
+        }
+        // Each detector counts its own failed logons
+        Assert.assertEquals(List.of(0, 0, 0, 0, 1), matched);
+    }
+
+    public void testAggregationWithoutScopeOnlyCountsTheEvent() throws Exception {
+        SigmaRule rule = parseRule(bruteForceRule());
+        EventMatcher aggregating = new EventMatcher();
+        String failed = "{\"event\": {\"action\": \"logon-failed\"}, \"source\": {\"ip\": \"10.0.0.1\"}}";
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(0, aggregating.evaluateRules(failed, List.of(rule)).getMatches().size());
+        }
+        // Unscoped requests left no state behind for a detector to pick up
+        Assert.assertEquals(0, aggregating.evaluateRules(failed, List.of(rule), "detector-1").getMatches().size());
+    }
+
+    private static String bruteForceRule() {
+        return String.join(
+                "\n",
+                "title: Brute force",
+                "id: 5b7ae8e6-6b68-4b9b-9a5d-3e6b1f2b2c01",
+                "status: test",
+                "logsource:",
+                "    category: test",
+                "detection:",
+                "    selection:",
+                "        event.action: logon-failed",
+                "    timeframe: 5m",
+                "    condition: selection | count(*) by source.ip > 2",
+                "level: high");
+    }
+
+    // ---- Typed result ----
+
+    public void testTypedResultSerializesOverTransport() throws Exception {
+        SigmaRule first = parseRule(ruleYaml("First", "    selection:\n        process.name: cmd.exe"));
+        SigmaRule second = parseRule(ruleYaml("Second", "    selection:\n        - whoami"));
+        SigmaRule third = parseRule(ruleYaml("Third", "    selection:\n        process.name: bash"));
+        String event = "{\"process\": {\"name\": \"cmd.exe\", \"args\": \"whoami\"}}";
+
+        WEvaluateRulesResponse response = matcher.evaluateRules(event, List.of(first, second, third));
+        Assert.assertEquals(WEvaluateRulesResponse.STATUS_SUCCESS, response.getStatus());
+        Assert.assertEquals(3, response.getRulesEvaluated());
+        Assert.assertEquals(2, response.getMatches().size());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(WEvaluateRulesResponse.TYPED_RESULT_VERSION);
+        response.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        in.setVersion(WEvaluateRulesResponse.TYPED_RESULT_VERSION);
+        WEvaluateRulesResponse copy = new WEvaluateRulesResponse(in);
+
+        Assert.assertEquals(response.getResultJson(), copy.getResultJson());
+        WEvaluateRulesResponse.RuleMatch match = copy.getMatches().get(0);
+        Assert.assertEquals("First", match.getRule().getTitle());
+        WEvaluateRulesResponse.MatchedCondition condition = match.getConditions().get(0);
+        Assert.assertEquals(WEvaluateRulesResponse.MatchedCondition.Type.FIELD, condition.getType());
+        Assert.assertEquals("process.name", condition.getField());
+        Assert.assertEquals("cmd.exe", condition.getValue());
+
+        WEvaluateRulesResponse.MatchedCondition keyword = copy.getMatches().get(1).getConditions().get(0);
+        Assert.assertEquals(WEvaluateRulesResponse.MatchedCondition.Type.KEYWORD, keyword.getType());
+        Assert.assertEquals("process.args", keyword.getField());
+        Assert.assertEquals("process.args contains 'whoami'", keyword.toString());
+
+        Map<String, Object> parsed = MAPPER.readValue(copy.getResultJson(), Map.class);
+        Assert.assertEquals(2, parsed.get("rules_matched"));
+    }
+
+    public void testTypedResultSerializesToNodesBeforeTypedResults() throws Exception {
+        SigmaRule first = parseRule(ruleYaml("First", "    selection:\n        process.name: cmd.exe"));
+        String event = "{\"process\": {\"name\": \"cmd.exe\"}}";
+        WEvaluateRulesResponse response = matcher.evaluateRules(event, List.of(first));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(Version.V_3_6_0);
+        response.writeTo(out);
+        // Nodes before the gate, the current release included, read the result JSON string
+        Assert.assertEquals(response.getResultJson(), out.bytes().streamInput().readString());
+
+        StreamInput in = out.bytes().streamInput();
+        in.setVersion(Version.V_3_6_0);
+        WEvaluateRulesResponse copy = new WEvaluateRulesResponse(in);
+        Assert.assertEquals(response.getResultJson(), copy.getResultJson());
+        Assert.assertEquals(WEvaluateRulesResponse.STATUS_SUCCESS, copy.getStatus());
+        Assert.assertEquals(1, copy.getRulesEvaluated());
+        WEvaluateRulesResponse.RuleMatch match = copy.getMatches().get(0);
+        Assert.assertEquals("First", match.getRule().getTitle());
+        WEvaluateRulesResponse.MatchedCondition condition = match.getConditions().get(0);
+        Assert.assertEquals(WEvaluateRulesResponse.MatchedCondition.Type.DESCRIPTION, condition.getType());
+        Assert.assertEquals("process.name matched 'cmd.exe'", condition.toString());
+    }
+
+    @SuppressWarnings("deprecation")
+    public void testResultJsonConstructor() {
+        String json = "{\"status\":\"success\",\"rules_evaluated\":3,\"rules_matched\":1,\"matches\":["
+                + "{\"rule\":{\"id\":\"r1\",\"title\":\"First\",\"level\":\"high\",\"tags\":[\"attack.t1059\"]},"
+                + "\"matched_conditions\":[\"process.name matched 'cmd.exe'\"]}]}";
+        WEvaluateRulesResponse response = new WEvaluateRulesResponse(json);
+
+        Assert.assertEquals(WEvaluateRulesResponse.STATUS_SUCCESS, response.getStatus());
+        Assert.assertEquals(3, response.getRulesEvaluated());
+        Assert.assertEquals("r1", response.getMatches().get(0).getRule().getId());
+        Assert.assertEquals(List.of("attack.t1059"), response.getMatches().get(0).getRule().getTags());
+        Assert.assertEquals(json, response.getResultJson());
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.regex.Pattern;
+
+public class ValuePatternCacheTests extends OpenSearchTestCase {
+
+    private final ValuePatternCache cache = new ValuePatternCache(100, 10000);
+
+    /** Checks the automaton gives the same answer as {@link java.util.regex.Matcher#find()}. */
+    private void assertSameAsJava(String regexp, String... values) {
+        assertNotNull("expected an automaton for " + regexp, ValuePatternCache.translateRegex(regexp));
+        Pattern pattern = Pattern.compile(regexp);
+        for (String value : values) {
+            assertEquals(
+                    regexp + " on [" + value + "]",
+                    pattern.matcher(value).find(),
+                    this.cache.regex(regexp).matches(value));
+        }
+    }
+
+    public void testRegexFindSemantics() {
+        assertSameAsJava("abc", "abc", "xxabcxx", "ab", "ABC");
+        assertSameAsJava("^cmd\\.exe$", "cmd.exe", "cmd.exe\n", "xcmd.exe", "cmdxexe", "cmd.exe x");
+        assertSameAsJava("(?i)powershell.*-enc", "PowerShell.exe -EncodedCommand", "powershell\n-enc");
+        assertSameAsJava("a|b", "xax", "c");
+        assertSameAsJava("^(a|b)c$", "ac", "bc", "abc");
+    }
+
+    public void testRegexClassesAndQuantifiers() {
+        assertSameAsJava("[a-z0-9_-]+\\d{2,4}?$", "abc-12", "abc-1", "ABC12");
+        assertSameAsJava("[^\\s]+\\s\\S", "a b", "a  ", " ");
+        assertSameAsJava("\\w+@\\w+\\.com", "user@example.com", "user@example.org");
+        assertSameAsJava("\\x41\\u0042\\t", "AB\t", "AB ");
+        assertSameAsJava("a\"b", "a\"b", "ab");
+        assertSameAsJava("^C:\\\\Windows\\\\", "C:\\Windows\\System32", "D:\\Windows\\");
+    }
+
+    public void testCaseInsensitiveClassesUseAutomaton() {
+        assertSameAsJava("(?i)[a-z]+\\.exe$", "CMD.EXE", "cmd.exe", "Cmd.Exe", "c1.exe", "cmd.exe.bak");
+        assertSameAsJava("(?i)^[a-f0-9]{8}$", "DEADBEEF", "deadbeef", "DeadBeef", "DEADBEEG");
+        assertSameAsJava("(?i)\\\\[a-z]+\\.dll", "C:\\WINDOWS\\KERNEL32.DLL", "c:\\windows\\kernel32.dll", "\\1.dll");
+        assertSameAsJava("(?i)[^a-z]", "ABC", "abc", "AB1");
+        assertSameAsJava("(?i)[\\x41-\\x43]x", "bX", "BX", "dx");
+        assertSameAsJava("(?i)[Z-a]", "z", "A", "_", "y");
+        assertSameAsJava("(?i)[\\w-]+=", "Enc-Cmd=", "%=");
+    }
+
+    public void testUnsupportedRegexFallsBackToJava() {
+        for (String regexp :
+                new String[] {"\\bfoo", "(?=x)y", "(a)\\1", "^a|b", "a$b", "x{3}+", "[a[b]]", "[a&&b]", "[a-c-e]"}) {
+            assertNull(regexp, ValuePatternCache.translateRegex(regexp));
+        }
+        assertTrue(this.cache.regex("\\bfoo\\b").matches("a foo b"));
+        assertFalse(this.cache.regex("\\bfoo\\b").matches("afoob"));
+    }
+
+    public void testPathologicalRegexIsLinear() {
+        String value = "a".repeat(5000) + "!";
+        long start = System.nanoTime();
+        assertFalse(this.cache.regex("^(a+)+$").matches(value));
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    }
+
+    public void testTooComplexValueNeverMatches() {
+        ValuePatternCache small = new ValuePatternCache(100, 100);
+        assertSame(ValuePatternCache.NEVER, small.regex("(a|b)*a(a|b){20}"));
+    }
+
+    public void testWildcard() {
+        SigmaString value = new SigmaString("*/Power?hell.exe");
+        assertTrue(this.cache.wildcard(value).matches("/usr/bin/POWERSHELL.EXE"));
+        assertTrue(this.cache.wildcard(value).matches("/Powerxhell.exe"));
+        assertFalse(this.cache.wildcard(value).matches("/usr/bin/powershell.exe.bak"));
+    }
+
+    public void testRegexAndWildcardDoNotCollide() {
+        SigmaString wildcard = new SigmaString("a*");
+        assertTrue(this.cache.wildcard(wildcard).matches("abc"));
+        // As a regular expression "a*" is found in every value
+        assertTrue(this.cache.regex("a*").matches("xyz"));
+        assertFalse(this.cache.wildcard(wildcard).matches("xyz"));
+        assertEquals(2, this.cache.size());
+    }
+
+    public void testCacheIsBounded() {
+        ValuePatternCache small = new ValuePatternCache(2, 10000);
+        small.regex("a");
+        small.regex("b");
+        small.regex("a");
+        small.regex("c");
+        assertEquals(2, small.size());
+    }
+}
@@ -17,6 +17,7 @@
 package org.opensearch.securityanalytics.rules.objects;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.condition.ConditionAND;
 import org.opensearch.securityanalytics.rules.condition.ConditionItem;
 import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
@@ -28,7 +29,13 @@ import org.opensearch.securityanalytics.rules.exceptions.SigmaRegularExpressionE
 import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
 import org.opensearch.test.OpenSearchTestCase;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class SigmaConditionTests extends OpenSearchTestCase {
 
@@ -173,4 +180,48 @@ public class SigmaConditionTests extends OpenSearchTestCase {
         ConditionItem notUpperItem = parse("NOT sel1", "sel1");
         assertSame(notItem.getClass(), notUpperItem.getClass());
     }
+
+    // --- Parsed once ---
+
+    public void testParsedReturnsTheSameTree() throws Exception {
+        SigmaDetections dets = detectionsWithCondition("sel1 and not sel2 | count(*) > 5", "sel1", "sel2");
+        SigmaCondition sigmaCondition = dets.getParsedCondition().get(0);
+
+        Pair<ConditionItem, ?> first = sigmaCondition.parsed();
+        Pair<ConditionItem, ?> second = sigmaCondition.parsed();
+        assertSame(first, second);
+        assertSame(ConditionAND.class, second.getLeft().getClass());
+        assertNotNull(second.getRight());
+    }
+
+    public void testParsedConcurrently() throws Exception {
+        SigmaDetections dets = detectionsWithCondition("sel1 or sel2 or sel3", "sel1", "sel2", "sel3");
+        SigmaCondition sigmaCondition = dets.getParsedCondition().get(0);
+
+        int threads = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Pair<ConditionItem, AggregationItem>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    return sigmaCondition.parsed();
+                }));
+            }
+            Pair<ConditionItem, AggregationItem> expected = results.get(0).get();
+            assertSame(ConditionOR.class, expected.getLeft().getClass());
+            for (Future<Pair<ConditionItem, AggregationItem>> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testCompileParsesEveryCondition() throws Exception {
+        SigmaDetections dets = detectionsWithCondition("sel1 and sel2", "sel1", "sel2");
+        dets.compile();
+        assertSame(ConditionAND.class, dets.getParsedCondition().get(0).parsed().getLeft().getClass());
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.threatintel;
+
+import org.opensearch.securityanalytics.model.LogType;
+import org.opensearch.securityanalytics.model.STIX2IOC;
+import org.opensearch.securityanalytics.model.threatintel.IocFinding;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class IocMatcherTests extends OpenSearchTestCase {
+
+    private static STIX2IOC ioc(String id, String type, String value) {
+        return new STIX2IOC(id, id, type, value, "high", Instant.now(), Instant.now(), null, List.of(), "2.1", "feed", "Feed", 1L);
+    }
+
+    private static List<String> ids(List<IocMatcher.Indicator> indicators) {
+        return indicators.stream().map(IocMatcher.Indicator::getId).sorted().collect(Collectors.toList());
+    }
+
+    public void testExactValues() {
+        IocMatcher matcher = IocMatcher.build(List.of(
+                ioc("ip", "ipv4-addr", "10.0.0.1"),
+                ioc("ip6", "ipv6-addr", "2001:DB8:0:0:0:0:0:1"),
+                ioc("domain", "domain-name", "Evil.Example.com."),
+                ioc("hash", "hashes", "D41D8CD98F00B204E9800998ECF8427E")));
+
+        assertEquals(4, matcher.size());
+        assertEquals(List.of("ip"), ids(matcher.lookup("ip", "10.0.0.1")));
+        assertEquals(List.of("ip6"), ids(matcher.lookup("ip", "2001:db8::1")));
+        assertEquals(List.of("domain"), ids(matcher.lookup("domain-name", "evil.example.COM")));
+        assertEquals(List.of("hash"), ids(matcher.lookup("hashes", "d41d8cd98f00b204e9800998ecf8427e")));
+
+        assertTrue(matcher.lookup("ip", "10.0.0.2").isEmpty());
+        assertTrue(matcher.lookup("ip", "not an ip").isEmpty());
+        assertTrue(matcher.lookup("domain-name", "10.0.0.1").isEmpty());
+        assertTrue(matcher.lookup("ip", null).isEmpty());
+    }
+
+    public void testCidrBlocks() {
+        IocMatcher matcher = IocMatcher.build(List.of(
+                ioc("wide", "ipv4-addr", "10.0.0.0/8"),
+                ioc("narrow", "ipv4-addr", "10.1.2.0/24"),
+                ioc("host", "ipv4-addr", "10.1.2.3"),
+                ioc("v6", "ipv6-addr", "2001:db8::/32"),
+                ioc("invalid", "ipv4-addr", "10.0.0.0/99")));
+
+        assertEquals(4, matcher.size());
+        assertEquals(List.of("host", "narrow", "wide"), ids(matcher.lookup("ip", "10.1.2.3")));
+        assertEquals(List.of("narrow", "wide"), ids(matcher.lookup("ip", "10.1.2.200")));
+        assertEquals(List.of("wide"), ids(matcher.lookup("ip", "10.200.0.1")));
+        assertTrue(matcher.lookup("ip", "11.0.0.1").isEmpty());
+        assertEquals(List.of("v6"), ids(matcher.lookup("ip", "2001:db8:ffff::1")));
+        assertTrue(matcher.lookup("ip", "2001:db9::1").isEmpty());
+    }
+
+    public void testBloomFilterHasNoFalseNegatives() {
+        IocBloomFilter filter = new IocBloomFilter(10000);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            String value = randomAlphaOfLength(16);
+            values.add(value);
+            filter.add(value);
+        }
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(randomAlphaOfLength(17))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives: " + falsePositives, falsePositives < 500);
+    }
+
+    public void testMatchEventFields() {
+        IocMatcher matcher = IocMatcher.build(List.of(
+                ioc("ip", "ipv4-addr", "192.168.1.0/24"),
+                ioc("domain", "domain-name", "evil.example.com")));
+        List<LogType.IocFields> iocFields = List.of(
+                new LogType.IocFields("ip", List.of("source.ip", "destination.ip")),
+                new LogType.IocFields("domain-name", List.of("dns.question.name")));
+
+        Map<String, Object> event = Map.of(
+                "source", Map.of("ip", "192.168.1.20"),
+                "destination.ip", List.of("8.8.8.8", "192.168.1.30"),
+                "dns", Map.of("question", Map.of("name", "EVIL.example.com")));
+
+        List<IocMatcher.Match> matches = matcher.match(event, iocFields);
+        assertEquals(3, matches.size());
+        assertEquals("source.ip", matches.get(0).getField());
+        assertEquals("192.168.1.20", matches.get(0).getValue());
+        assertEquals("destination.ip", matches.get(1).getField());
+        assertEquals("192.168.1.30", matches.get(1).getValue());
+        assertEquals("domain", matches.get(2).getIndicator().getId());
+    }
+
+    public void testFindingsGroupDocumentsByIndicator() {
+        IocMatcher matcher = IocMatcher.build(List.of(
+                ioc("block", "ipv4-addr", "172.16.0.0/12"),
+                ioc("host", "ipv4-addr", "1.2.3.4")));
+        List<LogType.IocFields> iocFields = List.of(new LogType.IocFields("ip", List.of("source.ip")));
+
+        Map<String, Map<String, Object>> events = new LinkedHashMap<>();
+        events.put("doc1", Map.of("source", Map.of("ip", "172.16.0.1")));
+        events.put("doc2", Map.of("source", Map.of("ip", "1.2.3.4")));
+        events.put("doc3", Map.of("source", Map.of("ip", "172.20.0.9")));
+        events.put("doc4", Map.of("source", Map.of("ip", "8.8.8.8")));
+
+        Instant now = Instant.now();
+        List<IocFinding> findings = matcher.findings(events, iocFields, "logs", "monitor", "Monitor", "exec", now);
+        assertEquals(2, findings.size());
+
+        IocFinding block = findings.get(0);
+        assertEquals("172.16.0.0/12", block.getIocValue());
+        assertEquals(IocMatcher.IP, block.getIocType());
+        assertEquals(List.of("doc1", "doc3"), block.getRelatedDocIds());
+        assertEquals(1, block.getFeedIds().size());
+        assertEquals("exec", block.getExecutionId());
+        assertEquals(now, block.getTimestamp());
+
+        IocFinding host = findings.get(1);
+        assertEquals("1.2.3.4", host.getIocValue());
+        assertEquals(List.of("doc2"), host.getRelatedDocIds());
+    }
+}
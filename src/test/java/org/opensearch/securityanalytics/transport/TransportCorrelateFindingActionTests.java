@@ -24,6 +24,7 @@ import org.opensearch.action.support.ActionFilters;
 import org.opensearch.cluster.ClusterName;
 import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.lifecycle.LifecycleListener;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
@@ -34,12 +35,15 @@ import org.opensearch.commons.alerting.model.Finding;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.correlation.CorrelationPipelineStats;
 import org.opensearch.securityanalytics.correlation.CorrelationRulesCache;
+import org.opensearch.securityanalytics.correlation.CorrelationSpillLog;
 import org.opensearch.securityanalytics.correlation.DetectorLookupCache;
 import org.opensearch.securityanalytics.correlation.LogTypeListCache;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
 import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
 import org.opensearch.securityanalytics.enrichment.WazuhEnrichedFindingService;
+import org.opensearch.securityanalytics.indexmanagment.FindingIndexCatalog;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.CustomLogType;
 import org.opensearch.securityanalytics.model.Detector;
@@ -49,11 +53,13 @@ import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.tasks.Task;
 import org.opensearch.tasks.TaskManager;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
 import java.lang.reflect.Field;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
@@ -139,10 +145,17 @@ public class TransportCorrelateFindingActionTests extends OpenSearchTestCase {
         CorrelationIndices correlationIndices;
         DetectorIndices detectorIndices;
         ThreadPool threadPool;
+        ClusterService clusterService;
+        Scheduler.Cancellable spillDrain;
+        CorrelationSpillLog spillLog;
         TransportCorrelateFindingAction transportAction;
     }
 
-    private TestSetup buildTestSetup() {
+    private TestSetup buildTestSetup() throws Exception {
+        return buildTestSetup(Settings.EMPTY, createTempDir());
+    }
+
+    private TestSetup buildTestSetup(Settings settings, Path spillDir) throws Exception {
         TestSetup s = new TestSetup();
         s.client = mock(Client.class);
         s.correlationIndices = mock(CorrelationIndices.class);
@@ -150,6 +163,7 @@ public class TransportCorrelateFindingActionTests extends OpenSearchTestCase {
         s.threadPool = mock(ThreadPool.class);
 
         ClusterService clusterService = mock(ClusterService.class);
+        s.clusterService = clusterService;
         ClusterSettings clusterSettings =
                 new ClusterSettings(
                         Settings.EMPTY,
@@ -162,6 +176,10 @@ public class TransportCorrelateFindingActionTests extends OpenSearchTestCase {
                                         SecurityAnalyticsSettings.CORRELATION_DETECTOR_CACHE_TTL,
                                         SecurityAnalyticsSettings.CORRELATION_MAX_IN_FLIGHT_FINDINGS,
                                         SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS,
+                                        SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS_PER_DETECTOR_PERCENT,
+                                        SecurityAnalyticsSettings.CORRELATION_SPILL_ENABLED,
+                                        SecurityAnalyticsSettings.CORRELATION_SPILL_MAX_SIZE,
+                                        SecurityAnalyticsSettings.CORRELATION_SPILL_DRAIN_RATE,
                                         SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_ENABLED,
                                         SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_HIGH_WATERMARK_PERCENT,
                                         SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_LOW_WATERMARK_PERCENT,
@@ -180,10 +198,15 @@ public class TransportCorrelateFindingActionTests extends OpenSearchTestCase {
                 .when(executor)
                 .execute(any());
         when(s.threadPool.executor(anyString())).thenReturn(executor);
+        s.spillDrain = mock(Scheduler.Cancellable.class);
+        when(s.threadPool.scheduleWithFixedDelay(any(), any(), anyString())).thenReturn(s.spillDrain);
 
         TransportService transportService = mock(TransportService.class);
         when(transportService.getTaskManager()).thenReturn(mock(TaskManager.class));
 
+        s.spillLog = new CorrelationSpillLog(spillDir, 1024 * 1024, 64 * 1024);
+        s.spillLog.open();
+
         s.transportAction =
                 new TransportCorrelateFindingAction(
                         transportService,
@@ -193,14 +216,17 @@ public class TransportCorrelateFindingActionTests extends OpenSearchTestCase {
                         s.correlationIndices,
                         mock(LogTypeService.class),
                         clusterService,
-                        Settings.EMPTY,
+                        settings,
                         new ActionFilters(Collections.emptySet()),
                         mock(CorrelationAlertService.class),
                         mock(NotificationService.class),
                         mock(WazuhEnrichedFindingService.class),
                         new DetectorLookupCache(TimeValue.ZERO),
                         new LogTypeListCache(TimeValue.ZERO),
-                        new CorrelationRulesCache(TimeValue.ZERO));
+                        new CorrelationRulesCache(TimeValue.ZERO),
+                        new FindingIndexCatalog(TimeValue.ZERO),
+                        new CorrelationPipelineStats(),
+                        s.spillLog);
         return s;
     }
 
@@ -253,6 +279,81 @@ public class TransportCorrelateFindingActionTests extends OpenSearchTestCase {
         return (Semaphore) f.get(s.transportAction);
     }
 
+    @SuppressWarnings("unchecked")
+    public void testScheduleCorrelation_queueFull_spillsAndReplaysAfterRestart() throws Exception {
+        Settings settings =
+                Settings.builder()
+                        .put(SecurityAnalyticsSettings.CORRELATION_MAX_IN_FLIGHT_FINDINGS.getKey(), 1)
+                        .put(SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS.getKey(), 1)
+                        .put(SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_ENABLED.getKey(), false)
+                        .build();
+        Path spillDir = createTempDir();
+        TestSetup s = buildTestSetup(settings, spillDir);
+        // The detector lookup of the in-flight finding never answers, so it keeps its permit.
+        when(s.detectorIndices.detectorIndexExists()).thenReturn(true);
+
+        ActionListener<SubscribeFindingsResponse> inFlight = mock(ActionListener.class);
+        ActionListener<SubscribeFindingsResponse> queued = mock(ActionListener.class);
+        ActionListener<SubscribeFindingsResponse> spilled = mock(ActionListener.class);
+        buildAsyncAction(s, inFlight).start();
+        buildAsyncAction(s, queued).start();
+        buildAsyncAction(s, spilled).start();
+
+        verify(queued, never()).onResponse(any());
+        verify(spilled).onResponse(any());
+        assertEquals(1, s.spillLog.getPending());
+        s.spillLog.close();
+
+        // After a restart, the spilled finding is correlated once the backlog has room.
+        TestSetup restarted = buildTestSetup(settings, spillDir);
+        assertEquals(1, restarted.spillLog.getPending());
+        when(restarted.detectorIndices.detectorIndexExists()).thenReturn(true);
+        when(restarted.correlationIndices.correlationIndexExists()).thenReturn(true);
+        stubDetectorLookupWithNoHits(restarted);
+
+        restarted.transportAction.drainSpill();
+
+        verify(restarted.client).search(any(), any());
+        assertEquals(0, restarted.spillLog.getPending());
+        assertEquals(0, restarted.spillLog.getSizeInBytes());
+    }
+
+    public void testSpillDrain_cancelledWhenNodeStops() throws Exception {
+        TestSetup s = buildTestSetup();
+        ArgumentCaptor<LifecycleListener> lifecycleListener = ArgumentCaptor.forClass(LifecycleListener.class);
+        verify(s.clusterService).addLifecycleListener(lifecycleListener.capture());
+        verify(s.spillDrain, never()).cancel();
+
+        lifecycleListener.getValue().beforeStop();
+
+        verify(s.spillDrain).cancel();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testScheduleCorrelation_detectorQuotaReached_spillsFinding() throws Exception {
+        Settings settings =
+                Settings.builder()
+                        .put(SecurityAnalyticsSettings.CORRELATION_MAX_IN_FLIGHT_FINDINGS.getKey(), 1)
+                        .put(SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS.getKey(), 4)
+                        .put(SecurityAnalyticsSettings.CORRELATION_MAX_PENDING_FINDINGS_PER_DETECTOR_PERCENT.getKey(), 50)
+                        .put(SecurityAnalyticsSettings.EVENTS_BACKPRESSURE_ENABLED.getKey(), false)
+                        .build();
+        TestSetup s = buildTestSetup(settings, createTempDir());
+        when(s.detectorIndices.detectorIndexExists()).thenReturn(true);
+
+        ActionListener<SubscribeFindingsResponse> queued = mock(ActionListener.class);
+        ActionListener<SubscribeFindingsResponse> overQuota = mock(ActionListener.class);
+        buildAsyncAction(s, mock(ActionListener.class)).start();
+        buildAsyncAction(s, queued).start();
+        buildAsyncAction(s, queued).start();
+        buildAsyncAction(s, overQuota).start();
+
+        // The backlog has room for 4 findings, but a single detector can only hold 2 of them.
+        verify(queued, never()).onResponse(any());
+        verify(overQuota).onResponse(any());
+        assertEquals(1, s.spillLog.getPending());
+    }
+
     @SuppressWarnings("unchecked")
     public void testGetTimestampFeature_resourceAlreadyExists_retriesAndProceeds() throws Exception {
         TestSetup s = buildTestSetup();
@@ -17,14 +17,21 @@
 package org.opensearch.securityanalytics.transport;
 
 import org.opensearch.OpenSearchException;
+import org.opensearch.Version;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.test.OpenSearchTestCase;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.wazuh.securityanalytics.action.WDeleteSpaceResourcesResponse;
+
 public class WTransportDeleteSpaceResourcesActionTests extends OpenSearchTestCase {
 
     /**
@@ -104,4 +111,134 @@ public class WTransportDeleteSpaceResourcesActionTests extends OpenSearchTestCas
         assertTrue(
                 "expected Integer but got " + delivered.getClass().getName(), delivered instanceof Integer);
     }
+
+    public void testForEachBounded_neverExceedsMaxConcurrency() {
+        List<Integer> items = List.of(1, 2, 3, 4, 5, 6, 7);
+        List<ActionListener<Void>> inFlight = new ArrayList<>();
+        List<Integer> started = new ArrayList<>();
+        AtomicInteger maxObserved = new AtomicInteger();
+        AtomicInteger completions = new AtomicInteger();
+
+        WTransportDeleteSpaceResourcesAction.forEachBounded(
+                items,
+                3,
+                (item, done) -> {
+                    started.add(item);
+                    inFlight.add(done);
+                    maxObserved.set(Math.max(maxObserved.get(), inFlight.size()));
+                },
+                ActionListener.wrap(() -> completions.incrementAndGet()));
+
+        assertEquals(List.of(1, 2, 3), started);
+        while (!inFlight.isEmpty()) {
+            inFlight.remove(0).onResponse(null);
+        }
+
+        assertEquals(items, started);
+        assertEquals(3, maxObserved.get());
+        assertEquals(1, completions.get());
+    }
+
+    public void testForEachBounded_emptyItemsCompletesImmediately() {
+        AtomicInteger completions = new AtomicInteger();
+
+        WTransportDeleteSpaceResourcesAction.forEachBounded(
+                Collections.<String>emptyList(),
+                4,
+                (item, done) -> fail("no action expected"),
+                ActionListener.wrap(() -> completions.incrementAndGet()));
+
+        assertEquals(1, completions.get());
+    }
+
+    public void testForEachBounded_throwingActionStillCompletes() {
+        AtomicInteger completions = new AtomicInteger();
+
+        WTransportDeleteSpaceResourcesAction.forEachBounded(
+                List.of("a", "b"),
+                1,
+                (item, done) -> {
+                    throw new IllegalStateException("boom");
+                },
+                ActionListener.wrap(() -> completions.incrementAndGet()));
+
+        assertEquals(1, completions.get());
+    }
+
+    public void testForEachBounded_synchronousCompletionsDoNotRecurse() {
+        int size = 100_000;
+        List<Integer> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger completions = new AtomicInteger();
+
+        WTransportDeleteSpaceResourcesAction.forEachBounded(
+                items,
+                2,
+                (item, done) -> {
+                    started.incrementAndGet();
+                    done.onResponse(null);
+                },
+                ActionListener.wrap(() -> completions.incrementAndGet()));
+
+        assertEquals(size, started.get());
+        assertEquals(1, completions.get());
+    }
+
+    public void testDetectorDeletionResult_capsReportedFailures() {
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < WTransportDeleteSpaceResourcesAction.MAX_REPORTED_DETECTOR_FAILURES + 5; i++) {
+            failures.add("detector-" + i + ": boom");
+        }
+
+        WTransportDeleteSpaceResourcesAction.DetectorDeletionResult result =
+                new WTransportDeleteSpaceResourcesAction.DetectorDeletionResult(3, failures);
+
+        assertEquals(3, result.deleted);
+        assertEquals(
+                WTransportDeleteSpaceResourcesAction.MAX_REPORTED_DETECTOR_FAILURES, result.failures.size());
+        assertEquals("detector-0: boom", result.failures.get(0));
+    }
+
+    public void testResponse_detectorFailuresAreSerializedAndFlagged() throws Exception {
+        WDeleteSpaceResourcesResponse response =
+                new WDeleteSpaceResourcesResponse(4, List.of("d1: boom"), 2, 10, false, null);
+
+        WDeleteSpaceResourcesResponse copy =
+                roundTrip(response, WDeleteSpaceResourcesResponse.DETECTOR_RESULTS_VERSION);
+
+        assertEquals(4, copy.getDeletedDetectors());
+        assertEquals(List.of("d1: boom"), copy.getDetectorFailures());
+        assertEquals(2, copy.getDeletedIntegrations());
+        assertEquals(10, copy.getDeletedRules());
+        assertTrue(copy.hasFailures());
+    }
+
+    public void testResponse_olderNodeKeepsPreviousWireFormat() throws Exception {
+        WDeleteSpaceResourcesResponse response =
+                new WDeleteSpaceResourcesResponse(4, List.of("d1: boom"), 2, 10, false, "partial");
+
+        // Same release as this build, but without the detector results
+        WDeleteSpaceResourcesResponse copy = roundTrip(response, Version.V_3_6_0);
+
+        assertEquals(0, copy.getDeletedDetectors());
+        assertTrue(copy.getDetectorFailures().isEmpty());
+        assertEquals(2, copy.getDeletedIntegrations());
+        assertEquals(10, copy.getDeletedRules());
+        assertTrue(copy.hasFailures());
+        assertEquals("partial", copy.getFailureMessage());
+    }
+
+    private static WDeleteSpaceResourcesResponse roundTrip(
+            WDeleteSpaceResourcesResponse response, Version version) throws Exception {
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(version);
+        response.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        sin.setVersion(version);
+        WDeleteSpaceResourcesResponse copy = new WDeleteSpaceResourcesResponse(sin);
+        return copy;
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.Version;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.securityanalytics.action.GetDetectorAction;
+import org.opensearch.securityanalytics.action.GetDetectorRequest;
+import org.opensearch.securityanalytics.action.GetDetectorResponse;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.DetectorRule;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.engine.CompiledRuleCache;
+import org.opensearch.securityanalytics.rules.engine.EventMatcher;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import com.wazuh.securityanalytics.action.WEvaluateRulesRequest;
+import com.wazuh.securityanalytics.action.WEvaluateRulesResponse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WTransportEvaluateRulesActionTests extends OpenSearchTestCase {
+
+    private static final String EVENT = "{\"process\": {\"name\": \"cmd.exe\"}}";
+
+    private Client client;
+
+    private CompiledRuleCache cache;
+
+    private WTransportEvaluateRulesAction action;
+
+    /** Rule documents served by the mocked multi get, by index and id, with their versions. */
+    private Map<String, Map<String, Long>> versions;
+
+    /** The multi get requests received, in order. */
+    private List<MultiGetRequest> multiGets;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        this.client = mock(Client.class);
+        this.cache = new CompiledRuleCache(10);
+        this.action =
+                new WTransportEvaluateRulesAction(
+                        mock(TransportService.class),
+                        new ActionFilters(Collections.emptySet()),
+                        new EventMatcher(),
+                        this.cache,
+                        this.client);
+        this.versions = Map.of(
+                Rule.PRE_PACKAGED_RULES_INDEX, Map.of("p1", 1L),
+                Rule.CUSTOM_RULES_INDEX, Map.of("c1", 3L));
+        this.multiGets = new ArrayList<>();
+
+        doAnswer(
+                        invocation -> {
+                            MultiGetRequest request = invocation.getArgument(0);
+                            ActionListener<MultiGetResponse> listener = invocation.getArgument(1);
+                            this.multiGets.add(request);
+                            List<MultiGetItemResponse> items = new ArrayList<>();
+                            for (MultiGetRequest.Item item : request.getItems()) {
+                                items.add(new MultiGetItemResponse(this.getResponse(item), null));
+                            }
+                            listener.onResponse(new MultiGetResponse(items.toArray(new MultiGetItemResponse[0])));
+                            return null;
+                        })
+                .when(this.client)
+                .multiGet(any(MultiGetRequest.class), any());
+    }
+
+    private GetResponse getResponse(MultiGetRequest.Item item) throws IOException {
+        Long version = this.versions.getOrDefault(item.index(), Map.of()).get(item.id());
+        if (version == null) {
+            return new GetResponse(new GetResult(item.index(), item.id(), -2L, 0L, -1L, false, null, null, null));
+        }
+        BytesReference source = null;
+        if (item.fetchSourceContext() == null || item.fetchSourceContext().fetchSource()) {
+            source =
+                    BytesReference.bytes(
+                            XContentFactory.jsonBuilder()
+                                    .startObject()
+                                    .startObject("rule")
+                                    .field("rule", ruleYaml("Rule " + item.id() + " v" + version))
+                                    .endObject()
+                                    .endObject());
+        }
+        return new GetResponse(new GetResult(item.index(), item.id(), 0L, 1L, version, true, source, null, null));
+    }
+
+    private static String ruleYaml(String title) {
+        return String.join(
+                "\n",
+                "title: " + title,
+                "status: test",
+                "logsource:",
+                "    category: test",
+                "detection:",
+                "    selection:",
+                "        process.name: cmd.exe",
+                "    condition: selection",
+                "level: high");
+    }
+
+    private void mockDetector(List<String> prePackagedRules, List<String> customRules) {
+        Detector detector = mock(Detector.class);
+        when(detector.getInputs())
+                .thenReturn(
+                        List.of(
+                                new DetectorInput(
+                                        "input",
+                                        List.of("logs"),
+                                        customRules.stream().map(DetectorRule::new).collect(Collectors.toList()),
+                                        prePackagedRules.stream().map(DetectorRule::new).collect(Collectors.toList()))));
+        doAnswer(
+                        invocation -> {
+                            ActionListener<GetDetectorResponse> listener = invocation.getArgument(2);
+                            listener.onResponse(new GetDetectorResponse("d1", 1L, RestStatus.OK, detector));
+                            return null;
+                        })
+                .when(this.client)
+                .execute(eq(GetDetectorAction.INSTANCE), any(GetDetectorRequest.class), any());
+    }
+
+    private WEvaluateRulesResponse execute(WEvaluateRulesRequest request) {
+        AtomicReference<WEvaluateRulesResponse> response = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        this.action.doExecute(null, request, ActionListener.wrap(response::set, failure::set));
+        assertNull(failure.get());
+        assertNotNull(response.get());
+        return response.get();
+    }
+
+    private static List<String> matchedTitles(WEvaluateRulesResponse response) {
+        return response.getMatches().stream().map(match -> match.getRule().getTitle()).collect(Collectors.toList());
+    }
+
+    public void testResolvesDetectorRulesThenRequestRuleIds() {
+        this.mockDetector(List.of("p1"), List.of("c1"));
+
+        WEvaluateRulesResponse response = this.execute(new WEvaluateRulesRequest(EVENT, "d1", List.of("c1", "missing")));
+
+        // Rules in detector then request order, without duplicates, skipping the missing one
+        assertEquals(List.of("Rule p1 v1", "Rule c1 v3"), matchedTitles(response));
+        assertEquals(2, response.getRulesEvaluated());
+    }
+
+    public void testReadsVersionsBeforeFetchingMissingRules() {
+        WEvaluateRulesResponse response = this.execute(new WEvaluateRulesRequest(EVENT, null, List.of("p1", "c1", "missing")));
+
+        assertEquals(List.of("Rule p1 v1", "Rule c1 v3"), matchedTitles(response));
+        assertEquals(2, this.multiGets.size());
+
+        // Every id is looked up in both rule indices, without its source
+        List<MultiGetRequest.Item> versionItems = this.multiGets.get(0).getItems();
+        assertEquals(6, versionItems.size());
+        for (MultiGetRequest.Item item : versionItems) {
+            assertFalse(item.fetchSourceContext().fetchSource());
+        }
+
+        // Only the rules found are fetched, from the index holding them, with their YAML only
+        List<MultiGetRequest.Item> ruleItems = this.multiGets.get(1).getItems();
+        assertEquals(2, ruleItems.size());
+        for (MultiGetRequest.Item item : ruleItems) {
+            assertEquals(item.id().equals("p1") ? Rule.PRE_PACKAGED_RULES_INDEX : Rule.CUSTOM_RULES_INDEX, item.index());
+            assertArrayEquals(new String[] {"rule.rule"}, item.fetchSourceContext().includes());
+        }
+        verify(this.client, never()).execute(eq(GetDetectorAction.INSTANCE), any(GetDetectorRequest.class), any());
+    }
+
+    public void testServesCachedRulesForTheirVersion() throws Exception {
+        this.cache.put(Rule.PRE_PACKAGED_RULES_INDEX, "p1", 1L, ruleYaml("Cached p1"));
+        this.cache.put(Rule.CUSTOM_RULES_INDEX, "c1", 2L, ruleYaml("Stale c1"));
+
+        WEvaluateRulesResponse response = this.execute(new WEvaluateRulesRequest(EVENT, null, List.of("p1", "c1")));
+
+        // p1 is cached at its current version, c1 was updated since it was cached
+        assertEquals(List.of("Cached p1", "Rule c1 v3"), matchedTitles(response));
+        assertEquals(2, this.multiGets.size());
+        assertEquals(1, this.multiGets.get(1).getItems().size());
+        assertEquals("c1", this.multiGets.get(1).getItems().get(0).id());
+        assertNotNull(this.cache.get(Rule.CUSTOM_RULES_INDEX, "c1", 3L));
+
+        // Everything is cached now, only the versions are read
+        this.multiGets.clear();
+        response = this.execute(new WEvaluateRulesRequest(EVENT, null, List.of("p1", "c1")));
+        assertEquals(List.of("Cached p1", "Rule c1 v3"), matchedTitles(response));
+        assertEquals(1, this.multiGets.size());
+    }
+
+    public void testRuleBodiesAreEvaluatedWithoutLookups() {
+        WEvaluateRulesResponse response = this.execute(new WEvaluateRulesRequest(EVENT, List.of(ruleYaml("Inline"))));
+
+        assertEquals(List.of("Inline"), matchedTitles(response));
+        assertTrue(this.multiGets.isEmpty());
+    }
+
+    public void testRequestSerialization() throws IOException {
+        WEvaluateRulesRequest request = new WEvaluateRulesRequest(EVENT, "d1", List.of("c1"));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(WEvaluateRulesRequest.STORED_RULES_VERSION);
+        request.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        in.setVersion(WEvaluateRulesRequest.STORED_RULES_VERSION);
+        WEvaluateRulesRequest copy = new WEvaluateRulesRequest(in);
+        assertEquals(EVENT, copy.getEventJson());
+        assertEquals("d1", copy.getDetectorId());
+        assertEquals(List.of("c1"), copy.getRuleIds());
+    }
+
+    public void testRequestSerializationToNodesBeforeStoredRules() throws IOException {
+        WEvaluateRulesRequest request = new WEvaluateRulesRequest(EVENT, List.of(ruleYaml("Inline")));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(Version.V_3_6_0);
+        request.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        in.setVersion(Version.V_3_6_0);
+        WEvaluateRulesRequest copy = new WEvaluateRulesRequest(in);
+        assertEquals(List.of(ruleYaml("Inline")), copy.getRulesBodies());
+        assertNull(copy.getDetectorId());
+        assertTrue(copy.getRuleIds().isEmpty());
+        assertEquals(0, in.available());
+
+        BytesStreamOutput oldOut = new BytesStreamOutput();
+        oldOut.setVersion(Version.V_3_6_0);
+        expectThrows(
+                IllegalArgumentException.class,
+                () -> new WEvaluateRulesRequest(EVENT, "d1", List.of()).writeTo(oldOut));
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.FieldMappingDoc;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.backend.QueryConversionCache;
+import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
+import org.opensearch.securityanalytics.util.RuleIndices;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.AdminClient;
+import org.opensearch.transport.client.Client;
+import org.opensearch.transport.client.IndicesAdminClient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.wazuh.securityanalytics.action.WIndexRuleRequest;
+import com.wazuh.securityanalytics.action.WIndexRulesBulkRequest;
+import com.wazuh.securityanalytics.action.WIndexRulesBulkResponse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WTransportIndexRulesBulkActionTests extends OpenSearchTestCase {
+
+    private static String ruleYaml(String id, String field) {
+        return String.join(
+                "\n",
+                "id: " + id,
+                "title: Rule " + id,
+                "status: test",
+                "logsource:",
+                "    product: test",
+                "detection:",
+                "    selection:",
+                "        " + field + ": value",
+                "    condition: selection",
+                "level: high");
+    }
+
+    private static WIndexRuleRequest ruleRequest(String id, String logType, String field) {
+        return new WIndexRuleRequest(
+                id,
+                WriteRequest.RefreshPolicy.NONE,
+                logType,
+                RestRequest.Method.POST,
+                ruleYaml(id, field),
+                false,
+                id,
+                "standard");
+    }
+
+    public void testSlices_coverAllItemsInOrder() {
+        List<int[]> slices = WTransportIndexRulesBulkAction.slices(10, 3);
+
+        assertEquals(3, slices.size());
+        assertArrayEquals(new int[] {0, 4}, slices.get(0));
+        assertArrayEquals(new int[] {4, 7}, slices.get(1));
+        assertArrayEquals(new int[] {7, 10}, slices.get(2));
+    }
+
+    public void testSlices_neverExceedItemCount() {
+        assertEquals(2, WTransportIndexRulesBulkAction.slices(2, 16).size());
+        assertTrue(WTransportIndexRulesBulkAction.slices(0, 4).isEmpty());
+        assertEquals(1, WTransportIndexRulesBulkAction.slices(5, 0).size());
+    }
+
+    public void testBuildRule_invalidYamlThrowsSigmaErrors() {
+        WIndexRuleRequest request =
+                new WIndexRuleRequest(
+                        "bad",
+                        WriteRequest.RefreshPolicy.NONE,
+                        "linux",
+                        RestRequest.Method.POST,
+                        "title: missing detection",
+                        false);
+
+        expectThrows(
+                CompositeSigmaErrors.class,
+                () -> WTransportIndexRuleAction.buildRule(request, QueryConversionCache.disabled()));
+    }
+
+    public void testMergeFieldMappingsByLogType_dedupesFieldsPerLogType() {
+        Rule first =
+                WTransportIndexRuleAction.buildRule(
+                        ruleRequest("11111111-1111-1111-1111-111111111111", "linux", "process.name"),
+                        QueryConversionCache.disabled());
+        Rule second =
+                WTransportIndexRuleAction.buildRule(
+                        ruleRequest("22222222-2222-2222-2222-222222222222", "linux", "process.name"),
+                        QueryConversionCache.disabled());
+        Rule third =
+                WTransportIndexRuleAction.buildRule(
+                        ruleRequest("33333333-3333-3333-3333-333333333333", "windows", "user.name"),
+                        QueryConversionCache.disabled());
+
+        Map<String, List<FieldMappingDoc>> merged =
+                WTransportIndexRulesBulkAction.mergeFieldMappingsByLogType(
+                        List.of(first, second, third), "ecs");
+
+        assertEquals(2, merged.size());
+        assertEquals(1, merged.get("linux").size());
+        assertEquals("process.name", merged.get("linux").get(0).getRawField());
+        assertEquals("process.name", merged.get("linux").get(0).getSchemaFields().get("ecs"));
+        assertEquals(1, merged.get("windows").size());
+        assertEquals("user.name", merged.get("windows").get(0).getRawField());
+    }
+
+    public void testBulkRequest_serializationRoundTrip() throws Exception {
+        WIndexRulesBulkRequest request =
+                new WIndexRulesBulkRequest(
+                        List.of(
+                                ruleRequest("a", "linux", "process.name"),
+                                ruleRequest("b", "windows", "user.name")),
+                        WriteRequest.RefreshPolicy.IMMEDIATE);
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        WIndexRulesBulkRequest copy = new WIndexRulesBulkRequest(sin);
+
+        assertNull(copy.validate());
+        assertEquals(WriteRequest.RefreshPolicy.IMMEDIATE, copy.getRefreshPolicy());
+        assertEquals(2, copy.getRules().size());
+        assertEquals("a", copy.getRules().get(0).getRuleId());
+        assertEquals("windows", copy.getRules().get(1).getLogType());
+    }
+
+    public void testBulkRequest_emptyRulesFailsValidation() {
+        WIndexRulesBulkRequest request =
+                new WIndexRulesBulkRequest(List.of(), WriteRequest.RefreshPolicy.IMMEDIATE);
+
+        assertNotNull(request.validate());
+    }
+
+    public void testBulkResponse_keepsItemOrderAndFailures() throws Exception {
+        WIndexRulesBulkResponse response =
+                new WIndexRulesBulkResponse(
+                        List.of(
+                                new WIndexRulesBulkResponse.Item("a", 1L, RestStatus.CREATED, null),
+                                new WIndexRulesBulkResponse.Item(
+                                        "b", null, RestStatus.BAD_REQUEST, "invalid rule")));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        WIndexRulesBulkResponse copy = new WIndexRulesBulkResponse(sin);
+
+        assertTrue(copy.hasFailures());
+        assertEquals("a", copy.getItems().get(0).getId());
+        assertFalse(copy.getItems().get(0).isFailed());
+        assertEquals(Long.valueOf(1L), copy.getItems().get(0).getVersion());
+        assertEquals("invalid rule", copy.getItems().get(1).getFailure());
+        assertEquals(RestStatus.BAD_REQUEST, copy.getItems().get(1).getStatus());
+    }
+
+    public void testExecute_reportsBulkItemFailureAndUpdatesMappingsOfWrittenRules() {
+        String written = "11111111-1111-1111-1111-111111111111";
+        String rejected = "22222222-2222-2222-2222-222222222222";
+
+        Client client = mock(Client.class);
+        LogTypeService logTypeService = mock(LogTypeService.class);
+        RuleIndices ruleIndices = mock(RuleIndices.class);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(ruleIndices.getThreadPool()).thenReturn(threadPool);
+        when(ruleIndices.ruleIndexExists(anyBoolean())).thenReturn(true);
+        when(ruleIndices.getQueryConversionCache()).thenReturn(QueryConversionCache.disabled());
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        when(threadPool.executor(ThreadPool.Names.GENERIC))
+                .thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(logTypeService.getDefaultSchemaField()).thenReturn("ecs");
+
+        // The bulk writes the first rule and rejects the second one
+        List<BulkRequest> bulks = new ArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            BulkRequest bulk = invocation.getArgument(0);
+                            ActionListener<BulkResponse> listener = invocation.getArgument(1);
+                            bulks.add(bulk);
+                            BulkItemResponse[] items = new BulkItemResponse[bulk.numberOfActions()];
+                            for (int i = 0; i < items.length; i++) {
+                                DocWriteRequest<?> request = bulk.requests().get(i);
+                                if (rejected.equals(request.id())) {
+                                    items[i] =
+                                            BulkItemResponse.failure(
+                                                    i,
+                                                    DocWriteRequest.OpType.INDEX,
+                                                    new BulkItemResponse.Failure(
+                                                            request.index(),
+                                                            request.id(),
+                                                            new IllegalArgumentException("mapper_parsing")));
+                                } else {
+                                    items[i] =
+                                            BulkItemResponse.success(
+                                                    i,
+                                                    DocWriteRequest.OpType.INDEX,
+                                                    new IndexResponse(
+                                                            new ShardId(request.index(), "_na_", 0),
+                                                            request.id(),
+                                                            0L,
+                                                            1L,
+                                                            1L,
+                                                            true));
+                                }
+                            }
+                            listener.onResponse(new BulkResponse(items, 1L));
+                            return null;
+                        })
+                .when(client)
+                .bulk(any(BulkRequest.class), any());
+
+        AdminClient adminClient = mock(AdminClient.class);
+        IndicesAdminClient indicesAdminClient = mock(IndicesAdminClient.class);
+        when(client.admin()).thenReturn(adminClient);
+        when(adminClient.indices()).thenReturn(indicesAdminClient);
+        List<RefreshRequest> refreshes = new ArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            refreshes.add(invocation.getArgument(0));
+                            ActionListener<?> listener = invocation.getArgument(1);
+                            listener.onResponse(null);
+                            return null;
+                        })
+                .when(indicesAdminClient)
+                .refresh(any(RefreshRequest.class), any());
+
+        List<List<FieldMappingDoc>> mappingUpdates = new ArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            mappingUpdates.add(invocation.getArgument(0));
+                            ActionListener<Void> listener = invocation.getArgument(1);
+                            listener.onResponse(null);
+                            return null;
+                        })
+                .when(logTypeService)
+                .indexFieldMappingsForWazuh(anyList(), any());
+
+        WTransportIndexRulesBulkAction action =
+                new WTransportIndexRulesBulkAction(
+                        mock(TransportService.class),
+                        client,
+                        new ActionFilters(Collections.emptySet()),
+                        logTypeService,
+                        ruleIndices,
+                        Settings.EMPTY);
+
+        WIndexRulesBulkRequest request =
+                new WIndexRulesBulkRequest(
+                        List.of(
+                                ruleRequest(written, "linux", "process.name"),
+                                ruleRequest(rejected, "linux", "user.name"),
+                                new WIndexRuleRequest(
+                                        "invalid",
+                                        WriteRequest.RefreshPolicy.NONE,
+                                        "linux",
+                                        RestRequest.Method.POST,
+                                        "title: missing detection",
+                                        false)),
+                        WriteRequest.RefreshPolicy.IMMEDIATE);
+        AtomicReference<WIndexRulesBulkResponse> response = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        action.doExecute(null, request, ActionListener.wrap(response::set, failure::set));
+
+        assertNull(failure.get());
+        WIndexRulesBulkResponse result = response.get();
+        assertNotNull(result);
+        assertTrue(result.hasFailures());
+        assertEquals(3, result.getItems().size());
+
+        // Items keep the request order: written, rejected by the bulk, failed conversion
+        WIndexRulesBulkResponse.Item first = result.getItems().get(0);
+        assertEquals(written, first.getId());
+        assertFalse(first.isFailed());
+        assertEquals(RestStatus.CREATED, first.getStatus());
+        assertEquals(Long.valueOf(1L), first.getVersion());
+
+        WIndexRulesBulkResponse.Item second = result.getItems().get(1);
+        assertEquals(rejected, second.getId());
+        assertTrue(second.isFailed());
+        assertEquals(RestStatus.BAD_REQUEST, second.getStatus());
+        assertTrue(second.getFailure().contains("mapper_parsing"));
+
+        WIndexRulesBulkResponse.Item third = result.getItems().get(2);
+        assertTrue(third.isFailed());
+        assertEquals(RestStatus.BAD_REQUEST, third.getStatus());
+
+        // The two converted rules go through one bulk without refresh, followed by one refresh
+        assertEquals(1, bulks.size());
+        assertEquals(2, bulks.get(0).numberOfActions());
+        assertEquals(WriteRequest.RefreshPolicy.NONE, bulks.get(0).getRefreshPolicy());
+        assertEquals(1, refreshes.size());
+        assertArrayEquals(new String[] {Rule.PRE_PACKAGED_RULES_INDEX}, refreshes.get(0).indices());
+
+        // Only the fields of the written rule reach the log type mappings
+        verify(logTypeService, times(1)).indexFieldMappingsForWazuh(anyList(), any());
+        assertEquals(1, mappingUpdates.get(0).size());
+        assertEquals("process.name", mappingUpdates.get(0).get(0).getRawField());
+    }
+}
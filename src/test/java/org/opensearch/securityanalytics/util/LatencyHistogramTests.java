@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026, Wazuh Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+public class LatencyHistogramTests extends OpenSearchTestCase {
+
+    public void testBuckets() {
+        assertEquals(0, LatencyHistogram.bucket(0));
+        assertEquals(0, LatencyHistogram.bucket(-5));
+        assertEquals(1, LatencyHistogram.bucket(1));
+        assertEquals(2, LatencyHistogram.bucket(3));
+        assertEquals(11, LatencyHistogram.bucket(1024));
+        assertEquals(63, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(50));
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(5000);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(90 * 100 + 10 * 5000, histogram.getSumNanos());
+        assertEquals(5000, histogram.getMaxNanos());
+        assertEquals(127, histogram.getPercentileNanos(50));
+        assertEquals(127, histogram.getPercentileNanos(90));
+        assertEquals(8191, histogram.getPercentileNanos(99));
+    }
+}